@@ -0,0 +1,49 @@
+package com.eliasgonzalez.cartones.config;
+
+import com.eliasgonzalez.cartones.excel.service.ExcelValidationService;
+import com.eliasgonzalez.cartones.pdf.service.DistribucionService;
+import com.eliasgonzalez.cartones.pdf.service.PdfEtiquetasService;
+import com.eliasgonzalez.cartones.pdf.service.PdfResumenService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Servicios del módulo {@code cartones-motor}. El motor no depende de Spring, así que sus clases no
+ * llevan anotaciones y se registran acá.
+ */
+@Configuration
+public class DistribucionConfig {
+
+    /**
+     * Pool acotado para el trabajo de CPU del motor de distribución (un juego por tarea).
+     * Con paralelismo 0 se usa un hilo por núcleo disponible.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool distribucionPool(@Value("${app.distribucion.paralelismo:0}") int paralelismo) {
+        int hilos = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(hilos);
+    }
+
+    @Bean
+    public DistribucionService distribucionService(ForkJoinPool distribucionPool) {
+        return new DistribucionService(distribucionPool);
+    }
+
+    @Bean
+    public PdfEtiquetasService pdfEtiquetasService() {
+        return new PdfEtiquetasService();
+    }
+
+    @Bean
+    public PdfResumenService pdfResumenService() {
+        return new PdfResumenService();
+    }
+
+    @Bean
+    public ExcelValidationService excelValidationService() {
+        return new ExcelValidationService();
+    }
+}
@@ -1,21 +1,21 @@
 package com.eliasgonzalez.cartones.config;
 
+import com.eliasgonzalez.cartones.pdf.dto.RangosCartones;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 
-import java.util.ArrayList;
-import java.util.List;
-
+/**
+ * Guarda los rangos con el mismo JSON de siempre (["100-150", "200-210"]); el texto sólo existe en la columna.
+ */
 @Converter
-public class ListaRangosConverter implements AttributeConverter<List<String>, String> {
+public class ListaRangosConverter implements AttributeConverter<RangosCartones, String> {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
     @Override
-    public String convertToDatabaseColumn(List<String> attribute) {
+    public String convertToDatabaseColumn(RangosCartones attribute) {
         if (attribute == null || attribute.isEmpty()) {
             return "[]";
         }
@@ -27,14 +27,14 @@ public class ListaRangosConverter implements AttributeConverter<List<String>, St
     }
 
     @Override
-    public List<String> convertToEntityAttribute(String dbData) {
+    public RangosCartones convertToEntityAttribute(String dbData) {
         if (dbData == null || dbData.isEmpty()) {
-            return new ArrayList<>();
+            return RangosCartones.vacio();
         }
         try {
-            return objectMapper.readValue(dbData, new TypeReference<List<String>>() {});
+            return objectMapper.readValue(dbData, RangosCartones.class);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Error deserializando JSON de rangos", e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package com.eliasgonzalez.cartones.excel.service;
+
+import com.eliasgonzalez.cartones.excel.interfaces.IExcelService;
+import com.eliasgonzalez.cartones.shared.exception.FileProcessingException;
+import com.eliasgonzalez.cartones.vendedor.dto.VendedorExcelDTO;
+import com.eliasgonzalez.cartones.shared.exception.ExcelProcessingException;
+import com.eliasgonzalez.cartones.vendedor.entity.Vendedor;
+import com.eliasgonzalez.cartones.vendedor.interfaces.VendedorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Servicio encargado de la orquestación (I/O) y persistencia de datos
+ * desde un archivo Excel, aplicando un enfoque de "Todo o Nada".
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExcelService implements IExcelService {
+
+    private final VendedorRepository vendedorRepo;
+    private final ExcelValidationService validationService;
+
+    @Override
+    @Transactional // Si ocurre una RuntimeException, se revierte todo
+    public void leerExcel(MultipartFile file, String procesoIdCreado){
+
+        log.info("Iniciando procesamiento del archivo Excel: {}", file.getOriginalFilename());
+
+        List<Vendedor> vendedoresParaGuardar = new ArrayList<>();
+
+        try (InputStream is = file.getInputStream()) {
+
+            // Lectura y validación de todas las filas (todo o nada)
+            List<VendedorExcelDTO> filas = LectorExcel.leer(is, validationService, procesoIdCreado);
+            for (VendedorExcelDTO dto : filas) {
+                vendedoresParaGuardar.add(convertToEntity(dto, procesoIdCreado));
+            }
+
+            // Si se llegó hasta acá, significa que NO hubo errores en ninguna fila
+            if (!vendedoresParaGuardar.isEmpty()) {
+                vendedorRepo.saveAll(vendedoresParaGuardar);
+                log.info("Se han guardado exitosamente {} registros.", vendedoresParaGuardar.size());
+            }
+
+        } catch (ExcelProcessingException | FileProcessingException e) {
+            // Lanzar la excepción provoca el Rollback automático de la transacción
+            log.error("[INTERNO] Fallo en el procesamiento del Excel. Mensaje: {}", e.getMessage());
+            throw e; // Re-lanzar la excepción para que GlobalExceptionHandler la capture
+        } catch (Exception e) {
+            log.error("Fallo crítico en el procesamiento del Excel", e);
+            throw new RuntimeException("Error al procesar el archivo Excel: " + e.getMessage(), e);
+        }
+    }
+
+    private static Vendedor convertToEntity(VendedorExcelDTO dto, String procesoIdCreado) {
+        String deudaStr = dto.getDeudaStr();
+        BigDecimal deuda = (deudaStr == null || deudaStr.isBlank()) ?
+                BigDecimal.ZERO : new BigDecimal(deudaStr.trim());
+
+        return Vendedor.builder()
+                .procesoId(procesoIdCreado)
+                .nombre(dto.getNombre().trim())
+                .deuda(deuda)
+                .cantidadSenete(dto.getCantidadSenete())
+                .resultadoSenete(dto.getResultadoSenete())
+                .cantidadTelebingo(dto.getCantidadTelebingo())
+                .resultadoTelebingo(dto.getResultadoTelebingo())
+                .build();
+    }
+}
\ No newline at end of file
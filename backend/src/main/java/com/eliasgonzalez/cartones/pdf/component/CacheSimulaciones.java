@@ -0,0 +1,189 @@
+package com.eliasgonzalez.cartones.pdf.component;
+
+import com.eliasgonzalez.cartones.pdf.dto.ConfiguracionJuegoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.PedidoJuegoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.RangoCortadoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionRequestDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionResultadoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.VendedorInputDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Memoria acotada (LRU) de simulaciones deterministas, indexada por la huella de la solicitud.
+ * <p>
+ * Sólo se guardan las solicitudes cuyo resultado no depende del azar: sin mezcla, o con mezcla y
+ * semilla explícita. Un refresco del navegador o un reintento con la semilla devuelta no recalcula.
+ */
+@Component
+@Slf4j
+public class CacheSimulaciones {
+
+    private final int capacidad;
+    private final Map<String, SimulacionResultadoDTO> entradas;
+
+    public CacheSimulaciones(@Value("${app.distribucion.cache-simulaciones:32}") int capacidad) {
+        this.capacidad = capacidad;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SimulacionResultadoDTO> eldest) {
+                return size() > CacheSimulaciones.this.capacidad;
+            }
+        };
+    }
+
+    /**
+     * Devuelve el resultado guardado para la solicitud o lo calcula con {@code simular} y lo guarda.
+     * Las solicitudes no deterministas siempre se calculan.
+     */
+    public SimulacionResultadoDTO obtener(SimulacionRequestDTO solicitud, Supplier<SimulacionResultadoDTO> simular) {
+        if (capacidad <= 0 || !esDeterminista(solicitud)) {
+            return simular.get();
+        }
+
+        String huella = huella(solicitud);
+        synchronized (entradas) {
+            SimulacionResultadoDTO guardado = entradas.get(huella);
+            if (guardado != null) {
+                log.info("Simulación recuperada de memoria (huella {})", huella);
+                return guardado;
+            }
+        }
+
+        // Se calcula fuera del candado: dos pedidos iguales simultáneos calculan lo mismo
+        SimulacionResultadoDTO resultado = simular.get();
+        synchronized (entradas) {
+            entradas.put(huella, resultado);
+        }
+        return resultado;
+    }
+
+    public int cantidad() {
+        synchronized (entradas) {
+            return entradas.size();
+        }
+    }
+
+    // La optimización de VIP corta por tiempo: la misma solicitud puede dar otra fila
+    static boolean esDeterminista(SimulacionRequestDTO solicitud) {
+        return !solicitud.isOptimizarVip() && (!solicitud.isMezclar() || solicitud.getSemilla() != null);
+    }
+
+    /**
+     * SHA-256 de todo lo que influye en el reparto: vendedores, pilas (también las de juegos adicionales)
+     * y semilla.
+     * Las fechas y los parámetros de búsqueda no cambian el resultado de una solicitud determinista.
+     */
+    static String huella(SimulacionRequestDTO solicitud) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+
+        Huella h = new Huella(digest);
+        h.entero(solicitud.getVendedores().size());
+        for (VendedorInputDTO v : solicitud.getVendedores()) {
+            h.largo(v.getId());
+            h.texto(v.getNombre());
+            h.entero(v.getCantidadSenete());
+            h.entero(v.getTerminacionSenete());
+            h.enteros(v.getTerminacionesSenete());
+            h.entero(v.getCantidadTelebingo());
+            h.entero(v.getTerminacionTelebingo());
+            h.enteros(v.getTerminacionesTelebingo());
+            h.entero(v.getPedidos() == null ? null : v.getPedidos().size());
+            if (v.getPedidos() != null) {
+                for (Map.Entry<String, PedidoJuegoDTO> pedido : new TreeMap<>(v.getPedidos()).entrySet()) {
+                    h.texto(pedido.getKey());
+                    h.entero(pedido.getValue() == null ? null : pedido.getValue().getCantidad());
+                    h.entero(pedido.getValue() == null ? null : pedido.getValue().getTerminacion());
+                    h.enteros(pedido.getValue() == null ? null : pedido.getValue().getTerminaciones());
+                }
+            }
+        }
+        h.pool(solicitud.getPoolSenete());
+        h.entero(solicitud.getInicioSeneteGral());
+        h.pool(solicitud.getPoolTelebingo());
+        h.entero(solicitud.getInicioTelebingoGral());
+        h.entero(solicitud.getJuegos() == null ? null : solicitud.getJuegos().size());
+        if (solicitud.getJuegos() != null) {
+            for (Map.Entry<String, ConfiguracionJuegoDTO> juego : new TreeMap<>(solicitud.getJuegos()).entrySet()) {
+                h.texto(juego.getKey());
+                h.pool(juego.getValue() == null ? null : juego.getValue().getPool());
+                h.entero(juego.getValue() == null ? null : juego.getValue().getInicioGral());
+            }
+        }
+        h.largo(solicitud.isMezclar() ? solicitud.getSemilla() : null);
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Escribe valores en el digest con marca de nulo, para que {@code null} y {@code 0} no coincidan.
+     */
+    private record Huella(MessageDigest digest) {
+
+        void entero(Integer valor) {
+            if (valor == null) {
+                digest.update((byte) 0);
+                return;
+            }
+            digest.update((byte) 1);
+            digest.update(new byte[]{
+                    (byte) (valor >>> 24), (byte) (valor >>> 16), (byte) (valor >>> 8), (byte) (int) valor});
+        }
+
+        void enteros(List<Integer> valores) {
+            if (valores == null) {
+                digest.update((byte) 0);
+                return;
+            }
+            entero(valores.size());
+            for (Integer valor : valores) entero(valor);
+        }
+
+        void largo(Long valor) {
+            if (valor == null) {
+                digest.update((byte) 0);
+                return;
+            }
+            entero((int) (valor >>> 32));
+            entero((int) (long) valor);
+        }
+
+        void texto(String valor) {
+            if (valor == null) {
+                digest.update((byte) 0);
+                return;
+            }
+            byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+            entero(bytes.length);
+            digest.update(bytes);
+        }
+
+        void pool(List<RangoCortadoDTO> pool) {
+            if (pool == null) {
+                digest.update((byte) 0);
+                return;
+            }
+            entero(pool.size());
+            for (RangoCortadoDTO rango : pool) {
+                entero(rango.getInicio());
+                entero(rango.getFin());
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.eliasgonzalez.cartones.pdf.component;
+
+import com.eliasgonzalez.cartones.pdf.engine.AsignacionJuego;
+import com.eliasgonzalez.cartones.pdf.engine.IndiceEntregas;
+import com.eliasgonzalez.cartones.pdf.engine.InventarioRangos;
+import com.eliasgonzalez.cartones.pdf.engine.NormalizadorPool;
+import com.eliasgonzalez.cartones.pdf.entity.IndiceEntregasJuego;
+import com.eliasgonzalez.cartones.pdf.interfaces.IndiceEntregasRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inventario compartido de cartones entregados, un {@link InventarioRangos} por juego. Cada proceso
+ * confirmado reserva acá los rangos que repartió; si otro proceso ya entregó alguno de esos cartones
+ * la reserva se rechaza entera.
+ * <p>
+ * La base manda: lo entregado son los índices de {@code INDICES_ENTREGAS}. Cada reserva toma un candado
+ * del juego en la base hasta el fin de su transacción y, antes de comparar, suma al inventario en memoria
+ * los índices guardados desde la última vez (por otra réplica, o por esta antes de reiniciarse). La
+ * primera reserva de un juego después del arranque carga todos sus índices.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InventarioCartones {
+
+    private final IndiceEntregasRepository indiceRepo;
+
+    private final Map<String, InventarioRangos> juegos = new ConcurrentHashMap<>();
+
+    // Id del último índice de entregas de la base ya sumado al inventario de cada juego
+    private final Map<String, Long> ultimoIndice = new ConcurrentHashMap<>();
+
+    /**
+     * Reserva para {@code procesoId} todos los cartones del reparto de un juego. Tiene que correr dentro
+     * de la transacción que guarda los índices de entregas del proceso: el candado del juego se suelta
+     * recién al terminarla.
+     *
+     * @return Conflictos con otros procesos o, si no hubo, lo que se agregó, para
+     *         {@link #deshacer(String, InventarioRangos.Reserva) deshacerlo} si la transacción no se confirma.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public InventarioRangos.Reserva reservar(String procesoId, String juego, AsignacionJuego asignacion) {
+        int total = asignacion.totalRangos();
+        int[] inicios = new int[total];
+        int[] fines = new int[total];
+        int k = 0;
+        for (int p = 0; p < asignacion.cantidadVendedores(); p++) {
+            for (int r = 0; r < asignacion.cantidadRangos(p); r++) {
+                inicios[k] = asignacion.inicio(p, r);
+                fines[k++] = asignacion.fin(p, r);
+            }
+        }
+
+        indiceRepo.bloquearJuego(juego);
+        sincronizar(juego);
+
+        // Los rangos de un reparto no se pisan: normalizar sólo los ordena y junta los contiguos
+        NormalizadorPool.Resultado rangos = NormalizadorPool.normalizar(inicios, fines);
+        InventarioRangos.Reserva reserva = inventario(juego).reservar(procesoId, rangos.inicios(), rangos.fines());
+        if (reserva.conflictos().isEmpty()) {
+            log.info("Proceso {}: reservados {} bloques de {} ({} cartones nuevos)",
+                    procesoId, rangos.cantidadBloques(), juego, reserva.cartonesAgregados());
+        }
+        return reserva;
+    }
+
+    /**
+     * Devuelve al inventario del juego sólo lo que agregó {@code reserva}: lo que el proceso ya tenía
+     * entregado de una confirmación anterior sigue reservado.
+     */
+    public void deshacer(String juego, InventarioRangos.Reserva reserva) {
+        long liberados = inventario(juego).deshacer(reserva);
+        if (liberados > 0) {
+            log.info("Inventario de {}: devueltos {} cartones de una reserva sin confirmar", juego, liberados);
+        }
+    }
+
+    public long cartonesReservados(String juego) {
+        InventarioRangos inventario = juegos.get(juego);
+        return inventario == null ? 0 : inventario.cartonesReservados();
+    }
+
+    /**
+     * Suma al inventario los índices de entregas del juego guardados desde la última sincronización. Se
+     * llama con el candado del juego tomado: nadie más guarda índices de ese juego mientras tanto, así
+     * que los ids ya leídos no vuelven a aparecer.
+     */
+    private void sincronizar(String juego) {
+        long desde = ultimoIndice.getOrDefault(juego, 0L);
+        List<IndiceEntregasJuego> nuevos = indiceRepo.findByJuegoAndIdGreaterThanOrderByIdAsc(juego, desde);
+        if (nuevos.isEmpty()) return;
+
+        InventarioRangos inventario = inventario(juego);
+        for (IndiceEntregasJuego fila : nuevos) {
+            IndiceEntregas indice = IndiceEntregas.deserializar(fila.getDatos());
+            int[] inicios = new int[indice.cantidadRangos()];
+            int[] fines = new int[indice.cantidadRangos()];
+            for (int i = 0; i < inicios.length; i++) {
+                inicios[i] = indice.inicio(i);
+                fines[i] = indice.fin(i);
+            }
+            List<InventarioRangos.Conflicto> conflictos = inventario.reservar(fila.getProcesoId(), inicios, fines).conflictos();
+            if (!conflictos.isEmpty()) {
+                log.warn("Proceso {}: el índice de {} pisa {} rangos de otros procesos", fila.getProcesoId(), juego, conflictos.size());
+            }
+            desde = Math.max(desde, fila.getId());
+        }
+        ultimoIndice.put(juego, desde);
+        log.info("Inventario de {}: sumados {} índices de entregas de la base", juego, nuevos.size());
+    }
+
+    private InventarioRangos inventario(String juego) {
+        return juegos.computeIfAbsent(juego, j -> new InventarioRangos());
+    }
+}
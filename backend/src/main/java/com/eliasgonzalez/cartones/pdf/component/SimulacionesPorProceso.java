@@ -0,0 +1,158 @@
+package com.eliasgonzalez.cartones.pdf.component;
+
+import com.eliasgonzalez.cartones.pdf.dto.VendedorSimuladoDTO;
+import com.eliasgonzalez.cartones.pdf.service.EstadoSimulacion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Última simulación de cada proceso, para los recálculos y la descarga de sus PDFs. Cada operador
+ * trabaja sobre su proceso sin pisar el de otro.
+ * <p>
+ * Es la copia local de la tabla {@code SIMULACIONES_GUARDADAS} (ver {@code SimulacionesGuardadasService}):
+ * cada entrada lleva la versión de la fila de la que salió y sólo se devuelve si coincide con la vigente,
+ * así otra réplica que volvió a simular el proceso no deja acá una simulación vieja.
+ * <p>
+ * Se descarta la simulación usada hace más tiempo cuando se pasa de la cantidad de procesos o del peso
+ * estimado total, y la que lleva más de {@code minutos} sin volver a simularse. Siempre queda al menos
+ * la última guardada.
+ */
+@Component
+@Slf4j
+public class SimulacionesPorProceso {
+
+    /**
+     * Simulación guardada de un proceso: la vista de los vendedores para los PDFs, las fechas de sorteo
+     * y el estado para recalcular y reservar.
+     */
+    public record Simulacion(List<VendedorSimuladoDTO> vendedores, LocalDate fechaSorteoSenete,
+                             LocalDate fechaSorteoTelebingo, EstadoSimulacion estado) {
+
+        /**
+         * Misma simulación con otro reparto (las fechas no cambian).
+         */
+        public Simulacion conResultado(List<VendedorSimuladoDTO> vendedores, EstadoSimulacion estado) {
+            return new Simulacion(vendedores, fechaSorteoSenete, fechaSorteoTelebingo, estado);
+        }
+    }
+
+    /**
+     * Uso de la memoria desde que arrancó la aplicación. {@code desactualizadas} son las que se descartaron
+     * porque la base tenía otra versión.
+     */
+    public record Estadisticas(int procesos, long bytesEstimados, long aciertos, long fallos,
+                               long desalojadas, long vencidas, long desactualizadas) {}
+
+    private record Entrada(Simulacion simulacion, long version, long bytes, long guardadaEn) {}
+
+    private final int capacidad;
+    private final long vigenciaMs;
+    private final long bytesMaximos;
+    private final LongSupplier reloj;
+
+    private final Map<String, Entrada> entradas = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytesTotales;
+    private long aciertos;
+    private long fallos;
+    private long desalojadas;
+    private long vencidas;
+    private long desactualizadas;
+
+    @Autowired
+    public SimulacionesPorProceso(@Value("${app.distribucion.memoria-procesos:16}") int capacidad,
+                                  @Value("${app.distribucion.memoria-procesos-minutos:120}") long minutos,
+                                  @Value("${app.distribucion.memoria-procesos-mb:256}") long megas) {
+        this(capacidad, minutos, megas, System::currentTimeMillis);
+    }
+
+    SimulacionesPorProceso(int capacidad, long minutos, long megas, LongSupplier reloj) {
+        this.capacidad = Math.max(capacidad, 1);
+        this.vigenciaMs = TimeUnit.MINUTES.toMillis(minutos);
+        this.bytesMaximos = megas * 1024 * 1024;
+        this.reloj = reloj;
+    }
+
+    /**
+     * Reemplaza la simulación del proceso.
+     *
+     * @param version Versión de la fila guardada en la base.
+     */
+    public void guardar(String procesoId, long version, Simulacion simulacion) {
+        long bytes = simulacion.estado() == null ? 0 : simulacion.estado().bytesEstimados();
+        synchronized (entradas) {
+            Entrada anterior = entradas.remove(procesoId);
+            if (anterior != null) bytesTotales -= anterior.bytes();
+            entradas.put(procesoId, new Entrada(simulacion, version, bytes, reloj.getAsLong()));
+            bytesTotales += bytes;
+
+            quitarVencidas();
+            // De la usada hace más tiempo a la más reciente; la recién guardada no se descarta
+            Iterator<Map.Entry<String, Entrada>> it = entradas.entrySet().iterator();
+            while (entradas.size() > 1 && (entradas.size() > capacidad || bytesTotales > bytesMaximos)) {
+                Map.Entry<String, Entrada> eldest = it.next();
+                it.remove();
+                bytesTotales -= eldest.getValue().bytes();
+                desalojadas++;
+                log.info("Simulación del proceso {} descartada de memoria ({} procesos, {} KB)",
+                        eldest.getKey(), entradas.size(), bytesTotales / 1024);
+            }
+        }
+    }
+
+    /**
+     * @param version Versión vigente de la fila en la base.
+     * @return La simulación del proceso, o {@code null} si no hay, venció o es de otra versión.
+     */
+    public Simulacion obtener(String procesoId, long version) {
+        synchronized (entradas) {
+            Entrada entrada = entradas.get(procesoId);
+            if (entrada != null && (vencida(entrada) || entrada.version() != version)) {
+                entradas.remove(procesoId);
+                bytesTotales -= entrada.bytes();
+                if (entrada.version() != version) desactualizadas++;
+                else vencidas++;
+                entrada = null;
+            }
+            if (entrada == null) {
+                fallos++;
+                return null;
+            }
+            aciertos++;
+            return entrada.simulacion();
+        }
+    }
+
+    public Estadisticas estadisticas() {
+        synchronized (entradas) {
+            return new Estadisticas(entradas.size(), bytesTotales, aciertos, fallos, desalojadas, vencidas,
+                    desactualizadas);
+        }
+    }
+
+    // Llamar con el candado tomado
+    private void quitarVencidas() {
+        Iterator<Entrada> it = entradas.values().iterator();
+        while (it.hasNext()) {
+            Entrada entrada = it.next();
+            if (vencida(entrada)) {
+                it.remove();
+                bytesTotales -= entrada.bytes();
+                vencidas++;
+            }
+        }
+    }
+
+    private boolean vencida(Entrada entrada) {
+        return reloj.getAsLong() - entrada.guardadaEn() > vigenciaMs;
+    }
+}
@@ -0,0 +1,192 @@
+package com.eliasgonzalez.cartones.pdf.controller;
+
+import com.eliasgonzalez.cartones.pdf.component.SimulacionesPorProceso;
+import com.eliasgonzalez.cartones.pdf.dto.PlanPapelDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionDeltaRequestDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionDeltaResultadoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionEstadisticasDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionLoteRequestDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionLoteResultadoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionRequestDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionResultadoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.VendedorSimuladoDTO;
+import com.eliasgonzalez.cartones.pdf.service.GestionArchivoPdfService;
+import com.eliasgonzalez.cartones.pdf.service.GestionDistribucionService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/distribuciones")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "${app.cors.origins}", exposedHeaders = {
+        DistribucionController.HEADER_SEMILLA,
+        DistribucionController.HEADER_MEZCLAS_EVALUADAS,
+        DistribucionController.HEADER_BRECHA_OPTIMALIDAD,
+        DistribucionController.HEADER_QUEMADOS_SENETE,
+        DistribucionController.HEADER_QUEMADOS_TELEBINGO})
+public class DistribucionController {
+
+    // Metadatos de la simulación: viajan en cabeceras para no alterar el cuerpo (lista de vendedores)
+    static final String HEADER_SEMILLA = "X-Simulacion-Semilla";
+    static final String HEADER_MEZCLAS_EVALUADAS = "X-Simulacion-Mezclas-Evaluadas";
+    static final String HEADER_BRECHA_OPTIMALIDAD = "X-Simulacion-Brecha-Optimalidad";
+    static final String HEADER_QUEMADOS_SENETE = "X-Cartones-Quemados-Senete";
+    static final String HEADER_QUEMADOS_TELEBINGO = "X-Cartones-Quemados-Telebingo";
+
+    static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    // Líneas NDJSON escritas entre cada vaciado del buffer hacia el cliente
+    private static final int LINEAS_POR_ENVIO = 256;
+
+    private final GestionDistribucionService gestionDistribucion;
+    private final GestionArchivoPdfService gestionArchivoPdf;
+    private final ObjectMapper objectMapper;
+    private final SimulacionesPorProceso simulaciones;
+
+    @PostMapping("/{procesoId}/simular")
+    public ResponseEntity<List<VendedorSimuladoDTO>> simular(
+            @Valid @RequestBody SimulacionRequestDTO solicitud,
+            @PathVariable String procesoId) {
+
+        log.info(solicitud.toString());
+        log.info("Iniciando simulación para el proceso ID: {}", procesoId);
+        SimulacionResultadoDTO resultado = gestionDistribucion.procesarSimulacion(procesoId, solicitud);
+        return conMetadatos(resultado).body(resultado.getVendedores());
+    }
+
+    /**
+     * Misma simulación, pero con {@code Accept: application/x-ndjson} se escribe un vendedor por línea
+     * a medida que se serializa, sin armar el arreglo JSON completo en memoria.
+     */
+    @PostMapping(value = "/{procesoId}/simular", produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> simularEnLineas(
+            @Valid @RequestBody SimulacionRequestDTO solicitud,
+            @PathVariable String procesoId) {
+
+        log.info(solicitud.toString());
+        log.info("Iniciando simulación (NDJSON) para el proceso ID: {}", procesoId);
+        SimulacionResultadoDTO resultado = gestionDistribucion.procesarSimulacion(procesoId, solicitud);
+
+        ObjectWriter escritor = objectMapper.writerFor(VendedorSimuladoDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody cuerpo = salida -> {
+            try (JsonGenerator generador = objectMapper.getFactory().createGenerator(salida)) {
+                generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generador.setRootValueSeparator(null); // el separador es el salto de línea
+                int lineas = 0;
+                for (VendedorSimuladoDTO vendedor : resultado.getVendedores()) {
+                    escritor.writeValue(generador, vendedor);
+                    generador.writeRaw('\n');
+                    if (++lineas % LINEAS_POR_ENVIO == 0) generador.flush();
+                }
+            }
+        };
+
+        return conMetadatos(resultado)
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON))
+                .body(cuerpo);
+    }
+
+    @PatchMapping("/{procesoId}/simular")
+    public ResponseEntity<SimulacionDeltaResultadoDTO> recalcular(
+            @Valid @RequestBody SimulacionDeltaRequestDTO solicitud,
+            @PathVariable String procesoId) {
+
+        log.info(solicitud.toString());
+        log.info("Recalculando cambios de la simulación para el proceso ID: {}", procesoId);
+        return ResponseEntity.ok(gestionDistribucion.recalcularCambios(procesoId, solicitud));
+    }
+
+    @PostMapping("/{procesoId}/simular/diferencias")
+    public ResponseEntity<SimulacionDeltaResultadoDTO> simularDiferencias(
+            @Valid @RequestBody SimulacionRequestDTO solicitud,
+            @PathVariable String procesoId) {
+
+        log.info(solicitud.toString());
+        log.info("Iniciando simulación (sólo cambios) para el proceso ID: {}", procesoId);
+        return ResponseEntity.ok(gestionDistribucion.procesarSimulacionConDiferencias(procesoId, solicitud));
+    }
+
+    @PostMapping("/{procesoId}/simular/variantes")
+    public ResponseEntity<SimulacionLoteResultadoDTO> simularVariantes(
+            @Valid @RequestBody SimulacionLoteRequestDTO solicitud,
+            @PathVariable String procesoId) {
+
+        log.info(solicitud.toString());
+        log.info("Comparando variantes de pilas para el proceso ID: {}", procesoId);
+        return ResponseEntity.ok(gestionDistribucion.compararVariantes(procesoId, solicitud));
+    }
+
+    @PostMapping("/{procesoId}/simular/estadisticas")
+    public ResponseEntity<SimulacionEstadisticasDTO> simularEstadisticas(
+            @Valid @RequestBody SimulacionRequestDTO solicitud,
+            @PathVariable String procesoId) {
+
+        log.debug("Calculando totales de la simulación para el proceso ID: {}", procesoId);
+        return ResponseEntity.ok(gestionDistribucion.calcularEstadisticas(procesoId, solicitud));
+    }
+
+    @PostMapping("/{procesoId}/simular/papel")
+    public ResponseEntity<PlanPapelDTO> planificarPapel(
+            @Valid @RequestBody SimulacionRequestDTO solicitud,
+            @PathVariable String procesoId) {
+
+        log.debug("Planificando el papel de la simulación para el proceso ID: {}", procesoId);
+        return ResponseEntity.ok(gestionDistribucion.planificarPapel(procesoId, solicitud));
+    }
+
+    /**
+     * Simulaciones guardadas por proceso: cuántas hay, cuánto ocupan y aciertos, fallos y descartes.
+     */
+    @GetMapping("/memoria")
+    public ResponseEntity<SimulacionesPorProceso.Estadisticas> memoria() {
+        return ResponseEntity.ok(simulaciones.estadisticas());
+    }
+
+    @GetMapping("/{procesoId}/pdfs")
+    public ResponseEntity<Resource> descargar(@PathVariable String procesoId) throws IOException {
+
+        Resource zip = gestionArchivoPdf.generarPaqueteZip(procesoId);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"zip-" + procesoId + ".zip\"")
+                .contentLength(zip.contentLength())
+                .body(zip);
+    }
+
+    private static ResponseEntity.BodyBuilder conMetadatos(SimulacionResultadoDTO resultado) {
+        ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok();
+        if (resultado.getSemilla() != null) {
+            respuesta.header(HEADER_SEMILLA, String.valueOf(resultado.getSemilla()));
+        }
+        if (resultado.getMezclasEvaluadas() != null) {
+            respuesta.header(HEADER_MEZCLAS_EVALUADAS, String.valueOf(resultado.getMezclasEvaluadas()));
+        }
+        if (resultado.getBrechaOptimalidad() != null) {
+            respuesta.header(HEADER_BRECHA_OPTIMALIDAD, String.valueOf(resultado.getBrechaOptimalidad()));
+        }
+        if (resultado.getEstadisticasSenete() != null) {
+            respuesta.header(HEADER_QUEMADOS_SENETE, String.valueOf(resultado.getEstadisticasSenete().cartonesQuemados()));
+        }
+        if (resultado.getEstadisticasTelebingo() != null) {
+            respuesta.header(HEADER_QUEMADOS_TELEBINGO, String.valueOf(resultado.getEstadisticasTelebingo().cartonesQuemados()));
+        }
+        return respuesta;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.eliasgonzalez.cartones.pdf.controller;
+
+import com.eliasgonzalez.cartones.pdf.dto.ConciliacionDTO;
+import com.eliasgonzalez.cartones.pdf.dto.DevolucionesRequestDTO;
+import com.eliasgonzalez.cartones.pdf.dto.DuenoCartonDTO;
+import com.eliasgonzalez.cartones.pdf.dto.GanadoresVendedorDTO;
+import com.eliasgonzalez.cartones.pdf.service.EntregasService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+/**
+ * Consultas sobre los cartones entregados por procesos ya confirmados (PDFs descargados).
+ */
+@RestController
+@RequestMapping("/api/distribuciones")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "${app.cors.origins}")
+public class EntregasController {
+
+    // Vendedores escritos entre cada vaciado del buffer hacia el cliente
+    private static final int LINEAS_POR_ENVIO = 64;
+
+    private final EntregasService entregas;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping("/{procesoId}/cartones/{juego}/{carton}")
+    public ResponseEntity<DuenoCartonDTO> buscarDueno(
+            @PathVariable String procesoId,
+            @PathVariable String juego,
+            @PathVariable int carton) {
+
+        log.debug("Buscando el dueño del cartón {} de {} en el proceso ID: {}", carton, juego, procesoId);
+        return ResponseEntity.ok(entregas.buscarDueno(procesoId, juego, carton));
+    }
+
+    /**
+     * Cruza los cartones sorteados (un arreglo JSON de números, sin orden) con las entregas del proceso
+     * y responde un vendedor por línea con sus cartones; la última línea, sin vendedor, junta los que
+     * no se entregaron.
+     */
+    @PostMapping(value = "/{procesoId}/cartones/{juego}/cruce",
+            consumes = MediaType.APPLICATION_JSON_VALUE, produces = DistribucionController.APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> cruzarCartones(
+            @PathVariable String procesoId,
+            @PathVariable String juego,
+            @RequestBody int[] cartones) {
+
+        log.info("Cruzando {} cartones de {} con el proceso ID: {}", cartones.length, juego, procesoId);
+        List<GanadoresVendedorDTO> vendedores = entregas.cruzarCartones(procesoId, juego, cartones);
+
+        ObjectWriter escritor = objectMapper.writerFor(GanadoresVendedorDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody cuerpo = salida -> {
+            try (JsonGenerator generador = objectMapper.getFactory().createGenerator(salida)) {
+                generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generador.setRootValueSeparator(null); // el separador es el salto de línea
+                int lineas = 0;
+                for (GanadoresVendedorDTO vendedor : vendedores) {
+                    escritor.writeValue(generador, vendedor);
+                    generador.writeRaw('\n');
+                    if (++lineas % LINEAS_POR_ENVIO == 0) generador.flush();
+                }
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(DistribucionController.APPLICATION_NDJSON))
+                .body(cuerpo);
+    }
+
+    @PostMapping("/{procesoId}/cartones/{juego}/devoluciones")
+    public ResponseEntity<ConciliacionDTO> conciliarDevoluciones(
+            @Valid @RequestBody DevolucionesRequestDTO solicitud,
+            @PathVariable String procesoId,
+            @PathVariable String juego) {
+
+        log.info(solicitud.toString());
+        log.info("Conciliando devoluciones de {} para el proceso ID: {}", juego, procesoId);
+        return ResponseEntity.ok(entregas.conciliarDevoluciones(procesoId, juego, solicitud.getDevoluciones()));
+    }
+}
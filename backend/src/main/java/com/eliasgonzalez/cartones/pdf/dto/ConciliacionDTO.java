@@ -0,0 +1,30 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Conciliación de las devoluciones de un juego contra las entregas del proceso.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ConciliacionDTO {
+
+    private final String procesoId;
+    private final String juego;
+
+    private final long entregados;
+    private final long devueltos;
+    private final long vendidos;
+
+    // Vendedores con alguna devolución fuera de su asignación
+    private final int vendedoresConObservaciones;
+
+    // De menor a mayor id
+    private final List<ConciliacionVendedorDTO> vendedores;
+
+}
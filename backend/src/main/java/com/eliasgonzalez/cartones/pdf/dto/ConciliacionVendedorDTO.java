@@ -0,0 +1,28 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Entregado, devuelto y vendido de un vendedor en un juego.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ConciliacionVendedorDTO {
+
+    private final Long vendedorId;
+    // null si el vendedor ya no está en la base
+    private final String nombre;
+
+    private final long entregados;
+    // Sólo los que el vendedor había recibido
+    private final long devueltos;
+    private final long vendidos;
+
+    private final RangosCartones rangosVendidos;
+    // Devoluciones de cartones que no le fueron entregados (de otro vendedor o sin entregar)
+    private final RangosCartones fueraDeAsignacion;
+
+}
@@ -0,0 +1,22 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/**
+ * Cartones que un vendedor devolvió sin vender, como rangos {@code "inicio-fin"}.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DevolucionVendedorDTO {
+
+    @NotNull
+    private Long vendedorId;
+
+    @NotNull
+    private RangosCartones rangos;
+
+}
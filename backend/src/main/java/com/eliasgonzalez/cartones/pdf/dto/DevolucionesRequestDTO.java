@@ -0,0 +1,26 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Devoluciones de un juego de un proceso confirmado. Un vendedor puede aparecer varias veces.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DevolucionesRequestDTO {
+
+    @Valid
+    @NotNull
+    private List<DevolucionVendedorDTO> devoluciones;
+
+    @Override
+    public String toString() {
+        return "DevolucionesRequestDTO{devoluciones=" + (devoluciones == null ? null : devoluciones.size()) + '}';
+    }
+}
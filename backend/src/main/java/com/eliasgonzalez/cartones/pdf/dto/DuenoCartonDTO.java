@@ -0,0 +1,27 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Vendedor que recibió un cartón de un proceso confirmado.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class DuenoCartonDTO {
+
+    private final String procesoId;
+    private final String juego;
+    private final int carton;
+
+    private final Long vendedorId;
+    // null si el vendedor ya no está en la base
+    private final String nombre;
+
+    // Rango entregado que contiene al cartón
+    private final int desde;
+    private final int hasta;
+
+}
@@ -0,0 +1,24 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Cartones sorteados que recibió un vendedor de un proceso confirmado. Con {@code vendedorId} null
+ * lleva los cartones que no se entregaron a nadie.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class GanadoresVendedorDTO {
+
+    private final Long vendedorId;
+    // null si el vendedor ya no está en la base
+    private final String nombre;
+
+    private final int cantidad;
+    // Ordenados, sin repetidos
+    private final int[] cartones;
+
+}
@@ -0,0 +1,39 @@
+package com.eliasgonzalez.cartones.pdf.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Índice de entregas de un juego de un proceso confirmado (ver {@code IndiceEntregas#serializar()}),
+ * para saber quién tiene un cartón sin necesitar la simulación en memoria.
+ */
+@Entity
+@Table(name = "INDICES_ENTREGAS",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"proceso_id", "juego"}))
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+@Builder
+public class IndiceEntregasJuego {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "proceso_id", nullable = false)
+    private String procesoId;
+
+    // Clave del juego: senete, telebingo o la de un juego adicional
+    @Column(nullable = false)
+    private String juego;
+
+    @Column(name = "cantidad_rangos", nullable = false)
+    private int cantidadRangos;
+
+    @Lob
+    @JdbcTypeCode(SqlTypes.VARBINARY)
+    @Column(nullable = false)
+    private byte[] datos;
+}
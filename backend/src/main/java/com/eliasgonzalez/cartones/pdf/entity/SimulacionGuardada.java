@@ -0,0 +1,42 @@
+package com.eliasgonzalez.cartones.pdf.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+
+/**
+ * Última simulación de un proceso (ver {@code EstadoSimulacion#serializar()}), para que cualquier réplica
+ * pueda recalcularla o descargar sus PDFs. La versión cambia con cada simulación guardada.
+ */
+@Entity
+@Table(name = "SIMULACIONES_GUARDADAS")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter @Setter
+@Builder
+public class SimulacionGuardada {
+
+    @Id
+    @Column(name = "proceso_id")
+    private String procesoId;
+
+    @Version
+    private Long version;
+
+    @Column(name = "fecha_sorteo_senete")
+    private LocalDate fechaSorteoSenete;
+
+    @Column(name = "fecha_sorteo_telebingo")
+    private LocalDate fechaSorteoTelebingo;
+
+    @Column(name = "cantidad_vendedores", nullable = false)
+    private int cantidadVendedores;
+
+    @Lob
+    @JdbcTypeCode(SqlTypes.VARBINARY)
+    @Column(nullable = false)
+    private byte[] datos;
+}
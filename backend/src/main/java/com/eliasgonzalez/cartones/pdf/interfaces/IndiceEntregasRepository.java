@@ -0,0 +1,30 @@
+package com.eliasgonzalez.cartones.pdf.interfaces;
+
+import com.eliasgonzalez.cartones.pdf.entity.IndiceEntregasJuego;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface IndiceEntregasRepository extends JpaRepository<IndiceEntregasJuego, Long> {
+
+    Optional<IndiceEntregasJuego> findByProcesoIdAndJuego(String procesoId, String juego);
+
+    List<IndiceEntregasJuego> findByJuegoAndIdGreaterThanOrderByIdAsc(String juego, Long id);
+
+    // Borrado directo en la base: los índices nuevos se insertan enseguida (id IDENTITY) y no pueden
+    // chocar con los viejos en (proceso_id, juego)
+    @Modifying(flushAutomatically = true)
+    @Query("delete from IndiceEntregasJuego i where i.procesoId = :procesoId")
+    int deleteAllByProcesoId(@Param("procesoId") String procesoId);
+
+    // Candado de PostgreSQL para las confirmaciones de un juego; se suelta solo al terminar la transacción
+    @Query(value = "select 1 from pg_advisory_xact_lock(hashtext('entregas:' || :juego))", nativeQuery = true)
+    Integer bloquearJuego(@Param("juego") String juego);
+
+}
@@ -0,0 +1,18 @@
+package com.eliasgonzalez.cartones.pdf.interfaces;
+
+import com.eliasgonzalez.cartones.pdf.entity.SimulacionGuardada;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SimulacionGuardadaRepository extends JpaRepository<SimulacionGuardada, String> {
+
+    // Sólo la versión, sin traer los datos: alcanza para saber si la copia en memoria sigue vigente
+    @Query("select s.version from SimulacionGuardada s where s.procesoId = :procesoId")
+    Optional<Long> buscarVersion(@Param("procesoId") String procesoId);
+
+}
@@ -0,0 +1,240 @@
+package com.eliasgonzalez.cartones.pdf.service;
+
+import com.eliasgonzalez.cartones.pdf.dto.ConciliacionDTO;
+import com.eliasgonzalez.cartones.pdf.dto.ConciliacionVendedorDTO;
+import com.eliasgonzalez.cartones.pdf.dto.DevolucionVendedorDTO;
+import com.eliasgonzalez.cartones.pdf.dto.DuenoCartonDTO;
+import com.eliasgonzalez.cartones.pdf.dto.GanadoresVendedorDTO;
+import com.eliasgonzalez.cartones.pdf.dto.RangosCartones;
+import com.eliasgonzalez.cartones.pdf.engine.ConciliacionDevoluciones;
+import com.eliasgonzalez.cartones.pdf.engine.CruceCartones;
+import com.eliasgonzalez.cartones.pdf.engine.IndiceEntregas;
+import com.eliasgonzalez.cartones.pdf.entity.IndiceEntregasJuego;
+import com.eliasgonzalez.cartones.pdf.interfaces.IndiceEntregasRepository;
+import com.eliasgonzalez.cartones.shared.exception.ResourceNotFoundException;
+import com.eliasgonzalez.cartones.shared.exception.UnprocessableEntityException;
+import com.eliasgonzalez.cartones.vendedor.entity.Vendedor;
+import com.eliasgonzalez.cartones.vendedor.interfaces.VendedorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entregas de los procesos confirmados: guarda un {@link IndiceEntregas} por juego al confirmar y
+ * responde quién tiene cada cartón desde la base, sin la simulación en memoria.
+ * <p>
+ * Los índices leídos se guardan decodificados en una memoria LRU chica: las consultas de un mismo
+ * proceso (un sorteo) llegan todas juntas.
+ */
+@Service
+@Slf4j
+public class EntregasService {
+
+    private static final int MAX_DETALLES_RANGOS = 20;
+
+    private final IndiceEntregasRepository indiceRepo;
+    private final VendedorRepository vendedorRepo;
+
+    private final int capacidad;
+    private final Map<String, IndiceEntregas> indices;
+
+    public EntregasService(IndiceEntregasRepository indiceRepo, VendedorRepository vendedorRepo,
+                           @Value("${app.distribucion.cache-indices:16}") int capacidad) {
+        this.indiceRepo = indiceRepo;
+        this.vendedorRepo = vendedorRepo;
+        this.capacidad = capacidad;
+        this.indices = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IndiceEntregas> eldest) {
+                return size() > EntregasService.this.capacidad;
+            }
+        };
+    }
+
+    /**
+     * Guarda el índice de cada juego de la simulación confirmada, reemplazando los anteriores del proceso.
+     */
+    @Transactional
+    public void guardarIndices(String procesoId, EstadoSimulacion estado) {
+        indiceRepo.deleteAllByProcesoId(procesoId);
+        olvidar(procesoId);
+
+        for (int g = 0; g < estado.cantidadJuegos(); g++) {
+            IndiceEntregas indice = estado.indiceEntregas(g);
+            byte[] datos = indice.serializar();
+            indiceRepo.save(IndiceEntregasJuego.builder()
+                    .procesoId(procesoId)
+                    .juego(estado.clave(g))
+                    .cantidadRangos(indice.cantidadRangos())
+                    .datos(datos)
+                    .build());
+            log.info("Proceso {}: índice de {} con {} rangos ({} bytes)",
+                    procesoId, estado.clave(g), indice.cantidadRangos(), datos.length);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public DuenoCartonDTO buscarDueno(String procesoId, String juego, int carton) {
+        IndiceEntregas indice = indice(procesoId, juego);
+        int i = indice.buscar(carton);
+        if (i < 0) {
+            throw new ResourceNotFoundException(
+                    "El cartón " + carton + " de " + DistribucionService.nombreJuego(juego) + " no fue entregado en el proceso " + procesoId + ".",
+                    List.of());
+        }
+
+        long vendedorId = indice.dueno(i);
+        return DuenoCartonDTO.builder()
+                .procesoId(procesoId)
+                .juego(juego)
+                .carton(carton)
+                .vendedorId(vendedorId)
+                .nombre(vendedorRepo.findById(vendedorId).map(Vendedor::getNombre).orElse(null))
+                .desde(indice.inicio(i))
+                .hasta(indice.fin(i))
+                .build();
+    }
+
+    /**
+     * Cartones sorteados (sin orden, con repetidos) agrupados por el vendedor que los recibió, de menor a
+     * mayor id. Si alguno no se entregó, el último elemento los junta con {@code vendedorId} null.
+     */
+    @Transactional(readOnly = true)
+    public List<GanadoresVendedorDTO> cruzarCartones(String procesoId, String juego, int[] cartones) {
+        CruceCartones cruce = indice(procesoId, juego).cruzar(cartones);
+
+        List<Long> ids = new ArrayList<>(cruce.cantidadVendedores());
+        for (int d = 0; d < cruce.cantidadVendedores(); d++) ids.add(cruce.vendedor(d));
+        Map<Long, String> nombres = new HashMap<>();
+        vendedorRepo.findAllById(ids).forEach(v -> nombres.put(v.getId(), v.getNombre()));
+
+        List<GanadoresVendedorDTO> resultado = new ArrayList<>(cruce.cantidadVendedores() + 1);
+        for (int d = 0; d < cruce.cantidadVendedores(); d++) {
+            int[] suyos = cruce.cartones(d);
+            resultado.add(GanadoresVendedorDTO.builder()
+                    .vendedorId(cruce.vendedor(d))
+                    .nombre(nombres.get(cruce.vendedor(d)))
+                    .cantidad(suyos.length)
+                    .cartones(suyos)
+                    .build());
+        }
+        int[] noEntregados = cruce.noEntregados();
+        if (noEntregados.length > 0) {
+            resultado.add(GanadoresVendedorDTO.builder()
+                    .cantidad(noEntregados.length)
+                    .cartones(noEntregados)
+                    .build());
+        }
+
+        log.info("Proceso {}: {} cartones de {} cruzados contra {} vendedores ({} sin entregar)",
+                procesoId, cartones.length, juego, cruce.cantidadVendedores(), noEntregados.length);
+        return resultado;
+    }
+
+    /**
+     * Resta las devoluciones de lo entregado a cada vendedor: cuántos cartones vendió, qué rangos y qué
+     * devolvió que no era suyo. No modifica el proceso ni los vendedores.
+     */
+    @Transactional(readOnly = true)
+    public ConciliacionDTO conciliarDevoluciones(String procesoId, String juego, List<DevolucionVendedorDTO> devoluciones) {
+        int total = 0;
+        List<String> invalidos = new ArrayList<>();
+        for (DevolucionVendedorDTO devolucion : devoluciones) {
+            RangosCartones rangos = devolucion.getRangos();
+            total += rangos.cantidad();
+            for (int i = 0; i < rangos.cantidad(); i++) {
+                if (rangos.fin(i) < rangos.inicio(i) && invalidos.size() < MAX_DETALLES_RANGOS) {
+                    invalidos.add(RangosCartones.formatear(rangos.get(i)) + " (vendedor " + devolucion.getVendedorId() + ")");
+                }
+            }
+        }
+        if (!invalidos.isEmpty()) {
+            throw new UnprocessableEntityException("Hay rangos devueltos con el fin antes del inicio.", invalidos);
+        }
+
+        long[] vendedores = new long[total];
+        long[] rangos = new long[total];
+        int k = 0;
+        for (DevolucionVendedorDTO devolucion : devoluciones) {
+            for (int i = 0; i < devolucion.getRangos().cantidad(); i++) {
+                vendedores[k] = devolucion.getVendedorId();
+                rangos[k++] = devolucion.getRangos().get(i);
+            }
+        }
+        ConciliacionDevoluciones conciliacion = indice(procesoId, juego).conciliar(vendedores, rangos);
+
+        List<Long> ids = new ArrayList<>(conciliacion.cantidadVendedores());
+        for (int v = 0; v < conciliacion.cantidadVendedores(); v++) ids.add(conciliacion.vendedor(v));
+        Map<Long, String> nombres = new HashMap<>();
+        vendedorRepo.findAllById(ids).forEach(vendedor -> nombres.put(vendedor.getId(), vendedor.getNombre()));
+
+        List<ConciliacionVendedorDTO> porVendedor = new ArrayList<>(conciliacion.cantidadVendedores());
+        long entregados = 0;
+        long devueltos = 0;
+        int observados = 0;
+        for (int v = 0; v < conciliacion.cantidadVendedores(); v++) {
+            RangosCartones fuera = conciliacion.fueraDeAsignacion(v);
+            if (!fuera.isEmpty()) observados++;
+            entregados += conciliacion.entregados(v);
+            devueltos += conciliacion.devueltos(v);
+            porVendedor.add(ConciliacionVendedorDTO.builder()
+                    .vendedorId(conciliacion.vendedor(v))
+                    .nombre(nombres.get(conciliacion.vendedor(v)))
+                    .entregados(conciliacion.entregados(v))
+                    .devueltos(conciliacion.devueltos(v))
+                    .vendidos(conciliacion.vendidos(v))
+                    .rangosVendidos(conciliacion.rangosVendidos(v))
+                    .fueraDeAsignacion(fuera)
+                    .build());
+        }
+
+        log.info("Proceso {}: {} rangos devueltos de {} conciliados ({} vendedores con devoluciones fuera de su asignación)",
+                procesoId, total, juego, observados);
+        return ConciliacionDTO.builder()
+                .procesoId(procesoId)
+                .juego(juego)
+                .entregados(entregados)
+                .devueltos(devueltos)
+                .vendidos(entregados - devueltos)
+                .vendedoresConObservaciones(observados)
+                .vendedores(porVendedor)
+                .build();
+    }
+
+    /**
+     * Índice de entregas de un juego del proceso, de memoria o de la base.
+     */
+    @Transactional(readOnly = true)
+    public IndiceEntregas indice(String procesoId, String juego) {
+        String clave = procesoId + "/" + juego;
+        synchronized (indices) {
+            IndiceEntregas guardado = indices.get(clave);
+            if (guardado != null) return guardado;
+        }
+
+        IndiceEntregas indice = indiceRepo.findByProcesoIdAndJuego(procesoId, juego)
+                .map(fila -> IndiceEntregas.deserializar(fila.getDatos()))
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "El proceso " + procesoId + " no tiene entregas confirmadas de " + DistribucionService.nombreJuego(juego) + ".",
+                        List.of("Los cartones se registran al descargar los PDFs del proceso.")));
+        if (capacidad > 0) {
+            synchronized (indices) {
+                indices.put(clave, indice);
+            }
+        }
+        return indice;
+    }
+
+    private void olvidar(String procesoId) {
+        synchronized (indices) {
+            indices.keySet().removeIf(clave -> clave.startsWith(procesoId + "/"));
+        }
+    }
+}
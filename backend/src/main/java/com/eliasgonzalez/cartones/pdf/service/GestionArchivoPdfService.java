@@ -0,0 +1,137 @@
+package com.eliasgonzalez.cartones.pdf.service;
+
+import com.eliasgonzalez.cartones.pdf.component.InventarioCartones;
+import com.eliasgonzalez.cartones.pdf.component.SimulacionesPorProceso.Simulacion;
+import com.eliasgonzalez.cartones.pdf.engine.InventarioRangos;
+import com.eliasgonzalez.cartones.pdf.entity.PdfProcesos;
+import com.eliasgonzalez.cartones.pdf.interfaces.IPdfService;
+import com.eliasgonzalez.cartones.pdf.interfaces.PdfProcesosRepository;
+import com.eliasgonzalez.cartones.shared.exception.ResourceNotFoundException;
+import com.eliasgonzalez.cartones.shared.exception.UnprocessableEntityException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GestionArchivoPdfService {
+
+    private static final int MAX_DETALLES_CONFLICTO = 20;
+
+    private final IPdfService pdfService;
+    private final SimulacionesGuardadasService simulaciones;
+    private final PdfProcesosRepository pdfProcesosRepo;
+    private final GestionDistribucionService gestionDistribucionService;
+    private final InventarioCartones inventarioCartones;
+    private final EntregasService entregasService;
+
+    @Transactional
+    public Resource generarPaqueteZip(String procesoId) {
+        PdfProcesos proceso = gestionDistribucionService.buscarProceso(procesoId);
+        Simulacion simulacion = simulaciones.obtener(procesoId);
+        if (simulacion == null) {
+            throw new ResourceNotFoundException(
+                    "No hay una simulación guardada para el proceso " + procesoId + ".",
+                    List.of("Ejecutá la simulación antes de descargar los PDFs."));
+        }
+        rechazarJuegosAdicionales(procesoId, simulacion.estado());
+        // Un proceso ya completado no se vuelve a confirmar: ni siquiera se toca el inventario
+        ProcesoIdService.validarVerificando(procesoId, proceso);
+
+        // Los cartones se reservan antes de armar los PDFs: si ya los entregó otro proceso no se dibuja nada
+        reservarCartones(procesoId, simulacion.estado());
+
+        Resource zip = pdfService.obtenerZipPdfs(
+                procesoId,
+                proceso,
+                simulacion.vendedores(),
+                simulacion.fechaSorteoSenete(),
+                simulacion.fechaSorteoTelebingo()
+        );
+
+        // Finalizar proceso: los cartones repartidos pasan a estar entregados
+        ProcesoIdService.VerificandoToCompletado(procesoId, proceso);
+        pdfProcesosRepo.save(proceso);
+
+        return zip;
+    }
+
+    /**
+     * Reserva en el inventario compartido los rangos de la simulación del proceso, juego por juego, y
+     * guarda sus índices de entregas. Si otro proceso ya entregó alguno de esos cartones no se reserva
+     * nada. La reserva queda atada a la transacción: si no se confirma, por el motivo que sea, vuelve al
+     * inventario lo que agregó, y sólo eso.
+     */
+    private void reservarCartones(String procesoId, EstadoSimulacion estado) {
+        if (estado == null) {
+            log.warn("Proceso {}: no hay simulación guardada, no se reservan cartones", procesoId);
+            return;
+        }
+
+        Map<String, InventarioRangos.Reserva> hechas = new LinkedHashMap<>();
+        deshacerSiNoSeConfirma(hechas);
+        for (int g = 0; g < estado.cantidadJuegos(); g++) {
+            String juego = estado.claves[g];
+            InventarioRangos.Reserva reserva = inventarioCartones.reservar(procesoId, juego, estado.asignaciones[g]);
+            if (!reserva.conflictos().isEmpty()) {
+                throw new UnprocessableEntityException(
+                        "Los cartones de " + DistribucionService.nombreJuego(juego) + " ya fueron entregados por otro proceso.",
+                        detallarConflictos(reserva.conflictos()));
+            }
+            hechas.put(juego, reserva);
+        }
+
+        // Quién tiene cada cartón, para consultarlo después sin la simulación en memoria
+        entregasService.guardarIndices(procesoId, estado);
+    }
+
+    private void deshacerSiNoSeConfirma(Map<String, InventarioRangos.Reserva> reservas) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) return;
+                reservas.forEach(inventarioCartones::deshacer);
+            }
+        });
+    }
+
+    /**
+     * Los PDFs sólo tienen Seneté y Telebingo: no se confirma un reparto con cartones que no salen en papel.
+     */
+    private static void rechazarJuegosAdicionales(String procesoId, EstadoSimulacion estado) {
+        if (estado == null || !estado.tieneJuegosAdicionales()) return;
+
+        List<String> detalles = new ArrayList<>();
+        for (int g = DistribucionService.JUEGO_TELEBINGO + 1; g < estado.cantidadJuegos(); g++) {
+            detalles.add("Juego adicional: " + estado.clave(g));
+        }
+        detalles.add("Simulá el proceso sin juegos adicionales para descargar los PDFs.");
+        throw new UnprocessableEntityException(
+                "Los PDFs sólo incluyen Seneté y Telebingo, y la simulación del proceso " + procesoId
+                        + " reparte otros juegos.",
+                detalles);
+    }
+
+    private static List<String> detallarConflictos(List<InventarioRangos.Conflicto> conflictos) {
+        List<String> detalles = new ArrayList<>();
+        for (InventarioRangos.Conflicto c : conflictos) {
+            if (detalles.size() == MAX_DETALLES_CONFLICTO) {
+                detalles.add("... y " + (conflictos.size() - MAX_DETALLES_CONFLICTO) + " conflictos más");
+                break;
+            }
+            detalles.add(c.desde() + "-" + c.hasta() + " (proceso " + c.dueno() + ")");
+        }
+        return detalles;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.eliasgonzalez.cartones.pdf.service;
+
+import com.eliasgonzalez.cartones.pdf.component.CacheSimulaciones;
+import com.eliasgonzalez.cartones.pdf.component.SimulacionesPorProceso.Simulacion;
+import com.eliasgonzalez.cartones.pdf.dto.PlanPapelDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionDeltaRequestDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionDeltaResultadoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionEstadisticasDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionLoteRequestDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionLoteResultadoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionRequestDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionResultadoDTO;
+import com.eliasgonzalez.cartones.pdf.entity.PdfProcesos;
+import com.eliasgonzalez.cartones.pdf.interfaces.PdfProcesosRepository;
+import com.eliasgonzalez.cartones.shared.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GestionDistribucionService {
+
+    private final DistribucionService distribucionService;
+    private final PdfProcesosRepository pdfProcesosRepo;
+    private final SimulacionesGuardadasService simulaciones;
+    private final CacheSimulaciones cacheSimulaciones;
+
+    @Transactional
+    public SimulacionResultadoDTO procesarSimulacion(String procesoId, SimulacionRequestDTO solicitud) {
+        // 1. Validar existencia del proceso
+        PdfProcesos proceso = buscarProceso(procesoId);
+        log.info("Proceso encontrado: {}", proceso.toString());
+
+        // 2. Actualizar estado del proceso
+        ProcesoIdService.PendienteToVerificando(procesoId, proceso);
+        pdfProcesosRepo.save(proceso);
+
+        // 3. Ejecutar la lógica para la simulación
+        // Con semilla (o sin mezcla) el resultado es determinista y puede salir de memoria
+        SimulacionResultadoDTO resultado = cacheSimulaciones.obtener(
+                solicitud, () -> distribucionService.simularDistribucion(solicitud));
+
+        log.info("Proceso actualizado: {}", proceso.toString());
+
+        // 4. Guardar en la base (y en memoria) para los recálculos y la descarga posterior
+        simulaciones.guardar(procesoId, new Simulacion(resultado.getVendedores(),
+                solicitud.getFechaSorteoSenete(), solicitud.getFechaSorteoTelebingo(), resultado.getEstado()));
+
+        return resultado;
+    }
+
+    /**
+     * Misma simulación completa, pero devuelve sólo los vendedores cuyos rangos cambiaron respecto de la
+     * simulación anterior del proceso (todos si no había una).
+     */
+    @Transactional
+    public SimulacionDeltaResultadoDTO procesarSimulacionConDiferencias(String procesoId, SimulacionRequestDTO solicitud) {
+        Simulacion previa = simulaciones.obtener(procesoId);
+        EstadoSimulacion anterior = previa == null ? null : previa.estado();
+
+        SimulacionResultadoDTO resultado = procesarSimulacion(procesoId, solicitud);
+        return distribucionService.diferenciasCon(anterior, resultado);
+    }
+
+    /**
+     * Aplica cambios de pedidos sobre la última simulación del proceso, recalculando sólo desde el
+     * vendedor afectado, y devuelve los vendedores cuyos rangos cambiaron.
+     */
+    @Transactional
+    public SimulacionDeltaResultadoDTO recalcularCambios(String procesoId, SimulacionDeltaRequestDTO solicitud) {
+        // 1. Validar existencia y estado del proceso
+        PdfProcesos proceso = buscarProceso(procesoId);
+        ProcesoIdService.PendienteToVerificando(procesoId, proceso);
+
+        // 2. La simulación previa tiene que ser de este mismo proceso
+        Simulacion previa = simulaciones.obtener(procesoId);
+        EstadoSimulacion anterior = previa == null ? null : previa.estado();
+        if (anterior == null) {
+            throw new ResourceNotFoundException(
+                    "No hay una simulación previa para el proceso " + procesoId + ".",
+                    List.of("Ejecutá la simulación completa antes de enviar cambios."));
+        }
+
+        // 3. Recalcular desde el punto de control anterior al primer cambio
+        SimulacionResultadoDTO resultado = distribucionService.resimular(anterior, solicitud.getCambios());
+
+        // 4. Reemplazar la distribución guardada para la descarga posterior
+        simulaciones.guardar(procesoId, previa.conResultado(resultado.getVendedores(), resultado.getEstado()));
+
+        return distribucionService.compararConAnterior(anterior, resultado);
+    }
+
+    /**
+     * Compara configuraciones de pilas sin cambiar el estado del proceso ni la distribución guardada.
+     * El operador confirma después la variante elegida con {@link #procesarSimulacion}.
+     */
+    @Transactional(readOnly = true)
+    public SimulacionLoteResultadoDTO compararVariantes(String procesoId, SimulacionLoteRequestDTO solicitud) {
+        PdfProcesos proceso = buscarProceso(procesoId);
+        log.info("Comparando {} variantes para el proceso: {}", solicitud.getVariantes().size(), proceso.getProcesoId());
+
+        return distribucionService.simularVariantes(solicitud);
+    }
+
+    /**
+     * Totales de la simulación sin armar la distribución. No cambia el estado del proceso ni la
+     * distribución guardada, así la pantalla de ajuste puede llamarlo en cada cambio.
+     */
+    @Transactional(readOnly = true)
+    public SimulacionEstadisticasDTO calcularEstadisticas(String procesoId, SimulacionRequestDTO solicitud) {
+        buscarProceso(procesoId);
+
+        return distribucionService.evaluarDistribucion(solicitud);
+    }
+
+    /**
+     * Papel que hay que pedir para los juegos con pila generada. Sólo calcula: no toca el proceso.
+     */
+    @Transactional(readOnly = true)
+    public PlanPapelDTO planificarPapel(String procesoId, SimulacionRequestDTO solicitud) {
+        buscarProceso(procesoId);
+
+        return distribucionService.planificarPapel(solicitud);
+    }
+
+    public PdfProcesos buscarProceso(String procesoId) {
+        return pdfProcesosRepo.findById(procesoId)
+                .orElseThrow(() -> new ResourceNotFoundException("El proceso con ID " + procesoId + " no existe.", List.of()));
+    }
+}
@@ -11,11 +11,14 @@ import com.eliasgonzalez.cartones.vendedor.entity.Vendedor;
 import com.eliasgonzalez.cartones.vendedor.interfaces.VendedorRepository;
 import com.eliasgonzalez.cartones.zip.ZipService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.text.DecimalFormat;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
@@ -33,6 +36,10 @@ public class PdfService implements IPdfService {
     private static final String ETIQUETAS = "etiquetas";
     private static final String RESUMEN = "resumen";
 
+    // Con true se arman los dos PDFs en una sola pasada por los vendedores (ver generarPdfsEnUnaPasada)
+    @Value("${app.pdf.render-en-una-pasada:true}")
+    private boolean renderEnUnaPasada;
+
     @Override
     @Transactional
     public Resource obtenerZipPdfs(
@@ -44,7 +51,9 @@ public class PdfService implements IPdfService {
     ) {
         try {
             // Generamos los PDFs
-            Map<String, byte[]> pdfsGenerados = generarPdfs(config, fechaSorteoSenete, fechaSorteoTelebingo, procesoIdRecibido);
+            Map<String, byte[]> pdfsGenerados = renderEnUnaPasada
+                    ? generarPdfsEnUnaPasada(config, fechaSorteoSenete, fechaSorteoTelebingo, procesoIdRecibido)
+                    : generarPdfs(config, fechaSorteoSenete, fechaSorteoTelebingo, procesoIdRecibido);
             byte[] etiquetas = pdfsGenerados.get(ETIQUETAS);
             byte[] resumen = pdfsGenerados.get(RESUMEN);
 
@@ -74,23 +83,59 @@ public class PdfService implements IPdfService {
                             LocalDate fechaSorteoSenete, LocalDate fechaSorteoTelebingo,
                             String procesoIdRecibido
     ) {
+        Map<Long, Vendedor> vendedoresMap = vendedoresPorId(procesoIdRecibido);
+        List<EtiquetaDTO> etiquetasMapeado = PdfMapper.toEtiquetaDTOs(config, vendedoresMap);
+        List<ResumenDTO> resumenMapeado = PdfMapper.toResumenDTOs(config, vendedoresMap);
+
+        byte[] etiquetas = pdfEtiquetasService.generarEtiquetas(etiquetasMapeado, fechaSorteoSenete, fechaSorteoTelebingo);
+        byte[] resumen = pdfResumenService.generarResumen(resumenMapeado, fechaSorteoSenete, fechaSorteoTelebingo);
+
+        return resultado(etiquetas, resumen);
+    }
+
+    /**
+     * Mismos PDFs que {@link #generarPdfs}, recorriendo los vendedores una sola vez: cada uno se mapea
+     * a su etiqueta y a su fila del resumen y se dibuja en los dos documentos antes de pasar al
+     * siguiente. No se arman las listas de etiquetas ni de filas, y como {@code config} es la vista
+     * perezosa de la simulación tampoco se arman los DTOs de todos los vendedores juntos.
+     */
+    public Map<String, byte[]> generarPdfsEnUnaPasada(List<VendedorSimuladoDTO> config,
+                                                      LocalDate fechaSorteoSenete, LocalDate fechaSorteoTelebingo,
+                                                      String procesoIdRecibido
+    ) {
+        Map<Long, Vendedor> vendedoresMap = vendedoresPorId(procesoIdRecibido);
+        DecimalFormat formatoSaldo = PdfMapper.formatoSaldo();
+
+        ByteArrayOutputStream etiquetas = new ByteArrayOutputStream();
+        ByteArrayOutputStream resumen = new ByteArrayOutputStream();
+        try (PdfEtiquetasService.Escritor escritorEtiquetas = pdfEtiquetasService.abrir(etiquetas, fechaSorteoSenete, fechaSorteoTelebingo);
+             PdfResumenService.Escritor escritorResumen = pdfResumenService.abrir(resumen, fechaSorteoSenete, fechaSorteoTelebingo)) {
+            for (int i = 0; i < config.size(); i++) {
+                VendedorSimuladoDTO simulado = config.get(i);
+                Vendedor vendedor = vendedoresMap.get(simulado.getId());
+                escritorEtiquetas.agregar(PdfMapper.toEtiquetaDTO(simulado, i + 1, vendedor, formatoSaldo));
+                escritorResumen.agregar(PdfMapper.toResumenDTO(simulado, i + 1, vendedor));
+            }
+        }
+
+        return resultado(etiquetas.toByteArray(), resumen.toByteArray());
+    }
+
+    private Map<Long, Vendedor> vendedoresPorId(String procesoIdRecibido) {
         List<Vendedor> vendedoresList = vendedorRepo.findAllByProcesoId(procesoIdRecibido);
 
         // CONVERSIÓN DE LISTA A MAPA
         // Se realizan estas validaciones solo por si acaso, ya que config ya viene con valores correctos
-        Map<Long, Vendedor> vendedoresMap = vendedoresList.stream()
+        return vendedoresList.stream()
                 .filter(v -> v.getId() != null) // Evitas nulos accidentales
                 .collect(Collectors.toMap(
                         Vendedor::getId,
                         vendedor -> vendedor,
                         (existente, reemplazo) -> existente // Si hay IDs duplicados, mantiene el primero y no lanza excepción
                 ));
-        List<EtiquetaDTO> etiquetasMapeado = PdfMapper.toEtiquetaDTOs(config, vendedoresMap);
-        List<ResumenDTO> resumenMapeado = PdfMapper.toResumenDTOs(config, vendedoresMap);
-
-        byte[] etiquetas = pdfEtiquetasService.generarEtiquetas(etiquetasMapeado, fechaSorteoSenete, fechaSorteoTelebingo);
-        byte[] resumen = pdfResumenService.generarResumen(resumenMapeado, fechaSorteoSenete, fechaSorteoTelebingo);
+    }
 
+    private static Map<String, byte[]> resultado(byte[] etiquetas, byte[] resumen) {
         if (etiquetas == null) {
             throw new FileProcessingException("Error: El PDF de etiquetas no pudo ser generado.", List.of());
         }
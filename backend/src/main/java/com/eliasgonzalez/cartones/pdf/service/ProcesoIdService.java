@@ -23,7 +23,7 @@ public class ProcesoIdService {
 
     }
 
-    public static void VerificandoToCompletado (String procesoIdRecibido, PdfProcesos pdfProcesos){
+    public static void validarVerificando(String procesoIdRecibido, PdfProcesos pdfProcesos) {
 
         if (!EstadoEnum.VERIFICANDO.getValue().equals(pdfProcesos.getEstado())) {
             throw new UnprocessableEntityException(
@@ -32,6 +32,12 @@ public class ProcesoIdService {
             );
         }
 
+    }
+
+    public static void VerificandoToCompletado (String procesoIdRecibido, PdfProcesos pdfProcesos){
+
+        validarVerificando(procesoIdRecibido, pdfProcesos);
+
         pdfProcesos.setEstado(EstadoEnum.COMPLETADO.getValue());
 
     }
@@ -0,0 +1,100 @@
+package com.eliasgonzalez.cartones.pdf.service;
+
+import com.eliasgonzalez.cartones.pdf.component.SimulacionesPorProceso;
+import com.eliasgonzalez.cartones.pdf.component.SimulacionesPorProceso.Simulacion;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionResultadoDTO;
+import com.eliasgonzalez.cartones.pdf.entity.SimulacionGuardada;
+import com.eliasgonzalez.cartones.pdf.interfaces.SimulacionGuardadaRepository;
+import com.eliasgonzalez.cartones.shared.exception.ConflictException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Última simulación de cada proceso guardada en la base, para que cualquier réplica atienda los
+ * recálculos y la descarga de los PDFs sin sesiones fijas.
+ * <p>
+ * Se lee a través de {@link SimulacionesPorProceso}: cada lectura consulta sólo la versión de la fila y,
+ * si la copia local es de esa versión, no trae ni decodifica los datos. Si no, restaura la simulación
+ * repartiendo de nuevo con la fila guardada y la deja en memoria.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SimulacionesGuardadasService {
+
+    private final SimulacionGuardadaRepository simulacionRepo;
+    private final SimulacionesPorProceso simulaciones;
+    private final DistribucionService distribucionService;
+
+    /**
+     * Reemplaza la simulación del proceso. La copia local se actualiza recién al confirmar la transacción.
+     *
+     * @throws ConflictException Si otra solicitud (en esta réplica o en otra) guardó una simulación del
+     *                           mismo proceso entre la lectura y la escritura de la fila.
+     */
+    @Transactional
+    public void guardar(String procesoId, Simulacion simulacion) {
+        byte[] datos = simulacion.estado().serializar();
+        SimulacionGuardada fila = simulacionRepo.findById(procesoId)
+                .orElseGet(() -> SimulacionGuardada.builder().procesoId(procesoId).build());
+        fila.setFechaSorteoSenete(simulacion.fechaSorteoSenete());
+        fila.setFechaSorteoTelebingo(simulacion.fechaSorteoTelebingo());
+        fila.setCantidadVendedores(simulacion.estado().cantidadVendedores());
+        fila.setDatos(datos);
+        long version;
+        try {
+            version = simulacionRepo.saveAndFlush(fila).getVersion();
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            // Dos primeras simulaciones a la vez chocan con la clave; dos reemplazos, con la versión
+            log.warn("Proceso {}: otra solicitud guardó una simulación al mismo tiempo", procesoId);
+            throw new ConflictException(
+                    "Otra solicitud guardó una simulación del proceso " + procesoId + " al mismo tiempo.",
+                    List.of("Volvé a intentar con la última simulación del proceso."));
+        }
+        log.info("Proceso {}: simulación guardada con {} vendedores ({} bytes, versión {})",
+                procesoId, fila.getCantidadVendedores(), datos.length, version);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    simulaciones.guardar(procesoId, version, simulacion);
+                }
+            });
+        } else {
+            simulaciones.guardar(procesoId, version, simulacion);
+        }
+    }
+
+    /**
+     * @return La última simulación del proceso, o {@code null} si nunca se guardó una.
+     */
+    @Transactional(readOnly = true)
+    public Simulacion obtener(String procesoId) {
+        Optional<Long> version = simulacionRepo.buscarVersion(procesoId);
+        if (version.isEmpty()) return null;
+
+        Simulacion enMemoria = simulaciones.obtener(procesoId, version.get());
+        if (enMemoria != null) return enMemoria;
+
+        Optional<SimulacionGuardada> guardada = simulacionRepo.findById(procesoId);
+        if (guardada.isEmpty()) return null;
+        SimulacionGuardada fila = guardada.get();
+
+        SimulacionResultadoDTO resultado = distribucionService.restaurar(fila.getDatos());
+        Simulacion simulacion = new Simulacion(resultado.getVendedores(), fila.getFechaSorteoSenete(),
+                fila.getFechaSorteoTelebingo(), resultado.getEstado());
+        simulaciones.guardar(procesoId, fila.getVersion(), simulacion);
+        log.info("Proceso {}: simulación restaurada de la base (versión {})", procesoId, fila.getVersion());
+        return simulacion;
+    }
+}
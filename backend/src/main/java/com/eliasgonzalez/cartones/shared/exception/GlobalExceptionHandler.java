@@ -108,6 +108,25 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, status);
     }
     
+    // Manejador específico para las posibles excepciones para ConflictException
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflictException(ConflictException ex){
+
+        log.error("SE LANZÓ 'handleConflictException': {}", ex.getMessage());
+
+        HttpStatus status = HttpStatus.CONFLICT;
+
+        ErrorResponse response = ErrorResponse
+                .builder()
+                .status(status.value())
+                .error("Conflicto con otra solicitud")
+                .message(ex.getMessage())
+                .details(ex.getErrorDetails())
+                .build();
+
+        return new ResponseEntity<>(response, status);
+    }
+
     // Manejador para errores de validación de argumentos (@Valid)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
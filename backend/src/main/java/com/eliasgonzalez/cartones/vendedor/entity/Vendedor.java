@@ -1,12 +1,12 @@
 package com.eliasgonzalez.cartones.vendedor.entity;
 
 import com.eliasgonzalez.cartones.config.ListaRangosConverter;
+import com.eliasgonzalez.cartones.pdf.dto.RangosCartones;
+import com.eliasgonzalez.cartones.pdf.mapper.DatosVendedor;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
 
 @Entity
 @AllArgsConstructor
@@ -14,7 +14,7 @@ import java.util.List;
 @Getter @Setter
 @Table(name = "VENDEDORES")
 @Builder
-public class Vendedor {
+public class Vendedor implements DatosVendedor {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -41,7 +41,7 @@ public class Vendedor {
     @Convert(converter = ListaRangosConverter.class)
     @Column(columnDefinition = "TEXT")
     @Builder.Default
-    private List<String> rangosSenete = new ArrayList<>();
+    private RangosCartones rangosSenete = RangosCartones.vacio();
 
 
     // --- TELEBINGO ---
@@ -59,7 +59,7 @@ public class Vendedor {
     @Convert(converter = ListaRangosConverter.class)
     @Column(columnDefinition = "TEXT")
     @Builder.Default
-    private List<String> rangosTelebingo = new ArrayList<>();
+    private RangosCartones rangosTelebingo = RangosCartones.vacio();
 
 
     // --- DEUDA DEL VENDEDOR ---
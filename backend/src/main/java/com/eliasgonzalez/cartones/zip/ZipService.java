@@ -0,0 +1,24 @@
+package com.eliasgonzalez.cartones.zip;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+public class ZipService {
+
+    /**
+     * Crea un archivo ZIP en memoria a partir de un mapa de archivos.
+     * @param archivos Map donde Key es el nombre del archivo (ej: "resumen.pdf")
+     * y Value es el contenido en bytes.
+     * @return Resource (ByteArrayResource) listo para ser enviado por el Controller.
+     */
+    public static Resource crearZip(Map<String, byte[]> archivos) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ArchivosZip.escribir(archivos, baos);
+
+        // Retornamos un ByteArrayResource
+        return new ByteArrayResource(baos.toByteArray());
+    }
+}
@@ -0,0 +1,141 @@
+package com.eliasgonzalez.cartones.pdf.component;
+
+import com.eliasgonzalez.cartones.pdf.dto.ConfiguracionJuegoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.PedidoJuegoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.RangoCortadoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionRequestDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionResultadoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.VendedorInputDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheSimulacionesTest {
+
+    private AtomicInteger calculos;
+    private Supplier<SimulacionResultadoDTO> simular;
+
+    @BeforeEach
+    void setUp() {
+        calculos = new AtomicInteger();
+        simular = () -> {
+            calculos.incrementAndGet();
+            return SimulacionResultadoDTO.builder().vendedores(List.of()).build();
+        };
+    }
+
+    @DisplayName("Test obtener - Solicitud con semilla repetida no recalcula")
+    @Test
+    void testObtener_semillaRepetidaNoRecalcula() {
+        // Arrange
+        CacheSimulaciones cache = new CacheSimulaciones(8);
+
+        // Act
+        SimulacionResultadoDTO primero = cache.obtener(solicitud(5L, 100), simular);
+        SimulacionResultadoDTO segundo = cache.obtener(solicitud(5L, 100), simular);
+
+        // Assert
+        assertThat(segundo).isSameAs(primero);
+        assertThat(calculos).hasValue(1);
+    }
+
+    @DisplayName("Test obtener - Mezcla sin semilla siempre se calcula")
+    @Test
+    void testObtener_mezclaSinSemillaNoSeGuarda() {
+        // Arrange
+        CacheSimulaciones cache = new CacheSimulaciones(8);
+
+        // Act
+        cache.obtener(solicitud(null, 100), simular);
+        cache.obtener(solicitud(null, 100), simular);
+
+        // Assert
+        assertThat(calculos).hasValue(2);
+        assertThat(cache.cantidad()).isZero();
+    }
+
+    @DisplayName("Test obtener - Descarta la entrada usada hace más tiempo al superar la capacidad")
+    @Test
+    void testObtener_descartaMenosRecienteAlLlenarse() {
+        // Arrange
+        CacheSimulaciones cache = new CacheSimulaciones(2);
+        cache.obtener(solicitud(1L, 100), simular);
+        cache.obtener(solicitud(2L, 100), simular);
+        cache.obtener(solicitud(1L, 100), simular); // 1 pasa a ser la más reciente
+
+        // Act
+        cache.obtener(solicitud(3L, 100), simular);
+        cache.obtener(solicitud(1L, 100), simular);
+        cache.obtener(solicitud(2L, 100), simular);
+
+        // Assert: 1 seguía en memoria, 2 fue descartada y se recalculó
+        assertThat(calculos).hasValue(4);
+        assertThat(cache.cantidad()).isEqualTo(2);
+    }
+
+    @DisplayName("Test huella - Cambia con la semilla y con las pilas, no con las fechas")
+    @Test
+    void testHuella_dependeDeLoQueInfluyeEnElReparto() {
+        // Arrange
+        SimulacionRequestDTO base = solicitud(5L, 100);
+        SimulacionRequestDTO otraFecha = solicitud(5L, 100);
+        otraFecha.setFechaSorteoSenete(base.getFechaSorteoSenete().plusDays(7));
+
+        // Act & Assert
+        assertThat(CacheSimulaciones.huella(otraFecha)).isEqualTo(CacheSimulaciones.huella(base));
+        assertThat(CacheSimulaciones.huella(solicitud(6L, 100))).isNotEqualTo(CacheSimulaciones.huella(base));
+        assertThat(CacheSimulaciones.huella(solicitud(5L, 101))).isNotEqualTo(CacheSimulaciones.huella(base));
+    }
+
+    @DisplayName("Test huella - Cambia con los juegos adicionales y sus pedidos")
+    @Test
+    void testHuella_incluyeJuegosAdicionales() {
+        // Arrange
+        SimulacionRequestDTO base = solicitud(5L, 100);
+        SimulacionRequestDTO conJuego = solicitud(5L, 100);
+        conJuego.setJuegos(Map.of("quiniela", ConfiguracionJuegoDTO.builder().inicioGral(1).build()));
+        SimulacionRequestDTO conPedido = solicitud(5L, 100);
+        conPedido.setJuegos(conJuego.getJuegos());
+        conPedido.setVendedores(List.of(
+                conPedido.getVendedores().get(0).toBuilder()
+                        .pedidos(Map.of("quiniela", PedidoJuegoDTO.builder().cantidad(3).build()))
+                        .build(),
+                conPedido.getVendedores().get(1)));
+
+        // Act & Assert
+        assertThat(CacheSimulaciones.huella(conJuego)).isNotEqualTo(CacheSimulaciones.huella(base));
+        assertThat(CacheSimulaciones.huella(conPedido)).isNotEqualTo(CacheSimulaciones.huella(conJuego));
+    }
+
+    @DisplayName("Test huella - Cambia con las terminaciones aceptadas")
+    @Test
+    void testHuella_incluyeVariasTerminaciones() {
+        // Arrange
+        SimulacionRequestDTO base = solicitud(5L, 100);
+        SimulacionRequestDTO conVarias = solicitud(5L, 100);
+        conVarias.setVendedores(List.of(
+                conVarias.getVendedores().get(0),
+                conVarias.getVendedores().get(1).toBuilder().terminacionesSenete(List.of(13, 77)).build()));
+
+        // Act & Assert
+        assertThat(CacheSimulaciones.huella(conVarias)).isNotEqualTo(CacheSimulaciones.huella(base));
+    }
+
+    private static SimulacionRequestDTO solicitud(Long semilla, int finPool) {
+        SimulacionRequestDTO solicitud = new SimulacionRequestDTO();
+        solicitud.setVendedores(List.of(
+                VendedorInputDTO.builder().id(1L).nombre("Uno").cantidadSenete(10).build(),
+                VendedorInputDTO.builder().id(2L).nombre("Dos").cantidadSenete(5).terminacionSenete(7).build()));
+        solicitud.setPoolSenete(List.of(new RangoCortadoDTO(1, finPool)));
+        solicitud.setMezclar(true);
+        solicitud.setSemilla(semilla);
+        return solicitud;
+    }
+}
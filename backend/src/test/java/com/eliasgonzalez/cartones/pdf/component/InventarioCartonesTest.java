@@ -0,0 +1,81 @@
+package com.eliasgonzalez.cartones.pdf.component;
+
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionRequestDTO;
+import com.eliasgonzalez.cartones.pdf.dto.VendedorInputDTO;
+import com.eliasgonzalez.cartones.pdf.engine.InventarioRangos;
+import com.eliasgonzalez.cartones.pdf.entity.IndiceEntregasJuego;
+import com.eliasgonzalez.cartones.pdf.interfaces.IndiceEntregasRepository;
+import com.eliasgonzalez.cartones.pdf.service.DistribucionService;
+import com.eliasgonzalez.cartones.pdf.service.EstadoSimulacion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventarioCartonesTest {
+
+    @Mock
+    private IndiceEntregasRepository indiceRepo;
+
+    @InjectMocks
+    private InventarioCartones inventarioCartones;
+
+    @DisplayName("Test reservar - Después de reiniciar suma lo entregado según la base antes de reservar")
+    @Test
+    void testReservar_reconstruyeDesdeLaBase() {
+        // Arrange: otro proceso ya confirmó los cartones 1 a 50 de Seneté (en esta réplica o en otra)
+        EstadoSimulacion confirmado = estado(50);
+        IndiceEntregasJuego fila = IndiceEntregasJuego.builder()
+                .id(7L).procesoId("otro").juego("senete")
+                .datos(confirmado.indiceEntregas(0).serializar())
+                .build();
+        when(indiceRepo.findByJuegoAndIdGreaterThanOrderByIdAsc("senete", 0L)).thenReturn(List.of(fila));
+
+        // Act
+        List<InventarioRangos.Conflicto> conflictos = inventarioCartones.reservar("nuevo", "senete", estado(10).asignacion(0)).conflictos();
+
+        // Assert
+        assertThat(conflictos).containsExactly(new InventarioRangos.Conflicto(1, 10, "otro"));
+        assertThat(inventarioCartones.cartonesReservados("senete")).isEqualTo(50);
+        InOrder orden = inOrder(indiceRepo);
+        orden.verify(indiceRepo).bloquearJuego("senete");
+        orden.verify(indiceRepo).findByJuegoAndIdGreaterThanOrderByIdAsc("senete", 0L);
+    }
+
+    @DisplayName("Test reservar - Sólo lee los índices guardados desde la última reserva del juego")
+    @Test
+    void testReservar_sincronizaDesdeElUltimoIndice() {
+        // Arrange
+        IndiceEntregasJuego fila = IndiceEntregasJuego.builder()
+                .id(7L).procesoId("otro").juego("senete")
+                .datos(estado(5).indiceEntregas(0).serializar())
+                .build();
+        when(indiceRepo.findByJuegoAndIdGreaterThanOrderByIdAsc("senete", 0L)).thenReturn(List.of(fila));
+        when(indiceRepo.findByJuegoAndIdGreaterThanOrderByIdAsc("senete", 7L)).thenReturn(List.of());
+
+        // Act
+        inventarioCartones.reservar("a", "senete", estado(0).asignacion(0));
+        inventarioCartones.reservar("b", "senete", estado(0).asignacion(0));
+
+        // Assert
+        verify(indiceRepo, times(1)).findByJuegoAndIdGreaterThanOrderByIdAsc("senete", 0L);
+        verify(indiceRepo, times(1)).findByJuegoAndIdGreaterThanOrderByIdAsc("senete", 7L);
+    }
+
+    private static EstadoSimulacion estado(int cantidad) {
+        SimulacionRequestDTO solicitud = new SimulacionRequestDTO();
+        solicitud.setVendedores(List.of(VendedorInputDTO.builder().id(1L).cantidadSenete(cantidad).build()));
+        solicitud.setInicioSeneteGral(1);
+        return new DistribucionService(ForkJoinPool.commonPool()).simularDistribucion(solicitud).getEstado();
+    }
+}
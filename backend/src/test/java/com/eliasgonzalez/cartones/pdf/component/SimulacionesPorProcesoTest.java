@@ -0,0 +1,133 @@
+package com.eliasgonzalez.cartones.pdf.component;
+
+import com.eliasgonzalez.cartones.pdf.component.SimulacionesPorProceso.Simulacion;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionRequestDTO;
+import com.eliasgonzalez.cartones.pdf.dto.VendedorInputDTO;
+import com.eliasgonzalez.cartones.pdf.service.DistribucionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimulacionesPorProcesoTest {
+
+    private AtomicLong ahora;
+
+    @BeforeEach
+    void setUp() {
+        ahora = new AtomicLong(1_000);
+    }
+
+    @DisplayName("Test obtener - Cada proceso conserva su simulación")
+    @Test
+    void testObtener_unaSimulacionPorProceso() {
+        // Arrange
+        SimulacionesPorProceso simulaciones = new SimulacionesPorProceso(8, 60, 64, ahora::get);
+        Simulacion a = simulacion(10);
+        Simulacion b = simulacion(20);
+
+        // Act
+        simulaciones.guardar("a", 1, a);
+        simulaciones.guardar("b", 1, b);
+
+        // Assert
+        assertThat(simulaciones.obtener("a", 1)).isSameAs(a);
+        assertThat(simulaciones.obtener("b", 1)).isSameAs(b);
+        assertThat(simulaciones.obtener("c", 1)).isNull();
+        assertThat(simulaciones.estadisticas())
+                .extracting(SimulacionesPorProceso.Estadisticas::procesos, SimulacionesPorProceso.Estadisticas::aciertos,
+                        SimulacionesPorProceso.Estadisticas::fallos)
+                .containsExactly(2, 2L, 1L);
+    }
+
+    @DisplayName("Test guardar - Pasada la capacidad descarta la usada hace más tiempo")
+    @Test
+    void testGuardar_descartaLaMenosUsada() {
+        // Arrange
+        SimulacionesPorProceso simulaciones = new SimulacionesPorProceso(2, 60, 64, ahora::get);
+        simulaciones.guardar("a", 1, simulacion(10));
+        simulaciones.guardar("b", 1, simulacion(10));
+        simulaciones.obtener("a", 1);
+
+        // Act
+        simulaciones.guardar("c", 1, simulacion(10));
+
+        // Assert
+        assertThat(simulaciones.obtener("b", 1)).isNull();
+        assertThat(simulaciones.obtener("a", 1)).isNotNull();
+        assertThat(simulaciones.obtener("c", 1)).isNotNull();
+        assertThat(simulaciones.estadisticas().desalojadas()).isEqualTo(1);
+    }
+
+    @DisplayName("Test guardar - Respeta el peso máximo pero conserva la última")
+    @Test
+    void testGuardar_pesoMaximo() {
+        // Arrange: 0 MB, ninguna entra salvo la recién guardada
+        SimulacionesPorProceso simulaciones = new SimulacionesPorProceso(8, 60, 0, ahora::get);
+        simulaciones.guardar("a", 1, simulacion(50));
+
+        // Act
+        simulaciones.guardar("b", 1, simulacion(50));
+
+        // Assert
+        assertThat(simulaciones.obtener("a", 1)).isNull();
+        assertThat(simulaciones.obtener("b", 1)).isNotNull();
+        assertThat(simulaciones.estadisticas().bytesEstimados()).isPositive();
+    }
+
+    @DisplayName("Test obtener - La simulación vence pasados los minutos configurados")
+    @Test
+    void testObtener_vencida() {
+        // Arrange
+        SimulacionesPorProceso simulaciones = new SimulacionesPorProceso(8, 30, 64, ahora::get);
+        simulaciones.guardar("a", 1, simulacion(10));
+
+        // Act
+        ahora.addAndGet(TimeUnit.MINUTES.toMillis(31));
+
+        // Assert
+        assertThat(simulaciones.obtener("a", 1)).isNull();
+        assertThat(simulaciones.estadisticas())
+                .extracting(SimulacionesPorProceso.Estadisticas::procesos, SimulacionesPorProceso.Estadisticas::vencidas,
+                        SimulacionesPorProceso.Estadisticas::bytesEstimados)
+                .containsExactly(0, 1L, 0L);
+    }
+
+    @DisplayName("Test obtener - Otra versión en la base descarta la copia local")
+    @Test
+    void testObtener_otraVersion() {
+        // Arrange
+        SimulacionesPorProceso simulaciones = new SimulacionesPorProceso(8, 60, 64, ahora::get);
+        simulaciones.guardar("a", 3, simulacion(10));
+
+        // Act
+        Simulacion desactualizada = simulaciones.obtener("a", 4);
+
+        // Assert
+        assertThat(desactualizada).isNull();
+        assertThat(simulaciones.obtener("a", 3)).isNull();
+        assertThat(simulaciones.estadisticas())
+                .extracting(SimulacionesPorProceso.Estadisticas::procesos, SimulacionesPorProceso.Estadisticas::desactualizadas)
+                .containsExactly(0, 1L);
+    }
+
+    private static Simulacion simulacion(int vendedores) {
+        List<VendedorInputDTO> entrada = new ArrayList<>();
+        for (int i = 0; i < vendedores; i++) {
+            entrada.add(VendedorInputDTO.builder().id((long) i + 1).nombre("Vendedor " + i).cantidadSenete(5).build());
+        }
+        SimulacionRequestDTO solicitud = new SimulacionRequestDTO();
+        solicitud.setVendedores(entrada);
+        solicitud.setInicioSeneteGral(1);
+        var resultado = new DistribucionService(ForkJoinPool.commonPool()).simularDistribucion(solicitud);
+        return new Simulacion(resultado.getVendedores(), LocalDate.now(), null, resultado.getEstado());
+    }
+}
@@ -0,0 +1,396 @@
+package com.eliasgonzalez.cartones.pdf.controller;
+
+import com.eliasgonzalez.cartones.pdf.component.SimulacionesPorProceso;
+import com.eliasgonzalez.cartones.pdf.dto.PlanPapelDTO;
+import com.eliasgonzalez.cartones.pdf.dto.RangosCartones;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionDeltaRequestDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionDeltaResultadoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionEstadisticasDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionLoteRequestDTO;
+import com.eliasgonzalez.cartones.pdf.dto.VendedorInputDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionLoteResultadoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionRequestDTO;
+import com.eliasgonzalez.cartones.pdf.dto.VariantePoolDTO;
+import com.eliasgonzalez.cartones.pdf.dto.VarianteResultadoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionResultadoDTO;
+import com.eliasgonzalez.cartones.pdf.engine.EstadisticasJuego;
+import com.eliasgonzalez.cartones.pdf.engine.PlanPapel;
+import com.eliasgonzalez.cartones.pdf.dto.VendedorSimuladoDTO;
+import com.eliasgonzalez.cartones.pdf.service.GestionArchivoPdfService;
+import com.eliasgonzalez.cartones.pdf.service.GestionDistribucionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import com.eliasgonzalez.cartones.shared.exception.FileProcessingException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.mock; // Added mock
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@WebMvcTest(DistribucionController.class)
+class DistribucionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GestionDistribucionService gestionDistribucion;
+
+    @MockBean
+    private GestionArchivoPdfService gestionArchivoPdf;
+
+    @MockBean
+    private SimulacionesPorProceso simulaciones;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DisplayName("POST /api/distribuciones/{procesoId}/simular - Happy Path")
+    @Test
+    void testSimular_happyPath() throws Exception {
+        // Arrange
+        String procesoId = "proceso-123";
+        SimulacionRequestDTO requestDTO = new SimulacionRequestDTO();
+        requestDTO.setFechaSorteoSenete(LocalDate.now());
+        requestDTO.setFechaSorteoTelebingo(LocalDate.now().plusDays(1));
+        requestDTO.setVendedores(Collections.emptyList());
+
+        List<VendedorSimuladoDTO> mockResponse = Arrays.asList(
+                VendedorSimuladoDTO.builder().id(1L).nombre("Test Vendedor 1").build(),
+                VendedorSimuladoDTO.builder().id(2L).nombre("Test Vendedor 2").build()
+        );
+
+        when(gestionDistribucion.procesarSimulacion(anyString(), any(SimulacionRequestDTO.class)))
+                .thenReturn(SimulacionResultadoDTO.builder()
+                        .vendedores(mockResponse)
+                        .semilla(42L)
+                        .mezclasEvaluadas(16)
+                        .estadisticasSenete(new EstadisticasJuego(3, 20, 2, 0, 22, 100))
+                        .estadisticasTelebingo(new EstadisticasJuego(0, 10, 2, 0, 10, 50))
+                        .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/distribuciones/{procesoId}/simular", procesoId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nombre").value("Test Vendedor 1"))
+                .andExpect(jsonPath("$[1].nombre").value("Test Vendedor 2"))
+                .andExpect(header().string("X-Simulacion-Semilla", "42"))
+                .andExpect(header().string("X-Simulacion-Mezclas-Evaluadas", "16"))
+                .andExpect(header().string("X-Cartones-Quemados-Senete", "3"))
+                .andExpect(header().string("X-Cartones-Quemados-Telebingo", "0"));
+    }
+
+    @DisplayName("POST /api/distribuciones/{procesoId}/simular - NDJSON, un vendedor por línea")
+    @Test
+    void testSimular_ndjson() throws Exception {
+        // Arrange
+        String procesoId = "proceso-123";
+        SimulacionRequestDTO requestDTO = new SimulacionRequestDTO();
+        requestDTO.setVendedores(Collections.emptyList());
+
+        List<VendedorSimuladoDTO> mockResponse = Arrays.asList(
+                VendedorSimuladoDTO.builder().id(1L).nombre("Uno")
+                        .rangosSenete(RangosCartones.of(RangosCartones.empaquetar(1, 10))).build(),
+                VendedorSimuladoDTO.builder().id(2L).nombre("Dos")
+                        .rangosSenete(RangosCartones.of(RangosCartones.empaquetar(11, 12))).build()
+        );
+        when(gestionDistribucion.procesarSimulacion(anyString(), any(SimulacionRequestDTO.class)))
+                .thenReturn(SimulacionResultadoDTO.builder().vendedores(mockResponse).semilla(9L).build());
+
+        // Act
+        MvcResult resultado = mockMvc.perform(post("/api/distribuciones/{procesoId}/simular", procesoId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept("application/x-ndjson")
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("X-Simulacion-Semilla", "9"))
+                .andExpect(content().string(
+                        objectMapper.writeValueAsString(mockResponse.get(0)) + "\n"
+                                + objectMapper.writeValueAsString(mockResponse.get(1)) + "\n"));
+    }
+
+    @DisplayName("POST /api/distribuciones/{procesoId}/simular - Request inválido (Validación)")
+    @Test
+    void testSimular_invalidRequest() throws Exception {
+        // Arrange
+        String procesoId = "proceso-123";
+        SimulacionRequestDTO requestDTO = new SimulacionRequestDTO();
+        // Missing required fields or providing invalid data to trigger validation errors
+        // For example, if 'vendedores' cannot be null, set it to null
+        requestDTO.setFechaSorteoSenete(null); // Assuming this might trigger a validation error if not default
+        requestDTO.setFechaSorteoTelebingo(null);
+        requestDTO.setVendedores(null); // Assuming @Valid on this field means it can't be null or empty
+
+        // Act & Assert
+        mockMvc.perform(post("/api/distribuciones/{procesoId}/simular", procesoId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @DisplayName("POST /api/distribuciones/{procesoId}/simular - Excepción de servicio")
+    @Test
+    void testSimular_serviceException() throws Exception {
+        // Arrange
+        String procesoId = "proceso-123";
+        SimulacionRequestDTO requestDTO = new SimulacionRequestDTO();
+        requestDTO.setFechaSorteoSenete(LocalDate.now());
+        requestDTO.setFechaSorteoTelebingo(LocalDate.now().plusDays(1));
+        requestDTO.setVendedores(Collections.emptyList());
+
+        when(gestionDistribucion.procesarSimulacion(anyString(), any(SimulacionRequestDTO.class)))
+                .thenThrow(new RuntimeException("Error simulado en el servicio"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/distribuciones/{procesoId}/simular", procesoId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.error").value("Error Interno del Servidor"));
+    }
+
+    @DisplayName("PATCH /api/distribuciones/{procesoId}/simular - Devuelve sólo los vendedores cambiados")
+    @Test
+    void testRecalcular_happyPath() throws Exception {
+        // Arrange
+        String procesoId = "proceso-123";
+        SimulacionDeltaRequestDTO requestDTO = new SimulacionDeltaRequestDTO(
+                List.of(VendedorInputDTO.builder().id(2L).cantidadSenete(8).build()));
+
+        when(gestionDistribucion.recalcularCambios(anyString(), any(SimulacionDeltaRequestDTO.class)))
+                .thenReturn(SimulacionDeltaResultadoDTO.builder()
+                        .semilla(5L)
+                        .vendedoresRecalculados(64)
+                        .vendedores(List.of(VendedorSimuladoDTO.builder().id(2L).nombre("Dos").build()))
+                        .build());
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/distribuciones/{procesoId}/simular", procesoId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.vendedoresRecalculados").value(64))
+                .andExpect(jsonPath("$.vendedores[0].id").value(2));
+    }
+
+    @DisplayName("PATCH /api/distribuciones/{procesoId}/simular - Sin cambios (Validación)")
+    @Test
+    void testRecalcular_sinCambios() throws Exception {
+        // Act & Assert
+        mockMvc.perform(patch("/api/distribuciones/{procesoId}/simular", "proceso-123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new SimulacionDeltaRequestDTO(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @DisplayName("POST /api/distribuciones/{procesoId}/simular/diferencias - Devuelve sólo los vendedores distintos")
+    @Test
+    void testSimularDiferencias_happyPath() throws Exception {
+        // Arrange
+        String procesoId = "proceso-123";
+        SimulacionRequestDTO requestDTO = new SimulacionRequestDTO();
+        requestDTO.setVendedores(List.of(VendedorInputDTO.builder().id(2L).cantidadSenete(8).build()));
+        requestDTO.setInicioSeneteGral(1);
+
+        when(gestionDistribucion.procesarSimulacionConDiferencias(anyString(), any(SimulacionRequestDTO.class)))
+                .thenReturn(SimulacionDeltaResultadoDTO.builder()
+                        .vendedoresRecalculados(1)
+                        .vendedores(List.of(VendedorSimuladoDTO.builder().id(2L).nombre("Dos").build()))
+                        .vendedoresQuitados(List.of(9L))
+                        .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/distribuciones/{procesoId}/simular/diferencias", procesoId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.vendedores[0].id").value(2))
+                .andExpect(jsonPath("$.vendedoresQuitados[0]").value(9));
+    }
+
+    @DisplayName("POST /api/distribuciones/{procesoId}/simular/variantes - Happy Path")
+    @Test
+    void testSimularVariantes_happyPath() throws Exception {
+        // Arrange
+        String procesoId = "proceso-123";
+        SimulacionLoteRequestDTO requestDTO = new SimulacionLoteRequestDTO(
+                Collections.emptyList(),
+                List.of(VariantePoolDTO.builder().nombre("A").inicioSeneteGral(1).build()),
+                true, null);
+
+        when(gestionDistribucion.compararVariantes(anyString(), any(SimulacionLoteRequestDTO.class)))
+                .thenReturn(SimulacionLoteResultadoDTO.builder()
+                        .semilla(7L)
+                        .variantes(List.of(VarianteResultadoDTO.builder()
+                                .indice(0)
+                                .nombre("A")
+                                .cartonesQuemados(12)
+                                .senete(new EstadisticasJuego(12, 300, 20, 1, 312, 0))
+                                .telebingo(new EstadisticasJuego(0, 0, 0, 0, null, 0))
+                                .build()))
+                        .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/distribuciones/{procesoId}/simular/variantes", procesoId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.semilla").value(7))
+                .andExpect(jsonPath("$.variantes[0].nombre").value("A"))
+                .andExpect(jsonPath("$.variantes[0].cartonesQuemados").value(12))
+                .andExpect(jsonPath("$.variantes[0].senete.vendedoresIncompletos").value(1))
+                .andExpect(jsonPath("$.variantes[0].senete.ultimoCarton").value(312));
+    }
+
+    @DisplayName("POST /api/distribuciones/{procesoId}/simular/variantes - Sin variantes (Validación)")
+    @Test
+    void testSimularVariantes_sinVariantes() throws Exception {
+        // Arrange
+        SimulacionLoteRequestDTO requestDTO = new SimulacionLoteRequestDTO(Collections.emptyList(), List.of(), true, null);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/distribuciones/{procesoId}/simular/variantes", "proceso-123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @DisplayName("POST /api/distribuciones/{procesoId}/simular/estadisticas - Sólo totales, sin vendedores")
+    @Test
+    void testSimularEstadisticas_happyPath() throws Exception {
+        // Arrange
+        SimulacionRequestDTO requestDTO = new SimulacionRequestDTO();
+        requestDTO.setFechaSorteoSenete(LocalDate.now());
+        requestDTO.setFechaSorteoTelebingo(LocalDate.now().plusDays(1));
+        requestDTO.setVendedores(Collections.emptyList());
+
+        when(gestionDistribucion.calcularEstadisticas(anyString(), any(SimulacionRequestDTO.class)))
+                .thenReturn(SimulacionEstadisticasDTO.builder()
+                        .semilla(42L)
+                        .estadisticasSenete(new EstadisticasJuego(3, 20, 2, 0, 22, 100))
+                        .estadisticasTelebingo(new EstadisticasJuego(0, 10, 1, 1, 10, 0))
+                        .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/distribuciones/{procesoId}/simular/estadisticas", "proceso-123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.semilla").value(42))
+                .andExpect(jsonPath("$.vendedores").doesNotExist())
+                .andExpect(jsonPath("$.estadisticasSenete.cartonesQuemados").value(3))
+                .andExpect(jsonPath("$.estadisticasTelebingo.vendedoresIncompletos").value(1));
+        verify(gestionDistribucion, times(0)).procesarSimulacion(anyString(), any(SimulacionRequestDTO.class));
+    }
+
+    @DisplayName("POST /api/distribuciones/{procesoId}/simular/papel - Plan de cada pila generada")
+    @Test
+    void testPlanificarPapel_happyPath() throws Exception {
+        // Arrange
+        SimulacionRequestDTO requestDTO = new SimulacionRequestDTO();
+        requestDTO.setFechaSorteoSenete(LocalDate.now());
+        requestDTO.setFechaSorteoTelebingo(LocalDate.now().plusDays(1));
+        requestDTO.setVendedores(Collections.emptyList());
+
+        when(gestionDistribucion.planificarPapel(anyString(), any(SimulacionRequestDTO.class)))
+                .thenReturn(PlanPapelDTO.builder()
+                        .semilla(42L)
+                        .juegos(Map.of("telebingo", new PlanPapel(1, 30, 4, 34, 120, 150)))
+                        .build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/distribuciones/{procesoId}/simular/papel", "proceso-123")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.semilla").value(42))
+                .andExpect(jsonPath("$.juegos.telebingo.fin").value(34))
+                .andExpect(jsonPath("$.juegos.telebingo.finMaximo").value(150));
+        verify(gestionDistribucion, times(0)).procesarSimulacion(anyString(), any(SimulacionRequestDTO.class));
+    }
+
+    @DisplayName("GET /api/distribuciones/memoria - Estadísticas de las simulaciones guardadas")
+    @Test
+    void testMemoria() throws Exception {
+        // Arrange
+        when(simulaciones.estadisticas()).thenReturn(new SimulacionesPorProceso.Estadisticas(3, 4_096, 10, 2, 1, 0, 0));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/distribuciones/memoria"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.procesos").value(3))
+                .andExpect(jsonPath("$.aciertos").value(10))
+                .andExpect(jsonPath("$.desalojadas").value(1));
+    }
+
+    @DisplayName("GET /api/distribuciones/{procesoId}/pdfs - Happy Path")
+    @Test
+    void testDescargar_happyPath() throws Exception {
+        // Arrange
+        String procesoId = "proceso-123";
+        byte[] zipContent = "zip-test-content".getBytes();
+        Resource mockResource = mock(Resource.class);
+
+        when(gestionArchivoPdf.generarPaqueteZip(anyString())).thenReturn(mockResource);
+        when(mockResource.contentLength()).thenReturn((long) zipContent.length);
+        when(mockResource.getInputStream()).thenReturn(new ByteArrayInputStream(zipContent));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/distribuciones/{procesoId}/pdfs", procesoId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/zip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"zip-proceso-123.zip\""))
+                .andExpect(content().bytes(zipContent));
+
+        verify(gestionArchivoPdf, times(1)).generarPaqueteZip(procesoId);
+    }
+
+    @DisplayName("GET /api/distribuciones/{procesoId}/pdfs - IOException al generar ZIP")
+    @Test
+    void testDescargar_ioExceptionGenerandoZip() throws Exception {
+        // Arrange
+        String procesoId = "proceso-123";
+        when(gestionArchivoPdf.generarPaqueteZip(anyString())).thenThrow(new FileProcessingException("Error de E/S simulado", List.of()));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/distribuciones/{procesoId}/pdfs", procesoId))
+                .andExpect(status().isUnsupportedMediaType()) // Expected 415
+                .andExpect(jsonPath("$.error").value("Error")); // Changed error message to match GlobalExceptionHandler
+
+        verify(gestionArchivoPdf, times(1)).generarPaqueteZip(procesoId);
+    }
+}
@@ -0,0 +1,120 @@
+package com.eliasgonzalez.cartones.pdf.controller;
+
+import com.eliasgonzalez.cartones.pdf.dto.ConciliacionDTO;
+import com.eliasgonzalez.cartones.pdf.dto.DuenoCartonDTO;
+import com.eliasgonzalez.cartones.pdf.dto.GanadoresVendedorDTO;
+import com.eliasgonzalez.cartones.pdf.service.EntregasService;
+import com.eliasgonzalez.cartones.shared.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(EntregasController.class)
+class EntregasControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private EntregasService entregas;
+
+    @DisplayName("GET /api/distribuciones/{procesoId}/cartones/{juego}/{carton} - Happy Path")
+    @Test
+    void testBuscarDueno_happyPath() throws Exception {
+        // Arrange
+        when(entregas.buscarDueno("proceso-123", "senete", 4521)).thenReturn(DuenoCartonDTO.builder()
+                .procesoId("proceso-123").juego("senete").carton(4521)
+                .vendedorId(7L).nombre("Vendedor 7").desde(4500).hasta(4549)
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/distribuciones/{procesoId}/cartones/{juego}/{carton}", "proceso-123", "senete", 4521))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.vendedorId").value(7))
+                .andExpect(jsonPath("$.desde").value(4500))
+                .andExpect(jsonPath("$.hasta").value(4549));
+    }
+
+    @DisplayName("GET /api/distribuciones/{procesoId}/cartones/{juego}/{carton} - Cartón no entregado")
+    @Test
+    void testBuscarDueno_noEntregado() throws Exception {
+        // Arrange
+        when(entregas.buscarDueno("proceso-123", "senete", 1))
+                .thenThrow(new ResourceNotFoundException("El cartón 1 de Seneté no fue entregado.", List.of()));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/distribuciones/{procesoId}/cartones/{juego}/{carton}", "proceso-123", "senete", 1))
+                .andExpect(status().isNotFound());
+    }
+
+    @DisplayName("POST /api/distribuciones/{procesoId}/cartones/{juego}/cruce - NDJSON, un vendedor por línea")
+    @Test
+    void testCruzarCartones_ndjson() throws Exception {
+        // Arrange
+        when(entregas.cruzarCartones(eq("proceso-123"), eq("senete"), aryEq(new int[]{4521, 12, 4500})))
+                .thenReturn(List.of(
+                        GanadoresVendedorDTO.builder().vendedorId(7L).nombre("Vendedor 7").cantidad(2).cartones(new int[]{4500, 4521}).build(),
+                        GanadoresVendedorDTO.builder().cantidad(1).cartones(new int[]{12}).build()));
+
+        // Act
+        MvcResult resultado = mockMvc.perform(post("/api/distribuciones/{procesoId}/cartones/{juego}/cruce", "proceso-123", "senete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[4521, 12, 4500]"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(content().string(
+                        "{\"vendedorId\":7,\"nombre\":\"Vendedor 7\",\"cantidad\":2,\"cartones\":[4500,4521]}\n"
+                                + "{\"vendedorId\":null,\"nombre\":null,\"cantidad\":1,\"cartones\":[12]}\n"));
+    }
+
+    @DisplayName("POST /api/distribuciones/{procesoId}/cartones/{juego}/devoluciones - Happy Path")
+    @Test
+    void testConciliarDevoluciones_happyPath() throws Exception {
+        // Arrange
+        when(entregas.conciliarDevoluciones(eq("proceso-123"), eq("telebingo"), anyList()))
+                .thenReturn(ConciliacionDTO.builder().procesoId("proceso-123").juego("telebingo")
+                        .entregados(150).devueltos(20).vendidos(130).vendedores(List.of()).build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/distribuciones/{procesoId}/cartones/{juego}/devoluciones", "proceso-123", "telebingo")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"devoluciones\": [{\"vendedorId\": 10, \"rangos\": [\"91-100\", \"120-129\"]}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.vendidos").value(130));
+    }
+
+    @DisplayName("POST /api/distribuciones/{procesoId}/cartones/{juego}/devoluciones - Sin devoluciones")
+    @Test
+    void testConciliarDevoluciones_sinDevoluciones() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/distribuciones/{procesoId}/cartones/{juego}/devoluciones", "proceso-123", "telebingo")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+}
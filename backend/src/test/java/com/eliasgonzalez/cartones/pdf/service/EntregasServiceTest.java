@@ -0,0 +1,184 @@
+package com.eliasgonzalez.cartones.pdf.service;
+
+import com.eliasgonzalez.cartones.pdf.dto.ConciliacionDTO;
+import com.eliasgonzalez.cartones.pdf.dto.DevolucionVendedorDTO;
+import com.eliasgonzalez.cartones.pdf.dto.DuenoCartonDTO;
+import com.eliasgonzalez.cartones.pdf.dto.RangosCartones;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionRequestDTO;
+import com.eliasgonzalez.cartones.pdf.dto.VendedorInputDTO;
+import com.eliasgonzalez.cartones.pdf.entity.IndiceEntregasJuego;
+import com.eliasgonzalez.cartones.pdf.interfaces.IndiceEntregasRepository;
+import com.eliasgonzalez.cartones.shared.exception.ResourceNotFoundException;
+import com.eliasgonzalez.cartones.shared.exception.UnprocessableEntityException;
+import com.eliasgonzalez.cartones.vendedor.entity.Vendedor;
+import com.eliasgonzalez.cartones.vendedor.interfaces.VendedorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EntregasServiceTest {
+
+    @Mock
+    private IndiceEntregasRepository indiceRepo;
+
+    @Mock
+    private VendedorRepository vendedorRepo;
+
+    private EntregasService entregasService;
+
+    @BeforeEach
+    void setUp() {
+        entregasService = new EntregasService(indiceRepo, vendedorRepo, 4);
+    }
+
+    @DisplayName("Test buscarDueno - Responde desde el índice guardado al confirmar")
+    @Test
+    void testBuscarDueno_desdeIndiceGuardado() {
+        // Arrange: sin mezcla, el vendedor 10 recibe 1-100 y el 20 101-150
+        SimulacionRequestDTO solicitud = new SimulacionRequestDTO();
+        solicitud.setMezclar(false);
+        solicitud.setInicioSeneteGral(1);
+        solicitud.setVendedores(List.of(
+                VendedorInputDTO.builder().id(10L).cantidadSenete(100).build(),
+                VendedorInputDTO.builder().id(20L).cantidadSenete(50).build()));
+        EstadoSimulacion estado = new DistribucionService(ForkJoinPool.commonPool()).simularDistribucion(solicitud).getEstado();
+
+        entregasService.guardarIndices("p1", estado);
+        ArgumentCaptor<IndiceEntregasJuego> guardados = ArgumentCaptor.forClass(IndiceEntregasJuego.class);
+        verify(indiceRepo, times(estado.cantidadJuegos())).save(guardados.capture());
+        IndiceEntregasJuego senete = guardados.getAllValues().stream()
+                .filter(i -> i.getJuego().equals("senete")).findFirst().orElseThrow();
+        when(indiceRepo.findByProcesoIdAndJuego("p1", "senete")).thenReturn(Optional.of(senete));
+        when(vendedorRepo.findById(20L)).thenReturn(Optional.of(Vendedor.builder().id(20L).nombre("Ana").build()));
+
+        // Act
+        DuenoCartonDTO dueno = entregasService.buscarDueno("p1", "senete", 120);
+        entregasService.buscarDueno("p1", "senete", 130);
+
+        // Assert
+        assertThat(dueno.getVendedorId()).isEqualTo(20L);
+        assertThat(dueno.getNombre()).isEqualTo("Ana");
+        assertThat(dueno.getDesde()).isEqualTo(101);
+        assertThat(dueno.getHasta()).isEqualTo(150);
+        verify(indiceRepo, times(1)).findByProcesoIdAndJuego("p1", "senete"); // la segunda sale de memoria
+    }
+
+    @DisplayName("Test guardarIndices - Confirmar dos veces el mismo proceso borra los índices anteriores antes de insertar")
+    @Test
+    void testGuardarIndices_dosVeces() throws NoSuchMethodException {
+        // Arrange
+        SimulacionRequestDTO solicitud = new SimulacionRequestDTO();
+        solicitud.setMezclar(false);
+        solicitud.setInicioSeneteGral(1);
+        solicitud.setVendedores(List.of(VendedorInputDTO.builder().id(10L).cantidadSenete(100).build()));
+        EstadoSimulacion estado = new DistribucionService(ForkJoinPool.commonPool()).simularDistribucion(solicitud).getEstado();
+
+        // Act
+        entregasService.guardarIndices("p1", estado);
+        entregasService.guardarIndices("p1", estado);
+
+        // Assert: cada vez el borrado va antes de las inserciones, y es un borrado directo en la base
+        InOrder orden = inOrder(indiceRepo);
+        for (int vez = 0; vez < 2; vez++) {
+            orden.verify(indiceRepo).deleteAllByProcesoId("p1");
+            orden.verify(indiceRepo, times(estado.cantidadJuegos())).save(any(IndiceEntregasJuego.class));
+        }
+        Method borrar = IndiceEntregasRepository.class.getMethod("deleteAllByProcesoId", String.class);
+        assertThat(borrar.getAnnotation(Modifying.class)).isNotNull();
+        assertThat(borrar.getAnnotation(Query.class).value()).startsWith("delete from IndiceEntregasJuego");
+    }
+
+    @DisplayName("Test buscarDueno - Cartón que no se entregó")
+    @Test
+    void testBuscarDueno_cartonNoEntregado() {
+        // Arrange
+        SimulacionRequestDTO solicitud = new SimulacionRequestDTO();
+        solicitud.setMezclar(false);
+        solicitud.setInicioSeneteGral(1);
+        solicitud.setVendedores(List.of(VendedorInputDTO.builder().id(10L).cantidadSenete(100).build()));
+        EstadoSimulacion estado = new DistribucionService(ForkJoinPool.commonPool()).simularDistribucion(solicitud).getEstado();
+        byte[] datos = estado.indiceEntregas(0).serializar();
+        when(indiceRepo.findByProcesoIdAndJuego("p1", "senete"))
+                .thenReturn(Optional.of(IndiceEntregasJuego.builder().juego("senete").datos(datos).build()));
+
+        // Act & Assert
+        assertThatThrownBy(() -> entregasService.buscarDueno("p1", "senete", 101))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("101");
+    }
+
+    @DisplayName("Test indice - Proceso sin entregas confirmadas")
+    @Test
+    void testIndice_sinEntregas() {
+        // Arrange
+        when(indiceRepo.findByProcesoIdAndJuego("p1", "telebingo")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> entregasService.indice("p1", "telebingo"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Telebingo");
+    }
+
+    @DisplayName("Test conciliarDevoluciones - Vendidos por vendedor y devoluciones ajenas")
+    @Test
+    void testConciliarDevoluciones_vendidosYObservados() {
+        // Arrange: sin mezcla, el vendedor 10 recibe 1-100 y el 20 101-150
+        SimulacionRequestDTO solicitud = new SimulacionRequestDTO();
+        solicitud.setMezclar(false);
+        solicitud.setInicioSeneteGral(1);
+        solicitud.setVendedores(List.of(
+                VendedorInputDTO.builder().id(10L).cantidadSenete(100).build(),
+                VendedorInputDTO.builder().id(20L).cantidadSenete(50).build()));
+        EstadoSimulacion estado = new DistribucionService(ForkJoinPool.commonPool()).simularDistribucion(solicitud).getEstado();
+        when(indiceRepo.findByProcesoIdAndJuego("p1", "senete")).thenReturn(Optional.of(
+                IndiceEntregasJuego.builder().juego("senete").datos(estado.indiceEntregas(0).serializar()).build()));
+        when(vendedorRepo.findAllById(List.of(10L, 20L))).thenReturn(List.of(Vendedor.builder().id(10L).nombre("Ana").build()));
+
+        List<DevolucionVendedorDTO> devoluciones = List.of(
+                new DevolucionVendedorDTO(10L, RangosCartones.of(RangosCartones.empaquetar(91, 100))),
+                new DevolucionVendedorDTO(20L, RangosCartones.of(RangosCartones.empaquetar(141, 160))));
+
+        // Act
+        ConciliacionDTO conciliacion = entregasService.conciliarDevoluciones("p1", "senete", devoluciones);
+
+        // Assert
+        assertThat(conciliacion.getEntregados()).isEqualTo(150);
+        assertThat(conciliacion.getVendidos()).isEqualTo(130);
+        assertThat(conciliacion.getVendedoresConObservaciones()).isEqualTo(1);
+        assertThat(conciliacion.getVendedores().get(0).getNombre()).isEqualTo("Ana");
+        assertThat(conciliacion.getVendedores().get(0).getRangosVendidos().comoTexto()).containsExactly("1-90");
+        assertThat(conciliacion.getVendedores().get(1).getVendidos()).isEqualTo(40);
+        assertThat(conciliacion.getVendedores().get(1).getFueraDeAsignacion().comoTexto()).containsExactly("151-160");
+    }
+
+    @DisplayName("Test conciliarDevoluciones - Rango con el fin antes del inicio")
+    @Test
+    void testConciliarDevoluciones_rangoInvalido() {
+        // Arrange
+        List<DevolucionVendedorDTO> devoluciones = List.of(
+                new DevolucionVendedorDTO(10L, RangosCartones.of(RangosCartones.empaquetar(50, 40))));
+
+        // Act & Assert
+        assertThatThrownBy(() -> entregasService.conciliarDevoluciones("p1", "senete", devoluciones))
+                .isInstanceOf(UnprocessableEntityException.class);
+        verifyNoInteractions(indiceRepo);
+    }
+}
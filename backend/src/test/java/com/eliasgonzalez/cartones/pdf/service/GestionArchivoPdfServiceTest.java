@@ -0,0 +1,348 @@
+package com.eliasgonzalez.cartones.pdf.service;
+
+import com.eliasgonzalez.cartones.pdf.component.InventarioCartones;
+import com.eliasgonzalez.cartones.pdf.component.SimulacionesPorProceso.Simulacion;
+import com.eliasgonzalez.cartones.pdf.dto.ConfiguracionJuegoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.PedidoJuegoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionRequestDTO;
+import com.eliasgonzalez.cartones.pdf.dto.VendedorInputDTO;
+import com.eliasgonzalez.cartones.pdf.engine.InventarioRangos;
+import com.eliasgonzalez.cartones.pdf.entity.PdfProcesos;
+import com.eliasgonzalez.cartones.pdf.enums.EstadoEnum;
+import com.eliasgonzalez.cartones.pdf.interfaces.IPdfService;
+import com.eliasgonzalez.cartones.pdf.interfaces.IndiceEntregasRepository;
+import com.eliasgonzalez.cartones.pdf.interfaces.PdfProcesosRepository;
+import com.eliasgonzalez.cartones.shared.exception.ResourceNotFoundException;
+import com.eliasgonzalez.cartones.shared.exception.UnprocessableEntityException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.Resource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GestionArchivoPdfServiceTest {
+
+    @Mock
+    private IPdfService pdfService;
+
+    @Mock
+    private SimulacionesGuardadasService simulaciones;
+
+    @Mock
+    private PdfProcesosRepository pdfProcesosRepo;
+
+    @Mock
+    private GestionDistribucionService gestionDistribucionService;
+
+    @Mock
+    private InventarioCartones inventarioCartones;
+
+    @Mock
+    private EntregasService entregasService;
+
+    @Mock
+    private IndiceEntregasRepository indiceRepo;
+
+    @InjectMocks
+    private GestionArchivoPdfService gestionArchivoPdfService;
+
+    private String procesoId;
+    private PdfProcesos mockPdfProcesos;
+    private Resource mockZipResource;
+
+    @BeforeEach
+    void setUp() {
+        procesoId = "test-proceso-id";
+        mockPdfProcesos = PdfProcesos.builder().procesoId(procesoId).estado(EstadoEnum.VERIFICANDO.getValue()).build();
+        mockZipResource = mock(Resource.class); // Mock the returned resource
+    }
+
+    @DisplayName("Test generarPaqueteZip - Happy Path")
+    @Test
+    void testGenerarPaqueteZip_happyPath() {
+        // Arrange
+        when(gestionDistribucionService.buscarProceso(anyString())).thenReturn(mockPdfProcesos);
+        when(simulaciones.obtener(procesoId))
+                .thenReturn(new Simulacion(Collections.emptyList(), LocalDate.now(), LocalDate.now(), null));
+        when(pdfService.obtenerZipPdfs(anyString(), any(), any(), any(), any())).thenReturn(mockZipResource);
+
+        try (MockedStatic<ProcesoIdService> mockedProcesoIdService = mockStatic(ProcesoIdService.class)) {
+            mockedProcesoIdService.when(() -> ProcesoIdService.VerificandoToCompletado(anyString(), any()))
+                    .thenAnswer(invocation -> null); // Simulate void method
+
+            // Act
+            Resource result = gestionArchivoPdfService.generarPaqueteZip(procesoId);
+
+            // Assert
+            assertThat(result).isEqualTo(mockZipResource);
+
+            verify(gestionDistribucionService, times(1)).buscarProceso(procesoId);
+            verify(simulaciones, times(1)).obtener(procesoId);
+            verify(pdfService, times(1)).obtenerZipPdfs(anyString(), eq(mockPdfProcesos), any(), any(), any());
+            mockedProcesoIdService.verify(() -> ProcesoIdService.VerificandoToCompletado(procesoId, mockPdfProcesos), times(1));
+            verify(pdfProcesosRepo, times(1)).save(mockPdfProcesos);
+        }
+    }
+
+    @DisplayName("Test generarPaqueteZip - Cartones ya entregados por otro proceso")
+    @Test
+    void testGenerarPaqueteZip_cartonesYaEntregados() {
+        // Arrange
+        EstadoSimulacion estado = estadoConSenete();
+
+        when(gestionDistribucionService.buscarProceso(anyString())).thenReturn(mockPdfProcesos);
+        when(simulaciones.obtener(procesoId)).thenReturn(new Simulacion(List.of(), null, null, estado));
+        when(inventarioCartones.reservar(eq(procesoId), eq("senete"), any())).thenReturn(reservaConConflicto());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act & Assert: no se arman los PDFs y no queda nada agregado que devolver
+            assertThatThrownBy(() -> gestionArchivoPdfService.generarPaqueteZip(procesoId))
+                    .isInstanceOf(UnprocessableEntityException.class)
+                    .hasMessageContaining("Seneté");
+            completarTransaccion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+            verify(inventarioCartones, never()).deshacer(anyString(), any());
+            verifyNoInteractions(pdfService);
+            verifyNoInteractions(pdfProcesosRepo);
+            verifyNoInteractions(entregasService);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @DisplayName("Test generarPaqueteZip - Si falla después de reservar, la reserva se deshace al deshacer la transacción")
+    @Test
+    void testGenerarPaqueteZip_deshaceSiNoSeConfirma() {
+        // Arrange
+        EstadoSimulacion estado = estadoConSenete();
+        InventarioRangos.Reserva reserva = reservaHecha();
+
+        when(gestionDistribucionService.buscarProceso(anyString())).thenReturn(mockPdfProcesos);
+        when(simulaciones.obtener(procesoId)).thenReturn(new Simulacion(List.of(), null, null, estado));
+        when(inventarioCartones.reservar(eq(procesoId), anyString(), any())).thenReturn(reserva);
+        doThrow(new RuntimeException("Error al guardar índices")).when(entregasService).guardarIndices(procesoId, estado);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            assertThatThrownBy(() -> gestionArchivoPdfService.generarPaqueteZip(procesoId))
+                    .hasMessageContaining("Error al guardar índices");
+            completarTransaccion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+            // Assert
+            verify(inventarioCartones, times(1)).deshacer("senete", reserva);
+            verifyNoInteractions(pdfService);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @DisplayName("Test generarPaqueteZip - Un proceso ya completado no vuelve a reservar")
+    @Test
+    void testGenerarPaqueteZip_procesoCompletado() {
+        // Arrange
+        mockPdfProcesos.setEstado(EstadoEnum.COMPLETADO.getValue());
+        when(gestionDistribucionService.buscarProceso(anyString())).thenReturn(mockPdfProcesos);
+        when(simulaciones.obtener(procesoId)).thenReturn(new Simulacion(List.of(), null, null, estadoConSenete()));
+
+        // Act & Assert
+        assertThatThrownBy(() -> gestionArchivoPdfService.generarPaqueteZip(procesoId))
+                .isInstanceOf(UnprocessableEntityException.class)
+                .hasMessageContaining("verificando");
+
+        verifyNoInteractions(inventarioCartones);
+        verifyNoInteractions(entregasService);
+        verifyNoInteractions(pdfService);
+    }
+
+    @DisplayName("Test generarPaqueteZip - Una descarga repetida que falla no devuelve lo confirmado antes")
+    @Test
+    void testGenerarPaqueteZip_repetidaQueFallaConservaLoConfirmado() {
+        // Arrange: inventario real; la primera descarga se confirma
+        InventarioCartones inventario = new InventarioCartones(indiceRepo);
+        GestionArchivoPdfService servicio = new GestionArchivoPdfService(
+                pdfService, simulaciones, pdfProcesosRepo, gestionDistribucionService, inventario, entregasService);
+        EstadoSimulacion estado = estadoConSenete();
+        when(gestionDistribucionService.buscarProceso(anyString())).thenReturn(mockPdfProcesos);
+        when(simulaciones.obtener(procesoId)).thenReturn(new Simulacion(List.of(), null, null, estado));
+        when(pdfService.obtenerZipPdfs(anyString(), any(), any(), any(), any())).thenReturn(mockZipResource);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            servicio.generarPaqueteZip(procesoId);
+            completarTransaccion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        long reservados = inventario.cartonesReservados("senete");
+
+        // Otra solicitud del mismo proceso leyó el estado antes de que se completara y falla al guardar
+        mockPdfProcesos.setEstado(EstadoEnum.VERIFICANDO.getValue());
+        doThrow(new RuntimeException("Error al guardar índices")).when(entregasService).guardarIndices(procesoId, estado);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            assertThatThrownBy(() -> servicio.generarPaqueteZip(procesoId))
+                    .hasMessageContaining("Error al guardar índices");
+            completarTransaccion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert: los cartones de la primera descarga siguen reservados para el proceso
+        assertThat(reservados).isEqualTo(10);
+        assertThat(inventario.cartonesReservados("senete")).isEqualTo(reservados);
+    }
+
+    @DisplayName("Test generarPaqueteZip - Simulación con juegos adicionales que no salen en los PDFs")
+    @Test
+    void testGenerarPaqueteZip_juegosAdicionales() {
+        // Arrange
+        SimulacionRequestDTO solicitud = new SimulacionRequestDTO();
+        solicitud.setVendedores(List.of(VendedorInputDTO.builder().id(1L).cantidadSenete(10)
+                .pedidos(Map.of("quiniela", PedidoJuegoDTO.builder().cantidad(5).build())).build()));
+        solicitud.setInicioSeneteGral(1);
+        solicitud.setJuegos(Map.of("quiniela", ConfiguracionJuegoDTO.builder().inicioGral(1).build()));
+        EstadoSimulacion estado = new DistribucionService(ForkJoinPool.commonPool()).simularDistribucion(solicitud).getEstado();
+
+        when(gestionDistribucionService.buscarProceso(anyString())).thenReturn(mockPdfProcesos);
+        when(simulaciones.obtener(procesoId)).thenReturn(new Simulacion(List.of(), null, null, estado));
+
+        // Act & Assert
+        assertThatThrownBy(() -> gestionArchivoPdfService.generarPaqueteZip(procesoId))
+                .isInstanceOf(UnprocessableEntityException.class)
+                .hasMessageContaining("Seneté y Telebingo");
+
+        verifyNoInteractions(pdfService);
+        verifyNoInteractions(inventarioCartones);
+        verifyNoInteractions(pdfProcesosRepo);
+    }
+
+    @DisplayName("Test generarPaqueteZip - Guarda el índice de entregas del proceso confirmado")
+    @Test
+    void testGenerarPaqueteZip_guardaIndiceEntregas() {
+        // Arrange
+        EstadoSimulacion estado = estadoConSenete();
+
+        when(gestionDistribucionService.buscarProceso(anyString())).thenReturn(mockPdfProcesos);
+        when(pdfService.obtenerZipPdfs(anyString(), any(), any(), any(), any())).thenReturn(mockZipResource);
+        when(simulaciones.obtener(procesoId)).thenReturn(new Simulacion(List.of(), null, null, estado));
+        when(inventarioCartones.reservar(eq(procesoId), anyString(), any())).thenReturn(reservaHecha());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try (MockedStatic<ProcesoIdService> mockedProcesoIdService = mockStatic(ProcesoIdService.class)) {
+            // Act
+            gestionArchivoPdfService.generarPaqueteZip(procesoId);
+            completarTransaccion(TransactionSynchronization.STATUS_COMMITTED);
+
+            // Assert: reserva e índices antes de armar los PDFs; confirmada, la reserva queda
+            InOrder orden = inOrder(inventarioCartones, entregasService, pdfService);
+            orden.verify(inventarioCartones).reservar(eq(procesoId), eq("senete"), any());
+            orden.verify(entregasService).guardarIndices(procesoId, estado);
+            orden.verify(pdfService).obtenerZipPdfs(anyString(), any(), any(), any(), any());
+            verify(pdfProcesosRepo, times(1)).save(mockPdfProcesos);
+            verify(inventarioCartones, never()).deshacer(anyString(), any());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @DisplayName("Test generarPaqueteZip - Excepción al buscar proceso")
+    @Test
+    void testGenerarPaqueteZip_exceptionOnBuscarProceso() {
+        // Arrange
+        RuntimeException mockException = new RuntimeException("Proceso no encontrado");
+        when(gestionDistribucionService.buscarProceso(anyString())).thenThrow(mockException);
+
+        // Act & Assert
+        assertThatThrownBy(() -> gestionArchivoPdfService.generarPaqueteZip(procesoId))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Proceso no encontrado");
+
+        verify(gestionDistribucionService, times(1)).buscarProceso(procesoId);
+        verifyNoInteractions(pdfService);
+        verifyNoInteractions(simulaciones);
+        verifyNoInteractions(pdfProcesosRepo);
+    }
+
+    @DisplayName("Test generarPaqueteZip - Proceso sin simulación guardada")
+    @Test
+    void testGenerarPaqueteZip_sinSimulacion() {
+        // Arrange
+        when(gestionDistribucionService.buscarProceso(anyString())).thenReturn(mockPdfProcesos);
+        when(simulaciones.obtener(procesoId)).thenReturn(null);
+
+        // Act & Assert
+        assertThatThrownBy(() -> gestionArchivoPdfService.generarPaqueteZip(procesoId))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining(procesoId);
+
+        verifyNoInteractions(pdfService);
+        verifyNoInteractions(pdfProcesosRepo);
+    }
+
+    @DisplayName("Test generarPaqueteZip - Excepción al obtener ZIP de PDFs")
+    @Test
+    void testGenerarPaqueteZip_exceptionOnObtenerZipPdfs() {
+        // Arrange
+        when(gestionDistribucionService.buscarProceso(anyString())).thenReturn(mockPdfProcesos);
+        when(simulaciones.obtener(procesoId))
+                .thenReturn(new Simulacion(Collections.emptyList(), LocalDate.now(), LocalDate.now(), null));
+
+        RuntimeException mockException = new RuntimeException("Error al generar ZIP de PDFs");
+        when(pdfService.obtenerZipPdfs(anyString(), any(), any(), any(), any())).thenThrow(mockException);
+
+        // Act & Assert
+        assertThatThrownBy(() -> gestionArchivoPdfService.generarPaqueteZip(procesoId))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Error al generar ZIP de PDFs");
+
+        verify(gestionDistribucionService, times(1)).buscarProceso(procesoId);
+        verify(simulaciones, times(1)).obtener(procesoId);
+        verify(pdfService, times(1)).obtenerZipPdfs(anyString(), eq(mockPdfProcesos), any(), any(), any());
+        verifyNoInteractions(pdfProcesosRepo); // Should not save if an exception occurs before
+    }
+
+    private static EstadoSimulacion estadoConSenete() {
+        SimulacionRequestDTO solicitud = new SimulacionRequestDTO();
+        solicitud.setVendedores(List.of(VendedorInputDTO.builder().id(1L).cantidadSenete(10).build()));
+        solicitud.setInicioSeneteGral(1);
+        return new DistribucionService(ForkJoinPool.commonPool()).simularDistribucion(solicitud).getEstado();
+    }
+
+    private static InventarioRangos.Reserva reservaHecha() {
+        return new InventarioRangos().reservar("test-proceso-id", new int[]{1}, new int[]{10});
+    }
+
+    private static InventarioRangos.Reserva reservaConConflicto() {
+        InventarioRangos inventario = new InventarioRangos();
+        inventario.reservar("otro-proceso", new int[]{5}, new int[]{10});
+        return inventario.reservar("test-proceso-id", new int[]{1}, new int[]{10});
+    }
+
+    private static void completarTransaccion(int estado) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.afterCompletion(estado));
+    }
+}
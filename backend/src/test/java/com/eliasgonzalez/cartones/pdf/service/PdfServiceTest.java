@@ -1,11 +1,14 @@
 package com.eliasgonzalez.cartones.pdf.service;
 
+import com.eliasgonzalez.cartones.pdf.dto.RangosCartones;
 import com.eliasgonzalez.cartones.pdf.dto.VendedorSimuladoDTO;
 import com.eliasgonzalez.cartones.pdf.entity.PdfProcesos;
 import com.eliasgonzalez.cartones.pdf.enums.EstadoEnum;
 import com.eliasgonzalez.cartones.vendedor.entity.Vendedor;
 import com.eliasgonzalez.cartones.vendedor.interfaces.VendedorRepository;
 import com.eliasgonzalez.cartones.zip.ZipService;
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.parser.PdfTextExtractor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,6 +23,7 @@ import org.springframework.core.io.Resource;
 
 import java.io.IOException;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -258,4 +262,49 @@ class PdfServiceTest {
         verify(pdfEtiquetasService, never()).generarEtiquetas(any(), any(), any());
         verify(pdfResumenService, never()).generarResumen(any(), any(), any());
     }
+
+    @DisplayName("Test generarPdfsEnUnaPasada - Mismo contenido página por página que generarPdfs")
+    @Test
+    void testGenerarPdfsEnUnaPasada_mismoContenidoQueGenerarPdfs() throws IOException {
+        // Arrange: servicios reales, con suficientes vendedores para varias páginas de cada PDF
+        PdfService servicioReal = new PdfService(new PdfEtiquetasService(), new PdfResumenService(), vendedorRepo);
+        List<Vendedor> vendedores = new ArrayList<>();
+        List<VendedorSimuladoDTO> simulados = new ArrayList<>();
+        for (int i = 1; i <= 70; i++) {
+            Vendedor v = new Vendedor();
+            v.setId((long) i);
+            v.setProcesoId(procesoId);
+            v.setCantidadSenete(i);
+            v.setResultadoTelebingo(i % 3);
+            vendedores.add(v);
+            simulados.add(VendedorSimuladoDTO.builder()
+                    .id((long) i)
+                    .nombre("Vendedor " + i)
+                    .rangosSenete(RangosCartones.of(RangosCartones.empaquetar(i * 100, i * 100 + i)))
+                    .build());
+        }
+        when(vendedorRepo.findAllByProcesoId(procesoId)).thenReturn(vendedores);
+
+        // Act
+        Map<String, byte[]> porListas = servicioReal.generarPdfs(simulados, fechaSorteoSenete, fechaSorteoTelebingo, procesoId);
+        Map<String, byte[]> enUnaPasada = servicioReal.generarPdfsEnUnaPasada(simulados, fechaSorteoSenete, fechaSorteoTelebingo, procesoId);
+
+        // Assert
+        for (String pdf : List.of("etiquetas", "resumen")) {
+            assertThat(textoPorPagina(enUnaPasada.get(pdf))).as(pdf).isEqualTo(textoPorPagina(porListas.get(pdf)));
+        }
+        assertThat(textoPorPagina(enUnaPasada.get("etiquetas"))).hasSize(24);
+    }
+
+    private static List<String> textoPorPagina(byte[] pdf) throws IOException {
+        PdfReader lector = new PdfReader(pdf);
+        try {
+            PdfTextExtractor extractor = new PdfTextExtractor(lector);
+            List<String> paginas = new ArrayList<>();
+            for (int p = 1; p <= lector.getNumberOfPages(); p++) paginas.add(extractor.getTextFromPage(p));
+            return paginas;
+        } finally {
+            lector.close();
+        }
+    }
 }
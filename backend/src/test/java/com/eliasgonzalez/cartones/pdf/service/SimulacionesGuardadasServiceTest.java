@@ -0,0 +1,159 @@
+package com.eliasgonzalez.cartones.pdf.service;
+
+import com.eliasgonzalez.cartones.pdf.component.SimulacionesPorProceso;
+import com.eliasgonzalez.cartones.pdf.component.SimulacionesPorProceso.Simulacion;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionRequestDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionResultadoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.VendedorInputDTO;
+import com.eliasgonzalez.cartones.pdf.entity.SimulacionGuardada;
+import com.eliasgonzalez.cartones.pdf.interfaces.SimulacionGuardadaRepository;
+import com.eliasgonzalez.cartones.shared.exception.ConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SimulacionesGuardadasServiceTest {
+
+    @Mock
+    private SimulacionGuardadaRepository simulacionRepo;
+
+    private DistribucionService distribucionService;
+    private SimulacionesGuardadasService service;
+    private Simulacion simulacion;
+
+    @BeforeEach
+    void setUp() {
+        distribucionService = new DistribucionService(ForkJoinPool.commonPool());
+        service = new SimulacionesGuardadasService(simulacionRepo, new SimulacionesPorProceso(8, 60, 64), distribucionService);
+
+        List<VendedorInputDTO> vendedores = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            vendedores.add(VendedorInputDTO.builder().id((long) i + 1).nombre("Vendedor " + i)
+                    .cantidadSenete(8).terminacionSenete(i % 6 == 0 ? i : null).cantidadTelebingo(4).build());
+        }
+        SimulacionRequestDTO solicitud = new SimulacionRequestDTO();
+        solicitud.setVendedores(vendedores);
+        solicitud.setInicioSeneteGral(1);
+        solicitud.setInicioTelebingoGral(500);
+        SimulacionResultadoDTO resultado = distribucionService.simularDistribucion(solicitud);
+        simulacion = new Simulacion(resultado.getVendedores(), LocalDate.of(2026, 10, 18), null, resultado.getEstado());
+    }
+
+    @DisplayName("Test obtener - Con la misma versión en la base usa la copia en memoria")
+    @Test
+    void testObtener_mismaVersion() {
+        // Arrange
+        when(simulacionRepo.findById("p1")).thenReturn(Optional.empty());
+        when(simulacionRepo.saveAndFlush(any(SimulacionGuardada.class))).thenAnswer(inv -> {
+            SimulacionGuardada fila = inv.getArgument(0);
+            fila.setVersion(0L);
+            return fila;
+        });
+        service.guardar("p1", simulacion);
+        when(simulacionRepo.buscarVersion("p1")).thenReturn(Optional.of(0L));
+
+        // Act
+        Simulacion obtenida = service.obtener("p1");
+
+        // Assert
+        assertThat(obtenida).isSameAs(simulacion);
+        verify(simulacionRepo, times(1)).findById("p1");
+    }
+
+    @DisplayName("Test obtener - Si otra réplica guardó una versión nueva la restaura de la base")
+    @Test
+    void testObtener_otraVersion() {
+        // Arrange
+        when(simulacionRepo.findById("p1")).thenReturn(Optional.empty());
+        when(simulacionRepo.saveAndFlush(any(SimulacionGuardada.class))).thenAnswer(inv -> {
+            SimulacionGuardada fila = inv.getArgument(0);
+            fila.setVersion(0L);
+            return fila;
+        });
+        service.guardar("p1", simulacion);
+        ArgumentCaptor<SimulacionGuardada> captor = ArgumentCaptor.forClass(SimulacionGuardada.class);
+        verify(simulacionRepo).saveAndFlush(captor.capture());
+        SimulacionGuardada deOtraReplica = captor.getValue();
+        deOtraReplica.setVersion(1L);
+
+        when(simulacionRepo.buscarVersion("p1")).thenReturn(Optional.of(1L));
+        when(simulacionRepo.findById("p1")).thenReturn(Optional.of(deOtraReplica));
+
+        // Act
+        Simulacion restaurada = service.obtener("p1");
+        Simulacion otraVez = service.obtener("p1");
+
+        // Assert: mismos rangos, fechas y un estado que se puede seguir recalculando
+        assertThat(restaurada).isNotSameAs(simulacion);
+        assertThat(restaurada.vendedores()).isEqualTo(simulacion.vendedores());
+        assertThat(restaurada.fechaSorteoSenete()).isEqualTo(LocalDate.of(2026, 10, 18));
+        assertThat(deOtraReplica.getCantidadVendedores()).isEqualTo(30);
+        List<VendedorInputDTO> cambios = List.of(VendedorInputDTO.builder().id(4L).cantidadSenete(20).build());
+        assertThat(distribucionService.resimular(restaurada.estado(), cambios).getVendedores())
+                .isEqualTo(distribucionService.resimular(simulacion.estado(), cambios).getVendedores());
+        assertThat(otraVez).isSameAs(restaurada);
+        verify(simulacionRepo, times(2)).findById("p1");
+    }
+
+    @DisplayName("Test guardar - Otra réplica insertó la fila del proceso al mismo tiempo")
+    @Test
+    void testGuardar_insercionConcurrente() {
+        // Arrange
+        when(simulacionRepo.findById("p1")).thenReturn(Optional.empty());
+        when(simulacionRepo.saveAndFlush(any(SimulacionGuardada.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.guardar("p1", simulacion))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("p1");
+        when(simulacionRepo.buscarVersion("p1")).thenReturn(Optional.empty());
+        assertThat(service.obtener("p1")).isNull();
+    }
+
+    @DisplayName("Test guardar - Otra réplica reemplazó la simulación después de leerla")
+    @Test
+    void testGuardar_versionVieja() {
+        // Arrange
+        SimulacionGuardada leida = SimulacionGuardada.builder().procesoId("p1").version(3L).build();
+        when(simulacionRepo.findById("p1")).thenReturn(Optional.of(leida));
+        when(simulacionRepo.saveAndFlush(leida))
+                .thenThrow(new ObjectOptimisticLockingFailureException(SimulacionGuardada.class, "p1"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.guardar("p1", simulacion))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @DisplayName("Test obtener - Proceso sin simulación guardada")
+    @Test
+    void testObtener_sinSimulacion() {
+        // Arrange
+        when(simulacionRepo.buscarVersion("p1")).thenReturn(Optional.empty());
+
+        // Act
+        Simulacion obtenida = service.obtener("p1");
+
+        // Assert
+        assertThat(obtenida).isNull();
+        verify(simulacionRepo, never()).findById(any());
+    }
+}
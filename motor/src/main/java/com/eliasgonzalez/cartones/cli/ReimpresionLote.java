@@ -0,0 +1,265 @@
+package com.eliasgonzalez.cartones.cli;
+
+import com.eliasgonzalez.cartones.excel.service.ExcelValidationService;
+import com.eliasgonzalez.cartones.excel.service.LectorExcel;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionRequestDTO;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionResultadoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.VendedorInputDTO;
+import com.eliasgonzalez.cartones.pdf.dto.VendedorSimuladoDTO;
+import com.eliasgonzalez.cartones.pdf.mapper.DatosVendedor;
+import com.eliasgonzalez.cartones.pdf.mapper.PdfMapper;
+import com.eliasgonzalez.cartones.pdf.service.DistribucionService;
+import com.eliasgonzalez.cartones.pdf.service.PdfEtiquetasService;
+import com.eliasgonzalez.cartones.pdf.service.PdfResumenService;
+import com.eliasgonzalez.cartones.vendedor.dto.VendedorExcelDTO;
+import com.eliasgonzalez.cartones.zip.ArchivosZip;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Reimpresión por lotes, sin backend ni base de datos: arma el ZIP de etiquetas y resumen de cada
+ * Excel de una carpeta, varios a la vez.
+ * <p>
+ * Uso: {@code java -jar cartones-motor-<versión>-cli.jar <entrada> <salida> [hilos]}
+ * <p>
+ * Para {@code planilla.xlsx} se usa la configuración {@code planilla.json} o, si no existe,
+ * {@code pilas.json} de la misma carpeta. Tiene el formato del cuerpo de {@code POST /simular}
+ * (pilas, inicios, fechas, mezcla...), sin juegos adicionales porque los PDFs no los incluyen. Los
+ * vendedores y sus cantidades salen del Excel; de los {@code vendedores} de la configuración sólo se
+ * toman las terminaciones del vendedor con el mismo nombre. El resultado queda en {@code <salida>/planilla.zip}.
+ */
+@Slf4j
+public final class ReimpresionLote {
+
+    static final String CONFIGURACION_COMUN = "pilas.json";
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private final DistribucionService distribucionService;
+    private final PdfEtiquetasService pdfEtiquetasService = new PdfEtiquetasService();
+    private final PdfResumenService pdfResumenService = new PdfResumenService();
+    private final ExcelValidationService validationService = new ExcelValidationService();
+
+    /**
+     * Resultado de un archivo. {@code error} es null si el ZIP quedó escrito.
+     */
+    public record Resultado(Path excel, Path zip, int vendedores, long milisegundos, String error) {}
+
+    ReimpresionLote(ForkJoinPool distribucionPool) {
+        this.distribucionService = new DistribucionService(distribucionPool);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Uso: ReimpresionLote <carpeta de Excel> <carpeta de salida> [hilos]");
+            System.exit(2);
+        }
+        int hilos = args.length == 3 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        long inicio = System.nanoTime();
+        List<Resultado> resultados = procesar(Path.of(args[0]), Path.of(args[1]), hilos);
+        long total = (System.nanoTime() - inicio) / 1_000_000;
+
+        int fallidos = 0;
+        for (Resultado r : resultados) {
+            if (r.error() == null) {
+                System.out.printf("OK    %s -> %s (%d vendedores, %d ms)%n", r.excel().getFileName(), r.zip(), r.vendedores(), r.milisegundos());
+            } else {
+                fallidos++;
+                System.out.printf("ERROR %s: %s%n", r.excel().getFileName(), r.error());
+            }
+        }
+        System.out.printf("%d archivos, %d con error, %d ms con %d hilos%n", resultados.size(), fallidos, total, hilos);
+        System.exit(fallidos == 0 ? 0 : 1);
+    }
+
+    /**
+     * Procesa todos los Excel de {@code entrada} con {@code hilos} archivos a la vez. Un archivo con
+     * errores no corta al resto.
+     *
+     * @return Un resultado por archivo, en orden alfabético.
+     */
+    public static List<Resultado> procesar(Path entrada, Path salida, int hilos) throws IOException, InterruptedException {
+        if (hilos < 1) {
+            throw new IllegalArgumentException("La cantidad de hilos debe ser mayor a 0.");
+        }
+        List<Path> excels;
+        try (Stream<Path> archivos = Files.list(entrada)) {
+            excels = archivos.filter(ReimpresionLote::esExcel).sorted().toList();
+        }
+        Files.createDirectories(salida);
+
+        ForkJoinPool distribucionPool = new ForkJoinPool(hilos);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            ReimpresionLote lote = new ReimpresionLote(distribucionPool);
+            List<Future<Resultado>> pendientes = new ArrayList<>();
+            for (Path excel : excels) {
+                pendientes.add(ejecutor.submit(() -> lote.procesarArchivo(excel, salida)));
+            }
+
+            List<Resultado> resultados = new ArrayList<>();
+            for (Future<Resultado> pendiente : pendientes) {
+                try {
+                    resultados.add(pendiente.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            return resultados;
+        } finally {
+            ejecutor.shutdown();
+            distribucionPool.shutdown();
+        }
+    }
+
+    Resultado procesarArchivo(Path excel, Path salida) {
+        long inicio = System.nanoTime();
+        String base = nombreBase(excel);
+        Path zip = salida.resolve(base + ".zip");
+        try {
+            SimulacionRequestDTO request = leerConfiguracion(excel, base);
+
+            List<VendedorExcelDTO> filas;
+            try (InputStream is = Files.newInputStream(excel)) {
+                filas = LectorExcel.leer(is, validationService, excel.getFileName().toString());
+            }
+
+            Map<Long, FilaPlanilla> datos = new HashMap<>();
+            request.setVendedores(vendedores(filas, request.getVendedores(), datos));
+            SimulacionResultadoDTO simulacion = distribucionService.simularDistribucion(request);
+            if (simulacion.getEstado().tieneJuegosAdicionales()) {
+                throw new IllegalArgumentException(
+                        "Los PDFs sólo incluyen Seneté y Telebingo: la configuración no puede tener juegos adicionales.");
+            }
+
+            Map<String, byte[]> pdfs = generarPdfs(simulacion.getVendedores(), datos, request);
+            try (OutputStream out = Files.newOutputStream(zip)) {
+                ArchivosZip.escribir(pdfs, out);
+            }
+
+            long ms = (System.nanoTime() - inicio) / 1_000_000;
+            log.info("{}: {} vendedores en {} ms", excel.getFileName(), filas.size(), ms);
+            return new Resultado(excel, zip, filas.size(), ms, null);
+
+        } catch (Exception e) {
+            log.error("Fallo la reimpresión de {}", excel.getFileName(), e);
+            return new Resultado(excel, null, 0, (System.nanoTime() - inicio) / 1_000_000, String.valueOf(e.getMessage()));
+        }
+    }
+
+    private SimulacionRequestDTO leerConfiguracion(Path excel, String base) throws IOException {
+        Path propia = excel.resolveSibling(base + ".json");
+        Path configuracion = Files.exists(propia) ? propia : excel.resolveSibling(CONFIGURACION_COMUN);
+        if (!Files.exists(configuracion)) {
+            throw new IllegalArgumentException("No se encontró " + propia.getFileName() + " ni " + CONFIGURACION_COMUN + ".");
+        }
+        return JSON.readValue(configuracion.toFile(), SimulacionRequestDTO.class);
+    }
+
+    /**
+     * Un vendedor por fila del Excel, con id = número de orden en la planilla (desde 1).
+     */
+    private static List<VendedorInputDTO> vendedores(List<VendedorExcelDTO> filas, List<VendedorInputDTO> configurados,
+                                                     Map<Long, FilaPlanilla> datos) {
+        Map<String, VendedorInputDTO> porNombre = new HashMap<>();
+        if (configurados != null) {
+            for (VendedorInputDTO v : configurados) {
+                if (v.getNombre() != null) porNombre.putIfAbsent(v.getNombre().trim(), v);
+            }
+        }
+
+        List<VendedorInputDTO> vendedores = new ArrayList<>(filas.size());
+        for (int i = 0; i < filas.size(); i++) {
+            VendedorExcelDTO fila = filas.get(i);
+            long id = i + 1L;
+            String nombre = fila.getNombre().trim();
+
+            VendedorInputDTO plantilla = porNombre.get(nombre);
+            VendedorInputDTO.VendedorInputDTOBuilder builder = plantilla == null ? VendedorInputDTO.builder() : plantilla.toBuilder();
+            vendedores.add(builder
+                    .id(id)
+                    .nombre(nombre)
+                    .cantidadSenete(fila.getCantidadSenete())
+                    .cantidadTelebingo(fila.getCantidadTelebingo())
+                    .build());
+            datos.put(id, FilaPlanilla.de(fila));
+        }
+        return vendedores;
+    }
+
+    // Los dos PDFs en una sola pasada por los vendedores, como PdfService con render-en-una-pasada
+    private Map<String, byte[]> generarPdfs(List<VendedorSimuladoDTO> simulados, Map<Long, FilaPlanilla> datos,
+                                            SimulacionRequestDTO request) {
+        DecimalFormat formatoSaldo = PdfMapper.formatoSaldo();
+        ByteArrayOutputStream etiquetas = new ByteArrayOutputStream();
+        ByteArrayOutputStream resumen = new ByteArrayOutputStream();
+        try (PdfEtiquetasService.Escritor escritorEtiquetas = pdfEtiquetasService.abrir(etiquetas, request.getFechaSorteoSenete(), request.getFechaSorteoTelebingo());
+             PdfResumenService.Escritor escritorResumen = pdfResumenService.abrir(resumen, request.getFechaSorteoSenete(), request.getFechaSorteoTelebingo())) {
+            for (int i = 0; i < simulados.size(); i++) {
+                VendedorSimuladoDTO simulado = simulados.get(i);
+                FilaPlanilla fila = datos.get(simulado.getId());
+                escritorEtiquetas.agregar(PdfMapper.toEtiquetaDTO(simulado, i + 1, fila, formatoSaldo));
+                escritorResumen.agregar(PdfMapper.toResumenDTO(simulado, i + 1, fila));
+            }
+        }
+
+        Map<String, byte[]> pdfs = new LinkedHashMap<>();
+        pdfs.put("Imprimir_etiquetas.pdf", etiquetas.toByteArray());
+        pdfs.put("Resumen_entrega.pdf", resumen.toByteArray());
+        return pdfs;
+    }
+
+    private static boolean esExcel(Path archivo) {
+        String nombre = archivo.getFileName().toString().toLowerCase(Locale.ROOT);
+        // ~$ son los archivos de bloqueo que deja Excel abierto
+        return Files.isRegularFile(archivo) && !nombre.startsWith("~$") && (nombre.endsWith(".xlsx") || nombre.endsWith(".xls"));
+    }
+
+    private static String nombreBase(Path archivo) {
+        String nombre = archivo.getFileName().toString();
+        return nombre.substring(0, nombre.lastIndexOf('.'));
+    }
+
+    /**
+     * Datos impresos de una fila del Excel (lo que en el backend sale de la entidad Vendedor).
+     */
+    @Getter
+    @AllArgsConstructor
+    private static final class FilaPlanilla implements DatosVendedor {
+        private final Integer cantidadSenete;
+        private final Integer resultadoSenete;
+        private final Integer cantidadTelebingo;
+        private final Integer resultadoTelebingo;
+        private final BigDecimal deuda;
+
+        static FilaPlanilla de(VendedorExcelDTO fila) {
+            String deudaStr = fila.getDeudaStr();
+            BigDecimal deuda = (deudaStr == null || deudaStr.isBlank()) ? BigDecimal.ZERO : new BigDecimal(deudaStr.trim());
+            return new FilaPlanilla(fila.getCantidadSenete(), fila.getResultadoSenete(),
+                    fila.getCantidadTelebingo(), fila.getResultadoTelebingo(), deuda);
+        }
+    }
+}
@@ -1,13 +1,11 @@
 package com.eliasgonzalez.cartones.excel.service;
 
 import com.eliasgonzalez.cartones.vendedor.dto.VendedorExcelDTO;
-import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
-@Service
 public class ExcelValidationService {
 
     /**
@@ -1,50 +1,42 @@
 package com.eliasgonzalez.cartones.excel.service;
 
 import com.eliasgonzalez.cartones.excel.enums.ExcelEnum;
-import com.eliasgonzalez.cartones.excel.interfaces.IExcelService;
-import com.eliasgonzalez.cartones.shared.exception.FileProcessingException;
-import com.eliasgonzalez.cartones.vendedor.dto.VendedorExcelDTO;
 import com.eliasgonzalez.cartones.shared.exception.ExcelProcessingException;
-import com.eliasgonzalez.cartones.vendedor.entity.Vendedor;
-import com.eliasgonzalez.cartones.vendedor.interfaces.VendedorRepository;
 import com.eliasgonzalez.cartones.shared.util.Util;
-import lombok.RequiredArgsConstructor;
+import com.eliasgonzalez.cartones.vendedor.dto.VendedorExcelDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
-import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
- * Servicio encargado de la orquestación (I/O) y persistencia de datos
- * desde un archivo Excel, aplicando un enfoque de "Todo o Nada".
+ * Lectura de la hoja de vendedores del Excel, sin persistir nada. La usan el {@code ExcelService} del
+ * backend y la reimpresión por lotes.
+ * <p>
+ * Todo o nada: si alguna fila tiene errores se informan todos juntos en una sola
+ * {@link ExcelProcessingException} y no se devuelve ninguna.
  */
-@Service
-@RequiredArgsConstructor
 @Slf4j
-public class ExcelService implements IExcelService {
-
-    private final VendedorRepository vendedorRepo;
-    private final ExcelValidationService validationService;
+public final class LectorExcel {
 
-    @Override
-    @Transactional // Si ocurre una RuntimeException, se revierte todo
-    public void leerExcel(MultipartFile file, String procesoIdCreado){
-
-        log.info("Iniciando procesamiento del archivo Excel: {}", file.getOriginalFilename());
+    private LectorExcel() {}
 
+    /**
+     * @param is                Contenido del archivo Excel.
+     * @param validationService Reglas de negocio de cada fila.
+     * @param origen            Para los logs (proceso o nombre del archivo).
+     * @return Las filas con vendedor, en el orden del archivo.
+     */
+    public static List<VendedorExcelDTO> leer(InputStream is, ExcelValidationService validationService, String origen) throws IOException {
         List<String> erroresGlobales = new ArrayList<>();
-        List<Vendedor> vendedoresParaGuardar = new ArrayList<>();
+        List<VendedorExcelDTO> filas = new ArrayList<>();
 
-        try (InputStream is = file.getInputStream();
-             Workbook wb = WorkbookFactory.create(is)) {
+        try (Workbook wb = WorkbookFactory.create(is)) {
 
             // --- 1. CONFIGURACIÓN INICIAL + EVALUADOR ---
             FormulaEvaluator evaluator = wb.getCreationHelper().createFormulaEvaluator();
@@ -84,7 +76,7 @@ public class ExcelService implements IExcelService {
 
                 // Si la fila está vacía, se omite y se pasa al siguiente.
                 if (Util.isRowEmpty(row, vIdx, evaluator)) {
-                    log.warn("Se omite la fila {} porque el nombre del vendedor esta vacío. ProcesoId: {}", filaActual, procesoIdCreado);
+                    log.warn("Se omite la fila {} porque el nombre del vendedor esta vacío. Origen: {}", filaActual, origen);
                     continue;
                 }
 
@@ -98,8 +90,7 @@ public class ExcelService implements IExcelService {
                     if (!erroresFila.isEmpty()) {
                         erroresGlobales.addAll(erroresFila);
                     } else {
-                        // Si la fila es válida, la transformamos en entidad y la guardamos en la lista temporal
-                        vendedoresParaGuardar.add(convertToEntity(dto, procesoIdCreado));
+                        filas.add(dto);
                     }
 
                 } catch (Exception e) {
@@ -108,27 +99,14 @@ public class ExcelService implements IExcelService {
                     erroresGlobales.add(errorMessage);
                 }
             }
+        }
 
-            // --- 3. DECISIÓN FINAL (TODO O NADA) ---
-            if (!erroresGlobales.isEmpty()) {
-                log.warn("Se detectaron {} errores. Abortando operación sin guardar nada.", erroresGlobales.size());
-                // Lanzar la excepción provoca el Rollback automático de la transacción
-                throw new ExcelProcessingException("El archivo Excel contiene errores. No se ha guardado ningún dato.", erroresGlobales);
-            }
-
-            // Si se llegó hasta acá, significa que NO hubo errores en ninguna fila
-            if (!vendedoresParaGuardar.isEmpty()) {
-                vendedorRepo.saveAll(vendedoresParaGuardar);
-                log.info("Se han guardado exitosamente {} registros.", vendedoresParaGuardar.size());
-            }
-
-        } catch (ExcelProcessingException | FileProcessingException e) {
-            log.error("[INTERNO] Fallo en el procesamiento del Excel. Errores: {}. Mensaje: {}", erroresGlobales,e.getMessage());
-            throw e; // Re-lanzar la excepción para que GlobalExceptionHandler la capture
-        } catch (Exception e) {
-            log.error("Fallo crítico en el procesamiento del Excel", e);
-            throw new RuntimeException("Error al procesar el archivo Excel: " + e.getMessage(), e);
+        // --- 3. DECISIÓN FINAL (TODO O NADA) ---
+        if (!erroresGlobales.isEmpty()) {
+            log.warn("Se detectaron {} errores en {}.", erroresGlobales.size(), origen);
+            throw new ExcelProcessingException("El archivo Excel contiene errores. No se ha guardado ningún dato.", erroresGlobales);
         }
+        return filas;
     }
 
     private static void validateHeader(Map<String, Integer> idx) {
@@ -160,20 +138,4 @@ public class ExcelService implements IExcelService {
                 .filaActual(filaActual)
                 .build();
     }
-
-    private static Vendedor convertToEntity(VendedorExcelDTO dto, String procesoIdCreado) {
-        String deudaStr = dto.getDeudaStr();
-        BigDecimal deuda = (deudaStr == null || deudaStr.isBlank()) ?
-                BigDecimal.ZERO : new BigDecimal(deudaStr.trim());
-
-        return Vendedor.builder()
-                .procesoId(procesoIdCreado)
-                .nombre(dto.getNombre().trim())
-                .deuda(deuda)
-                .cantidadSenete(dto.getCantidadSenete())
-                .resultadoSenete(dto.getResultadoSenete())
-                .cantidadTelebingo(dto.getCantidadTelebingo())
-                .resultadoTelebingo(dto.getResultadoTelebingo())
-                .build();
-    }
-}
\ No newline at end of file
+}
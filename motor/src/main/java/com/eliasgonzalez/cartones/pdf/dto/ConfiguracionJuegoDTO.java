@@ -0,0 +1,29 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Papel de un juego adicional (además de Seneté y Telebingo): rangos cortados o un inicio a partir
+ * del cual se genera la pila, igual que {@code poolSenete}/{@code inicioSenete}.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfiguracionJuegoDTO {
+
+    // Rangos disponibles
+    private List<RangoCortadoDTO> pool;
+
+    @JsonProperty("inicio")
+    private Integer inicioGral;
+
+    @Override
+    public String toString() {
+        return "ConfiguracionJuegoDTO{pool=" + pool + ", inicioGral=" + inicioGral + '}';
+    }
+}
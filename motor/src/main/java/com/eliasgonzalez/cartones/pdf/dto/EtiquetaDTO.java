@@ -1,7 +1,6 @@
 package com.eliasgonzalez.cartones.pdf.dto;
 
 import lombok.*;
-import java.util.List;
 
 @AllArgsConstructor
 @NoArgsConstructor
@@ -13,11 +12,11 @@ public class EtiquetaDTO {
     private String nombre;
     private String saldo;
 
-    private List<String> seneteRangos;
+    private RangosCartones seneteRangos;
     private String seneteCartones;
     private String resultadoSenete;
 
-    private List<String> telebingoRangos;
+    private RangosCartones telebingoRangos;
     private String telebingoCartones;
     private String resultadoTelebingo;
 
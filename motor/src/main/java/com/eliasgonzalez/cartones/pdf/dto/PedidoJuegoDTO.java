@@ -0,0 +1,22 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Pedido de un vendedor para un juego adicional, igual que {@code cantidadSenete}/{@code terminacionSenete}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PedidoJuegoDTO {
+
+    private Integer cantidad;
+    private Integer terminacion; // Puede ser null
+    private List<@Min(0) @Max(99) Integer> terminaciones; // Acepta cualquiera de estas (y terminacion)
+
+}
@@ -0,0 +1,27 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import com.eliasgonzalez.cartones.pdf.engine.PlanPapel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Papel que necesita cada juego con pila generada, para cortar el pedido a imprenta sin margen fijo.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class PlanPapelDTO {
+
+    // Semilla de la mezcla usada (null si no se mezcló)
+    private final Long semilla;
+
+    // Mezclas evaluadas por la búsqueda de la mejor (null si no hubo búsqueda)
+    private final Integer mezclasEvaluadas;
+
+    // Plan de cada juego que se genera desde su inicio general, por clave de juego
+    private final Map<String, PlanPapel> juegos;
+
+}
@@ -0,0 +1,180 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lista inmutable de rangos de cartones. Cada rango es un {@code long} con el inicio en los 32 bits
+ * altos y el fin en los 32 bits bajos, así el motor, el mapper y los PDFs trabajan con primitivos.
+ * <p>
+ * El texto {@code "inicio-fin"} sólo se arma en los bordes: en JSON se sigue viendo como
+ * {@code ["100-150", "200-210"]}, igual que antes.
+ */
+@JsonSerialize(using = RangosCartones.Serializador.class)
+@JsonDeserialize(using = RangosCartones.Deserializador.class)
+public final class RangosCartones {
+
+    private static final RangosCartones VACIO = new RangosCartones(new long[0]);
+
+    private final long[] rangos;
+
+    private RangosCartones(long[] rangos) {
+        this.rangos = rangos;
+    }
+
+    public static RangosCartones vacio() {
+        return VACIO;
+    }
+
+    /**
+     * @param rangos Rangos empaquetados con {@link #empaquetar(int, int)}. Se copian.
+     */
+    public static RangosCartones of(long... rangos) {
+        return rangos.length == 0 ? VACIO : new RangosCartones(rangos.clone());
+    }
+
+    /**
+     * Copia los rangos {@code [desde, hasta)} de un arreglo de rangos empaquetados.
+     */
+    public static RangosCartones copiaDe(long[] rangos, int desde, int hasta) {
+        return desde >= hasta ? VACIO : new RangosCartones(Arrays.copyOfRange(rangos, desde, hasta));
+    }
+
+    // Sin copia: sólo para quien arma el arreglo y no lo vuelve a tocar
+    private static RangosCartones envolver(long[] rangos) {
+        return rangos.length == 0 ? VACIO : new RangosCartones(rangos);
+    }
+
+    // --- EMPAQUETADO ---
+
+    public static long empaquetar(int inicio, int fin) {
+        return ((long) inicio << 32) | (fin & 0xFFFFFFFFL);
+    }
+
+    public static int inicioDe(long rango) {
+        return (int) (rango >> 32);
+    }
+
+    public static int finDe(long rango) {
+        return (int) rango;
+    }
+
+    public static String formatear(long rango) {
+        return inicioDe(rango) + "-" + finDe(rango);
+    }
+
+    /**
+     * Lee un rango con formato {@code "inicio-fin"} (admite espacios alrededor del guion).
+     */
+    public static long parsear(String texto) {
+        String limpio = texto.trim();
+        // El guion separador es el primero que no está en la posición 0 (que sería un signo)
+        int guion = limpio.indexOf('-', 1);
+        if (guion < 0) {
+            throw new IllegalArgumentException("Rango inválido: '" + texto + "'");
+        }
+        int inicio = Integer.parseInt(limpio.substring(0, guion).trim());
+        int fin = Integer.parseInt(limpio.substring(guion + 1).trim());
+        return empaquetar(inicio, fin);
+    }
+
+    // --- CONSULTAS ---
+
+    public int cantidad() {
+        return rangos.length;
+    }
+
+    public boolean isEmpty() {
+        return rangos.length == 0;
+    }
+
+    public long get(int indice) {
+        return rangos[indice];
+    }
+
+    public int inicio(int indice) {
+        return inicioDe(rangos[indice]);
+    }
+
+    public int fin(int indice) {
+        return finDe(rangos[indice]);
+    }
+
+    public long totalCartones() {
+        long total = 0;
+        for (long rango : rangos) {
+            total += (long) finDe(rango) - inicioDe(rango) + 1;
+        }
+        return total;
+    }
+
+    public List<String> comoTexto() {
+        List<String> texto = new ArrayList<>(rangos.length);
+        for (long rango : rangos) {
+            texto.add(formatear(rango));
+        }
+        return texto;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof RangosCartones otro && Arrays.equals(rangos, otro.rangos));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(rangos);
+    }
+
+    @Override
+    public String toString() {
+        return comoTexto().toString();
+    }
+
+    // --- JSON ---
+
+    public static class Serializador extends JsonSerializer<RangosCartones> {
+        @Override
+        public void serialize(RangosCartones valor, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeStartArray(valor, valor.rangos.length);
+            for (long rango : valor.rangos) {
+                gen.writeString(formatear(rango));
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    public static class Deserializador extends JsonDeserializer<RangosCartones> {
+        @Override
+        public RangosCartones deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                return (RangosCartones) ctxt.handleUnexpectedToken(RangosCartones.class, parser);
+            }
+            long[] leidos = new long[8];
+            int cantidad = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (cantidad == leidos.length) {
+                    leidos = Arrays.copyOf(leidos, cantidad * 2);
+                }
+                try {
+                    leidos[cantidad++] = parsear(parser.getValueAsString());
+                } catch (RuntimeException e) {
+                    return (RangosCartones) ctxt.handleWeirdStringValue(RangosCartones.class, parser.getValueAsString(), "%s", e.getMessage());
+                }
+            }
+            return envolver(Arrays.copyOf(leidos, cantidad));
+        }
+    }
+}
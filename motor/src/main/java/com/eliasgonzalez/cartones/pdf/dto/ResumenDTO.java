@@ -1,7 +1,6 @@
 package com.eliasgonzalez.cartones.pdf.dto;
 
 import lombok.*;
-import java.util.Map;
 
 @AllArgsConstructor
 @NoArgsConstructor
@@ -12,10 +11,10 @@ public class ResumenDTO {
     private int numeroVendedor;
     private String nombre;
 
-    private Map<String, String> seneteDelAl;
+    private RangosCartones seneteDelAl;
     private int cantidadSenete;
 
-    private Map<String, String> telebingoDelAl;
+    private RangosCartones telebingoDelAl;
     private int cantidadTelebingo;
 
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Cambios sobre la última simulación del proceso. Cada vendedor se identifica por {@code id}; los
+ * campos en {@code null} quedan como estaban y una terminación negativa quita la terminación.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulacionDeltaRequestDTO {
+
+    @Valid
+    @NotEmpty
+    private List<VendedorInputDTO> cambios;
+
+    @Override
+    public String toString() {
+        return "SimulacionDeltaRequestDTO{" +
+                "cambios=" + cambios +
+                '}';
+    }
+}
@@ -0,0 +1,40 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import com.eliasgonzalez.cartones.pdf.engine.EstadisticasJuego;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Respuesta de un recálculo parcial: sólo los vendedores cuyos rangos cambiaron.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class SimulacionDeltaResultadoDTO {
+
+    // Semilla de la mezcla (la fila no cambia con un recálculo)
+    private final Long semilla;
+
+    // Posiciones de la fila que se volvieron a repartir
+    private final int vendedoresRecalculados;
+
+    // Vendedores con rangos distintos a la simulación anterior, en el orden del PDF
+    private final List<VendedorSimuladoDTO> vendedores;
+
+    // Ids de la simulación anterior que ya no están (sólo al comparar simulaciones completas)
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private final List<Long> vendedoresQuitados;
+
+    private final EstadisticasJuego estadisticasSenete;
+    private final EstadisticasJuego estadisticasTelebingo;
+
+    // Totales de los juegos adicionales, por clave de juego (no aparece si no hay)
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private final Map<String, EstadisticasJuego> estadisticasJuegos;
+
+}
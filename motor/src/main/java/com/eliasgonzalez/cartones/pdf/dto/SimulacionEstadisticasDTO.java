@@ -0,0 +1,37 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import com.eliasgonzalez.cartones.pdf.engine.EstadisticasJuego;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Totales de una simulación sin el detalle por vendedor, para ajustar las pilas de forma interactiva.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class SimulacionEstadisticasDTO {
+
+    // Semilla de la mezcla usada (null si no se mezcló)
+    private final Long semilla;
+
+    // Mezclas evaluadas por la búsqueda de la mejor (null si no hubo búsqueda)
+    private final Integer mezclasEvaluadas;
+
+    // Con VIP optimizados, cartones que como mucho se podrían ahorrar todavía (0 = fila óptima; null si no se optimizó)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Long brechaOptimalidad;
+
+    private final EstadisticasJuego estadisticasSenete;
+
+    private final EstadisticasJuego estadisticasTelebingo;
+
+    // Totales de los juegos adicionales, por clave de juego (no aparece si no hay)
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private final Map<String, EstadisticasJuego> estadisticasJuegos;
+
+}
@@ -0,0 +1,46 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Simulación "qué pasaría si": los mismos vendedores contra varias configuraciones de pilas.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulacionLoteRequestDTO {
+
+    // Lista de vendedores (común a todas las variantes)
+    @Valid
+    @NotNull
+    private List<VendedorInputDTO> vendedores;
+
+    // Configuraciones de pilas a comparar
+    @Valid
+    @NotEmpty
+    @Size(max = 64)
+    private List<VariantePoolDTO> variantes;
+
+    // Bandera de aleatoriedad. Todas las variantes usan la misma mezcla para que sean comparables
+    private boolean mezclar = true;
+
+    // Semilla de la mezcla compartida. Si falta se genera una y se devuelve en el resultado
+    private Long semilla;
+
+    @Override
+    public String toString() {
+        return "SimulacionLoteRequestDTO{" +
+                "vendedores=" + (vendedores == null ? null : vendedores.size()) +
+                ", variantes=" + (variantes == null ? null : variantes.size()) +
+                ", mezclar=" + mezclar +
+                ", semilla=" + semilla +
+                '}';
+    }
+}
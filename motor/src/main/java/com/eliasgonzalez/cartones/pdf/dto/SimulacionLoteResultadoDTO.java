@@ -0,0 +1,22 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Resultado de una simulación por lote, una entrada por variante en el orden de la solicitud.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class SimulacionLoteResultadoDTO {
+
+    // Semilla de la mezcla compartida por todas las variantes (null si no se mezcló)
+    private final Long semilla;
+
+    private final List<VarianteResultadoDTO> variantes;
+
+}
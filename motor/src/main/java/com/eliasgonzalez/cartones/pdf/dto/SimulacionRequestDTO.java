@@ -3,6 +3,8 @@ package com.eliasgonzalez.cartones.pdf.dto;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
@@ -10,6 +12,7 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.temporal.TemporalAdjusters;
 import java.util.List;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -25,6 +28,9 @@ public class SimulacionRequestDTO {
     private Integer inicioSeneteGral;
     private Integer inicioTelebingoGral;
 
+    // Juegos adicionales, por clave de juego
+    private Map<String, ConfiguracionJuegoDTO> juegos;
+
     // Lista de vendedores
     @Valid
     @NotNull
@@ -40,6 +46,23 @@ public class SimulacionRequestDTO {
     // Bandera de aleatoriedad
     private boolean mezclar = true;
 
+    // Semilla de la mezcla: con el mismo valor se reproduce exactamente la misma distribución
+    private Long semilla;
+
+    // Mejor de N: cantidad de mezclas a probar para quemar menos papel (null o 1 = una sola mezcla)
+    @Min(1)
+    @Max(100_000)
+    private Integer intentosMezcla;
+
+    // Tiempo máximo de la búsqueda de mezcla, en milisegundos
+    @Min(1)
+    @Max(60_000)
+    private Long presupuestoMezclaMs;
+
+    // Deja a los vendedores sin terminación en orden de carga y busca dónde intercalar a los VIP para
+    // quemar lo menos posible (usa intentosMezcla y presupuestoMezclaMs; tiene prioridad sobre mezclar)
+    private boolean optimizarVip = false;
+
 
     // --- SETTERS MANUALES (Lombok NO sobrescribe estos) ---
 
@@ -74,10 +97,15 @@ public class SimulacionRequestDTO {
                 ", poolTelebingo=" + poolTelebingo +
                 ", inicioSeneteGral=" + inicioSeneteGral +
                 ", inicioTelebingoGral=" + inicioTelebingoGral +
+                ", juegos=" + juegos +
                 ", vendedores=" + vendedores +
                 ", fechaSorteoSenete=" + fechaSorteoSenete +
                 ", fechaSorteoTelebingo=" + fechaSorteoTelebingo +
                 ", mezclar=" + mezclar +
+                ", semilla=" + semilla +
+                ", intentosMezcla=" + intentosMezcla +
+                ", presupuestoMezclaMs=" + presupuestoMezclaMs +
+                ", optimizarVip=" + optimizarVip +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import com.eliasgonzalez.cartones.pdf.engine.EstadisticasJuego;
+import com.eliasgonzalez.cartones.pdf.service.EstadoSimulacion;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado completo de una simulación: la distribución por vendedor y los datos para reproducirla.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class SimulacionResultadoDTO {
+
+    private final List<VendedorSimuladoDTO> vendedores;
+
+    // Semilla de la mezcla usada (null si no se mezcló)
+    private final Long semilla;
+
+    // Mezclas evaluadas por la búsqueda del mejor orden (null si no hubo búsqueda)
+    private final Integer mezclasEvaluadas;
+
+    // Con VIP optimizados, cartones que como mucho se podrían ahorrar todavía (0 = fila óptima; null si no se optimizó)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Long brechaOptimalidad;
+
+    private final EstadisticasJuego estadisticasSenete;
+    private final EstadisticasJuego estadisticasTelebingo;
+
+    // Totales de los juegos adicionales, por clave de juego (no aparece si no hay)
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private final Map<String, EstadisticasJuego> estadisticasJuegos;
+
+    // Estado interno para recalcular a partir de cambios (no viaja al cliente)
+    @JsonIgnore
+    private final EstadoSimulacion estado;
+
+}
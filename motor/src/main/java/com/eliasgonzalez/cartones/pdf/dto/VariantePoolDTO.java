@@ -0,0 +1,36 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Una configuración candidata de pilas para comparar en una simulación por lote.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VariantePoolDTO {
+
+    // Etiqueta libre para que el operador reconozca la variante
+    private String nombre;
+
+    // Rangos disponibles
+    private List<RangoCortadoDTO> poolSenete;
+    private List<RangoCortadoDTO> poolTelebingo;
+
+    // Datos numéricos
+    @JsonProperty("inicioSenete")
+    private Integer inicioSeneteGral;
+
+    @JsonProperty("inicioTelebingo")
+    private Integer inicioTelebingoGral;
+
+    // Juegos adicionales, por clave de juego
+    private Map<String, ConfiguracionJuegoDTO> juegos;
+
+}
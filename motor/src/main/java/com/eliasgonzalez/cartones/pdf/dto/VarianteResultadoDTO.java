@@ -0,0 +1,33 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import com.eliasgonzalez.cartones.pdf.engine.EstadisticasJuego;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Totales de una variante del lote: papel quemado, vendedores sin completar y último cartón por juego.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class VarianteResultadoDTO {
+
+    // Posición de la variante en la solicitud
+    private final int indice;
+    private final String nombre;
+
+    // Suma de los cartones quemados de todos los juegos
+    private final long cartonesQuemados;
+
+    private final EstadisticasJuego senete;
+    private final EstadisticasJuego telebingo;
+
+    // Totales de los juegos adicionales, por clave de juego (no aparece si no hay)
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private final Map<String, EstadisticasJuego> juegos;
+
+}
@@ -0,0 +1,35 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendedorInputDTO {
+
+    @NotNull
+    private Long id;
+    private String nombre;
+
+    // Configuración Senete
+    private Integer cantidadSenete;
+    private Integer terminacionSenete; // Puede ser null
+    private List<@Min(0) @Max(99) Integer> terminacionesSenete; // Acepta cualquiera de estas (y terminacionSenete)
+
+    // Configuración Telebingo
+    private Integer cantidadTelebingo;
+    private Integer terminacionTelebingo; // Puede ser null
+    private List<@Min(0) @Max(99) Integer> terminacionesTelebingo; // Acepta cualquiera de estas (y terminacionTelebingo)
+
+    // Pedidos de los juegos adicionales, por clave de juego
+    private Map<String, @Valid PedidoJuegoDTO> pedidos;
+
+}
\ No newline at end of file
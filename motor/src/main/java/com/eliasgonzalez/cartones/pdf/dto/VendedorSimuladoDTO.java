@@ -0,0 +1,25 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class VendedorSimuladoDTO {
+    private Long id;
+    private String nombre;
+
+    // Rangos empaquetados; en JSON se ven como ["100-150", "200-210"]
+    private RangosCartones rangosSenete;
+    private RangosCartones rangosTelebingo;
+
+    // Rangos de los juegos adicionales, por clave de juego (no aparece si no hay)
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Map<String, RangosCartones> rangosJuegos;
+
+}
\ No newline at end of file
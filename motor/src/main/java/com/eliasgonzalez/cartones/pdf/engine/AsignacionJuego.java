@@ -0,0 +1,109 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import com.eliasgonzalez.cartones.pdf.dto.RangosCartones;
+
+import java.util.Arrays;
+
+/**
+ * Resultado de repartir el pool de un juego entre los vendedores.
+ * <p>
+ * Los rangos se guardan empaquetados (ver {@link RangosCartones#empaquetar(int, int)}) e indexados por
+ * la posición del vendedor en la fila (orden en que fue atendido): los rangos del vendedor {@code p}
+ * ocupan las celdas {@code [desde[p], desde[p + 1])} de {@code rangos}.
+ */
+public final class AsignacionJuego {
+
+    private final int[] desde;
+    private final long[] rangos;
+    private final EstadisticasJuego estadisticas;
+    private final PuntosControl puntosControl;
+    private final int recalculadoDesde;
+    private final int recalculadoHasta;
+
+    AsignacionJuego(int[] desde, long[] rangos, EstadisticasJuego estadisticas, PuntosControl puntosControl,
+                    int recalculadoDesde, int recalculadoHasta) {
+        this.desde = desde;
+        this.rangos = rangos;
+        this.estadisticas = estadisticas;
+        this.puntosControl = puntosControl;
+        this.recalculadoDesde = recalculadoDesde;
+        this.recalculadoHasta = recalculadoHasta;
+    }
+
+    public int cantidadVendedores() {
+        return desde.length - 1;
+    }
+
+    public int cantidadRangos(int posicion) {
+        return desde[posicion + 1] - desde[posicion];
+    }
+
+    public int inicio(int posicion, int rango) {
+        return RangosCartones.inicioDe(rangos[desde[posicion] + rango]);
+    }
+
+    public int fin(int posicion, int rango) {
+        return RangosCartones.finDe(rangos[desde[posicion] + rango]);
+    }
+
+    public RangosCartones rangosDe(int posicion) {
+        return RangosCartones.copiaDe(rangos, desde[posicion], desde[posicion + 1]);
+    }
+
+    /**
+     * Indica si el vendedor en {@code posicion} recibió exactamente los mismos rangos que en {@code otra}.
+     */
+    public boolean mismosRangos(int posicion, AsignacionJuego otra) {
+        return mismosRangos(posicion, otra, posicion);
+    }
+
+    /**
+     * Igual que {@link #mismosRangos(int, AsignacionJuego)}, pero el vendedor puede estar en otra posición
+     * de la fila de {@code otra} (por ejemplo, con otra mezcla).
+     */
+    public boolean mismosRangos(int posicion, AsignacionJuego otra, int posicionOtra) {
+        return Arrays.equals(rangos, desde[posicion], desde[posicion + 1],
+                otra.rangos, otra.desde[posicionOtra], otra.desde[posicionOtra + 1]);
+    }
+
+    /**
+     * Primera posición de la fila que se calculó en este reparto (0 salvo en un {@link MotorDistribucion#reasignar}).
+     */
+    public int recalculadoDesde() {
+        return recalculadoDesde;
+    }
+
+    /**
+     * Posición (exclusiva) hasta la que se calculó; el resto se copió del reparto anterior.
+     */
+    public int recalculadoHasta() {
+        return recalculadoHasta;
+    }
+
+    public int totalRangos() {
+        return desde[desde.length - 1];
+    }
+
+    /**
+     * Cartones que se tiraron para dejar a los VIP sobre su terminación.
+     */
+    public long cartonesQuemados() {
+        return estadisticas.cartonesQuemados();
+    }
+
+    public EstadisticasJuego estadisticas() {
+        return estadisticas;
+    }
+
+    int[] desde() {
+        return desde;
+    }
+
+    long[] rangosEmpaquetados() {
+        return rangos;
+    }
+
+    PuntosControl puntosControl() {
+        return puntosControl;
+    }
+}
@@ -0,0 +1,122 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Prueba varias mezclas sembradas en paralelo y se queda con la que menos papel quema.
+ * <p>
+ * Cada candidato corre el reparto completo de todos los juegos en modo sólo-totales
+ * ({@link MotorDistribucion#evaluar}), sobre copias O(1) del pool y con un único arreglo de orden
+ * reutilizado por cada hoja del fork/join. La búsqueda corta por presupuesto de tiempo o cuando
+ * encuentra una mezcla que no quema nada.
+ */
+public final class BuscadorMezcla {
+
+    // Candidatos que evalúa una hoja del fork/join sin volver a dividir
+    private static final int CANDIDATOS_POR_HOJA = 4;
+
+    /**
+     * @param semilla          Semilla de la mejor mezcla encontrada.
+     * @param cartonesQuemados Cartones quemados por esa mezcla, sumando todos los juegos.
+     * @param evaluadas        Mezclas evaluadas antes de cortar.
+     */
+    public record Resultado(long semilla, long cartonesQuemados, int evaluadas) {}
+
+    private BuscadorMezcla() {}
+
+    /**
+     * @param forkJoin        Pool donde se reparten las evaluaciones.
+     * @param juegos          Juegos a repartir con el mismo orden.
+     * @param vendedores      Cantidad de vendedores.
+     * @param intentos        Cantidad máxima de mezclas a evaluar.
+     * @param semillaBase     Semilla de la que se derivan los candidatos.
+     * @param presupuestoNanos Tiempo máximo de búsqueda. El primer candidato siempre se evalúa.
+     */
+    public static Resultado buscar(ForkJoinPool forkJoin, List<Juego> juegos, int vendedores,
+                                   int intentos, long semillaBase, long presupuestoNanos) {
+        Busqueda busqueda = new Busqueda(juegos, vendedores, semillaBase, System.nanoTime() + presupuestoNanos);
+
+        int[] orden = new int[vendedores];
+        Mejor mejor = new Mejor(0, busqueda.evaluar(0, orden), 1);
+        if (intentos > 1 && mejor.quemados > 0) {
+            mejor = Mejor.elegir(mejor, forkJoin.invoke(new Tramo(busqueda, 1, intentos)));
+        }
+        return new Resultado(Mezclador.semillaCandidata(semillaBase, mejor.indice), mejor.quemados, mejor.evaluadas);
+    }
+
+    private static final class Busqueda {
+        private final List<Juego> juegos;
+        private final int vendedores;
+        private final long semillaBase;
+        private final long limite;
+        private volatile boolean encontroCero;
+
+        private Busqueda(List<Juego> juegos, int vendedores, long semillaBase, long limite) {
+            this.juegos = juegos;
+            this.vendedores = vendedores;
+            this.semillaBase = semillaBase;
+            this.limite = limite;
+        }
+
+        private boolean debeCortar() {
+            return encontroCero || System.nanoTime() - limite >= 0;
+        }
+
+        private long evaluar(int candidato, int[] orden) {
+            for (int i = 0; i < vendedores; i++) orden[i] = i;
+            Mezclador.mezclar(orden, Mezclador.semillaCandidata(semillaBase, candidato));
+
+            long quemados = 0;
+            for (Juego juego : juegos) {
+                quemados += MotorDistribucion.evaluar(juego, orden).cartonesQuemados();
+            }
+            if (quemados == 0) encontroCero = true;
+            return quemados;
+        }
+    }
+
+    /**
+     * Mejor candidato de un tramo. {@code quemados} es {@code Long.MAX_VALUE} si no se evaluó ninguno.
+     */
+    private record Mejor(int indice, long quemados, int evaluadas) {
+        private static final Mejor NINGUNO = new Mejor(Integer.MAX_VALUE, Long.MAX_VALUE, 0);
+
+        // Menos papel quemado; a igualdad, el candidato de menor índice (resultado estable)
+        private static Mejor elegir(Mejor a, Mejor b) {
+            boolean ganaA = a.quemados < b.quemados || (a.quemados == b.quemados && a.indice < b.indice);
+            Mejor ganador = ganaA ? a : b;
+            return new Mejor(ganador.indice, ganador.quemados, a.evaluadas + b.evaluadas);
+        }
+    }
+
+    private static final class Tramo extends RecursiveTask<Mejor> {
+        private final Busqueda busqueda;
+        private final int desde;
+        private final int hasta;
+
+        private Tramo(Busqueda busqueda, int desde, int hasta) {
+            this.busqueda = busqueda;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected Mejor compute() {
+            if (hasta - desde <= CANDIDATOS_POR_HOJA) {
+                Mejor mejor = Mejor.NINGUNO;
+                int[] orden = new int[busqueda.vendedores];
+                for (int i = desde; i < hasta && !busqueda.debeCortar(); i++) {
+                    mejor = Mejor.elegir(mejor, new Mejor(i, busqueda.evaluar(i, orden), 1));
+                }
+                return mejor;
+            }
+            int medio = (desde + hasta) >>> 1;
+            Tramo izquierda = new Tramo(busqueda, desde, medio);
+            izquierda.fork();
+            Mejor derecha = new Tramo(busqueda, medio, hasta).compute();
+            return Mejor.elegir(izquierda.join(), derecha);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Escritura y lectura de los formatos binarios que se guardan en la base: enteros en varint (7 bits por
+ * byte), los que pueden ser negativos en zigzag y los textos en UTF-8 precedidos por su largo.
+ */
+public final class CodificacionCompacta {
+
+    private CodificacionCompacta() {}
+
+    public static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    public static long dezigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    public static final class Escritura {
+        private byte[] bytes;
+        private int largo;
+
+        public Escritura(int capacidad) {
+            this.bytes = new byte[Math.max(capacidad, 16)];
+        }
+
+        public void escribirByte(byte valor) {
+            asegurar(1);
+            bytes[largo++] = valor;
+        }
+
+        public void varint(long valor) {
+            asegurar(10);
+            while ((valor & ~0x7FL) != 0) {
+                bytes[largo++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            bytes[largo++] = (byte) valor;
+        }
+
+        public void zigzag(long valor) {
+            varint(CodificacionCompacta.zigzag(valor));
+        }
+
+        /**
+         * Un 0 si es {@code null}; si no, un 1 y el valor en zigzag.
+         */
+        public void opcional(Long valor) {
+            if (valor == null) {
+                varint(0);
+            } else {
+                varint(1);
+                zigzag(valor);
+            }
+        }
+
+        /**
+         * Largo más uno (0 = {@code null}) y los bytes en UTF-8.
+         */
+        public void texto(String valor) {
+            if (valor == null) {
+                varint(0);
+                return;
+            }
+            byte[] utf8 = valor.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length + 1L);
+            asegurar(utf8.length);
+            System.arraycopy(utf8, 0, bytes, largo, utf8.length);
+            largo += utf8.length;
+        }
+
+        public byte[] bytes() {
+            return Arrays.copyOf(bytes, largo);
+        }
+
+        private void asegurar(int faltan) {
+            if (bytes.length - largo < faltan) bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, largo + faltan));
+        }
+    }
+
+    public static final class Lectura {
+        private final byte[] bytes;
+        private final String descripcion;
+        private int posicion;
+
+        /**
+         * @param descripcion Qué se está leyendo, para los mensajes de error ("Índice de entregas").
+         */
+        public Lectura(byte[] bytes, String descripcion) {
+            this.bytes = bytes;
+            this.descripcion = descripcion;
+        }
+
+        /**
+         * Consume el byte de versión y falla si no es el esperado.
+         */
+        public void version(byte esperada) {
+            if (posicion >= bytes.length || bytes[posicion++] != esperada) {
+                throw new IllegalArgumentException(descripcion + " con formato desconocido.");
+            }
+        }
+
+        public long varint() {
+            long valor = 0;
+            for (int corrimiento = 0; corrimiento < 64; corrimiento += 7) {
+                if (posicion >= bytes.length) {
+                    throw new IllegalArgumentException(descripcion + " truncado.");
+                }
+                byte b = bytes[posicion++];
+                valor |= (long) (b & 0x7F) << corrimiento;
+                if (b >= 0) return valor;
+            }
+            throw new IllegalArgumentException(descripcion + " con un varint inválido.");
+        }
+
+        /**
+         * Varint que tiene que entrar en un {@code int} no negativo (largos y cantidades).
+         */
+        public int cantidad() {
+            long valor = varint();
+            if (valor > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(descripcion + " con una cantidad inválida.");
+            }
+            return (int) valor;
+        }
+
+        public long zigzag() {
+            return dezigzag(varint());
+        }
+
+        public Long opcional() {
+            return varint() == 0 ? null : zigzag();
+        }
+
+        public String texto() {
+            int largo = cantidad();
+            if (largo == 0) return null;
+            if (largo - 1 > bytes.length - posicion) {
+                throw new IllegalArgumentException(descripcion + " truncado.");
+            }
+            String valor = new String(bytes, posicion, largo - 1, StandardCharsets.UTF_8);
+            posicion += largo - 1;
+            return valor;
+        }
+    }
+}
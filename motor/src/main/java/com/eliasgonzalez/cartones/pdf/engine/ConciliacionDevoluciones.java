@@ -0,0 +1,242 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import com.eliasgonzalez.cartones.pdf.dto.RangosCartones;
+
+import java.util.Arrays;
+
+/**
+ * Cartones vendidos por cada vendedor: lo entregado (un {@link IndiceEntregas}) menos lo que devolvió.
+ * <p>
+ * Cada rango devuelto se reparte entre los rangos entregados que toca. La parte que cae en un rango del
+ * mismo vendedor se descuenta; el resto (cartones de otro vendedor o que no se entregaron) queda como
+ * devolución fuera de su asignación. Devoluciones y entregas están ordenadas por inicio y se recorren
+ * juntas una sola vez; los cortes se agrupan con conteos, sin ordenar por cartón.
+ */
+public final class ConciliacionDevoluciones {
+
+    // Vendedores (entregados o que devolvieron algo), de menor a mayor id
+    private final long[] vendedores;
+    private final long[] entregados;
+    private final long[] devueltos;
+    // Rangos vendidos y fuera de asignación de vendedores[v]: [desde[v], desde[v + 1])
+    private final long[] vendidos;
+    private final int[] desdeVendidos;
+    private final long[] fuera;
+    private final int[] desdeFuera;
+
+    private ConciliacionDevoluciones(long[] vendedores, long[] entregados, long[] devueltos,
+                                     long[] vendidos, int[] desdeVendidos, long[] fuera, int[] desdeFuera) {
+        this.vendedores = vendedores;
+        this.entregados = entregados;
+        this.devueltos = devueltos;
+        this.vendidos = vendidos;
+        this.desdeVendidos = desdeVendidos;
+        this.fuera = fuera;
+        this.desdeFuera = desdeFuera;
+    }
+
+    static ConciliacionDevoluciones de(IndiceEntregas indice, long[] vendedor, long[] devoluciones) {
+        if (vendedor.length != devoluciones.length) {
+            throw new IllegalArgumentException("Cada rango devuelto necesita su vendedor.");
+        }
+        for (long rango : devoluciones) {
+            if (RangosCartones.finDe(rango) < RangosCartones.inicioDe(rango)) {
+                throw new IllegalArgumentException("Rango devuelto inválido: " + RangosCartones.formatear(rango) + ".");
+            }
+        }
+
+        // Posición densa de cada vendedor (entregados y los que devolvieron)
+        long[] ids = new long[indice.cantidadRangos() + vendedor.length];
+        for (int i = 0; i < indice.cantidadRangos(); i++) ids[i] = indice.dueno(i);
+        System.arraycopy(vendedor, 0, ids, indice.cantidadRangos(), vendedor.length);
+        ids = distintos(ids);
+        int[] vendedorDeRango = new int[indice.cantidadRangos()];
+        for (int i = 0; i < vendedorDeRango.length; i++) vendedorDeRango[i] = Arrays.binarySearch(ids, indice.dueno(i));
+
+        // Devoluciones de cada vendedor unidas (sin repetidos ni solapes) y luego todas por inicio
+        int[] quien = new int[devoluciones.length];
+        for (int k = 0; k < devoluciones.length; k++) quien[k] = Arrays.binarySearch(ids, vendedor[k]);
+        int[] porVendedor = agrupar(quien, ids.length);
+        long[] unidas = new long[devoluciones.length];
+        int[] duenoUnida = new int[devoluciones.length];
+        int cantidadUnidas = unir(devoluciones, quien, porVendedor, unidas, duenoUnida);
+
+        long[] claves = new long[cantidadUnidas];
+        for (int j = 0; j < cantidadUnidas; j++) claves[j] = ((long) RangosCartones.inicioDe(unidas[j]) << 32) | j;
+        Arrays.sort(claves);
+
+        // Barrido: cada devolución contra los rangos entregados que toca
+        Cortes descontados = new Cortes(cantidadUnidas);  // dueño = rango entregado
+        Cortes afuera = new Cortes(4);                    // dueño = vendedor que devolvió
+        int base = 0;
+        for (long clave : claves) {
+            int j = (int) clave;
+            int v = duenoUnida[j];
+            long inicio = RangosCartones.inicioDe(unidas[j]);
+            long fin = RangosCartones.finDe(unidas[j]);
+            while (base < indice.cantidadRangos() && indice.fin(base) < inicio) base++;
+
+            long cursor = inicio;
+            for (int r = base; r < indice.cantidadRangos() && indice.inicio(r) <= fin; r++) {
+                if (vendedorDeRango[r] != v) continue;
+                long desde = Math.max(inicio, indice.inicio(r));
+                long hasta = Math.min(fin, indice.fin(r));
+                if (cursor < desde) afuera.agregar(v, cursor, desde - 1);
+                descontados.agregar(r, desde, hasta);
+                cursor = hasta + 1;
+            }
+            if (cursor <= fin) afuera.agregar(v, cursor, fin);
+        }
+
+        // Vendidos: cada rango entregado menos sus cortes, que ya vienen en orden dentro del rango
+        int[] cortesDeRango = agrupar(descontados.duenos, descontados.cantidad, indice.cantidadRangos());
+        int[] ordenCortes = ordenar(descontados.duenos, descontados.cantidad, cortesDeRango);
+        long[] entregados = new long[ids.length];
+        long[] devueltos = new long[ids.length];
+        Cortes vendidos = new Cortes(indice.cantidadRangos());
+        for (int r = 0; r < indice.cantidadRangos(); r++) {
+            int v = vendedorDeRango[r];
+            entregados[v] += (long) indice.fin(r) - indice.inicio(r) + 1;
+            long cursor = indice.inicio(r);
+            for (int c = cortesDeRango[r]; c < cortesDeRango[r + 1]; c++) {
+                int corte = ordenCortes[c];
+                long desde = descontados.desdes[corte];
+                long hasta = descontados.hastas[corte];
+                devueltos[v] += hasta - desde + 1;
+                if (cursor < desde) vendidos.agregar(v, cursor, desde - 1);
+                cursor = hasta + 1;
+            }
+            if (cursor <= indice.fin(r)) vendidos.agregar(v, cursor, indice.fin(r));
+        }
+
+        int[] desdeVendidos = agrupar(vendidos.duenos, vendidos.cantidad, ids.length);
+        int[] desdeFuera = agrupar(afuera.duenos, afuera.cantidad, ids.length);
+        return new ConciliacionDevoluciones(ids, entregados, devueltos,
+                vendidos.empaquetados(ordenar(vendidos.duenos, vendidos.cantidad, desdeVendidos)), desdeVendidos,
+                afuera.empaquetados(ordenar(afuera.duenos, afuera.cantidad, desdeFuera)), desdeFuera);
+    }
+
+    // Une las devoluciones de cada vendedor; devuelve cuántos rangos quedaron
+    private static int unir(long[] devoluciones, int[] quien, int[] porVendedor, long[] unidas, int[] duenoUnida) {
+        int[] orden = ordenar(quien, quien.length, porVendedor);
+        int n = 0;
+        for (int v = 0; v + 1 < porVendedor.length; v++) {
+            int desde = porVendedor[v];
+            int hasta = porVendedor[v + 1];
+            if (desde == hasta) continue;
+            long[] propias = new long[hasta - desde];
+            for (int k = desde; k < hasta; k++) propias[k - desde] = devoluciones[orden[k]];
+            Arrays.sort(propias); // por inicio, que está en los 32 bits altos
+
+            int primera = n;
+            for (long rango : propias) {
+                int inicio = RangosCartones.inicioDe(rango);
+                int fin = RangosCartones.finDe(rango);
+                if (n > primera && (long) inicio <= (long) RangosCartones.finDe(unidas[n - 1]) + 1) {
+                    int finPrevio = RangosCartones.finDe(unidas[n - 1]);
+                    if (fin > finPrevio) unidas[n - 1] = RangosCartones.empaquetar(RangosCartones.inicioDe(unidas[n - 1]), fin);
+                    continue;
+                }
+                unidas[n] = rango;
+                duenoUnida[n++] = v;
+            }
+        }
+        return n;
+    }
+
+    // Inicio de cada grupo (prefijos de un conteo) para los primeros n elementos de grupo[]
+    private static int[] agrupar(int[] grupo, int n, int grupos) {
+        int[] desde = new int[grupos + 1];
+        for (int k = 0; k < n; k++) desde[grupo[k] + 1]++;
+        for (int g = 0; g < grupos; g++) desde[g + 1] += desde[g];
+        return desde;
+    }
+
+    private static int[] agrupar(int[] grupo, int grupos) {
+        return agrupar(grupo, grupo.length, grupos);
+    }
+
+    // Índices 0..n-1 ordenados por grupo, estable
+    private static int[] ordenar(int[] grupo, int n, int[] desde) {
+        int[] siguiente = Arrays.copyOf(desde, desde.length - 1);
+        int[] orden = new int[n];
+        for (int k = 0; k < n; k++) orden[siguiente[grupo[k]]++] = k;
+        return orden;
+    }
+
+    private static long[] distintos(long[] valores) {
+        Arrays.sort(valores);
+        int n = 0;
+        for (int i = 0; i < valores.length; i++) {
+            if (i == 0 || valores[i] != valores[i - 1]) valores[n++] = valores[i];
+        }
+        return Arrays.copyOf(valores, n);
+    }
+
+    public int cantidadVendedores() {
+        return vendedores.length;
+    }
+
+    public long vendedor(int v) {
+        return vendedores[v];
+    }
+
+    public long entregados(int v) {
+        return entregados[v];
+    }
+
+    /**
+     * Cartones devueltos que el vendedor había recibido (sin contar los que están fuera de su asignación).
+     */
+    public long devueltos(int v) {
+        return devueltos[v];
+    }
+
+    public long vendidos(int v) {
+        return entregados[v] - devueltos[v];
+    }
+
+    public RangosCartones rangosVendidos(int v) {
+        return RangosCartones.copiaDe(vendidos, desdeVendidos[v], desdeVendidos[v + 1]);
+    }
+
+    /**
+     * Partes de las devoluciones del vendedor que no le fueron entregadas, ordenadas.
+     */
+    public RangosCartones fueraDeAsignacion(int v) {
+        return RangosCartones.copiaDe(fuera, desdeFuera[v], desdeFuera[v + 1]);
+    }
+
+    // Rangos [desde, hasta] etiquetados con un dueño, en el orden en que se agregan
+    private static final class Cortes {
+        private int[] duenos;
+        private long[] desdes;
+        private long[] hastas;
+        private int cantidad;
+
+        private Cortes(int capacidad) {
+            duenos = new int[Math.max(capacidad, 4)];
+            desdes = new long[duenos.length];
+            hastas = new long[duenos.length];
+        }
+
+        private void agregar(int dueno, long desde, long hasta) {
+            if (cantidad == duenos.length) {
+                duenos = Arrays.copyOf(duenos, cantidad * 2);
+                desdes = Arrays.copyOf(desdes, cantidad * 2);
+                hastas = Arrays.copyOf(hastas, cantidad * 2);
+            }
+            duenos[cantidad] = dueno;
+            desdes[cantidad] = desde;
+            hastas[cantidad++] = hasta;
+        }
+
+        private long[] empaquetados(int[] orden) {
+            long[] rangos = new long[orden.length];
+            for (int k = 0; k < orden.length; k++) {
+                rangos[k] = RangosCartones.empaquetar((int) desdes[orden[k]], (int) hastas[orden[k]]);
+            }
+            return rangos;
+        }
+    }
+}
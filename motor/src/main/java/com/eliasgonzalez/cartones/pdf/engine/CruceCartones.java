@@ -0,0 +1,118 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import java.util.Arrays;
+
+/**
+ * Cartones sorteados (ganadores, premios) agrupados por el vendedor que los recibió.
+ * <p>
+ * Se arma ordenando los números y recorriendo a la par los rangos del {@link IndiceEntregas}, que ya
+ * están ordenados: una sola pasada, sin búsquedas por cartón. Los repetidos cuentan una vez.
+ */
+public final class CruceCartones {
+
+    // Vendedores con al menos un cartón, de menor a mayor id; los de duenos[d] son cartones[desde[d]..desde[d+1])
+    private final long[] duenos;
+    private final int[] desde;
+    private final int[] cartones;
+    private final int[] noEntregados;
+
+    private CruceCartones(long[] duenos, int[] desde, int[] cartones, int[] noEntregados) {
+        this.duenos = duenos;
+        this.desde = desde;
+        this.cartones = cartones;
+        this.noEntregados = noEntregados;
+    }
+
+    static CruceCartones de(IndiceEntregas indice, int[] numeros) {
+        int[] ordenados = numeros.clone();
+        Arrays.sort(ordenados);
+
+        // Dueños distintos del índice y, por rango, la posición de su dueño entre ellos
+        long[] distintos = distintos(indice);
+        int[] duenoDeRango = new int[indice.cantidadRangos()];
+        for (int i = 0; i < duenoDeRango.length; i++) {
+            duenoDeRango[i] = Arrays.binarySearch(distintos, indice.dueno(i));
+        }
+
+        // Cruce: cartones y rangos avanzan juntos
+        int[] rangoDe = new int[ordenados.length];
+        int[] noEntregados = new int[ordenados.length];
+        int[] porDueno = new int[distintos.length + 1];
+        int coincidencias = 0;
+        int sinDueno = 0;
+        int numeroAnterior = 0;
+        int r = 0;
+        for (int k = 0; k < ordenados.length; k++) {
+            int carton = ordenados[k];
+            if (k > 0 && carton == numeroAnterior) continue;
+            numeroAnterior = carton;
+            while (r < indice.cantidadRangos() && indice.fin(r) < carton) r++;
+            if (r < indice.cantidadRangos() && indice.inicio(r) <= carton) {
+                // Las coincidencias se compactan al principio de ordenados (nunca alcanzan a k)
+                ordenados[coincidencias] = carton;
+                rangoDe[coincidencias++] = r;
+                porDueno[duenoDeRango[r] + 1]++;
+            } else {
+                noEntregados[sinDueno++] = carton;
+            }
+        }
+
+        // Agrupa por dueño conservando el orden de los cartones (conteo y prefijos)
+        for (int d = 0; d < distintos.length; d++) porDueno[d + 1] += porDueno[d];
+        int[] siguiente = Arrays.copyOf(porDueno, distintos.length);
+        int[] agrupados = new int[coincidencias];
+        for (int m = 0; m < coincidencias; m++) {
+            agrupados[siguiente[duenoDeRango[rangoDe[m]]]++] = ordenados[m];
+        }
+
+        // Sólo los dueños con algún cartón
+        int presentes = 0;
+        for (int d = 0; d < distintos.length; d++) {
+            if (porDueno[d + 1] > porDueno[d]) presentes++;
+        }
+        long[] duenos = new long[presentes];
+        int[] desde = new int[presentes + 1];
+        int p = 0;
+        for (int d = 0; d < distintos.length; d++) {
+            if (porDueno[d + 1] == porDueno[d]) continue;
+            duenos[p] = distintos[d];
+            desde[p++] = porDueno[d];
+        }
+        desde[presentes] = coincidencias;
+
+        return new CruceCartones(duenos, desde, agrupados, Arrays.copyOf(noEntregados, sinDueno));
+    }
+
+    private static long[] distintos(IndiceEntregas indice) {
+        long[] todos = new long[indice.cantidadRangos()];
+        for (int i = 0; i < todos.length; i++) todos[i] = indice.dueno(i);
+        Arrays.sort(todos);
+        int n = 0;
+        for (int i = 0; i < todos.length; i++) {
+            if (i == 0 || todos[i] != todos[i - 1]) todos[n++] = todos[i];
+        }
+        return Arrays.copyOf(todos, n);
+    }
+
+    public int cantidadVendedores() {
+        return duenos.length;
+    }
+
+    public long vendedor(int d) {
+        return duenos[d];
+    }
+
+    /**
+     * Cartones del vendedor {@code d}, ordenados.
+     */
+    public int[] cartones(int d) {
+        return Arrays.copyOfRange(cartones, desde[d], desde[d + 1]);
+    }
+
+    /**
+     * Cartones pedidos que no se entregaron a nadie, ordenados.
+     */
+    public int[] noEntregados() {
+        return noEntregados.clone();
+    }
+}
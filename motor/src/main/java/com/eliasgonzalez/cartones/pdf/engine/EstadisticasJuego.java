@@ -0,0 +1,21 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+/**
+ * Totales de un reparto, sin el detalle por vendedor.
+ *
+ * @param cartonesQuemados     Cartones tirados para dejar a los VIP sobre su terminación.
+ * @param cartonesEntregados   Cartones asignados a vendedores.
+ * @param vendedoresAtendidos  Vendedores con pedido que recibieron todo lo que pidieron.
+ * @param vendedoresIncompletos Vendedores con pedido a los que se les acabó el papel.
+ * @param ultimoCarton         Último cartón entregado, o {@code null} si no se entregó ninguno.
+ * @param cartonesRestantes    Cartones válidos que quedaron en la pila.
+ */
+public record EstadisticasJuego(
+        long cartonesQuemados,
+        long cartonesEntregados,
+        int vendedoresAtendidos,
+        int vendedoresIncompletos,
+        Integer ultimoCarton,
+        long cartonesRestantes
+) {
+}
@@ -0,0 +1,165 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import com.eliasgonzalez.cartones.pdf.engine.CodificacionCompacta.Escritura;
+import com.eliasgonzalez.cartones.pdf.engine.CodificacionCompacta.Lectura;
+
+import java.util.Arrays;
+
+/**
+ * Quién recibió cada cartón de un juego: los rangos entregados ordenados por inicio, con el vendedor
+ * dueño de cada uno. Responde "de quién es el cartón N" con una búsqueda binaria.
+ * <p>
+ * Se guarda en la base con {@link #serializar()}: los rangos van en orden, cada uno como el salto desde
+ * el anterior, su largo y la diferencia de dueño con el anterior, todo en varint. En un reparto típico
+ * (rangos seguidos, ids cercanos) cada rango ocupa 3 o 4 bytes en lugar de 16.
+ */
+public final class IndiceEntregas {
+
+    private static final byte VERSION = 1;
+
+    private final int[] inicios;
+    private final int[] fines;
+    private final long[] duenos;
+
+    private IndiceEntregas(int[] inicios, int[] fines, long[] duenos) {
+        this.inicios = inicios;
+        this.fines = fines;
+        this.duenos = duenos;
+    }
+
+    /**
+     * @param asignacion        Reparto de un juego.
+     * @param duenoPorPosicion  Id del vendedor atendido en cada posición de la fila.
+     */
+    public static IndiceEntregas de(AsignacionJuego asignacion, long[] duenoPorPosicion) {
+        int total = asignacion.totalRangos();
+        int[] inicios = new int[total];
+        int[] fines = new int[total];
+        long[] duenos = new long[total];
+
+        // Clave: inicio en los 32 bits altos (con signo, ordena bien los negativos) y la celda en los bajos
+        long[] claves = new long[total];
+        int k = 0;
+        for (int p = 0; p < asignacion.cantidadVendedores(); p++) {
+            for (int r = 0; r < asignacion.cantidadRangos(p); r++) {
+                inicios[k] = asignacion.inicio(p, r);
+                fines[k] = asignacion.fin(p, r);
+                duenos[k] = duenoPorPosicion[p];
+                claves[k] = ((long) inicios[k] << 32) | k;
+                k++;
+            }
+        }
+        Arrays.sort(claves);
+
+        int[] ordenadosInicios = new int[total];
+        int[] ordenadosFines = new int[total];
+        long[] ordenadosDuenos = new long[total];
+        int n = 0;
+        for (long clave : claves) {
+            int celda = (int) clave;
+            // Los rangos de un reparto no se pisan; los contiguos del mismo dueño se juntan
+            if (n > 0 && (long) ordenadosFines[n - 1] + 1 == inicios[celda] && ordenadosDuenos[n - 1] == duenos[celda]) {
+                ordenadosFines[n - 1] = fines[celda];
+                continue;
+            }
+            if (n > 0 && inicios[celda] <= ordenadosFines[n - 1]) {
+                throw new IllegalArgumentException("Rangos superpuestos en el reparto: " + inicios[celda] + "-" + fines[celda] + ".");
+            }
+            ordenadosInicios[n] = inicios[celda];
+            ordenadosFines[n] = fines[celda];
+            ordenadosDuenos[n++] = duenos[celda];
+        }
+        return new IndiceEntregas(Arrays.copyOf(ordenadosInicios, n), Arrays.copyOf(ordenadosFines, n),
+                Arrays.copyOf(ordenadosDuenos, n));
+    }
+
+    public int cantidadRangos() {
+        return inicios.length;
+    }
+
+    public int inicio(int i) {
+        return inicios[i];
+    }
+
+    public int fin(int i) {
+        return fines[i];
+    }
+
+    public long dueno(int i) {
+        return duenos[i];
+    }
+
+    /**
+     * Cartones entregados en total.
+     */
+    public long cartones() {
+        long total = 0;
+        for (int i = 0; i < inicios.length; i++) total += (long) fines[i] - inicios[i] + 1;
+        return total;
+    }
+
+    /**
+     * @return Posición del rango que contiene a {@code carton}, o -1 si no se entregó.
+     */
+    public int buscar(int carton) {
+        // Último rango que empieza en carton o antes
+        int posicion = Arrays.binarySearch(inicios, carton);
+        int i = posicion >= 0 ? posicion : -posicion - 2;
+        return i >= 0 && carton <= fines[i] ? i : -1;
+    }
+
+    /**
+     * Dueño de cada uno de los {@code cartones} (sin orden, con repetidos), agrupados por vendedor.
+     */
+    public CruceCartones cruzar(int[] cartones) {
+        return CruceCartones.de(this, cartones);
+    }
+
+    /**
+     * Resta de lo entregado a cada vendedor los rangos que devolvió.
+     *
+     * @param vendedor     Id del vendedor que devolvió cada rango.
+     * @param devoluciones Rangos devueltos, empaquetados con {@code RangosCartones.empaquetar}, en cualquier
+     *                     orden y pudiendo repetirse o solaparse.
+     */
+    public ConciliacionDevoluciones conciliar(long[] vendedor, long[] devoluciones) {
+        return ConciliacionDevoluciones.de(this, vendedor, devoluciones);
+    }
+
+    public byte[] serializar() {
+        Escritura out = new Escritura(1 + 5 + inicios.length * 4);
+        out.escribirByte(VERSION);
+        out.varint(inicios.length);
+        long finAnterior = -1;
+        long duenoAnterior = 0;
+        for (int i = 0; i < inicios.length; i++) {
+            out.zigzag(inicios[i] - finAnterior - 1);
+            out.varint((long) fines[i] - inicios[i]);
+            out.zigzag(duenos[i] - duenoAnterior);
+            finAnterior = fines[i];
+            duenoAnterior = duenos[i];
+        }
+        return out.bytes();
+    }
+
+    public static IndiceEntregas deserializar(byte[] datos) {
+        Lectura in = new Lectura(datos, "Índice de entregas");
+        in.version(VERSION);
+        int cantidad = in.cantidad();
+        int[] inicios = new int[cantidad];
+        int[] fines = new int[cantidad];
+        long[] duenos = new long[cantidad];
+        long finAnterior = -1;
+        long duenoAnterior = 0;
+        for (int i = 0; i < cantidad; i++) {
+            long inicio = finAnterior + 1 + in.zigzag();
+            long fin = inicio + in.varint();
+            inicios[i] = Math.toIntExact(inicio);
+            fines[i] = Math.toIntExact(fin);
+            duenos[i] = duenoAnterior + in.zigzag();
+            finAnterior = fin;
+            duenoAnterior = duenos[i];
+        }
+        return new IndiceEntregas(inicios, fines, duenos);
+    }
+}
@@ -0,0 +1,135 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+/**
+ * Árbol de segmentos sobre los bloques del pool que permite encontrar, en O(log bloques), el primer
+ * bloque donde un vendedor VIP dejaría de quemar papel.
+ * <p>
+ * Cada hoja guarda dos máscaras de 100 bits (terminaciones 00..99):
+ * <ul>
+ *     <li>{@code contenidas}: terminaciones que aparecen dentro del bloque.</li>
+ *     <li>{@code iniciales}: terminación del primer cartón del bloque.</li>
+ * </ul>
+ * Un bloque sirve al VIP si contiene alguna de sus terminaciones, o si su primer cartón está a menos de
+ * {@code cantidad} cartones de una (el VIP la encuentra dentro de lo que se lleva). Los nodos internos
+ * guardan el OR de sus hijos, así que la condición se evalúa exacta en cualquier nivel del árbol.
+ */
+final class IndiceTerminaciones {
+
+    private static final long TODOS_BAJOS = -1L;
+    private static final long TODOS_ALTOS = (1L << 36) - 1; // bits 64..99
+
+    private final int hojas;
+    private final long[] contenidasBajos;
+    private final long[] contenidasAltos;
+    private final long[] inicialesBajos;
+    private final long[] inicialesAltos;
+
+    /**
+     * Construye el índice en O(bloques). Requiere inicios no negativos.
+     */
+    IndiceTerminaciones(int[] inicios, int[] fines) {
+        int n = inicios.length;
+        int h = 1;
+        while (h < n) h <<= 1;
+        this.hojas = h;
+        this.contenidasBajos = new long[2 * h];
+        this.contenidasAltos = new long[2 * h];
+        this.inicialesBajos = new long[2 * h];
+        this.inicialesAltos = new long[2 * h];
+
+        for (int b = 0; b < n; b++) {
+            int cantidad = (fines[b] - inicios[b]) + 1;
+            if (cantidad <= 0) continue; // Bloque inválido: nunca sirve a nadie
+
+            int nodo = h + b;
+            int residuo = inicios[b] % 100;
+            marcarRango(nodo, residuo, Math.min(cantidad, 100));
+            if (residuo < 64) {
+                inicialesBajos[nodo] = 1L << residuo;
+            } else {
+                inicialesAltos[nodo] = 1L << (residuo - 64);
+            }
+        }
+        for (int nodo = h - 1; nodo >= 1; nodo--) {
+            contenidasBajos[nodo] = contenidasBajos[2 * nodo] | contenidasBajos[2 * nodo + 1];
+            contenidasAltos[nodo] = contenidasAltos[2 * nodo] | contenidasAltos[2 * nodo + 1];
+            inicialesBajos[nodo] = inicialesBajos[2 * nodo] | inicialesBajos[2 * nodo + 1];
+            inicialesAltos[nodo] = inicialesAltos[2 * nodo] | inicialesAltos[2 * nodo + 1];
+        }
+    }
+
+    /**
+     * Primer bloque {@code >= desde} que sirve a un VIP con esas terminaciones y cantidad pendiente.
+     *
+     * @return Índice del bloque, o {@code -1} si ningún bloque restante le sirve.
+     */
+    int primerBloqueUtil(int desde, Terminaciones aceptadas, int cantidad) {
+        if (desde >= hojas) return -1;
+
+        // Ventana de terminaciones iniciales a menos de 'cantidad' cartones de alguna aceptada
+        return buscar(1, 0, hojas - 1, desde, aceptadas.aceptadasBajos(), aceptadas.aceptadasAltos(),
+                aceptadas.ventanaBajos(cantidad), aceptadas.ventanaAltos(cantidad));
+    }
+
+    private int buscar(int nodo, int izquierda, int derecha, int desde,
+                       long bitsBajos, long bitsAltos, long ventanaBajos, long ventanaAltos) {
+        if (derecha < desde || !sirve(nodo, bitsBajos, bitsAltos, ventanaBajos, ventanaAltos)) {
+            return -1;
+        }
+        if (izquierda == derecha) {
+            return izquierda;
+        }
+        int medio = (izquierda + derecha) >>> 1;
+        int encontrado = buscar(2 * nodo, izquierda, medio, desde, bitsBajos, bitsAltos, ventanaBajos, ventanaAltos);
+        if (encontrado >= 0) {
+            return encontrado;
+        }
+        return buscar(2 * nodo + 1, medio + 1, derecha, desde, bitsBajos, bitsAltos, ventanaBajos, ventanaAltos);
+    }
+
+    private boolean sirve(int nodo, long bitsBajos, long bitsAltos, long ventanaBajos, long ventanaAltos) {
+        return (contenidasBajos[nodo] & bitsBajos) != 0
+                || (contenidasAltos[nodo] & bitsAltos) != 0
+                || (inicialesBajos[nodo] & ventanaBajos) != 0
+                || (inicialesAltos[nodo] & ventanaAltos) != 0;
+    }
+
+    private void marcarRango(int nodo, int residuoInicial, int largo) {
+        contenidasBajos[nodo] = circularBajos(residuoInicial, largo);
+        contenidasAltos[nodo] = circularAltos(residuoInicial, largo);
+    }
+
+    // --- MÁSCARAS DE {largo} TERMINACIONES CONSECUTIVAS (MÓDULO 100) EMPEZANDO EN {desde} ---
+
+    private static long circularBajos(int desde, int largo) {
+        if (largo >= 100) return TODOS_BAJOS;
+        int inicio = Math.floorMod(desde, 100);
+        int fin = inicio + largo;
+        if (fin <= 100) return segmentoBajos(inicio, fin);
+        return segmentoBajos(inicio, 100) | segmentoBajos(0, fin - 100);
+    }
+
+    private static long circularAltos(int desde, int largo) {
+        if (largo >= 100) return TODOS_ALTOS;
+        int inicio = Math.floorMod(desde, 100);
+        int fin = inicio + largo;
+        if (fin <= 100) return segmentoAltos(inicio, fin);
+        return segmentoAltos(inicio, 100) | segmentoAltos(0, fin - 100);
+    }
+
+    // Bits [desde, hasta) que caen en 0..63
+    private static long segmentoBajos(int desde, int hasta) {
+        return mascara(desde, Math.min(hasta, 64));
+    }
+
+    // Bits [desde, hasta) que caen en 64..99, desplazados a 0..35
+    private static long segmentoAltos(int desde, int hasta) {
+        return mascara(Math.max(desde, 64) - 64, hasta - 64);
+    }
+
+    private static long mascara(int desde, int hasta) {
+        if (hasta <= desde) return 0L;
+        int largo = hasta - desde;
+        return largo == 64 ? -1L : ((1L << largo) - 1) << desde;
+    }
+}
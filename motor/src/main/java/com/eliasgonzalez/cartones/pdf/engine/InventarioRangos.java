@@ -0,0 +1,291 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntPredicate;
+
+/**
+ * Cartones de un juego ya entregados por algún proceso, para que dos procesos no repartan el mismo papel.
+ * <p>
+ * La numeración se parte en segmentos fijos de {@link #CARTONES_POR_SEGMENTO}. Cada segmento guarda sus
+ * rangos reservados en un {@link Tramo} inmutable y se actualiza con compare-and-set, sin candados: dos
+ * procesos que reservan en segmentos distintos no se cruzan nunca, y en el mismo segmento el que pierde
+ * la carrera vuelve a mirar el tramo nuevo. Una reserva toca los segmentos en orden ascendente y, si
+ * encuentra un cartón ajeno, deshace lo que ya había puesto.
+ */
+public final class InventarioRangos {
+
+    static final int CARTONES_POR_SEGMENTO = 1 << 12;
+
+    private final ConcurrentHashMap<Integer, AtomicReference<Tramo>> segmentos = new ConcurrentHashMap<>();
+
+    /**
+     * Cartones ya entregados que pisa una reserva.
+     *
+     * @param desde Primer cartón en conflicto.
+     * @param hasta Último cartón en conflicto.
+     * @param dueno Proceso que los tiene reservados.
+     */
+    public record Conflicto(int desde, int hasta, String dueno) {}
+
+    /**
+     * Resultado de {@link #reservar}: los conflictos, o lo que la reserva agregó al inventario para poder
+     * deshacerla sin tocar lo que {@code dueno} ya tenía de antes.
+     */
+    public static final class Reserva {
+        private final String dueno;
+        private final List<Pieza> agregadas;
+        private final List<Conflicto> conflictos;
+
+        private Reserva(String dueno, List<Pieza> agregadas, List<Conflicto> conflictos) {
+            this.dueno = dueno;
+            this.agregadas = agregadas;
+            this.conflictos = conflictos;
+        }
+
+        /**
+         * @return Conflictos encontrados; vacío si la reserva quedó hecha.
+         */
+        public List<Conflicto> conflictos() {
+            return conflictos;
+        }
+
+        /**
+         * Cartones que la reserva sumó a los que {@code dueno} ya tenía.
+         */
+        public long cartonesAgregados() {
+            long total = 0;
+            for (Pieza pieza : agregadas) total += (long) pieza.fin() - pieza.inicio() + 1;
+            return total;
+        }
+    }
+
+    /**
+     * Reserva todos los rangos para {@code dueno}, o ninguno si alguno ya estaba entregado a otro. Los
+     * cartones que {@code dueno} ya tenía reservados no son conflicto: repetir una reserva no cambia nada.
+     *
+     * @param inicios Inicio de cada rango, ordenados y sin superponerse (como los deja {@link NormalizadorPool}).
+     * @param fines   Fin de cada rango, en la misma posición que su inicio.
+     * @return Conflictos o, si no hubo, lo agregado, que se puede devolver con {@link #deshacer(Reserva)}.
+     */
+    public Reserva reservar(String dueno, int[] inicios, int[] fines) {
+        List<Pieza> piezas = trocear(inicios, fines);
+        List<Conflicto> conflictos = new ArrayList<>();
+        List<Pieza> agregadas = new ArrayList<>();
+
+        int hecho = 0;
+        while (hecho < piezas.size()) {
+            int segmento = piezas.get(hecho).segmento();
+            int fin = hecho;
+            while (fin < piezas.size() && piezas.get(fin).segmento() == segmento) fin++;
+            List<Pieza> grupo = piezas.subList(hecho, fin);
+
+            AtomicReference<Tramo> ref = segmentos.computeIfAbsent(segmento, s -> new AtomicReference<>(Tramo.VACIO));
+            while (true) {
+                Tramo actual = ref.get();
+                List<Pieza> nuevas = actual.faltantes(grupo, dueno);
+                actual.agregarConflictos(nuevas, conflictos);
+                if (!conflictos.isEmpty()) {
+                    quitar(dueno, agregadas);
+                    return new Reserva(dueno, List.of(), conflictos);
+                }
+                if (nuevas.isEmpty() || ref.compareAndSet(actual, actual.con(nuevas, dueno))) {
+                    agregadas.addAll(nuevas);
+                    break;
+                }
+            }
+            hecho = fin;
+        }
+        return new Reserva(dueno, agregadas, conflictos);
+    }
+
+    /**
+     * Devuelve al inventario sólo lo que agregó {@code reserva}; lo que su dueño ya tenía antes queda.
+     *
+     * @return Cantidad de cartones liberados.
+     */
+    public long deshacer(Reserva reserva) {
+        quitar(reserva.dueno, reserva.agregadas);
+        return reserva.cartonesAgregados();
+    }
+
+    /**
+     * Devuelve al inventario todo lo reservado por {@code dueno}.
+     *
+     * @return Cantidad de cartones liberados.
+     */
+    public long liberar(String dueno) {
+        long liberados = 0;
+        for (AtomicReference<Tramo> ref : segmentos.values()) {
+            while (true) {
+                Tramo actual = ref.get();
+                Tramo nuevo = actual.sin(dueno);
+                if (nuevo == actual) break;
+                if (ref.compareAndSet(actual, nuevo)) {
+                    liberados += actual.cartones() - nuevo.cartones();
+                    break;
+                }
+            }
+        }
+        return liberados;
+    }
+
+    /**
+     * Cartones reservados en total, por todos los procesos.
+     */
+    public long cartonesReservados() {
+        long total = 0;
+        for (AtomicReference<Tramo> ref : segmentos.values()) total += ref.get().cartones();
+        return total;
+    }
+
+    private void quitar(String dueno, List<Pieza> piezas) {
+        for (Pieza pieza : piezas) {
+            AtomicReference<Tramo> ref = segmentos.get(pieza.segmento());
+            while (true) {
+                Tramo actual = ref.get();
+                if (ref.compareAndSet(actual, actual.sinPieza(pieza, dueno))) break;
+            }
+        }
+    }
+
+    /**
+     * Corta los rangos en los bordes de segmento, en orden ascendente.
+     */
+    private static List<Pieza> trocear(int[] inicios, int[] fines) {
+        List<Pieza> piezas = new ArrayList<>(inicios.length);
+        long ultimoFin = Long.MIN_VALUE;
+        for (int i = 0; i < inicios.length; i++) {
+            if (inicios[i] > fines[i]) continue;
+            if (inicios[i] <= ultimoFin) {
+                throw new IllegalArgumentException("Los rangos a reservar tienen que estar ordenados y sin superponerse.");
+            }
+            ultimoFin = fines[i];
+
+            long desde = inicios[i];
+            while (desde <= fines[i]) {
+                int segmento = (int) Math.floorDiv(desde, CARTONES_POR_SEGMENTO);
+                long finSegmento = (long) (segmento + 1) * CARTONES_POR_SEGMENTO - 1;
+                long hasta = Math.min(fines[i], finSegmento);
+                piezas.add(new Pieza(segmento, (int) desde, (int) hasta));
+                desde = hasta + 1;
+            }
+        }
+        return piezas;
+    }
+
+    private record Pieza(int segmento, int inicio, int fin) {}
+
+    /**
+     * Rangos reservados dentro de un segmento, ordenados por inicio. Nunca se modifica: cada cambio
+     * arma un tramo nuevo que se publica con compare-and-set.
+     */
+    private static final class Tramo {
+
+        static final Tramo VACIO = new Tramo(new int[0], new int[0], new String[0]);
+
+        private final int[] inicios;
+        private final int[] fines;
+        private final String[] duenos;
+
+        private Tramo(int[] inicios, int[] fines, String[] duenos) {
+            this.inicios = inicios;
+            this.fines = fines;
+            this.duenos = duenos;
+        }
+
+        /**
+         * Partes de las piezas que {@code dueno} todavía no tiene reservadas en el tramo.
+         */
+        List<Pieza> faltantes(List<Pieza> piezas, String dueno) {
+            List<Pieza> faltan = new ArrayList<>(piezas.size());
+            for (Pieza pieza : piezas) {
+                long cursor = pieza.inicio();
+                for (int r = primeroQueTermineDesde(pieza.inicio()); r < inicios.length && inicios[r] <= pieza.fin(); r++) {
+                    if (!duenos[r].equals(dueno)) continue;
+                    if (cursor < inicios[r]) faltan.add(new Pieza(pieza.segmento(), (int) cursor, inicios[r] - 1));
+                    cursor = (long) fines[r] + 1;
+                }
+                if (cursor <= pieza.fin()) faltan.add(new Pieza(pieza.segmento(), (int) cursor, pieza.fin()));
+            }
+            return faltan;
+        }
+
+        void agregarConflictos(List<Pieza> piezas, List<Conflicto> conflictos) {
+            for (Pieza pieza : piezas) {
+                for (int r = primeroQueTermineDesde(pieza.inicio()); r < inicios.length && inicios[r] <= pieza.fin(); r++) {
+                    conflictos.add(new Conflicto(
+                            Math.max(inicios[r], pieza.inicio()), Math.min(fines[r], pieza.fin()), duenos[r]));
+                }
+            }
+        }
+
+        /**
+         * Mezcla ordenada de los rangos del tramo con las piezas nuevas (que no se superponen con él).
+         */
+        Tramo con(List<Pieza> piezas, String dueno) {
+            int total = inicios.length + piezas.size();
+            int[] nuevosInicios = new int[total];
+            int[] nuevosFines = new int[total];
+            String[] nuevosDuenos = new String[total];
+
+            int r = 0;
+            int p = 0;
+            for (int k = 0; k < total; k++) {
+                if (p >= piezas.size() || (r < inicios.length && inicios[r] < piezas.get(p).inicio())) {
+                    nuevosInicios[k] = inicios[r];
+                    nuevosFines[k] = fines[r];
+                    nuevosDuenos[k] = duenos[r++];
+                } else {
+                    Pieza pieza = piezas.get(p++);
+                    nuevosInicios[k] = pieza.inicio();
+                    nuevosFines[k] = pieza.fin();
+                    nuevosDuenos[k] = dueno;
+                }
+            }
+            return new Tramo(nuevosInicios, nuevosFines, nuevosDuenos);
+        }
+
+        Tramo sin(String dueno) {
+            return filtrar(r -> !duenos[r].equals(dueno));
+        }
+
+        Tramo sinPieza(Pieza pieza, String dueno) {
+            return filtrar(r -> !(inicios[r] == pieza.inicio() && fines[r] == pieza.fin() && duenos[r].equals(dueno)));
+        }
+
+        long cartones() {
+            long total = 0;
+            for (int r = 0; r < inicios.length; r++) total += (long) fines[r] - inicios[r] + 1;
+            return total;
+        }
+
+        private Tramo filtrar(IntPredicate conservar) {
+            int[] quedan = new int[inicios.length];
+            int cantidad = 0;
+            for (int r = 0; r < inicios.length; r++) {
+                if (conservar.test(r)) quedan[cantidad++] = r;
+            }
+            if (cantidad == inicios.length) return this;
+
+            int[] nuevosInicios = new int[cantidad];
+            int[] nuevosFines = new int[cantidad];
+            String[] nuevosDuenos = new String[cantidad];
+            for (int k = 0; k < cantidad; k++) {
+                nuevosInicios[k] = inicios[quedan[k]];
+                nuevosFines[k] = fines[quedan[k]];
+                nuevosDuenos[k] = duenos[quedan[k]];
+            }
+            return new Tramo(nuevosInicios, nuevosFines, nuevosDuenos);
+        }
+
+        // Primer rango que termina en desde o después (los rangos no se superponen: los fines también están ordenados)
+        private int primeroQueTermineDesde(int desde) {
+            int posicion = Arrays.binarySearch(fines, desde);
+            return posicion >= 0 ? posicion : -posicion - 1;
+        }
+    }
+}
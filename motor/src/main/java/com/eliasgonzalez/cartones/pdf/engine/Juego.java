@@ -0,0 +1,18 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+/**
+ * Papel y pedidos de un juego, indexados por la posición original del vendedor. Todos los juegos de
+ * una distribución se reparten con la misma fila.
+ *
+ * @param pool          Pila del juego con el cursor al principio; cada reparto trabaja sobre una copia.
+ * @param cantidades    Cartones pedidos por cada vendedor.
+ * @param terminaciones Terminación pedida por cada vendedor, {@link MotorDistribucion#SIN_TERMINACION} o el
+ *                      {@link MotorDistribucion#codigoConjunto(int) código} de uno de {@code conjuntos}.
+ * @param conjuntos     Conjuntos de terminaciones aceptadas por los VIP del juego, o {@code null} si no hay.
+ */
+public record Juego(PoolCartones pool, int[] cantidades, int[] terminaciones, Terminaciones[] conjuntos) {
+
+    public Juego(PoolCartones pool, int[] cantidades, int[] terminaciones) {
+        this(pool, cantidades, terminaciones, null);
+    }
+}
@@ -0,0 +1,45 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Mezcla reproducible del orden de atención: la misma semilla da siempre la misma fila.
+ */
+public final class Mezclador {
+
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+    private Mezclador() {}
+
+    public static int[] identidad(int n) {
+        int[] orden = new int[n];
+        for (int i = 0; i < n; i++) orden[i] = i;
+        return orden;
+    }
+
+    public static int[] permutacion(int n, long semilla) {
+        int[] orden = identidad(n);
+        mezclar(orden, semilla);
+        return orden;
+    }
+
+    /**
+     * Fisher-Yates sobre los índices con un generador sembrado.
+     */
+    public static void mezclar(int[] orden, long semilla) {
+        SplittableRandom random = new SplittableRandom(semilla);
+        for (int i = orden.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = orden[i];
+            orden[i] = orden[j];
+            orden[j] = tmp;
+        }
+    }
+
+    /**
+     * Semilla del candidato {@code i} de una búsqueda que parte de {@code semillaBase}.
+     */
+    public static long semillaCandidata(long semillaBase, int i) {
+        return new SplittableRandom(semillaBase + i * GAMMA).nextLong();
+    }
+}
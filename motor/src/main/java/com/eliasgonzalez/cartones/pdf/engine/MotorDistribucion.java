@@ -0,0 +1,456 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import com.eliasgonzalez.cartones.pdf.dto.RangosCartones;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Motor de reparto de cartones sobre estructuras primitivas.
+ * <p>
+ * Atiende a los vendedores en el orden recibido ("orden sagrado"). Un vendedor normal toma lo que
+ * haya arriba de la pila; un vendedor VIP (con terminación) quema papel hasta quedar parado sobre
+ * su terminación y recién ahí toma sus cartones. El desperdicio es ilimitado: se quema lo necesario.
+ * <p>
+ * Un VIP puede aceptar varias terminaciones: en el arreglo de terminaciones se indica con el código
+ * {@link #codigoConjunto(int)} del conjunto, que se busca en los {@link Terminaciones} del juego.
+ */
+public final class MotorDistribucion {
+
+    /** Valor usado en el arreglo de terminaciones para los vendedores sin terminación. */
+    public static final int SIN_TERMINACION = -1;
+
+    // Código del primer conjunto de terminaciones; los siguientes bajan de a uno
+    private static final int PRIMER_CONJUNTO = -2;
+
+    private MotorDistribucion() {}
+
+    /**
+     * Código que va en el arreglo de terminaciones para el vendedor que acepta el conjunto
+     * {@code conjuntos[indice]} del juego.
+     */
+    public static int codigoConjunto(int indice) {
+        return PRIMER_CONJUNTO - indice;
+    }
+
+    /**
+     * Reparte el pool entre los vendedores.
+     *
+     * @param pool          Pila de papel del juego. Se consume durante el reparto.
+     * @param cantidades    Cartones pedidos por cada vendedor, en orden de atención.
+     * @param terminaciones Terminación pedida por cada vendedor o {@link #SIN_TERMINACION}.
+     * @return Rangos entregados indexados por la posición del vendedor en la fila.
+     */
+    public static AsignacionJuego asignar(PoolCartones pool, int[] cantidades, int[] terminaciones) {
+        return asignar(pool, cantidades, terminaciones, null);
+    }
+
+    /**
+     * Igual que {@link #asignar(PoolCartones, int[], int[])}, con los pedidos indexados por la posición
+     * original del vendedor y la fila dada por {@code orden}.
+     *
+     * @param orden Índices de {@code cantidades}/{@code terminaciones} en orden de atención,
+     *              o {@code null} si ya vienen en ese orden.
+     */
+    public static AsignacionJuego asignar(PoolCartones pool, int[] cantidades, int[] terminaciones, int[] orden) {
+        return asignar(pool, cantidades, terminaciones, null, orden);
+    }
+
+    /**
+     * Reparte un juego sobre una copia de su pool.
+     *
+     * @param orden Índices de los pedidos en orden de atención, o {@code null} si ya vienen en ese orden.
+     */
+    public static AsignacionJuego asignar(Juego juego, int[] orden) {
+        return asignar(juego.pool().copia(), juego.cantidades(), juego.terminaciones(), juego.conjuntos(), orden);
+    }
+
+    private static AsignacionJuego asignar(PoolCartones pool, int[] cantidades, int[] terminaciones,
+                                           Terminaciones[] conjuntos, int[] orden) {
+        int n = orden == null ? cantidades.length : orden.length;
+        int[] desde = new int[n + 1];
+        Rangos rangos = new Rangos(Math.max(16, n));
+        PuntosControl puntos = new PuntosControl(n);
+        Totales totales = new Totales();
+
+        repartir(pool, cantidades, terminaciones, conjuntos, orden, 0, desde, rangos, puntos, totales, null, n);
+
+        return new AsignacionJuego(desde, rangos.valores, totales.cerrar(pool), puntos, 0, n);
+    }
+
+    /**
+     * Reparte todos los juegos con la misma fila. Los juegos sólo comparten el orden (lectura): con
+     * {@code hilos} cada juego con papel corre en su propia tarea y el primero en el hilo que llama.
+     *
+     * @param orden Índices de los pedidos en orden de atención, o {@code null} si ya vienen en ese orden.
+     * @param hilos Pool donde repartir los juegos, o {@code null} para repartirlos uno detrás de otro.
+     * @return Un reparto por juego, en el orden de {@code juegos}.
+     */
+    public static AsignacionJuego[] asignarTodos(List<Juego> juegos, int[] orden, ForkJoinPool hilos) {
+        AsignacionJuego[] asignaciones = new AsignacionJuego[juegos.size()];
+        @SuppressWarnings("unchecked")
+        ForkJoinTask<AsignacionJuego>[] tareas = new ForkJoinTask[juegos.size()];
+
+        for (int g = 1; g < juegos.size(); g++) {
+            Juego juego = juegos.get(g);
+            if (hilos != null && !juego.pool().estaVacio()) {
+                tareas[g] = hilos.submit(() -> asignar(juego, orden));
+            }
+        }
+        for (int g = 0; g < juegos.size(); g++) {
+            Juego juego = juegos.get(g);
+            asignaciones[g] = tareas[g] != null
+                    ? tareas[g].join()
+                    : asignar(juego, orden);
+        }
+        return asignaciones;
+    }
+
+    /**
+     * Corre el mismo reparto sin armar ningún rango, sólo para obtener los totales.
+     *
+     * @param orden Índices de {@code cantidades}/{@code terminaciones} en orden de atención.
+     */
+    public static EstadisticasJuego evaluar(PoolCartones pool, int[] cantidades, int[] terminaciones, int[] orden) {
+        return evaluar(pool, cantidades, terminaciones, null, orden);
+    }
+
+    /**
+     * Igual que {@link #evaluar(PoolCartones, int[], int[], int[])} sobre una copia del pool del juego.
+     */
+    public static EstadisticasJuego evaluar(Juego juego, int[] orden) {
+        return evaluar(juego.pool().copia(), juego.cantidades(), juego.terminaciones(), juego.conjuntos(), orden);
+    }
+
+    private static EstadisticasJuego evaluar(PoolCartones pool, int[] cantidades, int[] terminaciones,
+                                             Terminaciones[] conjuntos, int[] orden) {
+        int n = orden == null ? cantidades.length : orden.length;
+        Totales totales = new Totales();
+        repartir(pool, cantidades, terminaciones, conjuntos, orden, 0, null, null, null, totales, null, n);
+        return totales.cerrar(pool);
+    }
+
+    /**
+     * Atiende a un solo vendedor del juego sobre {@code pool}, que queda donde lo dejó.
+     *
+     * @return Cartones que quemó.
+     */
+    static long atender(Juego juego, PoolCartones pool, int vendedor) {
+        Totales totales = new Totales();
+        repartir(pool, juego.cantidades(), juego.terminaciones(), juego.conjuntos(), new int[]{vendedor},
+                0, null, null, null, totales, null, 1);
+        return totales.quemados;
+    }
+
+    /**
+     * Indica si el vendedor pide cartones con terminación en el juego.
+     */
+    static boolean esVip(Juego juego, int vendedor) {
+        return juego.cantidades()[vendedor] > 0 && esVip(juego.terminaciones()[vendedor], juego.conjuntos());
+    }
+
+    /**
+     * Rehace un reparto después de cambiar los pedidos de algunos vendedores, sin empezar de cero.
+     * <p>
+     * Retoma desde el último punto de control anterior a {@code primeraCambiada} y, pasada
+     * {@code ultimaCambiada}, corta en cuanto la pila vuelve a quedar igual que en {@code anterior}
+     * en un punto de control: de ahí en adelante el reparto es el mismo y se reutiliza tal cual.
+     *
+     * @param anterior        Reparto previo con la misma fila y el mismo papel.
+     * @param pool            Pila del juego (el mismo papel que usó {@code anterior}). Se consume.
+     * @param primeraCambiada Primera posición de la fila cuyo pedido cambió.
+     * @param ultimaCambiada  Última posición de la fila cuyo pedido cambió.
+     * @return Reparto completo; {@link AsignacionJuego#recalculadoDesde()} y
+     *         {@link AsignacionJuego#recalculadoHasta()} marcan el tramo de la fila que se volvió a correr.
+     */
+    public static AsignacionJuego reasignar(AsignacionJuego anterior, PoolCartones pool, int[] cantidades,
+                                            int[] terminaciones, int[] orden, int primeraCambiada, int ultimaCambiada) {
+        return reasignar(anterior, pool, cantidades, terminaciones, null, orden, primeraCambiada, ultimaCambiada);
+    }
+
+    /**
+     * Igual que {@link #reasignar(AsignacionJuego, PoolCartones, int[], int[], int[], int, int)} sobre una
+     * copia del pool del juego.
+     */
+    public static AsignacionJuego reasignar(AsignacionJuego anterior, Juego juego, int[] orden,
+                                            int primeraCambiada, int ultimaCambiada) {
+        return reasignar(anterior, juego.pool().copia(), juego.cantidades(), juego.terminaciones(), juego.conjuntos(),
+                orden, primeraCambiada, ultimaCambiada);
+    }
+
+    private static AsignacionJuego reasignar(AsignacionJuego anterior, PoolCartones pool, int[] cantidades,
+                                             int[] terminaciones, Terminaciones[] conjuntos, int[] orden,
+                                             int primeraCambiada, int ultimaCambiada) {
+        int n = orden == null ? cantidades.length : orden.length;
+        if (anterior.cantidadVendedores() != n) {
+            throw new IllegalArgumentException("El reparto anterior tiene otra cantidad de vendedores.");
+        }
+        if (primeraCambiada < 0 || primeraCambiada > ultimaCambiada || ultimaCambiada >= n) {
+            throw new IllegalArgumentException("Posiciones cambiadas fuera de la fila.");
+        }
+
+        PuntosControl previos = anterior.puntosControl();
+        int control = primeraCambiada / PuntosControl.INTERVALO;
+        int desdePosicion = control * PuntosControl.INTERVALO;
+
+        // Prefijo idéntico: rangos, índices y fotos hasta el punto de control
+        int[] desde = new int[n + 1];
+        System.arraycopy(anterior.desde(), 0, desde, 0, desdePosicion + 1);
+        Rangos rangos = new Rangos(Math.max(16, anterior.totalRangos()));
+        rangos.agregarTodos(anterior.rangosEmpaquetados(), 0, anterior.desde()[desdePosicion]);
+        PuntosControl puntos = previos.copia();
+
+        Totales totales = new Totales();
+        previos.cargar(control, totales);
+        pool.restaurar(previos.estadoPool[control]);
+
+        int corte = repartir(pool, cantidades, terminaciones, conjuntos, orden, desdePosicion, desde, rangos, puntos,
+                totales, previos, ultimaCambiada);
+        if (corte == n) {
+            return new AsignacionJuego(desde, rangos.valores, totales.cerrar(pool), puntos, desdePosicion, n);
+        }
+
+        // Sufijo idéntico: se copian los rangos de la corrida anterior y se corren los índices
+        int[] desdeAnterior = anterior.desde();
+        int desplazamiento = rangos.tamanio - desdeAnterior[corte];
+        rangos.agregarTodos(anterior.rangosEmpaquetados(), desdeAnterior[corte], desdeAnterior[n]);
+        for (int p = corte; p <= n; p++) {
+            desde[p] = desdeAnterior[p] + desplazamiento;
+        }
+        int controlCorte = corte / PuntosControl.INTERVALO;
+        puntos.empalmar(controlCorte, previos);
+
+        EstadisticasJuego viejas = anterior.estadisticas();
+        boolean entregaDespues = viejas.cartonesEntregados() > previos.entregados[controlCorte];
+        EstadisticasJuego estadisticas = new EstadisticasJuego(
+                viejas.cartonesQuemados() + (totales.quemados - previos.quemados[controlCorte]),
+                viejas.cartonesEntregados() + (totales.entregados - previos.entregados[controlCorte]),
+                viejas.vendedoresAtendidos() + (totales.atendidos - previos.atendidos[controlCorte]),
+                viejas.vendedoresIncompletos() + (totales.incompletos - previos.incompletos[controlCorte]),
+                entregaDespues ? viejas.ultimoCarton() : (totales.huboEntrega ? totales.ultimoCarton : null),
+                viejas.cartonesRestantes());
+        return new AsignacionJuego(desde, rangos.valores, estadisticas, puntos, desdePosicion, corte);
+    }
+
+    /**
+     * Atiende las posiciones {@code [desdePosicion, n)} de la fila.
+     * <p>
+     * Con {@code previos} distinto de {@code null} corta en el primer punto de control posterior a
+     * {@code ultimaCambiada} donde la pila quedó igual que en la corrida previa.
+     *
+     * @return Posición donde se cortó, o {@code n} si se atendió la fila completa.
+     */
+    private static int repartir(PoolCartones pool, int[] cantidades, int[] terminaciones, Terminaciones[] conjuntos,
+                                int[] orden, int desdePosicion, int[] desde, Rangos rangos, PuntosControl puntos,
+                                Totales totales, PuntosControl previos, int ultimaCambiada) {
+        int n = orden == null ? cantidades.length : orden.length;
+
+        for (int p = desdePosicion; p < n; p++) {
+            if (puntos != null && p % PuntosControl.INTERVALO == 0) {
+                int control = p / PuntosControl.INTERVALO;
+                long estado = pool.estado();
+                puntos.registrar(control, estado, totales);
+                if (previos != null && p > ultimaCambiada && previos.estadoPool[control] == estado) {
+                    return p;
+                }
+            }
+            if (desde != null) desde[p] = rangos.tamanio;
+
+            int indice = orden == null ? p : orden[p];
+            int cantidadNecesaria = cantidades[indice];
+            if (cantidadNecesaria <= 0) continue;
+
+            int terminacion = terminaciones[indice];
+            if (!esVip(terminacion, conjuntos)) {
+                // Entre puntos de control, los vendedores sin terminación se atienden de a tramos
+                int limite = puntos == null ? n : Math.min(n, (p / PuntosControl.INTERVALO + 1) * PuntosControl.INTERVALO);
+                p = repartirTramo(pool, cantidades, terminaciones, conjuntos, orden, p, limite, desde, rangos, totales) - 1;
+                continue;
+            }
+
+            // Sin tabla sólo quedan las terminaciones fuera de 00..99, con la aritmética de siempre
+            Terminaciones aceptadas = terminacion >= 0
+                    ? (terminacion < 100 ? Terminaciones.una(terminacion) : null)
+                    : conjuntos[PRIMER_CONJUNTO - terminacion];
+
+            // El vendedor se queda en ventanilla hasta completar su pedido
+            while (cantidadNecesaria > 0 && !pool.estaVacio()) {
+                int inicioActual = pool.inicioActual();
+                int disponibleBloque = pool.disponibleActual();
+
+                int distancia = aceptadas != null
+                        ? aceptadas.distanciaDesde(inicioActual)
+                        : calcularDistancia(inicioActual, terminacion);
+
+                // Si la distancia es menor que la cantidad a llevar, el número deseado cae en sus manos
+                if (distancia >= cantidadNecesaria) {
+                    // La terminación está más adelante: quemamos exactamente la distancia
+                    if (distancia >= disponibleBloque && aceptadas != null && pool.admiteSaltos()) {
+                        // No está en este bloque: saltamos directo al primer bloque que le sirve
+                        totales.quemados += pool.saltarHastaTerminacion(aceptadas, cantidadNecesaria);
+                    } else {
+                        int aQuemar = Math.min(distancia, disponibleBloque);
+                        totales.quemados += Math.max(0, aQuemar);
+                        pool.avanzar(aQuemar);
+                    }
+                    continue;
+                }
+
+                int aTomar = Math.min(cantidadNecesaria, disponibleBloque);
+                if (aTomar > 0) {
+                    int fin = inicioActual + aTomar - 1;
+                    totales.ultimoCarton = fin;
+                    totales.huboEntrega = true;
+                    if (rangos != null) rangos.agregar(inicioActual, fin);
+                    pool.avanzar(aTomar);
+                    cantidadNecesaria -= aTomar;
+                    totales.entregados += aTomar;
+                } else {
+                    // Bloque inválido (fin < inicio)
+                    pool.descartarBloque();
+                }
+            }
+
+            if (cantidadNecesaria > 0) {
+                totales.incompletos++;
+            } else {
+                totales.atendidos++;
+            }
+        }
+        if (desde != null) desde[n] = rangos.tamanio;
+        if (puntos != null && n % PuntosControl.INTERVALO == 0) {
+            puntos.registrar(n / PuntosControl.INTERVALO, pool.estado(), totales);
+        }
+        return n;
+    }
+
+    /**
+     * Atiende el tramo de vendedores sin terminación que empieza en {@code desdePosicion}: sigue hasta
+     * el primer VIP con pedido o hasta {@code limite}.
+     * <p>
+     * Ninguno de ellos quema papel, así que cada corte sale de la suma acumulada de los pedidos contra
+     * los cartones que le quedan a la pila; el último que alcanza a tomar algo puede quedar incompleto
+     * y los que siguen no reciben nada. Sin rangos que armar, la pila avanza una sola vez al final
+     * del tramo.
+     *
+     * @return Primera posición que queda fuera del tramo.
+     */
+    private static int repartirTramo(PoolCartones pool, int[] cantidades, int[] terminaciones,
+                                     Terminaciones[] conjuntos, int[] orden, int desdePosicion, int limite, int[] desde, Rangos rangos, Totales totales) {
+        long restantes = pool.cartonesRestantes();
+        long pedidoTramo = 0;
+
+        int p = desdePosicion;
+        for (; p < limite; p++) {
+            int indice = orden == null ? p : orden[p];
+            int cantidad = cantidades[indice];
+            if (cantidad > 0 && esVip(terminaciones[indice], conjuntos)) break;
+            if (desde != null) desde[p] = rangos.tamanio;
+            if (cantidad <= 0) continue;
+
+            int aEntregar = (int) Math.min(cantidad, restantes - pedidoTramo);
+            pedidoTramo += aEntregar;
+            if (aEntregar == cantidad) {
+                totales.atendidos++;
+            } else {
+                totales.incompletos++;
+            }
+
+            // Con rangos, el corte se recorre bloque a bloque: hay que emitir un rango por bloque tocado
+            while (rangos != null && aEntregar > 0) {
+                int disponibleBloque = pool.disponibleActual();
+                if (disponibleBloque <= 0) {
+                    pool.descartarBloque();
+                    continue;
+                }
+                int aTomar = Math.min(aEntregar, disponibleBloque);
+                int inicio = pool.inicioActual();
+                totales.ultimoCarton = inicio + aTomar - 1;
+                rangos.agregar(inicio, totales.ultimoCarton);
+                pool.avanzar(aTomar);
+                aEntregar -= aTomar;
+            }
+        }
+
+        if (pedidoTramo > 0) {
+            if (rangos == null) {
+                totales.ultimoCarton = pool.avanzarCartones(pedidoTramo);
+            }
+            totales.entregados += pedidoTramo;
+            totales.huboEntrega = true;
+        }
+        return p;
+    }
+
+    /**
+     * Terminaciones que acepta el vendedor VIP en el juego, o {@code null} si pidió una fuera de 00..99.
+     */
+    static Terminaciones aceptadas(Juego juego, int vendedor) {
+        int terminacion = juego.terminaciones()[vendedor];
+        return terminacion >= 0
+                ? (terminacion < 100 ? Terminaciones.una(terminacion) : null)
+                : juego.conjuntos()[PRIMER_CONJUNTO - terminacion];
+    }
+
+    private static boolean esVip(int terminacion, Terminaciones[] conjuntos) {
+        return terminacion >= 0 || (conjuntos != null && terminacion <= PRIMER_CONJUNTO);
+    }
+
+    static int calcularDistancia(int numeroActual, int terminacionDeseada) {
+        int termActual = numeroActual % 100;
+        if (termActual == terminacionDeseada) return 0;
+
+        if (termActual < terminacionDeseada) {
+            return terminacionDeseada - termActual;
+        } else {
+            return (100 - termActual) + terminacionDeseada;
+        }
+    }
+
+    /**
+     * Totales que se van acumulando durante el reparto.
+     */
+    static final class Totales {
+        long quemados;
+        long entregados;
+        int atendidos;
+        int incompletos;
+        int ultimoCarton;
+        boolean huboEntrega;
+
+        private EstadisticasJuego cerrar(PoolCartones pool) {
+            return new EstadisticasJuego(quemados, entregados, atendidos, incompletos,
+                    huboEntrega ? ultimoCarton : null, pool.cartonesRestantes());
+        }
+    }
+
+    /**
+     * Rangos empaquetados que crecen a medida que se entregan.
+     */
+    private static final class Rangos {
+        private long[] valores;
+        private int tamanio;
+
+        private Rangos(int capacidad) {
+            this.valores = new long[capacidad];
+        }
+
+        private void agregar(int inicio, int fin) {
+            if (tamanio == valores.length) {
+                valores = Arrays.copyOf(valores, tamanio + (tamanio >> 1) + 1);
+            }
+            valores[tamanio++] = RangosCartones.empaquetar(inicio, fin);
+        }
+
+        private void agregarTodos(long[] origen, int desde, int hasta) {
+            int cantidad = hasta - desde;
+            if (tamanio + cantidad > valores.length) {
+                valores = Arrays.copyOf(valores, Math.max(tamanio + cantidad, tamanio + (tamanio >> 1) + 1));
+            }
+            System.arraycopy(origen, desde, valores, tamanio, cantidad);
+            tamanio += cantidad;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Deja la lista de rangos cortados lista para el motor: ordenada por inicio, sin bloques inválidos y con
+ * los rangos contiguos fusionados, de modo que el motor recorra la menor cantidad de bloques posible.
+ * <p>
+ * Es un ordenamiento O(n log n) sobre los rangos empaquetados en {@code long} más un único barrido.
+ * En el mismo barrido se detectan los rangos que se pisan (un cartón que se entregaría dos veces).
+ */
+public final class NormalizadorPool {
+
+    private NormalizadorPool() {}
+
+    /**
+     * Dos rangos recibidos que comparten cartones.
+     *
+     * @param inicioA Inicio del rango que ya estaba cubierto.
+     * @param finA    Fin del rango que ya estaba cubierto.
+     * @param inicioB Inicio del rango que lo pisa.
+     * @param finB    Fin del rango que lo pisa.
+     */
+    public record Superposicion(int inicioA, int finA, int inicioB, int finB) {
+
+        /** Primer cartón repetido. */
+        public int desde() {
+            return inicioB;
+        }
+
+        /** Último cartón repetido. */
+        public int hasta() {
+            return Math.min(finA, finB);
+        }
+    }
+
+    /**
+     * @param inicios         Inicio de cada bloque normalizado, ascendente.
+     * @param fines           Fin de cada bloque normalizado.
+     * @param superposiciones Rangos recibidos que se pisan; vacío si no hay conflictos.
+     */
+    public record Resultado(int[] inicios, int[] fines, List<Superposicion> superposiciones) {
+
+        public int cantidadBloques() {
+            return inicios.length;
+        }
+
+        public boolean tieneSuperposiciones() {
+            return !superposiciones.isEmpty();
+        }
+
+        public PoolCartones comoPool() {
+            return new PoolCartones(inicios, fines);
+        }
+    }
+
+    /**
+     * @param inicios Inicio de cada rango recibido (no se modifica).
+     * @param fines   Fin de cada rango recibido; los rangos con {@code fin < inicio} se descartan.
+     */
+    public static Resultado normalizar(int[] inicios, int[] fines) {
+        if (inicios.length != fines.length) {
+            throw new IllegalArgumentException("Los arreglos de inicios y fines deben tener el mismo largo.");
+        }
+
+        // Empaquetado (inicio, fin): ordenar los long ordena por inicio
+        long[] rangos = new long[inicios.length];
+        int validos = 0;
+        for (int i = 0; i < inicios.length; i++) {
+            if (fines[i] >= inicios[i]) {
+                rangos[validos++] = ((long) inicios[i] << 32) | (fines[i] & 0xFFFFFFFFL);
+            }
+        }
+        Arrays.sort(rangos, 0, validos);
+
+        int[] iniciosNormalizados = new int[validos];
+        int[] finesNormalizados = new int[validos];
+        List<Superposicion> superposiciones = new ArrayList<>();
+        int bloques = 0;
+
+        // Rango recibido que llega más lejos dentro del bloque actual (contra él se informa un choque)
+        int inicioMasLargo = 0;
+        int finMasLargo = 0;
+        for (int i = 0; i < validos; i++) {
+            int inicio = (int) (rangos[i] >> 32);
+            int fin = (int) rangos[i];
+
+            if (bloques > 0 && inicio <= finesNormalizados[bloques - 1]) {
+                superposiciones.add(new Superposicion(inicioMasLargo, finMasLargo, inicio, fin));
+            }
+            if (bloques > 0 && (long) inicio <= (long) finesNormalizados[bloques - 1] + 1) {
+                // Contiguo o superpuesto: se fusiona con el bloque actual
+                if (fin > finesNormalizados[bloques - 1]) {
+                    finesNormalizados[bloques - 1] = fin;
+                    inicioMasLargo = inicio;
+                    finMasLargo = fin;
+                }
+                continue;
+            }
+            iniciosNormalizados[bloques] = inicio;
+            finesNormalizados[bloques] = fin;
+            inicioMasLargo = inicio;
+            finMasLargo = fin;
+            bloques++;
+        }
+
+        return new Resultado(
+                Arrays.copyOf(iniciosNormalizados, bloques),
+                Arrays.copyOf(finesNormalizados, bloques),
+                superposiciones);
+    }
+}
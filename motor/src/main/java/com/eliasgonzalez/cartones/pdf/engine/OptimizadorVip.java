@@ -0,0 +1,368 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Ubica a los VIP en la fila para quemar el menor papel posible, sin mover al resto.
+ * <p>
+ * Los vendedores sin terminación se atienden en el orden de carga; los VIP se intercalan entre ellos.
+ * Un VIP no quema nada si llega cuando alguna de sus terminaciones está dentro de los próximos
+ * {@code cantidad} cartones, y eso depende sólo del cursor módulo 100 (la tabla de
+ * {@link Terminaciones}). Cada candidato arma la fila de forma voraz: antes de cada vendedor fijo mete
+ * todos los VIP pendientes que ahí no queman en ningún juego, y los que no encuentran lugar van al final,
+ * de a uno, primero el que menos quema. Después prueba mover VIP a otros huecos y se queda con cada
+ * movimiento que no empeora la fila completa.
+ * <p>
+ * Los candidatos sólo difieren en el orden en que se prueban los VIP. Corren en paralelo hasta el
+ * presupuesto de tiempo o hasta encontrar una fila que quema lo mismo que la cota inferior, que es óptima.
+ */
+public final class OptimizadorVip {
+
+    // Movimientos de VIP que prueba cada candidato después de armar su fila
+    private static final int MOVIMIENTOS_POR_CANDIDATO = 64;
+
+    /**
+     * @param orden            Fila encontrada: índices originales en orden de atención.
+     * @param cartonesQuemados Cartones que quema esa fila, sumando todos los juegos.
+     * @param cotaInferior     Ninguna fila que respete el orden de los vendedores fijos quema menos que esto.
+     * @param evaluadas        Candidatos evaluados antes de cortar.
+     */
+    public record Resultado(int[] orden, long cartonesQuemados, long cotaInferior, int evaluadas) {
+
+        /**
+         * Lo que como mucho se podría ganar siguiendo la búsqueda; 0 si la fila es óptima.
+         */
+        public long brecha() {
+            return cartonesQuemados - cotaInferior;
+        }
+    }
+
+    private OptimizadorVip() {}
+
+    /**
+     * @param forkJoin         Pool donde se reparten los candidatos.
+     * @param juegos           Juegos a repartir con el mismo orden.
+     * @param vendedores       Cantidad de vendedores.
+     * @param intentos         Cantidad máxima de candidatos a evaluar.
+     * @param semillaBase      Semilla de la que se derivan los candidatos.
+     * @param presupuestoNanos Tiempo máximo de búsqueda. El primer candidato siempre se arma completo.
+     */
+    public static Resultado optimizar(ForkJoinPool forkJoin, List<Juego> juegos, int vendedores,
+                                      int intentos, long semillaBase, long presupuestoNanos) {
+        Busqueda busqueda = new Busqueda(juegos, vendedores, semillaBase, System.nanoTime() + presupuestoNanos);
+
+        // La fila de carga ya respeta a los fijos: ningún candidato se queda con algo peor
+        int[] deCarga = Mezclador.identidad(vendedores);
+        Mejor mejor = Mejor.elegir(new Mejor(-1, busqueda.quemadosDeCarga, 0, deCarga), busqueda.candidato(0));
+        if (intentos > 1 && mejor.quemados > busqueda.cotaInferior) {
+            mejor = Mejor.elegir(mejor, forkJoin.invoke(new Tramo(busqueda, 1, intentos)));
+        }
+        return new Resultado(mejor.orden, mejor.quemados, busqueda.cotaInferior, mejor.evaluadas);
+    }
+
+    private static final class Busqueda {
+        private final List<Juego> juegos;
+        private final int vendedores;
+        private final long semillaBase;
+        private final long limite;
+
+        // Vendedores sin terminación en ningún juego, en orden de carga, y los VIP
+        private final int[] fijos;
+        private final int[] vips;
+        private final long quemadosDeCarga;
+        private final long cotaInferior;
+        private volatile boolean encontroOptima;
+
+        private Busqueda(List<Juego> juegos, int vendedores, long semillaBase, long limite) {
+            this.juegos = juegos;
+            this.vendedores = vendedores;
+            this.semillaBase = semillaBase;
+            this.limite = limite;
+
+            List<Integer> listaFijos = new ArrayList<>();
+            List<Integer> listaVips = new ArrayList<>();
+            for (int i = 0; i < vendedores; i++) {
+                (esVip(i) ? listaVips : listaFijos).add(i);
+            }
+            this.fijos = listaFijos.stream().mapToInt(Integer::intValue).toArray();
+            this.vips = listaVips.stream().mapToInt(Integer::intValue).toArray();
+            this.quemadosDeCarga = evaluar(Mezclador.identidad(vendedores));
+            this.cotaInferior = calcularCotaInferior();
+        }
+
+        private boolean debeCortar() {
+            return encontroOptima || System.nanoTime() - limite >= 0;
+        }
+
+        /**
+         * Arma y pule la fila del candidato. Sólo el candidato 0 (los VIP en orden de carga) se completa
+         * aunque se termine el tiempo; los demás devuelven {@link Mejor#NINGUNO} si se cortan.
+         */
+        private Mejor candidato(int indice) {
+            int[] pendientes = vips.clone();
+            if (indice > 0) Mezclador.mezclar(pendientes, Mezclador.semillaCandidata(semillaBase, indice));
+
+            int[] orden = armar(pendientes, indice == 0);
+            if (orden == null) return Mejor.NINGUNO;
+
+            long quemados = pulir(orden, evaluar(orden), new SplittableRandom(semillaBase + indice));
+            if (quemados == cotaInferior) encontroOptima = true;
+            return new Mejor(indice, quemados, 1, orden);
+        }
+
+        private int[] armar(int[] pendientes, boolean completar) {
+            PoolCartones[] pilas = new PoolCartones[juegos.size()];
+            for (int g = 0; g < pilas.length; g++) pilas[g] = juegos.get(g).pool().copia();
+
+            int[] orden = new int[vendedores];
+            int p = 0;
+            int quedan = pendientes.length;
+            for (int k = 0; k <= fijos.length; k++) {
+                // Los VIP que en este punto no queman nada; cada uno mueve el cursor y se vuelve a mirar
+                int i = 0;
+                while (i < quedan) {
+                    if (!completar && debeCortar()) return null;
+                    int vip = pendientes[i];
+                    if (costo(pilas, vip) == 0) {
+                        atender(pilas, vip);
+                        orden[p++] = vip;
+                        System.arraycopy(pendientes, i + 1, pendientes, i, --quedan - i);
+                        i = 0;
+                    } else {
+                        i++;
+                    }
+                }
+                if (k < fijos.length) {
+                    atender(pilas, fijos[k]);
+                    orden[p++] = fijos[k];
+                }
+            }
+
+            // Los que quemarían en cualquier hueco: de a uno, primero el que menos quema desde ahí
+            while (quedan > 0) {
+                if (!completar && debeCortar()) return null;
+                int elegido = 0;
+                long menor = Long.MAX_VALUE;
+                for (int i = 0; i < quedan; i++) {
+                    long costo = costo(pilas, pendientes[i]);
+                    if (costo < menor) {
+                        menor = costo;
+                        elegido = i;
+                    }
+                }
+                atender(pilas, pendientes[elegido]);
+                orden[p++] = pendientes[elegido];
+                System.arraycopy(pendientes, elegido + 1, pendientes, elegido, --quedan - elegido);
+            }
+            return orden;
+        }
+
+        /**
+         * Mueve VIP al azar a otras posiciones y conserva cada movimiento que no quema más.
+         */
+        private long pulir(int[] orden, long quemados, SplittableRandom random) {
+            if (vips.length == 0) return quemados;
+
+            for (int m = 0; m < MOVIMIENTOS_POR_CANDIDATO && quemados > cotaInferior && !debeCortar(); m++) {
+                int desde = random.nextInt(vendedores);
+                if (!esVip(orden[desde])) continue;
+                int hasta = random.nextInt(vendedores);
+                if (hasta == desde) continue;
+
+                mover(orden, desde, hasta);
+                long nuevos = evaluar(orden);
+                if (nuevos <= quemados) {
+                    quemados = nuevos;
+                } else {
+                    mover(orden, hasta, desde);
+                }
+            }
+            return quemados;
+        }
+
+        private long evaluar(int[] orden) {
+            long quemados = 0;
+            for (Juego juego : juegos) {
+                quemados += MotorDistribucion.evaluar(juego, orden).cartonesQuemados();
+            }
+            return quemados;
+        }
+
+        // Cartones que quemaría el vendedor si lo atendieran ahora, sin mover las pilas
+        private long costo(PoolCartones[] pilas, int vendedor) {
+            long quemados = 0;
+            for (int g = 0; g < pilas.length; g++) {
+                if (MotorDistribucion.esVip(juegos.get(g), vendedor)) {
+                    quemados += MotorDistribucion.atender(juegos.get(g), pilas[g].copia(), vendedor);
+                }
+            }
+            return quemados;
+        }
+
+        private void atender(PoolCartones[] pilas, int vendedor) {
+            for (int g = 0; g < pilas.length; g++) {
+                MotorDistribucion.atender(juegos.get(g), pilas[g], vendedor);
+            }
+        }
+
+        private boolean esVip(int vendedor) {
+            for (Juego juego : juegos) {
+                if (MotorDistribucion.esVip(juego, vendedor)) return true;
+            }
+            return false;
+        }
+
+        /**
+         * Los juegos sólo comparten la fila: lo que quema cada uno se acota por separado y se suma.
+         */
+        private long calcularCotaInferior() {
+            if (vips.length == 0) return 0;
+
+            long cota = 0;
+            for (Juego juego : juegos) cota += cotaDelJuego(juego);
+            return cota;
+        }
+
+        /**
+         * Cota del juego sobre el cursor módulo 100. Sólo vale con la pila en un único bloque: ahí lo que
+         * quema un VIP depende sólo del resto del cursor, mientras no se acabe el papel.
+         * <p>
+         * Hueco por hueco entre los fijos se juntan todos los restos en los que podría estar el cursor: los
+         * del hueco anterior corridos por el pedido del fijo, cerrados bajo atender a cualquier VIP quemando
+         * o no. Como un VIP puede aparecer más de una vez el conjunto sólo puede sobrar, así que cada VIP
+         * quema por lo menos lo menos que quemaría en alguno de esos restos.
+         * <p>
+         * La fila óptima no quema más que la de carga, así que su cursor no pasa de lo que piden los fijos
+         * hasta el hueco, más todo lo que piden los VIP, más lo que quema la fila de carga. Mientras eso
+         * entre en la pila no se corta ningún pedido ni quemado; desde el primer hueco donde no entra, los
+         * VIP que no tenían un resto gratis ya no suman.
+         */
+        private long cotaDelJuego(Juego juego) {
+            PoolCartones pool = juego.pool();
+            if (pool.cantidadBloques() != 1 || pool.inicioBloque(0) < 0 || pool.finBloque(0) < pool.inicioBloque(0)) {
+                return 0;
+            }
+
+            // Pedido de cada VIP en el juego y sus terminaciones (null si acá no pide terminación)
+            int[] cantidades = new int[vips.length];
+            Terminaciones[] aceptadas = new Terminaciones[vips.length];
+            long pedidoVips = 0;
+            for (int j = 0; j < vips.length; j++) {
+                cantidades[j] = Math.max(0, juego.cantidades()[vips[j]]);
+                pedidoVips += cantidades[j];
+                if (MotorDistribucion.esVip(juego, vips[j])) {
+                    aceptadas[j] = MotorDistribucion.aceptadas(juego, vips[j]);
+                    if (aceptadas[j] == null) return 0;
+                }
+            }
+
+            long[] minimos = new long[vips.length];
+            for (int j = 0; j < vips.length; j++) minimos[j] = aceptadas[j] == null ? 0 : Long.MAX_VALUE;
+
+            boolean[] restos = new boolean[100];
+            int[] pendientes = new int[100];
+            long cursor = pool.inicioBloque(0);
+            restos[(int) (cursor % 100)] = true;
+            for (int k = 0; k <= fijos.length; k++) {
+                if (cursor + pedidoVips + quemadosDeCarga > pool.finBloque(0)) {
+                    for (int j = 0; j < vips.length; j++) minimos[j] = Math.min(minimos[j], 0);
+                    break;
+                }
+
+                int cantidadPendientes = 0;
+                for (int r = 0; r < 100; r++) {
+                    if (restos[r]) pendientes[cantidadPendientes++] = r;
+                }
+                int alcanzados = cantidadPendientes;
+                while (cantidadPendientes > 0) {
+                    int resto = pendientes[--cantidadPendientes];
+                    for (int j = 0; j < vips.length; j++) {
+                        if (cantidades[j] == 0) continue;
+                        int avance = cantidades[j];
+                        if (aceptadas[j] != null) {
+                            int distancia = aceptadas[j].distanciaDesde(resto);
+                            if (distancia >= cantidades[j]) {
+                                minimos[j] = Math.min(minimos[j], distancia);
+                                avance += distancia;
+                            } else {
+                                minimos[j] = 0;
+                            }
+                        }
+                        int siguiente = (int) ((resto + (long) avance) % 100);
+                        if (!restos[siguiente]) {
+                            restos[siguiente] = true;
+                            pendientes[cantidadPendientes++] = siguiente;
+                            alcanzados++;
+                        }
+                    }
+                }
+                // Con los 100 restos alcanzados los huecos siguientes no pueden bajar ningún mínimo
+                if (alcanzados == 100 || k == fijos.length) break;
+
+                int pedidoFijo = Math.max(0, juego.cantidades()[fijos[k]]);
+                cursor += pedidoFijo;
+                boolean[] corridos = new boolean[100];
+                for (int r = 0; r < 100; r++) {
+                    if (restos[r]) corridos[(r + pedidoFijo) % 100] = true;
+                }
+                restos = corridos;
+            }
+
+            long cota = 0;
+            for (long minimo : minimos) cota += minimo;
+            return cota;
+        }
+
+        private static void mover(int[] orden, int desde, int hasta) {
+            int vendedor = orden[desde];
+            if (desde < hasta) {
+                System.arraycopy(orden, desde + 1, orden, desde, hasta - desde);
+            } else {
+                System.arraycopy(orden, hasta, orden, hasta + 1, desde - hasta);
+            }
+            orden[hasta] = vendedor;
+        }
+    }
+
+    /**
+     * Mejor candidato de un tramo. {@code quemados} es {@code Long.MAX_VALUE} si no se evaluó ninguno.
+     */
+    private record Mejor(int indice, long quemados, int evaluadas, int[] orden) {
+        private static final Mejor NINGUNO = new Mejor(Integer.MAX_VALUE, Long.MAX_VALUE, 0, null);
+
+        // Menos papel quemado; a igualdad, el candidato de menor índice (resultado estable)
+        private static Mejor elegir(Mejor a, Mejor b) {
+            boolean ganaA = a.quemados < b.quemados || (a.quemados == b.quemados && a.indice < b.indice);
+            Mejor ganador = ganaA ? a : b;
+            return new Mejor(ganador.indice, ganador.quemados, a.evaluadas + b.evaluadas, ganador.orden);
+        }
+    }
+
+    private static final class Tramo extends RecursiveTask<Mejor> {
+        private final Busqueda busqueda;
+        private final int desde;
+        private final int hasta;
+
+        private Tramo(Busqueda busqueda, int desde, int hasta) {
+            this.busqueda = busqueda;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected Mejor compute() {
+            if (hasta - desde == 1) {
+                return busqueda.debeCortar() ? Mejor.NINGUNO : busqueda.candidato(desde);
+            }
+            int medio = (desde + hasta) >>> 1;
+            Tramo izquierda = new Tramo(busqueda, desde, medio);
+            izquierda.fork();
+            Mejor derecha = new Tramo(busqueda, medio, hasta).compute();
+            return Mejor.elegir(izquierda.join(), derecha);
+        }
+    }
+}
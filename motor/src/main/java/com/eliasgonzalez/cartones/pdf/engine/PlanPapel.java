@@ -0,0 +1,21 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+/**
+ * Papel que necesita un juego cuya pila se genera desde un cartón inicial.
+ *
+ * @param inicio           Primer cartón de la pila.
+ * @param cartonesPedidos  Suma de los pedidos: lo mínimo que se usa con cualquier orden.
+ * @param cartonesQuemados Cartones que se queman con la fila elegida.
+ * @param fin              Último cartón que usa la fila elegida ({@code inicio - 1} si no usa ninguno).
+ * @param quemadosMaximos  Cota de lo que se puede quemar con cualquier orden de la fila.
+ * @param finMaximo        Último cartón que puede hacer falta con cualquier orden de la fila.
+ */
+public record PlanPapel(
+        int inicio,
+        long cartonesPedidos,
+        long cartonesQuemados,
+        long fin,
+        long quemadosMaximos,
+        long finMaximo
+) {
+}
@@ -0,0 +1,77 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+/**
+ * Calcula cuánto papel hace falta cuando la pila de un juego es un único bloque que empieza en un
+ * cartón dado, en lugar de sumarle un margen fijo a la demanda.
+ * <p>
+ * En un bloque continuo cada vendedor usa exactamente lo que pide, más lo que quema un VIP cuando su
+ * terminación más cercana queda a {@code cantidad} cartones o más. Esa quema nunca supera el hueco
+ * más largo entre las terminaciones que acepta, así que la suma de esos huecos acota lo que se puede
+ * quemar con cualquier orden de la fila.
+ */
+public final class PlanificadorPapel {
+
+    private PlanificadorPapel() {}
+
+    /**
+     * Cartones que alcanzan para cualquier orden de la fila: pedidos más la peor quema de cada VIP.
+     * Las terminaciones sueltas fuera de 00..99 no se alcanzan nunca y se acotan sólo por su primera quema.
+     */
+    public static long cartonesMaximos(int[] cantidades, int[] terminaciones, Terminaciones[] conjuntos, int inicio) {
+        long total = 0;
+        for (int i = 0; i < cantidades.length; i++) {
+            int cantidad = cantidades[i];
+            if (cantidad <= 0) continue;
+
+            long distancia = distanciaMaxima(terminaciones[i], conjuntos, inicio);
+            total += cantidad + (distancia >= cantidad ? distancia : 0);
+        }
+        return total;
+    }
+
+    /**
+     * Papel exacto para la fila {@code orden} y cotas para cualquier otra. Corre el reparto sólo con
+     * totales, sobre una pila generada con {@link #cartonesMaximos}.
+     *
+     * @param orden Índices de los pedidos en orden de atención, o {@code null} si ya vienen en ese orden.
+     */
+    public static PlanPapel planificar(int[] cantidades, int[] terminaciones, Terminaciones[] conjuntos,
+                                       int inicio, int[] orden) {
+        long maximos = cartonesMaximos(cantidades, terminaciones, conjuntos, inicio);
+        long pedidos = 0;
+        for (int cantidad : cantidades) pedidos += Math.max(cantidad, 0);
+
+        EstadisticasJuego estadisticas = MotorDistribucion.evaluar(
+                new Juego(pilaGenerada(inicio, maximos), cantidades, terminaciones, conjuntos), orden);
+        long usados = estadisticas.cartonesEntregados() + estadisticas.cartonesQuemados();
+
+        return new PlanPapel(inicio, pedidos, estadisticas.cartonesQuemados(), (long) inicio + usados - 1,
+                maximos - pedidos, (long) inicio + maximos - 1);
+    }
+
+    /**
+     * Pila de un solo bloque con {@code cartones} cartones desde {@code inicio}.
+     */
+    public static PoolCartones pilaGenerada(int inicio, long cartones) {
+        long fin = (long) inicio + cartones - 1;
+        if (fin > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("La pila que empieza en " + inicio + " necesita " + cartones
+                    + " cartones y se pasa del último número posible.");
+        }
+        return new PoolCartones(new int[]{inicio}, new int[]{(int) fin});
+    }
+
+    /**
+     * Lo más que puede quemar un VIP antes de recibir algo. Desde un cartón negativo la terminación
+     * recién aparece en el primer número no negativo que la tiene, a lo sumo en el 99.
+     */
+    private static long distanciaMaxima(int terminacion, Terminaciones[] conjuntos, int inicio) {
+        if (terminacion == MotorDistribucion.SIN_TERMINACION || (terminacion < 0 && conjuntos == null)) return 0;
+        long desdeNegativos = inicio < 0 ? -(long) inicio : 0;
+        if (terminacion >= 100) return terminacion + desdeNegativos;
+        int maxima = terminacion >= 0
+                ? Terminaciones.una(terminacion).distanciaMaxima()
+                : conjuntos[-2 - terminacion].distanciaMaxima();
+        return inicio < 0 ? 99 + desdeNegativos : maxima;
+    }
+}
@@ -0,0 +1,220 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+/**
+ * Pila de papel de un juego representada con arreglos primitivos paralelos.
+ * <p>
+ * Cada bloque {@code i} cubre los cartones {@code [inicios[i], fines[i]]}. Los arreglos no se modifican:
+ * el estado de la pila es sólo el cursor ({@code cabeza}, {@code inicioCabeza}), que apunta al bloque que
+ * está "arriba" y al primer cartón que le queda. Por eso {@link #copia()} es O(1) y varias simulaciones
+ * pueden recorrer el mismo papel en paralelo.
+ * <p>
+ * {@code acumulado[i]} es la cantidad de cartones válidos en los bloques {@code [0, i)}; permite saber
+ * cuánto papel se quema al saltar varios bloques de una vez.
+ */
+public final class PoolCartones {
+
+    private final Bloques bloques;
+    private int cabeza;
+    private int inicioCabeza;
+
+    /**
+     * @param inicios Inicio de cada bloque (el arreglo pasa a ser propiedad del pool).
+     * @param fines   Fin de cada bloque, en la misma posición que su inicio.
+     */
+    public PoolCartones(int[] inicios, int[] fines) {
+        if (inicios.length != fines.length) {
+            throw new IllegalArgumentException("Los arreglos de inicios y fines deben tener el mismo largo.");
+        }
+        this.bloques = new Bloques(inicios, fines);
+        posicionar(0);
+    }
+
+    private PoolCartones(Bloques bloques, int cabeza, int inicioCabeza) {
+        this.bloques = bloques;
+        this.cabeza = cabeza;
+        this.inicioCabeza = inicioCabeza;
+    }
+
+    public static PoolCartones vacio() {
+        return new PoolCartones(new int[0], new int[0]);
+    }
+
+    /**
+     * Pila independiente sobre el mismo papel, con el cursor en el mismo lugar.
+     */
+    public PoolCartones copia() {
+        return new PoolCartones(bloques, cabeza, inicioCabeza);
+    }
+
+    public boolean estaVacio() {
+        return cabeza >= bloques.inicios.length;
+    }
+
+    public int cantidadBloques() {
+        return bloques.inicios.length;
+    }
+
+    /**
+     * Primer cartón del bloque {@code i} del papel (sin importar el cursor).
+     */
+    public int inicioBloque(int i) {
+        return bloques.inicios[i];
+    }
+
+    public int finBloque(int i) {
+        return bloques.fines[i];
+    }
+
+    /**
+     * Cartones válidos que todavía quedan en la pila.
+     */
+    public long cartonesRestantes() {
+        if (estaVacio()) return 0;
+        return Math.max(0, disponibleActual()) + (bloques.acumulado[bloques.inicios.length] - bloques.acumulado[cabeza + 1]);
+    }
+
+    /**
+     * Cursor empaquetado (bloque de arriba y su primer cartón). Dos pilas sobre el mismo papel con el
+     * mismo estado se comportan igual de acá en adelante.
+     */
+    long estado() {
+        if (estaVacio()) return (long) cabeza << 32;
+        return ((long) cabeza << 32) | (inicioCabeza & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Vuelve el cursor a un estado tomado con {@link #estado()} sobre este mismo papel.
+     */
+    void restaurar(long estado) {
+        cabeza = (int) (estado >>> 32);
+        inicioCabeza = (int) estado;
+    }
+
+    int inicioActual() {
+        return inicioCabeza;
+    }
+
+    int disponibleActual() {
+        return (bloques.fines[cabeza] - inicioCabeza) + 1;
+    }
+
+    /**
+     * Avanza el inicio del bloque actual. Si el bloque queda vacío se retira de la pila.
+     */
+    void avanzar(int cantidad) {
+        inicioCabeza += cantidad;
+        if (inicioCabeza > bloques.fines[cabeza]) {
+            posicionar(cabeza + 1);
+        }
+    }
+
+    /**
+     * Consume de una vez {@code cantidad} cartones válidos desde el cursor, saltando bloques inválidos,
+     * con una búsqueda binaria sobre {@code acumulado} en lugar de recorrer bloque a bloque.
+     *
+     * @param cantidad Cartones a consumir; entre 1 y {@link #cartonesRestantes()}.
+     * @return Último cartón consumido.
+     */
+    int avanzarCartones(long cantidad) {
+        long[] acumulado = bloques.acumulado;
+        long desplazamiento = acumulado[cabeza] + (inicioCabeza - bloques.inicios[cabeza]);
+        long objetivo = desplazamiento + cantidad - 1;
+
+        // Último bloque con acumulado <= objetivo: los bloques inválidos (tamaño 0) quedan antes que él
+        int bajo = cabeza;
+        int alto = bloques.inicios.length - 1;
+        while (bajo < alto) {
+            int medio = (bajo + alto + 1) >>> 1;
+            if (acumulado[medio] <= objetivo) {
+                bajo = medio;
+            } else {
+                alto = medio - 1;
+            }
+        }
+
+        int ultimo = bloques.inicios[bajo] + (int) (objetivo - acumulado[bajo]);
+        if (ultimo == bloques.fines[bajo]) {
+            posicionar(bajo + 1);
+        } else {
+            cabeza = bajo;
+            inicioCabeza = ultimo + 1;
+        }
+        return ultimo;
+    }
+
+    void descartarBloque() {
+        posicionar(cabeza + 1);
+    }
+
+    /**
+     * Indica si se puede usar el salto directo. Con números negativos la aritmética módulo 100 no es
+     * la de un cartón real, y el motor vuelve al avance bloque a bloque.
+     */
+    boolean admiteSaltos() {
+        return bloques.iniciosNoNegativos;
+    }
+
+    /**
+     * Quema el bloque actual completo y todos los siguientes que no sirven al VIP, dejando la cabeza
+     * en el primer bloque donde encontraría alguna de sus terminaciones.
+     *
+     * @return Cantidad de cartones quemados.
+     */
+    long saltarHastaTerminacion(Terminaciones aceptadas, int cantidad) {
+        int total = bloques.inicios.length;
+        long quemados = Math.max(0, disponibleActual());
+        int destino = bloques.indice().primerBloqueUtil(cabeza + 1, aceptadas, cantidad);
+        if (destino < 0 || destino > total) {
+            destino = total;
+        }
+        quemados += bloques.acumulado[destino] - bloques.acumulado[cabeza + 1];
+        posicionar(destino);
+        return quemados;
+    }
+
+    private void posicionar(int bloque) {
+        cabeza = bloque;
+        if (bloque < bloques.inicios.length) {
+            inicioCabeza = bloques.inicios[bloque];
+        }
+    }
+
+    /**
+     * Datos inmutables del papel, compartidos entre copias de la pila.
+     */
+    private static final class Bloques {
+        private final int[] inicios;
+        private final int[] fines;
+        private final long[] acumulado;
+        private final boolean iniciosNoNegativos;
+        private volatile IndiceTerminaciones indiceTerminaciones;
+
+        private Bloques(int[] inicios, int[] fines) {
+            this.inicios = inicios;
+            this.fines = fines;
+            this.acumulado = new long[inicios.length + 1];
+
+            boolean noNegativos = true;
+            for (int i = 0; i < inicios.length; i++) {
+                acumulado[i + 1] = acumulado[i] + Math.max(0, (fines[i] - inicios[i]) + 1);
+                noNegativos &= inicios[i] >= 0;
+            }
+            this.iniciosNoNegativos = noNegativos;
+        }
+
+        // Se arma recién cuando algún VIP lo necesita; las copias lo comparten
+        private IndiceTerminaciones indice() {
+            IndiceTerminaciones indice = indiceTerminaciones;
+            if (indice == null) {
+                synchronized (this) {
+                    indice = indiceTerminaciones;
+                    if (indice == null) {
+                        indice = new IndiceTerminaciones(inicios, fines);
+                        indiceTerminaciones = indice;
+                    }
+                }
+            }
+            return indice;
+        }
+    }
+}
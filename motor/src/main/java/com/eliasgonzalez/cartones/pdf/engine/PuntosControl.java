@@ -0,0 +1,84 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+/**
+ * Fotos baratas del reparto cada {@link #INTERVALO} posiciones de la fila: el cursor de la pila y los
+ * totales acumulados antes de atender a la posición {@code c * INTERVALO}.
+ * <p>
+ * Con ellas {@link MotorDistribucion#reasignar} retoma el reparto desde la última foto anterior a un
+ * cambio, en lugar de empezar de cero.
+ */
+final class PuntosControl {
+
+    static final int INTERVALO = 64;
+
+    // Marca de "todavía no se entregó ningún cartón" en ultimoCarton
+    private static final long SIN_ENTREGA = Long.MIN_VALUE;
+
+    final long[] estadoPool;
+    final long[] quemados;
+    final long[] entregados;
+    final int[] atendidos;
+    final int[] incompletos;
+    final long[] ultimoCarton;
+
+    PuntosControl(int vendedores) {
+        int cantidad = vendedores / INTERVALO + 1;
+        this.estadoPool = new long[cantidad];
+        this.quemados = new long[cantidad];
+        this.entregados = new long[cantidad];
+        this.atendidos = new int[cantidad];
+        this.incompletos = new int[cantidad];
+        this.ultimoCarton = new long[cantidad];
+    }
+
+    private PuntosControl(PuntosControl otro) {
+        this.estadoPool = otro.estadoPool.clone();
+        this.quemados = otro.quemados.clone();
+        this.entregados = otro.entregados.clone();
+        this.atendidos = otro.atendidos.clone();
+        this.incompletos = otro.incompletos.clone();
+        this.ultimoCarton = otro.ultimoCarton.clone();
+    }
+
+    int cantidad() {
+        return estadoPool.length;
+    }
+
+    PuntosControl copia() {
+        return new PuntosControl(this);
+    }
+
+    void registrar(int c, long estado, MotorDistribucion.Totales totales) {
+        estadoPool[c] = estado;
+        quemados[c] = totales.quemados;
+        entregados[c] = totales.entregados;
+        atendidos[c] = totales.atendidos;
+        incompletos[c] = totales.incompletos;
+        ultimoCarton[c] = totales.huboEntrega ? totales.ultimoCarton : SIN_ENTREGA;
+    }
+
+    void cargar(int c, MotorDistribucion.Totales totales) {
+        totales.quemados = quemados[c];
+        totales.entregados = entregados[c];
+        totales.atendidos = atendidos[c];
+        totales.incompletos = incompletos[c];
+        totales.huboEntrega = ultimoCarton[c] != SIN_ENTREGA;
+        totales.ultimoCarton = totales.huboEntrega ? (int) ultimoCarton[c] : 0;
+    }
+
+    /**
+     * Completa las fotos posteriores a {@code c} con las de la corrida anterior, corridas por la
+     * diferencia de totales en {@code c}: a partir de ahí ambas corridas hacen exactamente lo mismo.
+     */
+    void empalmar(int c, PuntosControl anterior) {
+        for (int j = c + 1; j < cantidad(); j++) {
+            estadoPool[j] = anterior.estadoPool[j];
+            quemados[j] = anterior.quemados[j] + (quemados[c] - anterior.quemados[c]);
+            entregados[j] = anterior.entregados[j] + (entregados[c] - anterior.entregados[c]);
+            atendidos[j] = anterior.atendidos[j] + (atendidos[c] - anterior.atendidos[c]);
+            incompletos[j] = anterior.incompletos[j] + (incompletos[c] - anterior.incompletos[c]);
+            // Si hubo entregas después de c el último cartón es el de la corrida anterior
+            ultimoCarton[j] = anterior.entregados[j] > anterior.entregados[c] ? anterior.ultimoCarton[j] : ultimoCarton[c];
+        }
+    }
+}
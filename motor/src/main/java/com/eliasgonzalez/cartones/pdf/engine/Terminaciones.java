@@ -0,0 +1,146 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import java.util.Arrays;
+
+/**
+ * Terminaciones (00..99) que acepta un vendedor VIP, con la tabla de saltos precalculada: para cada
+ * terminación de cartón, cuántos cartones faltan hasta la próxima aceptable. Se arma una vez por
+ * conjunto distinto y la comparten todos los vendedores que piden lo mismo, así que la distancia sale
+ * en O(1) sin importar cuántas terminaciones tenga el conjunto.
+ */
+public final class Terminaciones {
+
+    private static final Terminaciones[] UNICAS = new Terminaciones[100];
+
+    static {
+        for (int t = 0; t < 100; t++) UNICAS[t] = new Terminaciones(new int[]{t});
+    }
+
+    private final int[] miembros;
+
+    // distancias[r] = cartones desde uno terminado en r hasta la próxima terminación aceptada
+    private final byte[] distancias = new byte[100];
+
+    // ventanas[c] = terminaciones de cartón a menos de c cartones de una aceptada (bits 0..63 y 64..99)
+    private final long[] ventanasBajos = new long[101];
+    private final long[] ventanasAltos = new long[101];
+
+    private Terminaciones(int[] miembros) {
+        this.miembros = miembros;
+
+        boolean[] acepta = new boolean[100];
+        for (int t : miembros) acepta[t] = true;
+
+        // Barrido circular hacia atrás: la próxima aceptada desde i está en [i, i + 99]
+        int proxima = -1;
+        for (int i = 199; i >= 0; i--) {
+            if (acepta[i % 100]) proxima = i;
+            if (i < 100) distancias[i] = (byte) (proxima - i);
+        }
+
+        for (int r = 0; r < 100; r++) {
+            int c = distancias[r] + 1;
+            if (r < 64) {
+                ventanasBajos[c] |= 1L << r;
+            } else {
+                ventanasAltos[c] |= 1L << (r - 64);
+            }
+        }
+        for (int c = 1; c <= 100; c++) {
+            ventanasBajos[c] |= ventanasBajos[c - 1];
+            ventanasAltos[c] |= ventanasAltos[c - 1];
+        }
+    }
+
+    /**
+     * Conjunto con una sola terminación. Las cien posibles se arman una vez y se comparten.
+     */
+    public static Terminaciones una(int terminacion) {
+        validar(terminacion);
+        return UNICAS[terminacion];
+    }
+
+    /**
+     * @param terminaciones Terminaciones aceptadas, entre 0 y 99. Los repetidos no cuentan.
+     */
+    public static Terminaciones de(int... terminaciones) {
+        if (terminaciones.length == 0) {
+            throw new IllegalArgumentException("Un conjunto de terminaciones no puede estar vacío.");
+        }
+        for (int t : terminaciones) validar(t);
+
+        int[] miembros = Arrays.stream(terminaciones).sorted().distinct().toArray();
+        return miembros.length == 1 ? UNICAS[miembros[0]] : new Terminaciones(miembros);
+    }
+
+    public int[] miembros() {
+        return miembros.clone();
+    }
+
+    public int cantidad() {
+        return miembros.length;
+    }
+
+    /**
+     * Cartones a quemar desde {@code numero} hasta quedar parado sobre una terminación aceptada.
+     * Con números negativos se usa la misma aritmética que {@link MotorDistribucion#calcularDistancia}.
+     */
+    int distanciaDesde(int numero) {
+        if (numero >= 0) return distancias[numero % 100];
+
+        int minima = Integer.MAX_VALUE;
+        for (int t : miembros) minima = Math.min(minima, MotorDistribucion.calcularDistancia(numero, t));
+        return minima;
+    }
+
+    /**
+     * Mayor cantidad de cartones que puede quemar un VIP para llegar a una terminación del conjunto
+     * desde un cartón no negativo: el hueco más largo entre dos aceptadas.
+     */
+    public int distanciaMaxima() {
+        int maxima = 0;
+        for (byte d : distancias) maxima = Math.max(maxima, d);
+        return maxima;
+    }
+
+    // Terminaciones aceptadas: las de cartones a distancia 0
+    long aceptadasBajos() {
+        return ventanasBajos[1];
+    }
+
+    long aceptadasAltos() {
+        return ventanasAltos[1];
+    }
+
+    /**
+     * Terminaciones de cartón desde las que un VIP que lleva {@code cantidad} cartones alcanza una aceptada.
+     */
+    long ventanaBajos(int cantidad) {
+        return ventanasBajos[Math.min(cantidad, 100)];
+    }
+
+    long ventanaAltos(int cantidad) {
+        return ventanasAltos[Math.min(cantidad, 100)];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Terminaciones otras && Arrays.equals(miembros, otras.miembros);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(miembros);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(miembros);
+    }
+
+    private static void validar(int terminacion) {
+        if (terminacion < 0 || terminacion > 99) {
+            throw new IllegalArgumentException("La terminación " + terminacion + " no está entre 00 y 99.");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.eliasgonzalez.cartones.pdf.mapper;
+
+import java.math.BigDecimal;
+
+/**
+ * Datos de la planilla que se imprimen junto a los rangos de cada vendedor. Los implementa la
+ * entidad {@code Vendedor} del backend y la fila leída del Excel en la reimpresión por lotes.
+ * Cualquiera puede devolver {@code null}: el mapper lo imprime como 0.
+ */
+public interface DatosVendedor {
+
+    Integer getCantidadSenete();
+
+    Integer getResultadoSenete();
+
+    Integer getCantidadTelebingo();
+
+    Integer getResultadoTelebingo();
+
+    BigDecimal getDeuda();
+}
@@ -0,0 +1,128 @@
+package com.eliasgonzalez.cartones.pdf.mapper;
+
+import com.eliasgonzalez.cartones.pdf.dto.EtiquetaDTO;
+import com.eliasgonzalez.cartones.pdf.dto.RangosCartones;
+import com.eliasgonzalez.cartones.pdf.dto.ResumenDTO;
+import com.eliasgonzalez.cartones.pdf.dto.VendedorSimuladoDTO;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.*;
+
+public class PdfMapper {
+
+    public static List<EtiquetaDTO> toEtiquetaDTOs(
+            List<VendedorSimuladoDTO> vendedorSimuladoDTOs,
+            Map<Long, ? extends DatosVendedor> vendedoresMap
+    ) {
+
+        DecimalFormat df = formatoSaldo();
+
+        List<EtiquetaDTO> etiquetaDTOs = new ArrayList<>();
+
+        for (int i = 0; i < vendedorSimuladoDTOs.size(); i++){
+            VendedorSimuladoDTO simulado = vendedorSimuladoDTOs.get(i);
+
+            // Recuperamos la entidad real usando el ID del DTO
+            etiquetaDTOs.add(toEtiquetaDTO(simulado, i + 1, vendedoresMap.get(simulado.getId()), df));
+        }
+        return etiquetaDTOs;
+    }
+
+    /**
+     * Etiqueta de un solo vendedor, para armarlas de a una sin juntar la lista completa.
+     *
+     * @param numeroVendedor Número impreso en la etiqueta (posición en el PDF, desde 1).
+     * @param df             Formato del saldo, de {@link #formatoSaldo()}.
+     */
+    public static EtiquetaDTO toEtiquetaDTO(VendedorSimuladoDTO simulado, int numeroVendedor, DatosVendedor vendedor, DecimalFormat df) {
+        if (vendedor == null){
+            throw new NullPointerException("El vendedor es null");
+        }
+
+        // Validación de seguridad por si no existe el ID en el mapa (evita NullPointerException)
+        String cantSenete = (vendedor.getCantidadSenete() != null) ? vendedor.getCantidadSenete().toString() : "0";
+        String resSenete = (vendedor.getResultadoSenete() != null) ? vendedor.getResultadoSenete().toString() : "0";
+        String cantTelebingo = (vendedor.getCantidadTelebingo() != null) ? vendedor.getCantidadTelebingo().toString() : "0";
+        String resTelebingo = (vendedor.getResultadoTelebingo() != null) ? vendedor.getResultadoTelebingo().toString() : "0";
+        String saldo = (vendedor.getDeuda() != null) ? df.format(vendedor.getDeuda()) : "0";
+
+        return EtiquetaDTO.builder()
+                .numeroVendedor(numeroVendedor)
+                .nombre(simulado.getNombre())
+                .saldo(saldo)
+
+                // Datos Seneté
+                .seneteRangos(simulado.getRangosSenete())
+                .seneteCartones(cantSenete)
+                .resultadoSenete(resSenete)
+
+                // Datos Telebingo
+                .telebingoRangos(simulado.getRangosTelebingo())
+                .telebingoCartones(cantTelebingo)
+                .resultadoTelebingo(resTelebingo)
+
+                .build();
+    }
+
+    public static List<ResumenDTO> toResumenDTOs(
+            List<VendedorSimuladoDTO> vendedorSimuladoDTOs,
+            Map<Long, ? extends DatosVendedor> vendedoresMap
+    ) {
+
+        List<ResumenDTO> resumenDTOs = new ArrayList<>();
+
+        for (int i = 0; i < vendedorSimuladoDTOs.size(); i++){
+            VendedorSimuladoDTO simulado = vendedorSimuladoDTOs.get(i);
+
+            // Recuperamos la entidad real
+            resumenDTOs.add(toResumenDTO(simulado, i + 1, vendedoresMap.get(simulado.getId())));
+        }
+
+        return resumenDTOs;
+    }
+
+    /**
+     * Fila del resumen de un solo vendedor.
+     *
+     * @param numeroVendedor Número impreso en la fila (posición en el PDF, desde 1).
+     */
+    public static ResumenDTO toResumenDTO(VendedorSimuladoDTO simulado, int numeroVendedor, DatosVendedor vendedor) {
+        if (vendedor == null){
+            throw new NullPointerException("El vendedor es null");
+        }
+
+        // Validación de nulos para enteros
+        int cantSenete = (vendedor.getCantidadSenete() != null) ? vendedor.getCantidadSenete() : 0;
+        int cantTelebingo = (vendedor.getCantidadTelebingo() != null) ? vendedor.getCantidadTelebingo() : 0;
+
+        RangosCartones rangosSenete = noNulo(simulado.getRangosSenete());
+        RangosCartones rangosTelebingo = noNulo(simulado.getRangosTelebingo());
+
+        return ResumenDTO.builder()
+                .numeroVendedor(numeroVendedor)
+                .nombre(simulado.getNombre())
+
+                .seneteDelAl(rangosSenete)
+                .cantidadSenete(cantSenete)
+
+                .telebingoDelAl(rangosTelebingo)
+                .cantidadTelebingo(cantTelebingo)
+
+                .build();
+    }
+
+    /**
+     * Formato del saldo con punto como separador de miles ("#,###").
+     */
+    public static DecimalFormat formatoSaldo() {
+        DecimalFormatSymbols simbolos = new DecimalFormatSymbols(Locale.getDefault());
+        simbolos.setGroupingSeparator('.'); // Separador de miles: punto
+
+        return new DecimalFormat("#,###", simbolos);
+    }
+
+    private static RangosCartones noNulo(RangosCartones rangos) {
+        return rangos == null ? RangosCartones.vacio() : rangos;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,913 @@
+package com.eliasgonzalez.cartones.pdf.service;
+
+import com.eliasgonzalez.cartones.pdf.dto.*;
+import com.eliasgonzalez.cartones.pdf.engine.AsignacionJuego;
+import com.eliasgonzalez.cartones.pdf.engine.BuscadorMezcla;
+import com.eliasgonzalez.cartones.pdf.engine.EstadisticasJuego;
+import com.eliasgonzalez.cartones.pdf.engine.Juego;
+import com.eliasgonzalez.cartones.pdf.engine.Mezclador;
+import com.eliasgonzalez.cartones.pdf.engine.MotorDistribucion;
+import com.eliasgonzalez.cartones.pdf.engine.NormalizadorPool;
+import com.eliasgonzalez.cartones.pdf.engine.OptimizadorVip;
+import com.eliasgonzalez.cartones.pdf.engine.PlanPapel;
+import com.eliasgonzalez.cartones.pdf.engine.PlanificadorPapel;
+import com.eliasgonzalez.cartones.pdf.engine.PoolCartones;
+import com.eliasgonzalez.cartones.pdf.engine.Terminaciones;
+import com.eliasgonzalez.cartones.shared.exception.ResourceNotFoundException;
+import com.eliasgonzalez.cartones.shared.exception.UnprocessableEntityException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@Slf4j
+@RequiredArgsConstructor
+public class DistribucionService {
+
+    // Por debajo de esta cantidad de vendedores no compensa repartir los juegos en hilos
+    private static final int UMBRAL_PARALELO = 1_000;
+
+    // Superposiciones que se detallan en el error; el resto sólo se cuenta
+    private static final int MAX_DETALLES_SUPERPOSICION = 20;
+
+    // Tiempo de búsqueda de la mejor mezcla si la solicitud no indica otro
+    private static final long PRESUPUESTO_MEZCLA_MS = 2_000;
+
+    // Candidatos del optimizador de VIP si la solicitud no indica otra cantidad: suele cortar antes por tiempo
+    private static final int INTENTOS_OPTIMIZACION_VIP = 1_000;
+
+    private static final String SENETE = "Seneté";
+    private static final String TELEBINGO = "Telebingo";
+
+    // Claves de los dos juegos históricos; los adicionales usan la clave con la que llegan
+    static final String CLAVE_SENETE = "senete";
+    static final String CLAVE_TELEBINGO = "telebingo";
+
+    // Posición de cada juego histórico en los arreglos por juego; los adicionales van después
+    static final int JUEGO_SENETE = 0;
+    static final int JUEGO_TELEBINGO = 1;
+
+    private final ForkJoinPool distribucionPool;
+
+    public SimulacionResultadoDTO simularDistribucion(SimulacionRequestDTO request) {
+
+        List<PapelJuego> papeles = papeles(request.getPoolSenete(), request.getInicioSeneteGral(),
+                request.getPoolTelebingo(), request.getInicioTelebingoGral(), request.getJuegos());
+        validarConfiguracion(papeles);
+
+        List<VendedorInputDTO> vendedores = request.getVendedores();
+        int n = vendedores.size();
+
+        // 1. CALCULAR DEMANDA (pedidos indexados por la posición original del vendedor)
+        String[] claves = claves(papeles);
+        validarPedidos(vendedores, claves);
+        Demanda demanda = Demanda.de(vendedores, claves);
+
+        // 2. CONVERTIR POOLS (Pilas de papel)
+        // Nota: Una pila generada alcanza para la peor quema posible de los VIP con cualquier orden
+        List<Juego> juegos = armarJuegos(papeles, demanda);
+
+        // 3. MEZCLA ÚNICA (Orden Sagrado)
+        // orden[p] = índice en la lista original del vendedor atendido en la posición p
+        Fila fila = elegirFila(request, juegos);
+        int[] orden = fila.orden();
+
+        // 4. EJECUTAR LÓGICA (Procesamos cada juego por separado pero CON EL MISMO ORDEN de personas)
+        // Los juegos sólo comparten el orden (lectura): con muchos vendedores cada uno corre en su tarea
+        AsignacionJuego[] asignaciones = MotorDistribucion.asignarTodos(
+                juegos, orden, n >= UMBRAL_PARALELO ? distribucionPool : null);
+
+        // 5. RETORNAR DTOs
+        Long[] ids = new Long[n];
+        String[] nombres = new String[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = vendedores.get(i).getId();
+            nombres[i] = vendedores.get(i).getNombre();
+        }
+        Integer[] iniciosGenerados = new Integer[papeles.size()];
+        for (int g = 0; g < iniciosGenerados.length; g++) {
+            iniciosGenerados[g] = inicioGenerado(papeles.get(g).pool(), papeles.get(g).inicioGeneral());
+        }
+        return armarResultado(new EstadoSimulacion(ids, nombres, orden, claves, juegos, iniciosGenerados,
+                asignaciones, fila.semilla(), fila.mezclasEvaluadas(), fila.brechaOptimalidad()));
+    }
+
+    /**
+     * Misma simulación que {@link #simularDistribucion}, pero sólo con los totales de cada juego: el motor
+     * no arma rangos ni se crea ningún vendedor simulado. Con la misma solicitud y semilla los totales
+     * coinciden con los de la simulación completa.
+     */
+    public SimulacionEstadisticasDTO evaluarDistribucion(SimulacionRequestDTO request) {
+
+        List<PapelJuego> papeles = papeles(request.getPoolSenete(), request.getInicioSeneteGral(),
+                request.getPoolTelebingo(), request.getInicioTelebingoGral(), request.getJuegos());
+        validarConfiguracion(papeles);
+
+        String[] claves = claves(papeles);
+        validarPedidos(request.getVendedores(), claves);
+        List<Juego> juegos = armarJuegos(papeles, Demanda.de(request.getVendedores(), claves));
+
+        Fila fila = elegirFila(request, juegos);
+
+        EstadisticasJuego[] estadisticas = evaluarJuegos(juegos, fila.orden());
+        return SimulacionEstadisticasDTO.builder()
+                .semilla(fila.semilla())
+                .mezclasEvaluadas(fila.mezclasEvaluadas())
+                .brechaOptimalidad(fila.brechaOptimalidad())
+                .estadisticasSenete(estadisticas[JUEGO_SENETE])
+                .estadisticasTelebingo(estadisticas[JUEGO_TELEBINGO])
+                .estadisticasJuegos(adicionales(claves, estadisticas))
+                .build();
+    }
+
+    /**
+     * Papel exacto que usa cada juego con pila generada para la fila que elegiría
+     * {@link #simularDistribucion}, y la cota que alcanza con cualquier otra mezcla. Sólo corre totales.
+     */
+    public PlanPapelDTO planificarPapel(SimulacionRequestDTO request) {
+
+        List<PapelJuego> papeles = papeles(request.getPoolSenete(), request.getInicioSeneteGral(),
+                request.getPoolTelebingo(), request.getInicioTelebingoGral(), request.getJuegos());
+        validarConfiguracion(papeles);
+        if (papeles.stream().allMatch(p -> inicioGenerado(p.pool(), p.inicioGeneral()) == null)) {
+            throw new IllegalArgumentException("Ningún juego genera su pila desde un inicio general: no hay papel que planificar.");
+        }
+
+        String[] claves = claves(papeles);
+        validarPedidos(request.getVendedores(), claves);
+        Demanda demanda = Demanda.de(request.getVendedores(), claves);
+        Fila fila = elegirFila(request, armarJuegos(papeles, demanda));
+
+        Map<String, PlanPapel> planes = new LinkedHashMap<>();
+        for (int g = 0; g < papeles.size(); g++) {
+            Integer inicio = inicioGenerado(papeles.get(g).pool(), papeles.get(g).inicioGeneral());
+            if (inicio == null) continue;
+            planes.put(claves[g], PlanificadorPapel.planificar(demanda.cantidades()[g], demanda.terminaciones()[g],
+                    demanda.conjuntos()[g], inicio, fila.orden()));
+        }
+        return PlanPapelDTO.builder()
+                .semilla(fila.semilla())
+                .mezclasEvaluadas(fila.mezclasEvaluadas())
+                .juegos(planes)
+                .build();
+    }
+
+    /**
+     * Rehace la simulación después de cambiar los pedidos de algunos vendedores. La fila y el papel son
+     * los mismos; cada juego se retoma desde el último punto de control anterior al primer cambio.
+     *
+     * @param anterior Estado de la simulación previa.
+     * @param cambios  Vendedores a modificar, por {@code id}. Los campos {@code null} no cambian.
+     */
+    public SimulacionResultadoDTO resimular(EstadoSimulacion anterior, List<VendedorInputDTO> cambios) {
+        int n = anterior.cantidadVendedores();
+        int cantidadJuegos = anterior.cantidadJuegos();
+
+        Map<Long, Integer> indicePorId = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) indicePorId.put(anterior.ids[i], i);
+
+        int[] posicionEnFila = new int[n];
+        for (int p = 0; p < n; p++) posicionEnFila[anterior.orden[p]] = p;
+
+        validarPedidos(cambios, anterior.claves);
+        int[][] cantidades = new int[cantidadJuegos][];
+        int[][] terminaciones = new int[cantidadJuegos][];
+        ConjuntosJuego[] conjuntos = new ConjuntosJuego[cantidadJuegos];
+        for (int g = 0; g < cantidadJuegos; g++) {
+            cantidades[g] = anterior.juegos.get(g).cantidades().clone();
+            terminaciones[g] = anterior.juegos.get(g).terminaciones().clone();
+            conjuntos[g] = new ConjuntosJuego(anterior.juegos.get(g).conjuntos());
+        }
+        String[] nombres = anterior.nombres.clone();
+
+        // Tramo de la fila afectado en cada juego: [primera, ultima]
+        int[][] tramos = new int[cantidadJuegos][];
+        for (int g = 0; g < cantidadJuegos; g++) tramos[g] = new int[]{n, -1};
+
+        for (VendedorInputDTO cambio : cambios) {
+            Integer indice = indicePorId.get(cambio.getId());
+            if (indice == null) {
+                throw new ResourceNotFoundException(
+                        "El vendedor con ID " + cambio.getId() + " no está en la simulación.", List.of());
+            }
+            int posicion = posicionEnFila[indice];
+            if (cambio.getNombre() != null) nombres[indice] = cambio.getNombre();
+
+            for (int g = 0; g < cantidadJuegos; g++) {
+                String clave = anterior.claves[g];
+                Integer terminacion = terminacionDe(cambio, g, clave);
+                List<Integer> varias = terminacionesDe(cambio, g, clave);
+                Integer codigo = (terminacion != null || varias != null)
+                        ? codificarTerminacion(terminacion, varias, conjuntos[g])
+                        : null;
+                if (aplicarCambio(indice, cantidadDe(cambio, g, clave), codigo, cantidades[g], terminaciones[g])) {
+                    tramos[g][0] = Math.min(tramos[g][0], posicion);
+                    tramos[g][1] = Math.max(tramos[g][1], posicion);
+                }
+            }
+        }
+
+        // Una pila generada termina donde alcanza la peor quema de sus pedidos: si la cota cambió, el papel
+        // es otro y ese juego se reparte de cero. Con rangos cortados se retoma desde el punto de control.
+        List<Juego> juegos = new ArrayList<>(cantidadJuegos);
+        AsignacionJuego[] asignaciones = anterior.asignaciones.clone();
+        for (int g = 0; g < cantidadJuegos; g++) {
+            Juego previo = anterior.juegos.get(g);
+            PoolCartones pool = previo.pool();
+            Terminaciones[] conjuntosJuego = conjuntos[g].comoArreglo();
+            Integer inicioGenerado = anterior.iniciosGenerados[g];
+            boolean generarPapel = false;
+            if (inicioGenerado != null) {
+                long necesarios = PlanificadorPapel.cartonesMaximos(
+                        cantidades[g], terminaciones[g], conjuntosJuego, inicioGenerado);
+                generarPapel = necesarios != PlanificadorPapel.cartonesMaximos(
+                        previo.cantidades(), previo.terminaciones(), previo.conjuntos(), inicioGenerado);
+                if (generarPapel) {
+                    pool = convertirPool(nombreJuego(anterior.claves[g]), null, inicioGenerado, necesarios);
+                }
+            }
+
+            Juego juego = new Juego(pool, cantidades[g], terminaciones[g], conjuntosJuego);
+            if (generarPapel) {
+                asignaciones[g] = MotorDistribucion.asignar(juego, anterior.orden);
+            } else if (tramos[g][1] >= 0) {
+                asignaciones[g] = MotorDistribucion.reasignar(anterior.asignaciones[g], juego, anterior.orden,
+                        tramos[g][0], tramos[g][1]);
+            }
+            juegos.add(juego);
+        }
+
+        return armarResultado(new EstadoSimulacion(anterior.ids, nombres, anterior.orden, anterior.claves, juegos,
+                anterior.iniciosGenerados, asignaciones, anterior.semilla, anterior.mezclasEvaluadas, null));
+    }
+
+    /**
+     * Vuelve a armar una simulación guardada con {@link EstadoSimulacion#serializar()}. Reparte de nuevo
+     * cada juego con la fila guardada (no vuelve a mezclar), así que el estado admite {@link #resimular}
+     * como el original.
+     *
+     * @throws UnprocessableEntityException Si el reparto no da los rangos guardados: el motor cambió
+     *                                      desde la simulación y hay que volver a simular.
+     */
+    public SimulacionResultadoDTO restaurar(byte[] snapshot) {
+        SnapshotEstado.Leido guardado = SnapshotEstado.leer(snapshot);
+        EstadoSimulacion leido = guardado.estado();
+        AsignacionJuego[] asignaciones = MotorDistribucion.asignarTodos(leido.juegos, leido.orden,
+                leido.cantidadVendedores() >= UMBRAL_PARALELO ? distribucionPool : null);
+        for (int g = 0; g < asignaciones.length; g++) {
+            if (!guardado.mismosRangos(g, asignaciones[g])) {
+                throw new UnprocessableEntityException(
+                        "La simulación guardada no da los mismos rangos de " + nombreJuego(leido.claves[g])
+                                + " con esta versión del reparto.",
+                        List.of("Volvé a simular el proceso antes de recalcularlo o descargar los PDFs."));
+            }
+        }
+        return armarResultado(new EstadoSimulacion(leido.ids, leido.nombres, leido.orden, leido.claves, leido.juegos,
+                leido.iniciosGenerados, asignaciones, leido.semilla, leido.mezclasEvaluadas, leido.brechaOptimalidad));
+    }
+
+    /**
+     * Vendedores cuyos rangos cambiaron entre dos estados con la misma fila, en el orden del PDF de
+     * {@code nuevo}. Sólo se comparan las posiciones que {@code nuevo} volvió a repartir.
+     */
+    public SimulacionDeltaResultadoDTO compararConAnterior(EstadoSimulacion anterior, SimulacionResultadoDTO nuevo) {
+        EstadoSimulacion estado = nuevo.getEstado();
+        int n = estado.cantidadVendedores();
+
+        boolean[] cambiado = new boolean[n];
+        int vendedoresRecalculados = 0;
+        for (int g = 0; g < estado.cantidadJuegos(); g++) {
+            AsignacionJuego previa = anterior.asignaciones[g];
+            AsignacionJuego actual = estado.asignaciones[g];
+            marcarCambios(previa, actual, previa != actual, estado.orden, cambiado);
+            vendedoresRecalculados += recalculados(actual, previa != actual);
+        }
+
+        // Un cambio de nombre también se informa, aunque los rangos sean los mismos
+        for (int i = 0; i < n; i++) {
+            if (!Objects.equals(anterior.nombres[i], estado.nombres[i])) cambiado[i] = true;
+        }
+
+        // La vista del resultado está en el orden del PDF
+        VendedoresSimulados enOrden = (VendedoresSimulados) nuevo.getVendedores();
+        List<VendedorSimuladoDTO> vendedores = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (cambiado[enOrden.indices[i]]) vendedores.add(enOrden.get(i));
+        }
+
+        return SimulacionDeltaResultadoDTO.builder()
+                .semilla(estado.semilla)
+                .vendedoresRecalculados(vendedoresRecalculados)
+                .vendedores(vendedores)
+                .estadisticasSenete(nuevo.getEstadisticasSenete())
+                .estadisticasTelebingo(nuevo.getEstadisticasTelebingo())
+                .estadisticasJuegos(nuevo.getEstadisticasJuegos())
+                .build();
+    }
+
+    /**
+     * Vendedores cuyos rangos o nombre cambiaron respecto de una simulación completa anterior del mismo
+     * proceso, que puede tener otra fila, otros vendedores u otros juegos. Los vendedores se reconocen por
+     * id; sin ids, o sin {@code anterior}, se informan todos.
+     */
+    public SimulacionDeltaResultadoDTO diferenciasCon(EstadoSimulacion anterior, SimulacionResultadoDTO nuevo) {
+        EstadoSimulacion estado = nuevo.getEstado();
+        int n = estado.cantidadVendedores();
+
+        // previo[i] = índice del vendedor i en la simulación anterior (-1 si no estaba)
+        int[] previo = new int[n];
+        List<Long> quitados = new ArrayList<>();
+        if (anterior == null) {
+            Arrays.fill(previo, -1);
+        } else if (Arrays.equals(anterior.ids, estado.ids)) {
+            // Caso habitual: la misma planilla, comparación posición a posición
+            for (int i = 0; i < n; i++) previo[i] = estado.ids[i] == null ? -1 : i;
+        } else {
+            Map<Long, Integer> indices = new HashMap<>();
+            for (int j = 0; j < anterior.ids.length; j++) {
+                if (anterior.ids[j] != null) indices.put(anterior.ids[j], j);
+            }
+            for (int i = 0; i < n; i++) {
+                Integer j = estado.ids[i] == null ? null : indices.remove(estado.ids[i]);
+                previo[i] = j == null ? -1 : j;
+            }
+            quitados.addAll(indices.keySet());
+            Collections.sort(quitados);
+        }
+
+        boolean[] cambiado = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            cambiado[i] = previo[i] < 0 || !Objects.equals(anterior.nombres[previo[i]], estado.nombres[i]);
+        }
+
+        int[] posicion = posiciones(estado.orden);
+        int[] posicionAnterior = anterior == null ? null : posiciones(anterior.orden);
+        for (int g = 0; g < estado.cantidadJuegos(); g++) {
+            AsignacionJuego actual = estado.asignaciones[g];
+            int ga = anterior == null ? -1 : Arrays.asList(anterior.claves).indexOf(estado.claves[g]);
+            for (int i = 0; i < n; i++) {
+                if (cambiado[i]) continue;
+                cambiado[i] = ga < 0
+                        ? actual.cantidadRangos(posicion[i]) > 0
+                        : !actual.mismosRangos(posicion[i], anterior.asignaciones[ga], posicionAnterior[previo[i]]);
+            }
+        }
+        // Un juego que ya no se reparte cambia a quienes tenían cartones de él
+        if (anterior != null) {
+            for (int ga = 0; ga < anterior.cantidadJuegos(); ga++) {
+                if (Arrays.asList(estado.claves).contains(anterior.claves[ga])) continue;
+                for (int i = 0; i < n; i++) {
+                    if (!cambiado[i] && anterior.asignaciones[ga].cantidadRangos(posicionAnterior[previo[i]]) > 0) cambiado[i] = true;
+                }
+            }
+        }
+
+        VendedoresSimulados enOrden = (VendedoresSimulados) nuevo.getVendedores();
+        List<VendedorSimuladoDTO> vendedores = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (cambiado[enOrden.indices[i]]) vendedores.add(enOrden.get(i));
+        }
+
+        return SimulacionDeltaResultadoDTO.builder()
+                .semilla(estado.semilla)
+                .vendedoresRecalculados(n)
+                .vendedores(vendedores)
+                .vendedoresQuitados(quitados)
+                .estadisticasSenete(nuevo.getEstadisticasSenete())
+                .estadisticasTelebingo(nuevo.getEstadisticasTelebingo())
+                .estadisticasJuegos(nuevo.getEstadisticasJuegos())
+                .build();
+    }
+
+    // posiciones[i] = posición de la fila en la que se atendió al vendedor i
+    private static int[] posiciones(int[] orden) {
+        int[] posiciones = new int[orden.length];
+        for (int p = 0; p < orden.length; p++) posiciones[orden[p]] = p;
+        return posiciones;
+    }
+
+    private static void marcarCambios(AsignacionJuego anterior, AsignacionJuego nuevo, boolean recalculado,
+                                      int[] orden, boolean[] cambiado) {
+        if (!recalculado) return;
+        for (int p = nuevo.recalculadoDesde(); p < nuevo.recalculadoHasta(); p++) {
+            if (!nuevo.mismosRangos(p, anterior)) cambiado[orden[p]] = true;
+        }
+    }
+
+    private static int recalculados(AsignacionJuego asignacion, boolean recalculado) {
+        return recalculado ? asignacion.recalculadoHasta() - asignacion.recalculadoDesde() : 0;
+    }
+
+    /**
+     * Aplica el cambio de un juego sobre los pedidos. Devuelve si el pedido quedó distinto.
+     *
+     * @param terminacion Código de terminación ya normalizado, o {@code null} si no cambia.
+     */
+    private static boolean aplicarCambio(int indice, Integer cantidad, Integer terminacion,
+                                         int[] cantidades, int[] terminaciones) {
+        int nuevaCantidad = cantidad != null ? cantidad : cantidades[indice];
+        int nuevaTerminacion = terminacion != null ? terminacion : terminaciones[indice];
+        boolean cambio = nuevaCantidad != cantidades[indice] || nuevaTerminacion != terminaciones[indice];
+        cantidades[indice] = nuevaCantidad;
+        terminaciones[indice] = nuevaTerminacion;
+        return cambio;
+    }
+
+    /**
+     * Ordena por rango de Seneté para el PDF (1, 2, 3...) y arma la vista de vendedores.
+     * El índice original desempata (orden estable).
+     */
+    private SimulacionResultadoDTO armarResultado(EstadoSimulacion estado) {
+        int n = estado.cantidadVendedores();
+        int[] orden = estado.orden;
+
+        long[] claves = new long[n];
+        for (int p = 0; p < n; p++) {
+            int clave = extraerInicioOrdenamiento(estado.asignaciones, p);
+            claves[p] = ((long) clave << 32) | orden[p];
+        }
+        Arrays.sort(claves);
+
+        int[] posicionEnFila = new int[n];
+        for (int p = 0; p < n; p++) posicionEnFila[orden[p]] = p;
+
+        // Los DTOs se arman recién al leerlos: la lista es una vista sobre los arreglos del motor
+        int[] indices = new int[n];
+        int[] posiciones = new int[n];
+        for (int i = 0; i < n; i++) {
+            indices[i] = (int) claves[i];
+            posiciones[i] = posicionEnFila[indices[i]];
+        }
+        List<VendedorSimuladoDTO> resultado = new VendedoresSimulados(indices, posiciones, estado);
+
+        EstadisticasJuego[] estadisticas = new EstadisticasJuego[estado.cantidadJuegos()];
+        for (int g = 0; g < estadisticas.length; g++) estadisticas[g] = estado.asignaciones[g].estadisticas();
+
+        return SimulacionResultadoDTO.builder()
+                .vendedores(resultado)
+                .semilla(estado.semilla)
+                .mezclasEvaluadas(estado.mezclasEvaluadas)
+                .brechaOptimalidad(estado.brechaOptimalidad)
+                .estadisticasSenete(estadisticas[JUEGO_SENETE])
+                .estadisticasTelebingo(estadisticas[JUEGO_TELEBINGO])
+                .estadisticasJuegos(adicionales(estado.claves, estadisticas))
+                .estado(estado)
+                .build();
+    }
+
+    /**
+     * Evalúa varias configuraciones de pilas con los mismos vendedores y la misma mezcla, en paralelo.
+     * Sólo calcula totales: no arma rangos, no toca el proceso ni la distribución guardada.
+     */
+    public SimulacionLoteResultadoDTO simularVariantes(SimulacionLoteRequestDTO request) {
+
+        List<VariantePoolDTO> variantes = request.getVariantes();
+        List<List<PapelJuego>> papelesPorVariante = new ArrayList<>(variantes.size());
+        for (int i = 0; i < variantes.size(); i++) {
+            VariantePoolDTO variante = variantes.get(i);
+            List<PapelJuego> papeles = papeles(variante.getPoolSenete(), variante.getInicioSeneteGral(),
+                    variante.getPoolTelebingo(), variante.getInicioTelebingoGral(), variante.getJuegos());
+            if (papeles.stream().noneMatch(PapelJuego::configurado)) {
+                throw new IllegalArgumentException("La variante " + i + " no configura ningún rango para Seneté ni Telebingo.");
+            }
+            papelesPorVariante.add(papeles);
+        }
+
+        int n = request.getVendedores().size();
+
+        // Misma fila para todas: las diferencias se deben sólo a las pilas
+        Long semilla = null;
+        if (request.isMezclar()) {
+            semilla = request.getSemilla() != null ? request.getSemilla() : ThreadLocalRandom.current().nextLong();
+        }
+        int[] orden = semilla != null ? Mezclador.permutacion(n, semilla) : null;
+
+        List<ForkJoinTask<VarianteResultadoDTO>> tareas = new ArrayList<>(variantes.size());
+        for (int i = 0; i < variantes.size(); i++) {
+            int indice = i;
+            tareas.add(distribucionPool.submit(() -> evaluarVariante(
+                    indice, variantes.get(indice).getNombre(), papelesPorVariante.get(indice), request.getVendedores(), orden)));
+        }
+
+        List<VarianteResultadoDTO> resultados = new ArrayList<>(tareas.size());
+        for (ForkJoinTask<VarianteResultadoDTO> tarea : tareas) {
+            resultados.add(tarea.join());
+        }
+
+        return SimulacionLoteResultadoDTO.builder()
+                .semilla(semilla)
+                .variantes(resultados)
+                .build();
+    }
+
+    // --- MÉTODOS AUXILIARES ---
+
+    /**
+     * Fila de atención de la solicitud: VIP optimizados, sin mezclar, con la semilla pedida, la mejor de N
+     * mezclas o una semilla al azar, en ese orden de prioridad.
+     */
+    private Fila elegirFila(SimulacionRequestDTO request, List<Juego> juegos) {
+        int n = request.getVendedores().size();
+        long presupuestoMs = request.getPresupuestoMezclaMs() != null ? request.getPresupuestoMezclaMs() : PRESUPUESTO_MEZCLA_MS;
+        Long semilla = null;
+        Integer mezclasEvaluadas = null;
+        Long brechaOptimalidad = null;
+        int[] orden;
+        if (request.isOptimizarVip()) {
+            // Los vendedores sin terminación quedan en orden de carga y se buscan huecos para los VIP.
+            // La fila no sale de una semilla: para repetirla se usa la simulación guardada.
+            OptimizadorVip.Resultado optimizacion = OptimizadorVip.optimizar(
+                    distribucionPool,
+                    juegos,
+                    n,
+                    request.getIntentosMezcla() != null ? request.getIntentosMezcla() : INTENTOS_OPTIMIZACION_VIP,
+                    ThreadLocalRandom.current().nextLong(),
+                    TimeUnit.MILLISECONDS.toNanos(presupuestoMs)
+            );
+            log.info("Optimización de VIP: {} evaluadas, {} cartones quemados, brecha {}",
+                    optimizacion.evaluadas(), optimizacion.cartonesQuemados(), optimizacion.brecha());
+            mezclasEvaluadas = optimizacion.evaluadas();
+            brechaOptimalidad = optimizacion.brecha();
+            orden = optimizacion.orden();
+        } else if (!request.isMezclar()) {
+            orden = Mezclador.identidad(n);
+        } else if (request.getSemilla() != null) {
+            // Reproducción exacta de una simulación anterior
+            semilla = request.getSemilla();
+            orden = Mezclador.permutacion(n, semilla);
+        } else if (request.getIntentosMezcla() != null && request.getIntentosMezcla() > 1) {
+            // Mejor de N: nos quedamos con la mezcla que menos papel quema
+            BuscadorMezcla.Resultado busqueda = BuscadorMezcla.buscar(
+                    distribucionPool,
+                    juegos,
+                    n,
+                    request.getIntentosMezcla(),
+                    ThreadLocalRandom.current().nextLong(),
+                    TimeUnit.MILLISECONDS.toNanos(presupuestoMs)
+            );
+            log.info("Búsqueda de mezcla: {} evaluadas, mejor semilla {} con {} cartones quemados",
+                    busqueda.evaluadas(), busqueda.semilla(), busqueda.cartonesQuemados());
+            semilla = busqueda.semilla();
+            mezclasEvaluadas = busqueda.evaluadas();
+            orden = Mezclador.permutacion(n, semilla);
+        } else {
+            semilla = ThreadLocalRandom.current().nextLong();
+            orden = Mezclador.permutacion(n, semilla);
+        }
+        return new Fila(orden, semilla, mezclasEvaluadas, brechaOptimalidad);
+    }
+
+    private VarianteResultadoDTO evaluarVariante(int indice, String nombre, List<PapelJuego> papeles,
+                                                 List<VendedorInputDTO> vendedores, int[] orden) {
+        String[] claves = claves(papeles);
+        List<Juego> juegos = armarJuegos(papeles, Demanda.de(vendedores, claves));
+        EstadisticasJuego[] estadisticas = evaluarJuegos(juegos, orden);
+
+        long cartonesQuemados = 0;
+        for (EstadisticasJuego e : estadisticas) cartonesQuemados += e.cartonesQuemados();
+
+        return VarianteResultadoDTO.builder()
+                .indice(indice)
+                .nombre(nombre)
+                .cartonesQuemados(cartonesQuemados)
+                .senete(estadisticas[JUEGO_SENETE])
+                .telebingo(estadisticas[JUEGO_TELEBINGO])
+                .juegos(adicionales(claves, estadisticas))
+                .build();
+    }
+
+    private static EstadisticasJuego[] evaluarJuegos(List<Juego> juegos, int[] orden) {
+        EstadisticasJuego[] estadisticas = new EstadisticasJuego[juegos.size()];
+        for (int g = 0; g < estadisticas.length; g++) {
+            estadisticas[g] = MotorDistribucion.evaluar(juegos.get(g), orden);
+        }
+        return estadisticas;
+    }
+
+    /**
+     * Totales de los juegos adicionales por clave, en el orden de los juegos.
+     */
+    private static Map<String, EstadisticasJuego> adicionales(String[] claves, EstadisticasJuego[] estadisticas) {
+        Map<String, EstadisticasJuego> porClave = new LinkedHashMap<>();
+        for (int g = JUEGO_TELEBINGO + 1; g < claves.length; g++) {
+            porClave.put(claves[g], estadisticas[g]);
+        }
+        return porClave;
+    }
+
+    /**
+     * Vendedores simulados en el orden del PDF, como vista de sólo lectura sobre las asignaciones.
+     * Cada elemento se arma al pedirlo, así la respuesta (y la copia en memoria para los PDFs) ocupa
+     * los rangos empaquetados del motor en lugar de una lista de DTOs.
+     */
+    private static final class VendedoresSimulados extends AbstractList<VendedorSimuladoDTO> implements RandomAccess {
+        // Índice original y posición en la fila de cada vendedor, en el orden del PDF
+        private final int[] indices;
+        private final int[] posiciones;
+        private final EstadoSimulacion estado;
+
+        private VendedoresSimulados(int[] indices, int[] posiciones, EstadoSimulacion estado) {
+            this.indices = indices;
+            this.posiciones = posiciones;
+            this.estado = estado;
+        }
+
+        @Override
+        public VendedorSimuladoDTO get(int i) {
+            int p = posiciones[i];
+            Map<String, RangosCartones> rangosJuegos = null;
+            if (estado.cantidadJuegos() > JUEGO_TELEBINGO + 1) {
+                rangosJuegos = new LinkedHashMap<>();
+                for (int g = JUEGO_TELEBINGO + 1; g < estado.cantidadJuegos(); g++) {
+                    rangosJuegos.put(estado.claves[g], estado.asignaciones[g].rangosDe(p));
+                }
+            }
+            return VendedorSimuladoDTO.builder()
+                    .id(estado.ids[indices[i]])
+                    .nombre(estado.nombres[indices[i]])
+                    .rangosSenete(estado.asignaciones[JUEGO_SENETE].rangosDe(p))
+                    .rangosTelebingo(estado.asignaciones[JUEGO_TELEBINGO].rangosDe(p))
+                    .rangosJuegos(rangosJuegos)
+                    .build();
+        }
+
+        @Override
+        public int size() {
+            return posiciones.length;
+        }
+    }
+
+    /**
+     * Orden de atención elegido y cómo se obtuvo.
+     *
+     * @param orden             Índices originales de los vendedores en orden de atención.
+     * @param semilla           Semilla de la mezcla elegida, o {@code null} si no se mezcló.
+     * @param mezclasEvaluadas  Filas candidatas evaluadas, o {@code null} si no se buscó ninguna.
+     * @param brechaOptimalidad Con VIP optimizados, lo que como mucho quedó por ganar al cortar la búsqueda.
+     */
+    private record Fila(int[] orden, Long semilla, Integer mezclasEvaluadas, Long brechaOptimalidad) {}
+
+    /**
+     * Papel configurado para un juego: rangos cortados o el inicio de una pila generada.
+     */
+    private record PapelJuego(String clave, List<RangoCortadoDTO> pool, Integer inicioGeneral) {
+        boolean configurado() {
+            return tieneConfiguracion(pool, inicioGeneral);
+        }
+    }
+
+    /**
+     * Pedidos de cada juego indexados por la posición original del vendedor, con los juegos en el orden
+     * de {@code claves}.
+     */
+    record Demanda(int[][] cantidades, int[][] terminaciones, Terminaciones[][] conjuntos) {
+
+        static Demanda de(List<VendedorInputDTO> vendedores, String[] claves) {
+            int n = vendedores.size();
+            int[][] cantidades = new int[claves.length][n];
+            int[][] terminaciones = new int[claves.length][n];
+            ConjuntosJuego[] conjuntos = new ConjuntosJuego[claves.length];
+            for (int g = 0; g < claves.length; g++) conjuntos[g] = new ConjuntosJuego(null);
+
+            for (int i = 0; i < n; i++) {
+                VendedorInputDTO v = vendedores.get(i);
+                for (int g = 0; g < claves.length; g++) {
+                    Integer cantidad = cantidadDe(v, g, claves[g]);
+                    cantidades[g][i] = cantidad == null ? 0 : cantidad;
+                    terminaciones[g][i] = codificarTerminacion(
+                            terminacionDe(v, g, claves[g]), terminacionesDe(v, g, claves[g]), conjuntos[g]);
+                }
+            }
+
+            Terminaciones[][] porJuego = new Terminaciones[claves.length][];
+            for (int g = 0; g < claves.length; g++) porJuego[g] = conjuntos[g].comoArreglo();
+            return new Demanda(cantidades, terminaciones, porJuego);
+        }
+    }
+
+    /**
+     * Conjuntos de terminaciones distintos de un juego. Los vendedores que aceptan las mismas comparten
+     * el conjunto, y con él su tabla de saltos.
+     */
+    private static final class ConjuntosJuego {
+        private final List<Terminaciones> lista = new ArrayList<>();
+        private final Map<Terminaciones, Integer> indices = new HashMap<>();
+
+        ConjuntosJuego(Terminaciones[] previos) {
+            if (previos != null) {
+                for (Terminaciones conjunto : previos) codigo(conjunto);
+            }
+        }
+
+        int codigo(Terminaciones conjunto) {
+            Integer indice = indices.get(conjunto);
+            if (indice == null) {
+                indice = lista.size();
+                lista.add(conjunto);
+                indices.put(conjunto, indice);
+            }
+            return MotorDistribucion.codigoConjunto(indice);
+        }
+
+        Terminaciones[] comoArreglo() {
+            return lista.isEmpty() ? null : lista.toArray(new Terminaciones[0]);
+        }
+    }
+
+    /**
+     * Seneté, Telebingo y los juegos adicionales ordenados por clave.
+     */
+    private static List<PapelJuego> papeles(List<RangoCortadoDTO> poolSenete, Integer inicioSenete,
+                                            List<RangoCortadoDTO> poolTelebingo, Integer inicioTelebingo,
+                                            Map<String, ConfiguracionJuegoDTO> adicionales) {
+        List<PapelJuego> papeles = new ArrayList<>();
+        papeles.add(new PapelJuego(CLAVE_SENETE, poolSenete, inicioSenete));
+        papeles.add(new PapelJuego(CLAVE_TELEBINGO, poolTelebingo, inicioTelebingo));
+        if (adicionales == null) return papeles;
+
+        for (Map.Entry<String, ConfiguracionJuegoDTO> entrada : new TreeMap<>(adicionales).entrySet()) {
+            String clave = entrada.getKey();
+            ConfiguracionJuegoDTO configuracion = entrada.getValue();
+            if (clave.isBlank() || clave.equalsIgnoreCase(CLAVE_SENETE) || clave.equalsIgnoreCase(CLAVE_TELEBINGO)) {
+                throw new IllegalArgumentException("La clave de juego '" + clave + "' no es válida para un juego adicional.");
+            }
+            if (configuracion == null || !tieneConfiguracion(configuracion.getPool(), configuracion.getInicioGral())) {
+                throw new IllegalArgumentException("El juego '" + clave + "' no configura ningún rango.");
+            }
+            papeles.add(new PapelJuego(clave, configuracion.getPool(), configuracion.getInicioGral()));
+        }
+        return papeles;
+    }
+
+    private static String[] claves(List<PapelJuego> papeles) {
+        return papeles.stream().map(PapelJuego::clave).toArray(String[]::new);
+    }
+
+    private List<Juego> armarJuegos(List<PapelJuego> papeles, Demanda demanda) {
+        List<Juego> juegos = new ArrayList<>(papeles.size());
+        for (int g = 0; g < papeles.size(); g++) {
+            PapelJuego papel = papeles.get(g);
+            long necesarios = papel.inicioGeneral() == null ? 0 : PlanificadorPapel.cartonesMaximos(
+                    demanda.cantidades()[g], demanda.terminaciones()[g], demanda.conjuntos()[g], papel.inicioGeneral());
+            PoolCartones pool = convertirPool(nombreJuego(papel.clave()), papel.pool(), papel.inicioGeneral(), necesarios);
+            juegos.add(new Juego(pool, demanda.cantidades()[g], demanda.terminaciones()[g], demanda.conjuntos()[g]));
+        }
+        return juegos;
+    }
+
+    /**
+     * @param cartonesNecesarios Largo de la pila si se genera desde {@code inicioGeneral}
+     *                           (ver {@link PlanificadorPapel#cartonesMaximos}).
+     */
+    private PoolCartones convertirPool(String juego, List<RangoCortadoDTO> rangosCortados, Integer inicioGeneral,
+                                       long cartonesNecesarios) {
+        if (rangosCortados != null && !rangosCortados.isEmpty()) {
+            int[] inicios = new int[rangosCortados.size()];
+            int[] fines = new int[rangosCortados.size()];
+            for (int i = 0; i < inicios.length; i++) {
+                inicios[i] = rangosCortados.get(i).getInicio();
+                fines[i] = rangosCortados.get(i).getFin();
+            }
+
+            // Ordenamos, fusionamos contiguos y rechazamos cartones repetidos
+            NormalizadorPool.Resultado normalizado = NormalizadorPool.normalizar(inicios, fines);
+            if (normalizado.tieneSuperposiciones()) {
+                throw new UnprocessableEntityException(
+                        "Los rangos de " + juego + " se superponen: un mismo cartón se entregaría dos veces.",
+                        detallarSuperposiciones(normalizado.superposiciones()));
+            }
+            log.info("Pool de {}: {} rangos recibidos, {} bloques normalizados", juego, inicios.length, normalizado.cantidadBloques());
+            return normalizado.comoPool();
+        }
+        if (inicioGeneral != null) {
+            log.info("El fin calculado es: {}", inicioGeneral + cartonesNecesarios - 1);
+            return PlanificadorPapel.pilaGenerada(inicioGeneral, cartonesNecesarios);
+        }
+        return PoolCartones.vacio();
+    }
+
+    private void validarConfiguracion(List<PapelJuego> papeles) {
+        if (papeles.stream().noneMatch(PapelJuego::configurado)) {
+            throw new IllegalArgumentException("Debes configurar al menos un rango para Seneté o Telebingo.");
+        }
+    }
+
+    /**
+     * Los pedidos de juegos adicionales tienen que ser de un juego configurado en la solicitud.
+     */
+    private static void validarPedidos(List<VendedorInputDTO> vendedores, String[] claves) {
+        Set<String> adicionales = new HashSet<>(Arrays.asList(claves).subList(JUEGO_TELEBINGO + 1, claves.length));
+        for (VendedorInputDTO v : vendedores) {
+            if (v.getPedidos() == null) continue;
+            for (String clave : v.getPedidos().keySet()) {
+                if (!adicionales.contains(clave)) {
+                    throw new IllegalArgumentException("El vendedor con ID " + v.getId()
+                            + " pide cartones del juego '" + clave + "', que no está configurado.");
+                }
+            }
+        }
+    }
+
+    private static Integer cantidadDe(VendedorInputDTO vendedor, int juego, String clave) {
+        return switch (juego) {
+            case JUEGO_SENETE -> vendedor.getCantidadSenete();
+            case JUEGO_TELEBINGO -> vendedor.getCantidadTelebingo();
+            default -> {
+                PedidoJuegoDTO pedido = vendedor.getPedidos() == null ? null : vendedor.getPedidos().get(clave);
+                yield pedido == null ? null : pedido.getCantidad();
+            }
+        };
+    }
+
+    private static Integer terminacionDe(VendedorInputDTO vendedor, int juego, String clave) {
+        return switch (juego) {
+            case JUEGO_SENETE -> vendedor.getTerminacionSenete();
+            case JUEGO_TELEBINGO -> vendedor.getTerminacionTelebingo();
+            default -> {
+                PedidoJuegoDTO pedido = vendedor.getPedidos() == null ? null : vendedor.getPedidos().get(clave);
+                yield pedido == null ? null : pedido.getTerminacion();
+            }
+        };
+    }
+
+    private static List<Integer> terminacionesDe(VendedorInputDTO vendedor, int juego, String clave) {
+        return switch (juego) {
+            case JUEGO_SENETE -> vendedor.getTerminacionesSenete();
+            case JUEGO_TELEBINGO -> vendedor.getTerminacionesTelebingo();
+            default -> {
+                PedidoJuegoDTO pedido = vendedor.getPedidos() == null ? null : vendedor.getPedidos().get(clave);
+                yield pedido == null ? null : pedido.getTerminaciones();
+            }
+        };
+    }
+
+    /**
+     * Código de terminación de un pedido. Con lista, el vendedor acepta cualquiera de esas terminaciones
+     * (y la suelta, si vino): una sola se guarda como terminación común y varias como conjunto del juego.
+     * Sin lista vale sólo la terminación suelta, como siempre.
+     */
+    private static int codificarTerminacion(Integer terminacion, List<Integer> varias, ConjuntosJuego conjuntos) {
+        if (varias == null) return normalizarTerminacion(terminacion);
+
+        int[] aceptadas = Stream.concat(varias.stream(), Stream.ofNullable(terminacion))
+                .filter(t -> t != null && t >= 0)
+                .mapToInt(Integer::intValue)
+                .distinct()
+                .toArray();
+        if (aceptadas.length == 0) return MotorDistribucion.SIN_TERMINACION;
+        if (aceptadas.length == 1) return aceptadas[0];
+        return conjuntos.codigo(Terminaciones.de(aceptadas));
+    }
+
+    static String nombreJuego(String clave) {
+        return switch (clave) {
+            case CLAVE_SENETE -> SENETE;
+            case CLAVE_TELEBINGO -> TELEBINGO;
+            default -> clave;
+        };
+    }
+
+    private static List<String> detallarSuperposiciones(List<NormalizadorPool.Superposicion> superposiciones) {
+        List<String> detalles = new ArrayList<>();
+        for (NormalizadorPool.Superposicion s : superposiciones) {
+            if (detalles.size() == MAX_DETALLES_SUPERPOSICION) {
+                detalles.add("... y " + (superposiciones.size() - MAX_DETALLES_SUPERPOSICION) + " superposiciones más");
+                break;
+            }
+            detalles.add(s.inicioA() + "-" + s.finA() + " y " + s.inicioB() + "-" + s.finB()
+                    + " comparten " + s.desde() + "-" + s.hasta());
+        }
+        return detalles;
+    }
+
+    private static Integer inicioGenerado(List<RangoCortadoDTO> pool, Integer inicioGeneral) {
+        return (pool == null || pool.isEmpty()) ? inicioGeneral : null;
+    }
+
+    private static boolean tieneConfiguracion(List<RangoCortadoDTO> pool, Integer inicioGeneral) {
+        return (pool != null && !pool.isEmpty()) || inicioGeneral != null;
+    }
+
+    private static int normalizarTerminacion(Integer terminacion) {
+        return (terminacion != null && terminacion >= 0) ? terminacion : MotorDistribucion.SIN_TERMINACION;
+    }
+
+    /**
+     * Inicio del primer rango del vendedor en el primer juego donde recibió algo (Seneté primero).
+     */
+    private static int extraerInicioOrdenamiento(AsignacionJuego[] asignaciones, int posicion) {
+        for (AsignacionJuego asignacion : asignaciones) {
+            if (asignacion.cantidadRangos(posicion) == 0) continue;
+
+            // Los rangos negativos no empiezan con dígito y quedan al final, igual que con el texto "a-b"
+            int inicio = asignacion.inicio(posicion, 0);
+            return inicio >= 0 ? inicio : Integer.MAX_VALUE;
+        }
+        return Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,110 @@
+package com.eliasgonzalez.cartones.pdf.service;
+
+import com.eliasgonzalez.cartones.pdf.engine.AsignacionJuego;
+import com.eliasgonzalez.cartones.pdf.engine.IndiceEntregas;
+import com.eliasgonzalez.cartones.pdf.engine.Juego;
+
+import java.util.List;
+
+/**
+ * Todo lo necesario para rehacer una simulación a partir de un cambio: los pedidos, la fila, el papel
+ * sin consumir y los repartos con sus puntos de control. Es inmutable; cada cambio produce otro estado.
+ */
+public final class EstadoSimulacion {
+
+    // Datos de cada vendedor indexados por su posición original
+    final Long[] ids;
+    final String[] nombres;
+
+    // orden[p] = índice original del vendedor atendido en la posición p
+    final int[] orden;
+
+    // Un elemento por juego, en el mismo orden: Seneté, Telebingo y los adicionales por clave
+    final String[] claves;
+
+    // Pedidos y pilas con el cursor al principio: cada reparto trabaja sobre una copia
+    final List<Juego> juegos;
+
+    // Inicio de las pilas generadas a partir de la demanda (null si se cargaron los rangos cortados)
+    final Integer[] iniciosGenerados;
+
+    final AsignacionJuego[] asignaciones;
+
+    final Long semilla;
+    final Integer mezclasEvaluadas;
+
+    // Con VIP optimizados, lo que quedó por ganar al cortar la búsqueda (null si no se optimizó o hubo cambios)
+    final Long brechaOptimalidad;
+
+    EstadoSimulacion(Long[] ids, String[] nombres, int[] orden, String[] claves, List<Juego> juegos,
+                     Integer[] iniciosGenerados, AsignacionJuego[] asignaciones,
+                     Long semilla, Integer mezclasEvaluadas, Long brechaOptimalidad) {
+        this.ids = ids;
+        this.nombres = nombres;
+        this.orden = orden;
+        this.claves = claves;
+        this.juegos = juegos;
+        this.iniciosGenerados = iniciosGenerados;
+        this.asignaciones = asignaciones;
+        this.semilla = semilla;
+        this.mezclasEvaluadas = mezclasEvaluadas;
+        this.brechaOptimalidad = brechaOptimalidad;
+    }
+
+    public int cantidadVendedores() {
+        return orden.length;
+    }
+
+    public int cantidadJuegos() {
+        return claves.length;
+    }
+
+    public String clave(int juego) {
+        return claves[juego];
+    }
+
+    public AsignacionJuego asignacion(int juego) {
+        return asignaciones[juego];
+    }
+
+    /**
+     * Indica si además de Seneté y Telebingo se repartieron juegos adicionales, que no salen en los PDFs.
+     */
+    public boolean tieneJuegosAdicionales() {
+        return claves.length > DistribucionService.JUEGO_TELEBINGO + 1;
+    }
+
+    /**
+     * Memoria aproximada que ocupa el estado: datos de los vendedores, la fila y, por juego, los rangos
+     * repartidos con sus pedidos y puntos de control. Sirve para acotar cuántas simulaciones se guardan.
+     */
+    public long bytesEstimados() {
+        long bytes = 0;
+        for (int i = 0; i < ids.length; i++) {
+            // Long, String con su arreglo, la celda de la fila y las referencias
+            bytes += 16 + 56 + (nombres[i] == null ? 0 : nombres[i].length()) + 4 + 16;
+        }
+        for (AsignacionJuego asignacion : asignaciones) {
+            if (asignacion == null) continue;
+            bytes += 4L * (orden.length + 1) + 8L * asignacion.totalRangos() + 16L * orden.length;
+        }
+        return bytes;
+    }
+
+    /**
+     * Snapshot compacto para guardar el estado fuera de la memoria; se vuelve a armar con
+     * {@link DistribucionService#restaurar(byte[])}.
+     */
+    public byte[] serializar() {
+        return SnapshotEstado.escribir(this);
+    }
+
+    /**
+     * Quién recibió cada cartón del juego, con el id de cada vendedor como dueño.
+     */
+    public IndiceEntregas indiceEntregas(int juego) {
+        long[] duenos = new long[orden.length];
+        for (int p = 0; p < orden.length; p++) duenos[p] = ids[orden[p]];
+        return IndiceEntregas.de(asignaciones[juego], duenos);
+    }
+}
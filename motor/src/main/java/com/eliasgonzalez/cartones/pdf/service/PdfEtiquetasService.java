@@ -0,0 +1,285 @@
+package com.eliasgonzalez.cartones.pdf.service;
+
+import com.eliasgonzalez.cartones.pdf.dto.EtiquetaDTO;
+import com.eliasgonzalez.cartones.pdf.dto.RangosCartones;
+import com.eliasgonzalez.cartones.shared.exception.PdfCreationException;
+import com.lowagie.text.Document;
+import com.lowagie.text.Element;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.pdf.BaseFont;
+import com.lowagie.text.pdf.PdfContentByte;
+import com.lowagie.text.pdf.PdfWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Servicio encargado de la generación física del documento PDF conteniendo las etiquetas
+ * de distribución para los vendedores.
+ * <p>
+ * Utiliza la librería OpenPDF (com.lowagie) para el dibujo de bajo nivel (canvas).
+ * Diseño optimizado para hoja A4 con 3 etiquetas por página.
+ */
+public class PdfEtiquetasService {
+
+    /**
+     * Genera un arreglo de bytes (PDF) con las etiquetas formateadas.
+     *
+     * @param etiquetas      Lista de DTOs con la información de cada vendedor.
+     * @param fechaSenete    Fecha del sorteo de Seneté.
+     * @param fechaTelebingo Fecha del sorteo de Telebingo.
+     * @return byte[] conteniendo el archivo PDF.
+     */
+    public byte[] generarEtiquetas(List<EtiquetaDTO> etiquetas, LocalDate fechaSenete, LocalDate fechaTelebingo) {
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            try (Escritor escritor = abrir(baos, fechaSenete, fechaTelebingo)) {
+                if (etiquetas != null) {
+                    for (EtiquetaDTO etiqueta : etiquetas) escritor.agregar(etiqueta);
+                }
+            }
+            return baos.toByteArray();
+
+        } catch (PdfCreationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw error(e);
+        }
+    }
+
+    /**
+     * Abre un PDF de etiquetas sobre {@code salida} para ir agregándolas de a una. OpenPDF escribe cada
+     * página en la salida al pasar a la siguiente, así que en memoria queda sólo la página actual.
+     */
+    public Escritor abrir(OutputStream salida, LocalDate fechaSenete, LocalDate fechaTelebingo) {
+        try {
+            return new Escritor(salida, fechaSenete, fechaTelebingo);
+        } catch (Exception e) {
+            throw error(e);
+        }
+    }
+
+    private static PdfCreationException error(Exception e) {
+        return new PdfCreationException("Error generando el PDF de etiquetas. Detalle: " + e.getMessage(), List.of(String.valueOf(e.getMessage())));
+    }
+
+    /**
+     * PDF de etiquetas en construcción, 3 por página. Al cerrarlo sin etiquetas queda un PDF válido
+     * con un aviso.
+     */
+    public final class Escritor implements AutoCloseable {
+
+        private final Document document;
+        private final PdfContentByte cb;
+        private final LocalDate fechaSenete;
+        private final LocalDate fechaTelebingo;
+
+        // --- 1. CONFIGURACIÓN DE DIMENSIONES Y CONSTANTES ---
+        private final float width = PageSize.A4.getWidth();
+        private final float height = PageSize.A4.getHeight();
+        private final float margen = 20;    // Margen lateral de la hoja
+        private final float espV = 15;      // Espacio vertical entre etiquetas
+
+        // Cálculo: (AltoTotal - MárgenesSupInf - EspaciosEntreEtiquetas) / 3 etiquetas
+        private final float altoEt = (height - 2 * margen - 2 * espV) / 3;
+
+        // --- 2. DEFINICIÓN DE FUENTES ---
+        private final BaseFont helv;
+        private final BaseFont bold;
+
+        // --- 3. FORMATEO DE FECHAS (al dibujar la primera etiqueta) ---
+        private String txtFechaSenete;
+        private String txtFechaTelebingo;
+        private boolean fechasIguales;
+
+        private int cantidad;
+
+        private Escritor(OutputStream salida, LocalDate fechaSenete, LocalDate fechaTelebingo) throws Exception {
+            // Configuración del documento A4 sin márgenes automáticos (manejados manualmente)
+            this.document = new Document(PageSize.A4);
+            PdfWriter writer = PdfWriter.getInstance(document, salida);
+            document.open();
+            this.cb = writer.getDirectContent();
+            this.fechaSenete = fechaSenete;
+            this.fechaTelebingo = fechaTelebingo;
+            this.helv = BaseFont.createFont(BaseFont.HELVETICA, BaseFont.CP1252, BaseFont.NOT_EMBEDDED);
+            this.bold = BaseFont.createFont(BaseFont.HELVETICA_BOLD, BaseFont.CP1252, BaseFont.NOT_EMBEDDED);
+        }
+
+        /**
+         * Dibuja la próxima etiqueta; cada 3 empieza una página nueva.
+         */
+        public void agregar(EtiquetaDTO item) {
+            try {
+                if (cantidad == 0) {
+                    DateTimeFormatter fmt = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+                    txtFechaSenete = fechaSenete.format(fmt);
+                    txtFechaTelebingo = fechaTelebingo.format(fmt);
+                    fechasIguales = fechaSenete.isEqual(fechaTelebingo);
+                } else if (cantidad % 3 == 0) {
+                    // I. PAGINACIÓN: la página anterior ya tiene sus 3 etiquetas
+                    document.newPage();
+                }
+                dibujar(item, cantidad++);
+            } catch (Exception e) {
+                throw error(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                // Si no hubo etiquetas, genera un PDF vacío válido.
+                if (cantidad == 0) {
+                    document.add(new com.lowagie.text.Paragraph("No hay etiquetas para generar.")); // Añadir al menos algo
+                }
+                document.close();
+            } catch (Exception e) {
+                throw error(e);
+            }
+        }
+
+        private void dibujar(EtiquetaDTO item, int i) {
+            // Cálculo de la posición Y base de la etiqueta actual (Coordenadas iText: 0,0 es abajo-izq)
+            // Se invierte la lógica para dibujar de arriba hacia abajo.
+            float y = height - margen - ((i % 3) + 1) * altoEt - (i % 3) * espV;
+
+            // A. RECUADRO EXTERIOR
+            cb.setLineWidth(1f);
+            cb.rectangle(margen, y, width - 2 * margen, altoEt);
+            cb.stroke();
+
+            // B. NÚMERO DE VENDEDOR (Esquina Superior Derecha)
+            cb.beginText();
+            cb.setFontAndSize(bold, 24);
+            // Alineado a la derecha con un padding de 5pt
+            cb.showTextAligned(Element.ALIGN_RIGHT, "#" + item.getNumeroVendedor(), width - margen - 5, y + altoEt - 25, 0);
+            cb.endText();
+
+            // C. CABECERA IZQUIERDA (Datos Fijos del Distribuidor)
+            cb.beginText();
+            cb.setFontAndSize(bold, 10);
+            cb.setTextMatrix(margen + 10, y + altoEt - 20);
+            cb.showText("ROBERTO GONZÁLEZ");
+
+            cb.setTextMatrix(margen + 10, y + altoEt - 35);
+            cb.showText("DIST - ITAUGUÁ - PY");
+
+            cb.setTextMatrix(margen + 10, y + altoEt - 50);
+            cb.showText("0983 433572");
+            cb.endText();
+
+            // D. CABECERA DERECHA (Fechas de Sorteo)
+            cb.beginText();
+            cb.setFontAndSize(bold, 10);
+            float xFechas = width - margen - 65; // Posición X para las fechas
+
+            if (fechasIguales) {
+                cb.showTextAligned(Element.ALIGN_RIGHT, "SORTEO: " + txtFechaSenete, xFechas, y + altoEt - 35, 0);
+            } else {
+                cb.showTextAligned(Element.ALIGN_RIGHT, "SORTEO SENETÉ: " + txtFechaSenete, xFechas, y + altoEt - 25, 0);
+                cb.showTextAligned(Element.ALIGN_RIGHT, "SORTEO TELEBINGO: " + txtFechaTelebingo, xFechas, y + altoEt - 40, 0);
+            }
+            cb.endText();
+
+            // E. LÍNEA DIVISORIA (Separa cabecera del cuerpo)
+            cb.moveTo(margen, y + altoEt - 60);
+            cb.lineTo(width - margen, y + altoEt - 60);
+            cb.stroke();
+
+            // F. NOMBRE DEL VENDEDOR (Grande y Centrado)
+            cb.beginText();
+            cb.setFontAndSize(bold, 14);
+            // Posición Y ajustada a -80 del tope de la etiqueta
+            cb.showTextAligned(Element.ALIGN_CENTER, item.getNombre() != null ? item.getNombre().toUpperCase() : "", width / 2, y + altoEt - 80, 0);
+            cb.endText();
+
+            // G. COLUMNAS DE DETALLE (Lógica de Simetría)
+            // Definimos los centros de las columnas equidistantes de los márgenes
+            float xCentroSenete = margen + 80;
+            float xCentroTelebingo = width - margen - 80;
+
+            // AJUSTE VISUAL: Bajamos el inicio de las columnas (-120) para dar aire respecto al nombre
+            float yInicioColumnas = y + altoEt - 120;
+
+            // Dibujar Columna Izquierda (Seneté)
+            dibujarColumnaCentrada(cb, "SENETÉ", item.getSeneteRangos(), item.getSeneteCartones(), item.getResultadoSenete(),
+                    xCentroSenete, yInicioColumnas, helv, bold);
+
+            // Dibujar Columna Derecha (Telebingo)
+            dibujarColumnaCentrada(cb, "TELEBINGO", item.getTelebingoRangos(), item.getTelebingoCartones(), item.getResultadoTelebingo(),
+                    xCentroTelebingo, yInicioColumnas, helv, bold);
+
+            // H. SALDO (Centrado en la parte inferior)
+            // AJUSTE VISUAL: Subimos el saldo (+60 y +45) para alejarlo del borde inferior
+            cb.beginText();
+            cb.setFontAndSize(bold, 12);
+            cb.showTextAligned(Element.ALIGN_CENTER, "SALDO", width / 2, y + 60, 0);
+
+            cb.setFontAndSize(helv, 11);
+            cb.showTextAligned(Element.ALIGN_CENTER, "Gs. " + (item.getSaldo() != null ? item.getSaldo() : "0"), width / 2, y + 45, 0);
+            cb.endText();
+        }
+    }
+
+    /**
+     * Método auxiliar para dibujar una columna de datos (Rangos, Total, Resultados)
+     * perfectamente centrada sobre un eje X.
+     *
+     * @param cb        Lienzo del PDF.
+     * @param titulo    Título de la columna (ej: SENETÉ).
+     * @param rangos    Lista de rangos a imprimir.
+     * @param total     Texto del total de cartones.
+     * @param resultado Texto del resultado (devolución).
+     * @param xCentro   Coordenada X central de la columna.
+     * @param yInicio   Coordenada Y superior donde inicia el título.
+     * @param fNorm     Fuente normal.
+     * @param fBold     Fuente negrita.
+     */
+    private static void dibujarColumnaCentrada(PdfContentByte cb, String titulo, RangosCartones rangos, String total, String resultado,
+                                        float xCentro, float yInicio, BaseFont fNorm, BaseFont fBold) {
+        float curY = yInicio;
+
+        cb.beginText();
+
+        // 1. TÍTULO DE COLUMNA
+        cb.setFontAndSize(fBold, 11);
+        cb.showTextAligned(Element.ALIGN_CENTER, titulo, xCentro, curY, 0);
+        curY -= 15; // Salto de línea
+
+        // 2. LISTA DE RANGOS
+        cb.setFontAndSize(fNorm, 10);
+
+        // Lógica de compresión: Si hay muchos rangos, reducimos la fuente para que quepan
+        if (rangos != null && rangos.cantidad() > 4) {
+            cb.setFontAndSize(fNorm, 9);
+        }
+
+        if (rangos != null) {
+            for (int r = 0; r < rangos.cantidad(); r++) {
+                cb.showTextAligned(Element.ALIGN_CENTER, RangosCartones.formatear(rangos.get(r)), xCentro, curY, 0);
+                curY -= 12; // Salto entre rangos
+            }
+        }
+
+        // 3. LÍNEA DE TOTAL (Siempre visible)
+        // Formato estandarizado: TOTAL ------------> (XX)
+        cb.setFontAndSize(fBold, 10);
+        String textoTotal = "TOTAL ------------> (" + (total != null ? total : "0") + ")";
+        cb.showTextAligned(Element.ALIGN_CENTER, textoTotal, xCentro, curY, 0);
+
+        // Espacio separador antes de la sección de Resultados
+        curY -= 25;
+
+        // 4. SECCIÓN RESULTADOS
+        cb.setFontAndSize(fBold, 11);
+        cb.showTextAligned(Element.ALIGN_CENTER, "RESULTADOS", xCentro, curY, 0);
+
+        cb.setFontAndSize(fNorm, 11);
+        cb.showTextAligned(Element.ALIGN_CENTER, resultado != null ? resultado : "0", xCentro, curY - 15, 0);
+
+        cb.endText();
+    }
+}
\ No newline at end of file
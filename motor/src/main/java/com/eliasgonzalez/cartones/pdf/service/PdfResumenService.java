@@ -1,5 +1,6 @@
 package com.eliasgonzalez.cartones.pdf.service;
 
+import com.eliasgonzalez.cartones.pdf.dto.RangosCartones;
 import com.eliasgonzalez.cartones.pdf.dto.ResumenDTO;
 import com.eliasgonzalez.cartones.shared.exception.PdfCreationException;
 import com.lowagie.text.Document;
@@ -8,14 +9,13 @@ import com.lowagie.text.PageSize;
 import com.lowagie.text.pdf.BaseFont;
 import com.lowagie.text.pdf.PdfContentByte;
 import com.lowagie.text.pdf.PdfWriter;
-import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 
-@Service
 public class PdfResumenService {
 
     private static final float MARGEN = 15;
@@ -36,50 +36,73 @@ public class PdfResumenService {
 
     public byte[] generarResumen(List<ResumenDTO> vendedores, LocalDate fechaSenete, LocalDate fechaTelebingo) {
         try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            Document document = new Document(PageSize.A4);
-            PdfWriter writer = PdfWriter.getInstance(document, baos);
-            document.open();
-
-            // Si la lista de vendedores está vacía, genera un PDF vacío válido.
-            if (vendedores == null || vendedores.isEmpty()) {
-                document.add(new com.lowagie.text.Paragraph("No hay resumen de vendedores para generar.")); // Añadir al menos algo
-                document.close();
-                return baos.toByteArray();
+            try (Escritor escritor = abrir(baos, fechaSenete, fechaTelebingo)) {
+                if (vendedores != null) {
+                    for (ResumenDTO row : vendedores) escritor.agregar(row);
+                }
             }
-            
-            // Asegurarse de que haya al menos una página para el contenido
-            document.newPage(); 
+            return baos.toByteArray();
+        } catch (PdfCreationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw error(e);
+        }
+    }
 
-            // Continuar con la lógica normal si hay vendedores
-            PdfContentByte cb = writer.getDirectContent();
+    /**
+     * Abre un PDF de resumen sobre {@code salida} para ir agregando las filas de a una. OpenPDF escribe
+     * cada página en la salida al pasar a la siguiente, así que en memoria queda sólo la página actual.
+     */
+    public Escritor abrir(OutputStream salida, LocalDate fechaSenete, LocalDate fechaTelebingo) {
+        try {
+            return new Escritor(salida, fechaSenete, fechaTelebingo);
+        } catch (Exception e) {
+            throw error(e);
+        }
+    }
 
-            float width = PageSize.A4.getWidth();
-            float height = PageSize.A4.getHeight();
-            BaseFont helv = BaseFont.createFont(BaseFont.HELVETICA, BaseFont.CP1252, BaseFont.NOT_EMBEDDED);
-            BaseFont bold = BaseFont.createFont(BaseFont.HELVETICA_BOLD, BaseFont.CP1252, BaseFont.NOT_EMBEDDED);
-            DateTimeFormatter fmt = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static PdfCreationException error(Exception e) {
+        return new PdfCreationException("Error generando Resumen", List.of(String.valueOf(e.getMessage())));
+    }
 
-            // TÍTULO
-            float y = height - MARGEN - 20;
-            cb.beginText();
-            cb.setFontAndSize(bold, 14);
-            if (fechaSenete.isEqual(fechaTelebingo)) {
-                cb.showTextAligned(Element.ALIGN_CENTER, "RESUMEN DE ENTREGA - " + fechaSenete.format(fmt), width / 2, y, 0);
-                y -= 25;
-            } else {
-                cb.showTextAligned(Element.ALIGN_CENTER, "RESUMEN DE ENTREGA", width / 2, y, 0);
-                cb.setFontAndSize(bold, 10);
-                cb.showTextAligned(Element.ALIGN_CENTER, "SENETÉ: " + fechaSenete.format(fmt) + " | TELEBINGO: " + fechaTelebingo.format(fmt), width / 2, y - 15, 0);
-                y -= 35;
-            }
-            cb.endText();
+    /**
+     * PDF de resumen en construcción. El título y los encabezados se dibujan con la primera fila; al
+     * cerrarlo sin filas queda un PDF válido con un aviso.
+     */
+    public final class Escritor implements AutoCloseable {
 
-            dibujarEncabezados(cb, y, width, bold);
-            y -= 25;
+        private final Document document;
+        private final PdfContentByte cb;
+        private final LocalDate fechaSenete;
+        private final LocalDate fechaTelebingo;
+
+        private final float width = PageSize.A4.getWidth();
+        private final float height = PageSize.A4.getHeight();
+        private final BaseFont helv;
+        private final BaseFont bold;
 
-            for (int i = 0; i < vendedores.size(); i++) {
-                ResumenDTO row = vendedores.get(i);
-                int maxLineas = Math.max(row.getSeneteDelAl().size(), row.getTelebingoDelAl().size());
+        private float y;
+        private int cantidad;
+
+        private Escritor(OutputStream salida, LocalDate fechaSenete, LocalDate fechaTelebingo) throws Exception {
+            this.document = new Document(PageSize.A4);
+            PdfWriter writer = PdfWriter.getInstance(document, salida);
+            document.open();
+            this.cb = writer.getDirectContent();
+            this.fechaSenete = fechaSenete;
+            this.fechaTelebingo = fechaTelebingo;
+            this.helv = BaseFont.createFont(BaseFont.HELVETICA, BaseFont.CP1252, BaseFont.NOT_EMBEDDED);
+            this.bold = BaseFont.createFont(BaseFont.HELVETICA_BOLD, BaseFont.CP1252, BaseFont.NOT_EMBEDDED);
+        }
+
+        /**
+         * Dibuja la próxima fila, pasando de página cuando no entra.
+         */
+        public void agregar(ResumenDTO row) {
+            try {
+                if (cantidad == 0) dibujarTitulo();
+
+                int maxLineas = Math.max(row.getSeneteDelAl().cantidad(), row.getTelebingoDelAl().cantidad());
                 if (maxLineas == 0) maxLineas = 1;
                 float alturaFila = (maxLineas * 12) + PADDING_Y * 2;
 
@@ -90,7 +113,7 @@ public class PdfResumenService {
                     y -= 25;
                 }
 
-                if ((i + 1) % 2 == 0) {
+                if ((++cantidad) % 2 == 0) {
                     cb.saveState();
                     cb.setRGBColorFill(240, 240, 240);
                     cb.rectangle(MARGEN, y - alturaFila, width - 2 * MARGEN, alturaFila);
@@ -116,22 +139,56 @@ public class PdfResumenService {
                 dibujarMapaRangos(cb, row.getTelebingoDelAl(), COLUMNAS_X.get("TELEBINGO"), y - PADDING_Y - 8, helv);
 
                 y -= alturaFila;
+            } catch (Exception e) {
+                throw error(e);
             }
+        }
 
-            document.close();
-            return baos.toByteArray();
-        } catch (Exception e) {
-            throw new PdfCreationException("Error generando Resumen", List.of(e.getMessage()));
+        @Override
+        public void close() {
+            try {
+                // Si no hubo vendedores, genera un PDF vacío válido.
+                if (cantidad == 0) {
+                    document.add(new com.lowagie.text.Paragraph("No hay resumen de vendedores para generar.")); // Añadir al menos algo
+                }
+                document.close();
+            } catch (Exception e) {
+                throw error(e);
+            }
+        }
+
+        private void dibujarTitulo() {
+            // Asegurarse de que haya al menos una página para el contenido
+            document.newPage();
+            DateTimeFormatter fmt = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+            // TÍTULO
+            y = height - MARGEN - 20;
+            cb.beginText();
+            cb.setFontAndSize(bold, 14);
+            if (fechaSenete.isEqual(fechaTelebingo)) {
+                cb.showTextAligned(Element.ALIGN_CENTER, "RESUMEN DE ENTREGA - " + fechaSenete.format(fmt), width / 2, y, 0);
+                y -= 25;
+            } else {
+                cb.showTextAligned(Element.ALIGN_CENTER, "RESUMEN DE ENTREGA", width / 2, y, 0);
+                cb.setFontAndSize(bold, 10);
+                cb.showTextAligned(Element.ALIGN_CENTER, "SENETÉ: " + fechaSenete.format(fmt) + " | TELEBINGO: " + fechaTelebingo.format(fmt), width / 2, y - 15, 0);
+                y -= 35;
+            }
+            cb.endText();
+
+            dibujarEncabezados(cb, y, width, bold);
+            y -= 25;
         }
     }
 
-    private String procesarNombre(String nombre) {
+    private static String procesarNombre(String nombre) {
         if (nombre == null) return "";
         if (nombre.length() <= LIMITE_CARACTERES) return nombre.toUpperCase();
         return nombre.substring(0, LIMITE_CARACTERES - 3).toUpperCase() + "...";
     }
 
-    private void dibujarEncabezados(PdfContentByte cb, float y, float width, BaseFont font) {
+    private static void dibujarEncabezados(PdfContentByte cb, float y, float width, BaseFont font) {
         cb.beginText();
         cb.setFontAndSize(font, 9);
         cb.showTextAligned(Element.ALIGN_LEFT, "#", COLUMNAS_X.get("NUMERO"), y, 0);
@@ -151,15 +208,21 @@ public class PdfResumenService {
         cb.stroke();
     }
 
-    private void dibujarMapaRangos(PdfContentByte cb, Map<String, String> rangos, float xBase, float yInicio, BaseFont font) {
+    private static void dibujarMapaRangos(PdfContentByte cb, RangosCartones rangos, float xBase, float yInicio, BaseFont font) {
         if (rangos == null || rangos.isEmpty()) return;
         cb.beginText();
         cb.setFontAndSize(font, 9);
         float currentY = yInicio;
-        List<String> keys = new ArrayList<>(rangos.keySet());
-        Collections.sort(keys);
-        for (String inicio : keys) {
-            cb.showTextAligned(Element.ALIGN_LEFT, inicio + " - " + rangos.get(inicio), xBase, currentY, 0);
+        // Mismo orden de siempre: alfabético por el texto del inicio
+        String[] inicios = new String[rangos.cantidad()];
+        Integer[] orden = new Integer[rangos.cantidad()];
+        for (int i = 0; i < orden.length; i++) {
+            inicios[i] = String.valueOf(rangos.inicio(i));
+            orden[i] = i;
+        }
+        Arrays.sort(orden, Comparator.comparing(i -> inicios[i]));
+        for (int i : orden) {
+            cb.showTextAligned(Element.ALIGN_LEFT, inicios[i] + " - " + rangos.fin(i), xBase, currentY, 0);
             currentY -= 12;
         }
         cb.endText();
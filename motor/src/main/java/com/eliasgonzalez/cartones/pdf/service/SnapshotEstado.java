@@ -0,0 +1,212 @@
+package com.eliasgonzalez.cartones.pdf.service;
+
+import com.eliasgonzalez.cartones.pdf.engine.AsignacionJuego;
+import com.eliasgonzalez.cartones.pdf.engine.CodificacionCompacta.Escritura;
+import com.eliasgonzalez.cartones.pdf.engine.CodificacionCompacta.Lectura;
+import com.eliasgonzalez.cartones.pdf.engine.Juego;
+import com.eliasgonzalez.cartones.pdf.engine.PoolCartones;
+import com.eliasgonzalez.cartones.pdf.engine.Terminaciones;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Formato binario de un {@link EstadoSimulacion} para guardarlo fuera de la memoria.
+ * <p>
+ * Se guardan los datos de entrada del reparto (vendedores, fila, papel y pedidos de cada juego, más
+ * cómo se eligió la fila) y los rangos que se entregaron. Al restaurar se reparte de nuevo, para tener
+ * los puntos de control que usa un recálculo, y se comprueba contra los rangos guardados: si el motor
+ * cambió entre la simulación y la descarga no se imprime un reparto distinto del que se vio. Los ids
+ * van como diferencia con el anterior y el papel y los rangos como saltos y largos, todo en varint.
+ */
+final class SnapshotEstado {
+
+    /**
+     * Estado leído, sin repartos, y los rangos guardados de cada juego: los del vendedor en la posición
+     * {@code p} de la fila son {@code [desde[g][p], desde[g][p + 1])} en {@code inicios[g]}/{@code fines[g]}.
+     */
+    record Leido(EstadoSimulacion estado, int[][] desde, int[][] inicios, int[][] fines) {
+
+        /**
+         * Indica si {@code asignacion} entrega exactamente los rangos guardados del juego {@code g}.
+         */
+        boolean mismosRangos(int g, AsignacionJuego asignacion) {
+            int[] desdeJuego = desde[g];
+            if (asignacion.cantidadVendedores() != desdeJuego.length - 1) return false;
+            for (int p = 0; p < desdeJuego.length - 1; p++) {
+                if (asignacion.cantidadRangos(p) != desdeJuego[p + 1] - desdeJuego[p]) return false;
+                for (int r = 0; r < asignacion.cantidadRangos(p); r++) {
+                    int k = desdeJuego[p] + r;
+                    if (asignacion.inicio(p, r) != inicios[g][k] || asignacion.fin(p, r) != fines[g][k]) return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final byte VERSION = 2;
+    private static final String DESCRIPCION = "Snapshot de simulación";
+
+    private SnapshotEstado() {}
+
+    static byte[] escribir(EstadoSimulacion estado) {
+        int n = estado.ids.length;
+        Escritura out = new Escritura(64 + n * (8 + 4 * estado.claves.length));
+        out.escribirByte(VERSION);
+
+        out.varint(n);
+        long idAnterior = 0;
+        for (int i = 0; i < n; i++) {
+            Long id = estado.ids[i];
+            out.opcional(id == null ? null : id - idAnterior);
+            if (id != null) idAnterior = id;
+            out.texto(estado.nombres[i]);
+        }
+        for (int p = 0; p < n; p++) out.varint(estado.orden[p]);
+
+        out.varint(estado.claves.length);
+        for (int g = 0; g < estado.claves.length; g++) {
+            Juego juego = estado.juegos.get(g);
+            out.texto(estado.claves[g]);
+            Integer inicioGenerado = estado.iniciosGenerados[g];
+            out.opcional(inicioGenerado == null ? null : inicioGenerado.longValue());
+
+            PoolCartones pool = juego.pool();
+            out.varint(pool.cantidadBloques());
+            long finAnterior = -1;
+            for (int b = 0; b < pool.cantidadBloques(); b++) {
+                out.zigzag(pool.inicioBloque(b) - finAnterior - 1);
+                out.zigzag((long) pool.finBloque(b) - pool.inicioBloque(b));
+                finAnterior = pool.finBloque(b);
+            }
+
+            for (int i = 0; i < n; i++) {
+                out.zigzag(juego.cantidades()[i]);
+                out.zigzag(juego.terminaciones()[i]);
+            }
+
+            Terminaciones[] conjuntos = juego.conjuntos();
+            out.varint(conjuntos == null ? 0 : conjuntos.length + 1L);
+            if (conjuntos != null) {
+                for (Terminaciones conjunto : conjuntos) {
+                    int[] miembros = conjunto.miembros();
+                    out.varint(miembros.length);
+                    for (int t : miembros) out.varint(t);
+                }
+            }
+
+            AsignacionJuego asignacion = estado.asignaciones[g];
+            out.varint(asignacion.totalRangos());
+            long fin = -1;
+            for (int p = 0; p < n; p++) {
+                out.varint(asignacion.cantidadRangos(p));
+                for (int r = 0; r < asignacion.cantidadRangos(p); r++) {
+                    out.zigzag(asignacion.inicio(p, r) - fin - 1);
+                    out.zigzag((long) asignacion.fin(p, r) - asignacion.inicio(p, r));
+                    fin = asignacion.fin(p, r);
+                }
+            }
+        }
+
+        out.opcional(estado.semilla);
+        out.opcional(estado.mezclasEvaluadas == null ? null : estado.mezclasEvaluadas.longValue());
+        out.opcional(estado.brechaOptimalidad);
+        return out.bytes();
+    }
+
+    /**
+     * @return El estado sin los repartos ({@code asignaciones} en {@code null}: se arman repartiendo de
+     *         nuevo) y los rangos guardados para comprobarlos.
+     */
+    static Leido leer(byte[] datos) {
+        Lectura in = new Lectura(datos, DESCRIPCION);
+        in.version(VERSION);
+
+        int n = in.cantidad();
+        Long[] ids = new Long[n];
+        String[] nombres = new String[n];
+        long idAnterior = 0;
+        for (int i = 0; i < n; i++) {
+            Long diferencia = in.opcional();
+            if (diferencia != null) {
+                ids[i] = idAnterior + diferencia;
+                idAnterior = ids[i];
+            }
+            nombres[i] = in.texto();
+        }
+        int[] orden = new int[n];
+        for (int p = 0; p < n; p++) orden[p] = in.cantidad();
+
+        int cantidadJuegos = in.cantidad();
+        String[] claves = new String[cantidadJuegos];
+        Integer[] iniciosGenerados = new Integer[cantidadJuegos];
+        List<Juego> juegos = new ArrayList<>(cantidadJuegos);
+        int[][] desde = new int[cantidadJuegos][];
+        int[][] iniciosRangos = new int[cantidadJuegos][];
+        int[][] finesRangos = new int[cantidadJuegos][];
+        for (int g = 0; g < cantidadJuegos; g++) {
+            claves[g] = in.texto();
+            Long inicioGenerado = in.opcional();
+            iniciosGenerados[g] = inicioGenerado == null ? null : Math.toIntExact(inicioGenerado);
+
+            int bloques = in.cantidad();
+            int[] inicios = new int[bloques];
+            int[] fines = new int[bloques];
+            long finAnterior = -1;
+            for (int b = 0; b < bloques; b++) {
+                long inicio = finAnterior + 1 + in.zigzag();
+                long fin = inicio + in.zigzag();
+                inicios[b] = Math.toIntExact(inicio);
+                fines[b] = Math.toIntExact(fin);
+                finAnterior = fin;
+            }
+
+            int[] cantidades = new int[n];
+            int[] terminaciones = new int[n];
+            for (int i = 0; i < n; i++) {
+                cantidades[i] = Math.toIntExact(in.zigzag());
+                terminaciones[i] = Math.toIntExact(in.zigzag());
+            }
+
+            int cantidadConjuntos = in.cantidad();
+            Terminaciones[] conjuntos = null;
+            if (cantidadConjuntos > 0) {
+                conjuntos = new Terminaciones[cantidadConjuntos - 1];
+                for (int c = 0; c < conjuntos.length; c++) {
+                    int[] miembros = new int[in.cantidad()];
+                    for (int k = 0; k < miembros.length; k++) miembros[k] = in.cantidad();
+                    conjuntos[c] = Terminaciones.de(miembros);
+                }
+            }
+            juegos.add(new Juego(new PoolCartones(inicios, fines), cantidades, terminaciones, conjuntos));
+
+            int totalRangos = in.cantidad();
+            desde[g] = new int[n + 1];
+            iniciosRangos[g] = new int[totalRangos];
+            finesRangos[g] = new int[totalRangos];
+            int k = 0;
+            long fin = -1;
+            for (int p = 0; p < n; p++) {
+                desde[g][p] = k;
+                int rangos = in.cantidad();
+                if (rangos > totalRangos - k) {
+                    throw new IllegalArgumentException(DESCRIPCION + " con más rangos que los declarados.");
+                }
+                for (int r = 0; r < rangos; r++, k++) {
+                    long inicio = fin + 1 + in.zigzag();
+                    fin = inicio + in.zigzag();
+                    iniciosRangos[g][k] = Math.toIntExact(inicio);
+                    finesRangos[g][k] = Math.toIntExact(fin);
+                }
+            }
+            desde[g][n] = k;
+        }
+
+        Long semilla = in.opcional();
+        Long mezclas = in.opcional();
+        Long brecha = in.opcional();
+        EstadoSimulacion estado = new EstadoSimulacion(ids, nombres, orden, claves, juegos, iniciosGenerados, null,
+                semilla, mezclas == null ? null : Math.toIntExact(mezclas), brecha);
+        return new Leido(estado, desde, iniciosRangos, finesRangos);
+    }
+}
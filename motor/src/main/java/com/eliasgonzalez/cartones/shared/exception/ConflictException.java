@@ -0,0 +1,16 @@
+package com.eliasgonzalez.cartones.shared.exception;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ConflictException extends RuntimeException {
+    // Lista de errores detallados para el usuario
+    private final List<String> errorDetails;
+
+    public ConflictException(String message, List<String> errorDetails) {
+        super(message);
+        this.errorDetails = errorDetails;
+    }
+}
@@ -0,0 +1,43 @@
+package com.eliasgonzalez.cartones.zip;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+public final class ArchivosZip {
+
+    private ArchivosZip() {}
+
+    /**
+     * Escribe un ZIP con los archivos del mapa sobre {@code salida} (que queda abierta).
+     * Los archivos vacíos o nulos se omiten.
+     *
+     * @param archivos Map donde Key es el nombre del archivo (ej: "resumen.pdf")
+     *                 y Value es el contenido en bytes.
+     */
+    public static void escribir(Map<String, byte[]> archivos, OutputStream salida) throws IOException {
+        ZipOutputStream zos = new ZipOutputStream(salida);
+        for (Map.Entry<String, byte[]> entrada : archivos.entrySet()) {
+            String nombreArchivo = entrada.getKey();
+            byte[] contenido = entrada.getValue();
+
+            if (contenido != null && contenido.length > 0) {
+                agregarArchivo(zos, nombreArchivo, contenido);
+            }
+        }
+        zos.finish();
+    }
+
+    private static void agregarArchivo(ZipOutputStream zos, String nombre, byte[] contenido) throws IOException {
+        // Creamos la entrada del ZIP con el nombre del archivo
+        ZipEntry entrada = new ZipEntry(nombre);
+        zos.putNextEntry(entrada);
+
+        // Escribimos los bytes directamente en el stream del ZIP
+        zos.write(contenido);
+
+        zos.closeEntry();
+    }
+}
@@ -0,0 +1,98 @@
+package com.eliasgonzalez.cartones.cli;
+
+import com.eliasgonzalez.cartones.excel.enums.ExcelEnum;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReimpresionLoteTest {
+
+    @TempDir
+    Path carpeta;
+
+    @DisplayName("Test procesar - Un ZIP por Excel; un archivo con errores no corta al resto")
+    @Test
+    void testProcesar_unZipPorExcel() throws Exception {
+        // Arrange
+        Path entrada = Files.createDirectories(carpeta.resolve("entrada"));
+        Path salida = carpeta.resolve("salida");
+        for (int i = 1; i <= 3; i++) crearExcel(entrada.resolve("sucursal" + i + ".xlsx"), true, 20 * i);
+        crearExcel(entrada.resolve("rota.xlsx"), false, 0);
+        Files.writeString(entrada.resolve(ReimpresionLote.CONFIGURACION_COMUN), """
+                {"poolSenete": [{"inicio": 1, "fin": 5000}],
+                 "poolTelebingo": [{"inicio": 1, "fin": 5000}],
+                 "fechaSorteoSenete": "2026-01-04", "semilla": 7}
+                """);
+        // sucursal2 tiene su propia configuración, con un vendedor VIP
+        Files.writeString(entrada.resolve("sucursal2.json"), """
+                {"poolSenete": [{"inicio": 1000, "fin": 9000}],
+                 "vendedores": [{"id": 99, "nombre": "Vendedor 3", "terminacionSenete": 42}]}
+                """);
+
+        // Act
+        List<ReimpresionLote.Resultado> resultados = ReimpresionLote.procesar(entrada, salida, 2);
+
+        // Assert
+        assertThat(resultados).extracting(r -> r.excel().getFileName().toString())
+                .containsExactly("rota.xlsx", "sucursal1.xlsx", "sucursal2.xlsx", "sucursal3.xlsx");
+        assertThat(resultados.get(0).error()).contains("Faltan encabezados");
+        for (ReimpresionLote.Resultado r : resultados.subList(1, 4)) {
+            assertThat(r.error()).isNull();
+            assertThat(entradasZip(r.zip())).containsExactlyInAnyOrder("Imprimir_etiquetas.pdf", "Resumen_entrega.pdf");
+        }
+        assertThat(resultados.get(2).vendedores()).isEqualTo(40);
+        assertThat(salida.resolve("rota.zip")).doesNotExist();
+    }
+
+    private static void crearExcel(Path archivo, boolean valido, int vendedores) throws IOException {
+        try (Workbook workbook = WorkbookFactory.create(true);
+             OutputStream out = Files.newOutputStream(archivo)) {
+            Sheet sheet = workbook.createSheet(ExcelEnum.HOJA_SISTEMA_ETIQUETAS.getValue());
+            Row header = sheet.createRow(0);
+            if (!valido) {
+                header.createCell(0).setCellValue("Columna Invalida");
+            } else {
+                header.createCell(0).setCellValue(ExcelEnum.VENDEDOR.getValue());
+                header.createCell(1).setCellValue(ExcelEnum.SALDO.getValue());
+                header.createCell(2).setCellValue(ExcelEnum.CANT_SENETE.getValue());
+                header.createCell(3).setCellValue(ExcelEnum.RESULT_SENETE.getValue());
+                header.createCell(4).setCellValue(ExcelEnum.CANT_TELEBINGO.getValue());
+                header.createCell(5).setCellValue(ExcelEnum.RESULT_TELEBINGO.getValue());
+                for (int i = 1; i <= vendedores; i++) {
+                    Row fila = sheet.createRow(i);
+                    fila.createCell(0).setCellValue("Vendedor " + i);
+                    fila.createCell(1).setCellValue("1500");
+                    fila.createCell(2).setCellValue(10 + i % 7);
+                    fila.createCell(3).setCellValue(0);
+                    fila.createCell(4).setCellValue(5);
+                    fila.createCell(5).setCellValue(0);
+                }
+            }
+            workbook.write(out);
+        }
+    }
+
+    private static List<String> entradasZip(Path zip) throws IOException {
+        List<String> nombres = new ArrayList<>();
+        try (ZipInputStream zis = new ZipInputStream(Files.newInputStream(zip))) {
+            ZipEntry entrada;
+            while ((entrada = zis.getNextEntry()) != null) nombres.add(entrada.getName());
+        }
+        return nombres;
+    }
+}
@@ -0,0 +1,39 @@
+package com.eliasgonzalez.cartones.pdf.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RangosCartonesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DisplayName("Test empaquetar - Conserva inicio y fin, incluso negativos")
+    @Test
+    void testEmpaquetar_conservaExtremos() {
+        long rango = RangosCartones.empaquetar(-5, 2_000_000_000);
+
+        assertThat(RangosCartones.inicioDe(rango)).isEqualTo(-5);
+        assertThat(RangosCartones.finDe(rango)).isEqualTo(2_000_000_000);
+        assertThat(RangosCartones.parsear(RangosCartones.formatear(rango))).isEqualTo(rango);
+    }
+
+    @DisplayName("Test JSON - Mantiene la forma [\"inicio-fin\"] que consume el frontend")
+    @Test
+    void testJson_mantieneFormaDeTexto() throws Exception {
+        // Arrange
+        RangosCartones rangos = RangosCartones.of(
+                RangosCartones.empaquetar(100, 150), RangosCartones.empaquetar(200, 210));
+
+        // Act
+        String json = objectMapper.writeValueAsString(rangos);
+        RangosCartones leido = objectMapper.readValue("[\"100 - 150\", \"200-210\"]", RangosCartones.class);
+
+        // Assert
+        assertThat(json).isEqualTo("[\"100-150\",\"200-210\"]");
+        assertThat(leido).isEqualTo(rangos);
+        assertThat(leido.totalCartones()).isEqualTo(62);
+    }
+}
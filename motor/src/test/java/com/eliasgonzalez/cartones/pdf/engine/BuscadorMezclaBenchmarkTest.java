@@ -0,0 +1,42 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mide mezclas evaluadas por segundo y por núcleo. No corre en el build normal:
+ * {@code mvn test -Dtest=BuscadorMezclaBenchmarkTest -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BuscadorMezclaBenchmarkTest {
+
+    @DisplayName("Benchmark buscar - Mezclas evaluadas por segundo y por núcleo")
+    @Test
+    void benchmarkBuscar() {
+        int vendedores = 5_000;
+        List<Juego> juegos = BuscadorMezclaTest.generarJuegos(new Random(11L), vendedores);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int nucleos = pool.getParallelism();
+
+        // Calentamiento
+        BuscadorMezcla.buscar(pool, juegos, vendedores, 200, 1L, TimeUnit.SECONDS.toNanos(2));
+
+        long inicio = System.nanoTime();
+        BuscadorMezcla.Resultado resultado = BuscadorMezcla.buscar(
+                pool, juegos, vendedores, 100_000, 2L, TimeUnit.SECONDS.toNanos(5));
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        System.out.printf("Vendedores: %d, núcleos: %d, evaluadas: %d en %.2f s -> %.1f mezclas/s/núcleo, mejor: %d quemados%n",
+                vendedores, nucleos, resultado.evaluadas(), segundos,
+                resultado.evaluadas() / segundos / nucleos, resultado.cartonesQuemados());
+        assertThat(resultado.evaluadas()).isPositive();
+    }
+}
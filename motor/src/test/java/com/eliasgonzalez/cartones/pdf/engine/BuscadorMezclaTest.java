@@ -0,0 +1,98 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BuscadorMezclaTest {
+
+    private static final long SEMILLA_BASE = 7L;
+
+    @DisplayName("Test buscar - La mejor mezcla no quema más que ningún candidato y se puede reproducir")
+    @Test
+    void testBuscar_mejorMezclaReproducible() {
+        // Arrange
+        List<Juego> juegos = generarJuegos(new Random(3L), 200);
+        int intentos = 64;
+
+        // Act
+        BuscadorMezcla.Resultado resultado = BuscadorMezcla.buscar(
+                ForkJoinPool.commonPool(), juegos, 200, intentos, SEMILLA_BASE, TimeUnit.MINUTES.toNanos(1));
+
+        // Assert
+        assertThat(resultado.evaluadas()).isEqualTo(intentos);
+        for (int i = 0; i < intentos; i++) {
+            assertThat(resultado.cartonesQuemados())
+                    .as("candidato %d", i)
+                    .isLessThanOrEqualTo(quemados(juegos, 200, Mezclador.semillaCandidata(SEMILLA_BASE, i)));
+        }
+        assertThat(quemados(juegos, 200, resultado.semilla())).isEqualTo(resultado.cartonesQuemados());
+    }
+
+    @DisplayName("Test buscar - Corta apenas encuentra una mezcla que no quema papel")
+    @Test
+    void testBuscar_cortaSinQuemados() {
+        // Arrange: sin VIP nadie quema, el primer candidato ya es óptimo
+        PoolCartones pool = new PoolCartones(new int[]{1}, new int[]{1_000});
+        List<Juego> juegos = List.of(
+                new Juego(pool, new int[]{5, 5, 5}, new int[]{-1, -1, -1}));
+
+        // Act
+        BuscadorMezcla.Resultado resultado = BuscadorMezcla.buscar(
+                ForkJoinPool.commonPool(), juegos, 3, 1_000, SEMILLA_BASE, TimeUnit.MINUTES.toNanos(1));
+
+        // Assert
+        assertThat(resultado.evaluadas()).isEqualTo(1);
+        assertThat(resultado.cartonesQuemados()).isZero();
+        assertThat(resultado.semilla()).isEqualTo(Mezclador.semillaCandidata(SEMILLA_BASE, 0));
+    }
+
+    @DisplayName("Test buscar - Sin presupuesto se evalúa sólo el primer candidato")
+    @Test
+    void testBuscar_sinPresupuesto() {
+        // Arrange
+        List<Juego> juegos = generarJuegos(new Random(5L), 100);
+
+        // Act
+        BuscadorMezcla.Resultado resultado = BuscadorMezcla.buscar(
+                ForkJoinPool.commonPool(), juegos, 100, 1_000, SEMILLA_BASE, 0);
+
+        // Assert
+        assertThat(resultado.evaluadas()).isEqualTo(1);
+        assertThat(resultado.semilla()).isEqualTo(Mezclador.semillaCandidata(SEMILLA_BASE, 0));
+    }
+
+    static List<Juego> generarJuegos(Random random, int vendedores) {
+        int[] cantidadesSenete = new int[vendedores];
+        int[] terminacionesSenete = new int[vendedores];
+        int[] cantidadesTelebingo = new int[vendedores];
+        int[] terminacionesTelebingo = new int[vendedores];
+        for (int i = 0; i < vendedores; i++) {
+            cantidadesSenete[i] = 1 + random.nextInt(30);
+            terminacionesSenete[i] = random.nextInt(4) == 0 ? random.nextInt(100) : MotorDistribucion.SIN_TERMINACION;
+            cantidadesTelebingo[i] = 1 + random.nextInt(30);
+            terminacionesTelebingo[i] = random.nextInt(4) == 0 ? random.nextInt(100) : MotorDistribucion.SIN_TERMINACION;
+        }
+        return List.of(
+                new Juego(new PoolCartones(new int[]{1}, new int[]{vendedores * 200}),
+                        cantidadesSenete, terminacionesSenete),
+                new Juego(new PoolCartones(new int[]{1}, new int[]{vendedores * 200}),
+                        cantidadesTelebingo, terminacionesTelebingo));
+    }
+
+    private static long quemados(List<Juego> juegos, int vendedores, long semilla) {
+        int[] orden = Mezclador.permutacion(vendedores, semilla);
+        long total = 0;
+        for (Juego juego : juegos) {
+            total += MotorDistribucion.asignar(juego.pool().copia(), juego.cantidades(), juego.terminaciones(), orden)
+                    .cartonesQuemados();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,122 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import com.eliasgonzalez.cartones.pdf.dto.RangosCartones;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static com.eliasgonzalez.cartones.pdf.engine.IndiceEntregasTest.asignacion;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConciliacionDevolucionesTest {
+
+    @DisplayName("Test conciliar - Coincide con restar cartón por cartón")
+    @Test
+    void testConciliar_igualAFuerzaBruta() {
+        Random random = new Random(22L);
+
+        for (int escenario = 0; escenario < 100; escenario++) {
+            // Arrange: un reparto al azar y devoluciones que se solapan, se repiten y se salen de lo entregado
+            int vendedores = 1 + random.nextInt(15);
+            List<int[]> rangos = new ArrayList<>();
+            int cursor = -50 + random.nextInt(100);
+            for (int r = 0; r < 1 + random.nextInt(60); r++) {
+                int inicio = cursor + random.nextInt(4);
+                int fin = inicio + random.nextInt(25);
+                rangos.add(new int[]{inicio, fin, random.nextInt(vendedores)});
+                cursor = fin + 1;
+            }
+            long[] duenos = new long[vendedores];
+            for (int p = 0; p < vendedores; p++) duenos[p] = 1 + random.nextInt(12);
+            IndiceEntregas indice = IndiceEntregas.de(asignacion(rangos, vendedores), duenos);
+
+            int cantidad = random.nextInt(80);
+            long[] quien = new long[cantidad];
+            long[] devueltos = new long[cantidad];
+            for (int k = 0; k < cantidad; k++) {
+                quien[k] = 1 + random.nextInt(14); // también ids sin entregas
+                int inicio = -70 + random.nextInt(cursor + 90);
+                devueltos[k] = RangosCartones.empaquetar(inicio, inicio + random.nextInt(20));
+            }
+
+            Map<Long, Set<Integer>> entregado = new HashMap<>();
+            for (int i = 0; i < indice.cantidadRangos(); i++) {
+                for (int c = indice.inicio(i); c <= indice.fin(i); c++) {
+                    entregado.computeIfAbsent(indice.dueno(i), d -> new HashSet<>()).add(c);
+                }
+            }
+            Map<Long, TreeSet<Integer>> vendido = new TreeMap<>();
+            entregado.forEach((d, cartones) -> vendido.put(d, new TreeSet<>(cartones)));
+            Map<Long, TreeSet<Integer>> fuera = new TreeMap<>();
+            for (int k = 0; k < cantidad; k++) {
+                for (int c = RangosCartones.inicioDe(devueltos[k]); c <= RangosCartones.finDe(devueltos[k]); c++) {
+                    if (entregado.getOrDefault(quien[k], Set.of()).contains(c)) vendido.get(quien[k]).remove(c);
+                    else fuera.computeIfAbsent(quien[k], d -> new TreeSet<>()).add(c);
+                }
+            }
+
+            // Act
+            ConciliacionDevoluciones conciliacion = indice.conciliar(quien, devueltos);
+
+            // Assert
+            for (int v = 0; v < conciliacion.cantidadVendedores(); v++) {
+                long id = conciliacion.vendedor(v);
+                int recibidos = entregado.getOrDefault(id, Set.of()).size();
+                assertThat(conciliacion.entregados(v)).as("vendedor %d", id).isEqualTo(recibidos);
+                assertThat(conciliacion.vendidos(v)).as("vendedor %d", id).isEqualTo(vendido.getOrDefault(id, new TreeSet<>()).size());
+                assertThat(cartones(conciliacion.rangosVendidos(v))).as("vendedor %d", id)
+                        .containsExactlyElementsOf(vendido.getOrDefault(id, new TreeSet<>()));
+                assertThat(cartones(conciliacion.fueraDeAsignacion(v))).as("vendedor %d", id)
+                        .containsExactlyElementsOf(fuera.getOrDefault(id, new TreeSet<>()));
+            }
+        }
+    }
+
+    @DisplayName("Test conciliar - Separa lo devuelto de otro vendedor")
+    @Test
+    void testConciliar_devolucionDeOtroVendedor() {
+        // Arrange: el 7 recibe 1-100 y el 8 101-150; el 7 devuelve 91-110
+        IndiceEntregas indice = IndiceEntregas.de(
+                asignacion(List.of(new int[]{1, 100, 0}, new int[]{101, 150, 1}), 2), new long[]{7, 8});
+
+        // Act
+        ConciliacionDevoluciones conciliacion = indice.conciliar(
+                new long[]{7}, new long[]{RangosCartones.empaquetar(91, 110)});
+
+        // Assert
+        assertThat(conciliacion.vendedor(0)).isEqualTo(7);
+        assertThat(conciliacion.vendidos(0)).isEqualTo(90);
+        assertThat(conciliacion.rangosVendidos(0).comoTexto()).containsExactly("1-90");
+        assertThat(conciliacion.fueraDeAsignacion(0).comoTexto()).containsExactly("101-110");
+        assertThat(conciliacion.vendidos(1)).isEqualTo(50);
+    }
+
+    @DisplayName("Test conciliar - Rechaza rangos con el fin antes del inicio")
+    @Test
+    void testConciliar_rangoInvalido() {
+        // Arrange
+        IndiceEntregas indice = IndiceEntregas.de(asignacion(List.of(new int[]{1, 10, 0}), 1), new long[]{7});
+
+        // Act & Assert
+        assertThatThrownBy(() -> indice.conciliar(new long[]{7}, new long[]{RangosCartones.empaquetar(10, 5)}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Integer> cartones(RangosCartones rangos) {
+        List<Integer> cartones = new ArrayList<>();
+        for (int i = 0; i < rangos.cantidad(); i++) {
+            for (int c = rangos.inicio(i); c <= rangos.fin(i); c++) cartones.add(c);
+        }
+        return cartones;
+    }
+}
@@ -0,0 +1,150 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import com.eliasgonzalez.cartones.pdf.dto.RangosCartones;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IndiceEntregasTest {
+
+    @DisplayName("Test buscar - Coincide con recorrer todos los rangos, también después de serializar")
+    @Test
+    void testBuscar_igualAFuerzaBruta() {
+        Random random = new Random(20L);
+
+        for (int escenario = 0; escenario < 100; escenario++) {
+            // Arrange: rangos disjuntos (también negativos) repartidos al azar entre los vendedores
+            int vendedores = 1 + random.nextInt(30);
+            List<int[]> rangos = new ArrayList<>();
+            int cursor = -500 + random.nextInt(1_000);
+            for (int r = 0; r < 1 + random.nextInt(200); r++) {
+                int inicio = cursor + random.nextInt(3);
+                int fin = inicio + random.nextInt(40);
+                rangos.add(new int[]{inicio, fin, random.nextInt(vendedores)});
+                cursor = fin + 1;
+            }
+            Collections.shuffle(rangos, random);
+            long[] duenos = new long[vendedores];
+            for (int p = 0; p < vendedores; p++) duenos[p] = 1_000 + random.nextInt(5_000);
+
+            Map<Integer, Long> esperado = new HashMap<>();
+            for (int[] rango : rangos) {
+                for (int c = rango[0]; c <= rango[1]; c++) esperado.put(c, duenos[rango[2]]);
+            }
+
+            // Act
+            IndiceEntregas indice = IndiceEntregas.de(asignacion(rangos, vendedores), duenos);
+            IndiceEntregas leido = IndiceEntregas.deserializar(indice.serializar());
+
+            // Assert
+            assertThat(indice.cartones()).isEqualTo(esperado.size());
+            for (int c = -600; c < cursor + 10; c++) {
+                for (IndiceEntregas i : List.of(indice, leido)) {
+                    int posicion = i.buscar(c);
+                    if (esperado.containsKey(c)) {
+                        assertThat(posicion).as("cartón %d", c).isNotNegative();
+                        assertThat(i.dueno(posicion)).as("cartón %d", c).isEqualTo(esperado.get(c));
+                        assertThat(c).isBetween(i.inicio(posicion), i.fin(posicion));
+                    } else {
+                        assertThat(posicion).as("cartón %d", c).isEqualTo(-1);
+                    }
+                }
+            }
+        }
+    }
+
+    @DisplayName("Test cruzar - Agrupa por vendedor igual que buscar cartón por cartón")
+    @Test
+    void testCruzar_igualABuscarUnoPorUno() {
+        Random random = new Random(21L);
+
+        for (int escenario = 0; escenario < 50; escenario++) {
+            // Arrange: un reparto al azar y números sorteados desordenados, con repetidos y fuera de rango
+            int vendedores = 1 + random.nextInt(20);
+            List<int[]> rangos = new ArrayList<>();
+            int cursor = random.nextInt(100);
+            for (int r = 0; r < 1 + random.nextInt(100); r++) {
+                int inicio = cursor + random.nextInt(5);
+                int fin = inicio + random.nextInt(30);
+                rangos.add(new int[]{inicio, fin, random.nextInt(vendedores)});
+                cursor = fin + 1;
+            }
+            long[] duenos = new long[vendedores];
+            for (int p = 0; p < vendedores; p++) duenos[p] = 1 + random.nextInt(10); // ids repetidos entre posiciones
+            IndiceEntregas indice = IndiceEntregas.de(asignacion(rangos, vendedores), duenos);
+
+            int[] sorteados = new int[random.nextInt(500)];
+            for (int k = 0; k < sorteados.length; k++) sorteados[k] = -20 + random.nextInt(cursor + 40);
+
+            Map<Long, TreeSet<Integer>> esperado = new TreeMap<>();
+            TreeSet<Integer> sinDueno = new TreeSet<>();
+            for (int carton : sorteados) {
+                int i = indice.buscar(carton);
+                if (i < 0) sinDueno.add(carton);
+                else esperado.computeIfAbsent(indice.dueno(i), d -> new TreeSet<>()).add(carton);
+            }
+
+            // Act
+            CruceCartones cruce = indice.cruzar(sorteados);
+
+            // Assert
+            assertThat(cruce.cantidadVendedores()).isEqualTo(esperado.size());
+            int d = 0;
+            for (Map.Entry<Long, TreeSet<Integer>> entrada : esperado.entrySet()) {
+                assertThat(cruce.vendedor(d)).isEqualTo(entrada.getKey());
+                assertThat(cruce.cartones(d)).containsExactly(entrada.getValue().stream().mapToInt(Integer::intValue).toArray());
+                d++;
+            }
+            assertThat(cruce.noEntregados()).containsExactly(sinDueno.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    @DisplayName("Test de - Junta los rangos seguidos del mismo dueño y serializa compacto")
+    @Test
+    void testDe_juntaContiguosDelMismoDueno() {
+        // Arrange: el vendedor 0 recibe 1-10 y 11-20 en dos rangos; el 1 sigue desde 21
+        List<int[]> rangos = List.of(new int[]{11, 20, 0}, new int[]{1, 10, 0}, new int[]{21, 30, 1});
+
+        // Act
+        IndiceEntregas indice = IndiceEntregas.de(asignacion(rangos, 2), new long[]{7, 8});
+
+        // Assert
+        assertThat(indice.cantidadRangos()).isEqualTo(2);
+        assertThat(indice.fin(0)).isEqualTo(20);
+        assertThat(indice.serializar()).hasSizeLessThanOrEqualTo(2 + 2 * 3);
+    }
+
+    @DisplayName("Test de - Rechaza rangos superpuestos")
+    @Test
+    void testDe_rangosSuperpuestos() {
+        // Arrange
+        List<int[]> rangos = List.of(new int[]{1, 10, 0}, new int[]{5, 12, 1});
+
+        // Act & Assert
+        assertThatThrownBy(() -> IndiceEntregas.de(asignacion(rangos, 2), new long[]{1, 2}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Reparto con los rangos de cada vendedor en el orden de la lista ({inicio, fin, posición})
+    static AsignacionJuego asignacion(List<int[]> rangos, int vendedores) {
+        int[] desde = new int[vendedores + 1];
+        for (int[] rango : rangos) desde[rango[2] + 1]++;
+        for (int p = 0; p < vendedores; p++) desde[p + 1] += desde[p];
+
+        long[] empaquetados = new long[rangos.size()];
+        int[] siguiente = desde.clone();
+        for (int[] rango : rangos) empaquetados[siguiente[rango[2]]++] = RangosCartones.empaquetar(rango[0], rango[1]);
+        return new AsignacionJuego(desde, empaquetados, null, null, 0, vendedores);
+    }
+}
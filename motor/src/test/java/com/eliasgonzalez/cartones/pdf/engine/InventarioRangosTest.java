@@ -0,0 +1,181 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InventarioRangosTest {
+
+    private static final int SEGMENTO = InventarioRangos.CARTONES_POR_SEGMENTO;
+
+    @DisplayName("Test reservar - Rechaza cartones ya entregados e informa quién los tiene")
+    @Test
+    void testReservar_conflictoConOtroProceso() {
+        // Arrange
+        InventarioRangos inventario = new InventarioRangos();
+        inventario.reservar("A", new int[]{100}, new int[]{199});
+
+        // Act
+        List<InventarioRangos.Conflicto> conflictos = inventario.reservar("B", new int[]{1, 150}, new int[]{10, 300}).conflictos();
+
+        // Assert
+        assertThat(conflictos).containsExactly(new InventarioRangos.Conflicto(150, 199, "A"));
+        assertThat(inventario.cartonesReservados()).isEqualTo(100);
+    }
+
+    @DisplayName("Test reservar - Un conflicto en un segmento posterior deshace los anteriores")
+    @Test
+    void testReservar_deshaceSegmentosYaReservados() {
+        // Arrange: B pisa a A recién en el tercer segmento
+        InventarioRangos inventario = new InventarioRangos();
+        inventario.reservar("A", new int[]{2 * SEGMENTO + 5}, new int[]{2 * SEGMENTO + 5});
+
+        // Act
+        List<InventarioRangos.Conflicto> conflictos = inventario.reservar("B", new int[]{0}, new int[]{3 * SEGMENTO}).conflictos();
+
+        // Assert
+        assertThat(conflictos).hasSize(1);
+        assertThat(inventario.cartonesReservados()).isEqualTo(1);
+        assertThat(inventario.reservar("C", new int[]{0}, new int[]{2 * SEGMENTO}).conflictos()).isEmpty();
+    }
+
+    @DisplayName("Test reservar - Repetir la reserva del mismo proceso no es un conflicto")
+    @Test
+    void testReservar_mismoProcesoIdempotente() {
+        // Arrange
+        InventarioRangos inventario = new InventarioRangos();
+        inventario.reservar("A", new int[]{100, SEGMENTO - 5}, new int[]{199, SEGMENTO + 5});
+
+        // Act: la misma reserva y otra que además suma cartones libres alrededor
+        List<InventarioRangos.Conflicto> repetida = inventario.reservar("A", new int[]{100, SEGMENTO - 5}, new int[]{199, SEGMENTO + 5}).conflictos();
+        List<InventarioRangos.Conflicto> ampliada = inventario.reservar("A", new int[]{50}, new int[]{249}).conflictos();
+
+        // Assert
+        assertThat(repetida).isEmpty();
+        assertThat(ampliada).isEmpty();
+        assertThat(inventario.cartonesReservados()).isEqualTo(200 + 11);
+        assertThat(inventario.reservar("B", new int[]{60}, new int[]{60}).conflictos())
+                .containsExactly(new InventarioRangos.Conflicto(60, 60, "A"));
+    }
+
+    @DisplayName("Test reservar - Un conflicto con otro proceso no le quita al dueño lo que ya tenía")
+    @Test
+    void testReservar_conflictoConservaLoPropio() {
+        // Arrange
+        InventarioRangos inventario = new InventarioRangos();
+        inventario.reservar("A", new int[]{0}, new int[]{99});
+        inventario.reservar("B", new int[]{2 * SEGMENTO}, new int[]{2 * SEGMENTO});
+
+        // Act
+        List<InventarioRangos.Conflicto> conflictos = inventario.reservar("A", new int[]{0}, new int[]{2 * SEGMENTO}).conflictos();
+
+        // Assert
+        assertThat(conflictos).containsExactly(new InventarioRangos.Conflicto(2 * SEGMENTO, 2 * SEGMENTO, "B"));
+        assertThat(inventario.cartonesReservados()).isEqualTo(101);
+        assertThat(inventario.liberar("A")).isEqualTo(100);
+    }
+
+    @DisplayName("Test liberar - Devuelve sólo los cartones del proceso")
+    @Test
+    void testLiberar_soloDelProceso() {
+        // Arrange
+        InventarioRangos inventario = new InventarioRangos();
+        inventario.reservar("A", new int[]{-50, SEGMENTO - 10}, new int[]{-1, SEGMENTO + 9});
+        inventario.reservar("B", new int[]{1_000}, new int[]{1_099});
+
+        // Act
+        long liberados = inventario.liberar("A");
+
+        // Assert
+        assertThat(liberados).isEqualTo(70);
+        assertThat(inventario.cartonesReservados()).isEqualTo(100);
+        assertThat(inventario.reservar("C", new int[]{-50}, new int[]{999}).conflictos()).isEmpty();
+    }
+
+    @DisplayName("Test deshacer - Devuelve sólo lo que sumó la reserva, no lo que el dueño ya tenía")
+    @Test
+    void testDeshacer_conservaLoAnterior() {
+        // Arrange: A ya tenía 100..199 y una reserva repetida le suma 50..99
+        InventarioRangos inventario = new InventarioRangos();
+        inventario.reservar("A", new int[]{100}, new int[]{199});
+        InventarioRangos.Reserva repetida = inventario.reservar("A", new int[]{50}, new int[]{199});
+
+        // Act
+        long liberados = inventario.deshacer(repetida);
+
+        // Assert
+        assertThat(liberados).isEqualTo(50);
+        assertThat(inventario.cartonesReservados()).isEqualTo(100);
+        assertThat(inventario.reservar("B", new int[]{50}, new int[]{99}).conflictos()).isEmpty();
+        assertThat(inventario.reservar("B", new int[]{150}, new int[]{150}).conflictos())
+                .containsExactly(new InventarioRangos.Conflicto(150, 150, "A"));
+    }
+
+    @DisplayName("Test reservar - Rangos desordenados")
+    @Test
+    void testReservar_rangosDesordenados() {
+        // Act & Assert
+        assertThatThrownBy(() -> new InventarioRangos().reservar("A", new int[]{50, 10}, new int[]{60, 55}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @DisplayName("Test reservar - En paralelo ningún cartón queda entregado a dos procesos")
+    @Test
+    void testReservar_concurrenteSinDobleEntrega() throws Exception {
+        // Arrange: muchos procesos pidiendo rangos al azar sobre pocos segmentos
+        InventarioRangos inventario = new InventarioRangos();
+        int procesos = 400;
+        int limite = 4 * SEGMENTO;
+        List<int[][]> pedidos = new ArrayList<>();
+        Random random = new Random(15L);
+        for (int i = 0; i < procesos; i++) {
+            int cantidad = 1 + random.nextInt(4);
+            int[] inicios = new int[cantidad];
+            int[] fines = new int[cantidad];
+            int cursor = random.nextInt(limite / 2);
+            for (int r = 0; r < cantidad; r++) {
+                inicios[r] = cursor;
+                fines[r] = cursor + random.nextInt(300);
+                cursor = fines[r] + 1 + random.nextInt(SEGMENTO);
+            }
+            pedidos.add(new int[][]{inicios, fines});
+        }
+
+        // Act
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        for (int i = 0; i < procesos; i++) {
+            String dueno = "P" + i;
+            int[][] pedido = pedidos.get(i);
+            resultados.add(hilos.submit(() -> inventario.reservar(dueno, pedido[0], pedido[1]).conflictos().isEmpty()));
+        }
+        int[] duenos = new int[limite * 2];
+        long esperados = 0;
+        for (int i = 0; i < procesos; i++) {
+            if (!resultados.get(i).get()) continue;
+            int[][] pedido = pedidos.get(i);
+            for (int r = 0; r < pedido[0].length; r++) {
+                for (int c = pedido[0][r]; c <= pedido[1][r]; c++) {
+                    duenos[c]++;
+                    esperados++;
+                }
+            }
+        }
+        hilos.shutdown();
+
+        // Assert
+        for (int c = 0; c < duenos.length; c++) {
+            assertThat(duenos[c]).as("cartón %d", c).isLessThanOrEqualTo(1);
+        }
+        assertThat(inventario.cartonesReservados()).isEqualTo(esperados);
+    }
+}
@@ -0,0 +1,654 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import com.eliasgonzalez.cartones.pdf.dto.RangoCortadoDTO;
+import com.eliasgonzalez.cartones.pdf.dto.RangoLogico;
+import com.eliasgonzalez.cartones.pdf.dto.SimulacionRequestDTO;
+import com.eliasgonzalez.cartones.pdf.dto.VendedorInputDTO;
+import com.eliasgonzalez.cartones.pdf.dto.VendedorSimuladoDTO;
+import com.eliasgonzalez.cartones.pdf.service.DistribucionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba diferencial: el motor primitivo debe producir exactamente lo mismo que la implementación
+ * original basada en {@code LinkedList<RangoLogico>} y strings, que se conserva aquí como referencia.
+ */
+class MotorDistribucionTest {
+
+    private static final int ESCENARIOS = 300;
+
+    @DisplayName("Test asignar - Vendedor normal toma lo que hay arriba de la pila")
+    @Test
+    void testAsignar_vendedorNormal() {
+        // Arrange
+        PoolCartones pool = new PoolCartones(new int[]{100, 200}, new int[]{104, 210});
+
+        // Act
+        AsignacionJuego asignacion = MotorDistribucion.asignar(pool, new int[]{3, 5}, new int[]{-1, -1});
+
+        // Assert
+        assertThat(rangosComoTexto(asignacion, 0)).containsExactly("100-102");
+        assertThat(rangosComoTexto(asignacion, 1)).containsExactly("103-104", "200-202");
+    }
+
+    @DisplayName("Test asignar - Vendedor VIP quema papel hasta su terminación")
+    @Test
+    void testAsignar_vendedorVip() {
+        // Arrange
+        PoolCartones pool = new PoolCartones(new int[]{100}, new int[]{400});
+
+        // Act
+        AsignacionJuego asignacion = MotorDistribucion.asignar(pool, new int[]{2, 5}, new int[]{-1, 50});
+
+        // Assert
+        assertThat(rangosComoTexto(asignacion, 0)).containsExactly("100-101");
+        assertThat(rangosComoTexto(asignacion, 1)).containsExactly("150-154");
+    }
+
+    @DisplayName("Test asignar - Diferencial contra la implementación original")
+    @Test
+    void testAsignar_diferencialContraImplementacionOriginal() {
+        Random random = new Random(20240611L);
+
+        for (int escenario = 0; escenario < ESCENARIOS; escenario++) {
+            // Arrange
+            List<RangoCortadoDTO> pool = generarPool(random);
+            List<VendedorInputDTO> vendedores = generarVendedores(random, 60);
+            boolean esSenete = random.nextBoolean();
+
+            Map<Long, List<String>> esperado = new HashMap<>();
+            LinkedList<RangoLogico> poolOriginal = pool.stream()
+                    .map(d -> new RangoLogico(d.getInicio(), d.getFin()))
+                    .collect(Collectors.toCollection(LinkedList::new));
+            ReferenciaOriginal.procesarFila(poolOriginal, vendedores, esSenete, esperado);
+
+            int[] cantidades = new int[vendedores.size()];
+            int[] terminaciones = new int[vendedores.size()];
+            for (int p = 0; p < vendedores.size(); p++) {
+                VendedorInputDTO v = vendedores.get(p);
+                Integer cantidad = esSenete ? v.getCantidadSenete() : v.getCantidadTelebingo();
+                Integer terminacion = esSenete ? v.getTerminacionSenete() : v.getTerminacionTelebingo();
+                cantidades[p] = cantidad == null ? 0 : cantidad;
+                terminaciones[p] = (terminacion != null && terminacion >= 0) ? terminacion : MotorDistribucion.SIN_TERMINACION;
+            }
+
+            // Act
+            AsignacionJuego asignacion = MotorDistribucion.asignar(aPool(pool), cantidades, terminaciones);
+
+            // Assert
+            for (int p = 0; p < vendedores.size(); p++) {
+                List<String> esperados = esperado.getOrDefault(vendedores.get(p).getId(), List.of());
+                assertThat(rangosComoTexto(asignacion, p))
+                        .as("escenario %d, vendedor en posición %d", escenario, p)
+                        .isEqualTo(esperados);
+            }
+        }
+    }
+
+    @DisplayName("Test asignar - VIP salta bloques fragmentados y cuenta lo quemado")
+    @Test
+    void testAsignar_vipSaltaBloquesFragmentados() {
+        // Arrange: bloques de 2 cartones que recién contienen la terminación 77 en el último
+        int bloques = 500;
+        int[] inicios = new int[bloques];
+        int[] fines = new int[bloques];
+        for (int i = 0; i < bloques; i++) {
+            inicios[i] = i * 100 + 10;
+            fines[i] = i * 100 + 11;
+        }
+        fines[bloques - 1] = (bloques - 1) * 100 + 80;
+
+        // Act
+        AsignacionJuego asignacion = MotorDistribucion.asignar(new PoolCartones(inicios, fines), new int[]{3}, new int[]{77});
+
+        // Assert
+        assertThat(rangosComoTexto(asignacion, 0)).containsExactly("49977-49979");
+        assertThat(asignacion.cartonesQuemados()).isEqualTo((bloques - 1) * 2L + 67);
+    }
+
+    @DisplayName("Test asignar - Diferencial con pools muy fragmentados y muchos VIP")
+    @Test
+    void testAsignar_diferencialPoolsFragmentados() {
+        Random random = new Random(99L);
+
+        for (int escenario = 0; escenario < 50; escenario++) {
+            // Arrange
+            List<RangoCortadoDTO> pool = new ArrayList<>();
+            int cursor = random.nextInt(100);
+            for (int i = 0; i < 3000; i++) {
+                int largo = random.nextInt(20) == 0 ? 0 : 1 + random.nextInt(4);
+                pool.add(new RangoCortadoDTO(cursor, cursor + largo - 1));
+                cursor += largo + random.nextInt(7);
+            }
+            List<VendedorInputDTO> vendedores = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                vendedores.add(VendedorInputDTO.builder()
+                        .id((long) i + 1)
+                        .cantidadSenete(1 + random.nextInt(12))
+                        .terminacionSenete(random.nextInt(3) == 0 ? null : random.nextInt(100))
+                        .build());
+            }
+
+            Map<Long, List<String>> esperado = new HashMap<>();
+            LinkedList<RangoLogico> poolOriginal = pool.stream()
+                    .map(d -> new RangoLogico(d.getInicio(), d.getFin()))
+                    .collect(Collectors.toCollection(LinkedList::new));
+            ReferenciaOriginal.procesarFila(poolOriginal, vendedores, true, esperado);
+
+            int[] cantidades = vendedores.stream().mapToInt(VendedorInputDTO::getCantidadSenete).toArray();
+            int[] terminaciones = vendedores.stream()
+                    .mapToInt(v -> v.getTerminacionSenete() == null ? MotorDistribucion.SIN_TERMINACION : v.getTerminacionSenete())
+                    .toArray();
+
+            // Act
+            AsignacionJuego asignacion = MotorDistribucion.asignar(aPool(pool), cantidades, terminaciones);
+
+            // Assert
+            for (int p = 0; p < vendedores.size(); p++) {
+                assertThat(rangosComoTexto(asignacion, p))
+                        .as("escenario %d, vendedor en posición %d", escenario, p)
+                        .isEqualTo(esperado.getOrDefault(vendedores.get(p).getId(), List.of()));
+            }
+        }
+    }
+
+    @DisplayName("Test asignar - VIP con varias terminaciones para en la más cercana de cualquiera")
+    @Test
+    void testAsignar_conjuntosDeTerminaciones() {
+        Random random = new Random(1401L);
+
+        for (int escenario = 0; escenario < ESCENARIOS; escenario++) {
+            // Arrange: un tercio sin terminación, un tercio con una sola y un tercio con conjuntos
+            List<RangoCortadoDTO> rangos = generarPool(random);
+            int n = 1 + random.nextInt(200);
+            int[] cantidades = new int[n];
+            int[] terminaciones = new int[n];
+            int[][] aceptadas = new int[n][];
+            List<Terminaciones> conjuntos = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                cantidades[i] = 1 + random.nextInt(30);
+                switch (random.nextInt(3)) {
+                    case 0 -> terminaciones[i] = MotorDistribucion.SIN_TERMINACION;
+                    case 1 -> {
+                        terminaciones[i] = random.nextInt(100);
+                        aceptadas[i] = new int[]{terminaciones[i]};
+                    }
+                    default -> {
+                        aceptadas[i] = random.ints(2 + random.nextInt(4), 0, 100).toArray();
+                        Terminaciones conjunto = Terminaciones.de(aceptadas[i]);
+                        if (!conjuntos.contains(conjunto)) conjuntos.add(conjunto);
+                        terminaciones[i] = conjunto.cantidad() == 1
+                                ? conjunto.miembros()[0]
+                                : MotorDistribucion.codigoConjunto(conjuntos.indexOf(conjunto));
+                    }
+                }
+            }
+            Juego juego = new Juego(aPool(rangos), cantidades, terminaciones, conjuntos.toArray(new Terminaciones[0]));
+            Map<Integer, List<String>> esperado = repartirConConjuntos(rangos, cantidades, aceptadas);
+
+            // Act
+            AsignacionJuego asignacion = MotorDistribucion.asignar(juego, null);
+            EstadisticasJuego evaluadas = MotorDistribucion.evaluar(juego, null);
+
+            // Assert
+            for (int p = 0; p < n; p++) {
+                assertThat(rangosComoTexto(asignacion, p))
+                        .as("escenario %d, vendedor en posición %d", escenario, p)
+                        .isEqualTo(esperado.getOrDefault(p, List.of()));
+            }
+            assertThat(evaluadas).as("escenario %d", escenario).isEqualTo(asignacion.estadisticas());
+        }
+    }
+
+    @DisplayName("Test evaluar - Mismos totales que asignar con tramos largos sin terminación")
+    @Test
+    void testEvaluar_mismosTotalesQueAsignar() {
+        Random random = new Random(1107L);
+
+        for (int escenario = 0; escenario < ESCENARIOS; escenario++) {
+            // Arrange: pocos VIP para que haya tramos largos, y pools que a veces no alcanzan
+            int n = 1 + random.nextInt(600);
+            int[] cantidades = new int[n];
+            int[] terminaciones = new int[n];
+            for (int i = 0; i < n; i++) {
+                cantidades[i] = random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(30);
+                terminaciones[i] = random.nextInt(25) == 0 ? random.nextInt(100) : MotorDistribucion.SIN_TERMINACION;
+            }
+            int[] orden = Mezclador.permutacion(n, random.nextLong());
+            PoolCartones pool = aPool(generarPool(random));
+
+            // Act
+            PoolCartones pilaAsignada = pool.copia();
+            PoolCartones pilaEvaluada = pool.copia();
+            AsignacionJuego asignacion = MotorDistribucion.asignar(pilaAsignada, cantidades, terminaciones, orden);
+            EstadisticasJuego evaluadas = MotorDistribucion.evaluar(pilaEvaluada, cantidades, terminaciones, orden);
+
+            // Assert
+            assertThat(evaluadas).as("escenario %d", escenario).isEqualTo(asignacion.estadisticas());
+            assertThat(pilaEvaluada.estado()).as("escenario %d", escenario).isEqualTo(pilaAsignada.estado());
+        }
+    }
+
+    @DisplayName("Test asignarTodos - En paralelo, igual que repartir cada juego por separado")
+    @Test
+    void testAsignarTodos_igualQueCadaJuegoPorSeparado() {
+        // Arrange: cuatro juegos, uno sin papel
+        Random random = new Random(1313L);
+        int n = 2_000;
+        List<Juego> juegos = new ArrayList<>();
+        for (int g = 0; g < 4; g++) {
+            int[] cantidades = new int[n];
+            int[] terminaciones = new int[n];
+            for (int i = 0; i < n; i++) {
+                cantidades[i] = random.nextInt(20);
+                terminaciones[i] = random.nextInt(6) == 0 ? random.nextInt(100) : MotorDistribucion.SIN_TERMINACION;
+            }
+            PoolCartones pool = g == 2 ? PoolCartones.vacio() : aPool(generarPool(random));
+            juegos.add(new Juego(pool, cantidades, terminaciones));
+        }
+        int[] orden = Mezclador.permutacion(n, 8L);
+
+        // Act
+        AsignacionJuego[] asignaciones = MotorDistribucion.asignarTodos(juegos, orden, ForkJoinPool.commonPool());
+
+        // Assert
+        assertThat(asignaciones).hasSize(4);
+        for (int g = 0; g < juegos.size(); g++) {
+            Juego juego = juegos.get(g);
+            AsignacionJuego separado = MotorDistribucion.asignar(juego.pool().copia(), juego.cantidades(), juego.terminaciones(), orden);
+            assertThat(asignaciones[g].estadisticas()).as("juego %d", g).isEqualTo(separado.estadisticas());
+            for (int p = 0; p < n; p++) {
+                assertThat(asignaciones[g].mismosRangos(p, separado)).as("juego %d, posición %d", g, p).isTrue();
+            }
+        }
+    }
+
+    @DisplayName("Test reasignar - Igual a repartir de cero tras cambiar pedidos, también encadenado")
+    @Test
+    void testReasignar_igualARepartirDeCero() {
+        Random random = new Random(4242L);
+
+        for (int escenario = 0; escenario < 200; escenario++) {
+            // Arrange
+            int n = 1 + random.nextInt(escenario % 10 == 0 ? 3_000 : 400);
+            int[] cantidades = new int[n];
+            int[] terminaciones = new int[n];
+            for (int i = 0; i < n; i++) {
+                cantidades[i] = random.nextInt(12) == 0 ? 0 : 1 + random.nextInt(30);
+                terminaciones[i] = random.nextInt(5) == 0 ? random.nextInt(100) : MotorDistribucion.SIN_TERMINACION;
+            }
+            int[] orden = Mezclador.permutacion(n, random.nextLong());
+            PoolCartones pool = random.nextBoolean()
+                    ? aPool(generarPool(random))
+                    : new PoolCartones(new int[]{1}, new int[]{n * (5 + random.nextInt(40))});
+            AsignacionJuego anterior = MotorDistribucion.asignar(pool.copia(), cantidades, terminaciones, orden);
+
+            for (int edicion = 0; edicion < 3; edicion++) {
+                // Act: cambiamos de 1 a 3 vendedores y rehacemos
+                int primera = n;
+                int ultima = -1;
+                for (int k = 1 + random.nextInt(3); k > 0; k--) {
+                    int posicion = random.nextInt(n);
+                    cantidades[orden[posicion]] = random.nextInt(30);
+                    terminaciones[orden[posicion]] = random.nextBoolean() ? random.nextInt(100) : MotorDistribucion.SIN_TERMINACION;
+                    primera = Math.min(primera, posicion);
+                    ultima = Math.max(ultima, posicion);
+                }
+                AsignacionJuego incremental = MotorDistribucion.reasignar(
+                        anterior, pool.copia(), cantidades, terminaciones, orden, primera, ultima);
+                AsignacionJuego completa = MotorDistribucion.asignar(pool.copia(), cantidades, terminaciones, orden);
+
+                // Assert
+                assertThat(incremental.estadisticas()).as("escenario %d, edición %d", escenario, edicion)
+                        .isEqualTo(completa.estadisticas());
+                assertThat(incremental.totalRangos()).isEqualTo(completa.totalRangos());
+                for (int p = 0; p < n; p++) {
+                    assertThat(incremental.mismosRangos(p, completa))
+                            .as("escenario %d, edición %d, posición %d", escenario, edicion, p)
+                            .isTrue();
+                }
+                assertThat(incremental.recalculadoDesde()).isLessThanOrEqualTo(primera);
+                anterior = incremental;
+            }
+        }
+    }
+
+    @DisplayName("Test reasignar - Sólo recorre el tramo afectado cuando la pila vuelve a coincidir")
+    @Test
+    void testReasignar_recalculaSoloElTramoAfectado() {
+        // Arrange: sin VIP, cambiar 5 por 5 cartones deja la pila igual enseguida
+        int n = 10_000;
+        int[] cantidades = new int[n];
+        int[] terminaciones = new int[n];
+        Arrays.fill(cantidades, 5);
+        Arrays.fill(terminaciones, MotorDistribucion.SIN_TERMINACION);
+        PoolCartones pool = new PoolCartones(new int[]{1}, new int[]{100_000});
+        AsignacionJuego anterior = MotorDistribucion.asignar(pool.copia(), cantidades, terminaciones);
+
+        // Act: el vendedor 5_000 pasa a pedir 2 y el 5_001 pide 8
+        cantidades[5_000] = 2;
+        cantidades[5_001] = 8;
+        AsignacionJuego incremental = MotorDistribucion.reasignar(
+                anterior, pool.copia(), cantidades, terminaciones, null, 5_000, 5_001);
+
+        // Assert
+        assertThat(incremental.recalculadoHasta() - incremental.recalculadoDesde()).isLessThanOrEqualTo(128);
+        assertThat(rangosComoTexto(incremental, 5_000)).containsExactly("25001-25002");
+        assertThat(rangosComoTexto(incremental, 5_001)).containsExactly("25003-25010");
+        assertThat(incremental.mismosRangos(9_999, anterior)).isTrue();
+        assertThat(incremental.estadisticas()).isEqualTo(anterior.estadisticas());
+    }
+
+    @DisplayName("Test simularDistribucion - JSON idéntico al de la implementación original")
+    @Test
+    void testSimularDistribucion_jsonIdenticoAlOriginal() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        DistribucionService distribucionService = new DistribucionService(ForkJoinPool.commonPool());
+        Random random = new Random(7L);
+
+        for (int escenario = 0; escenario < ESCENARIOS; escenario++) {
+            // Arrange: algunos escenarios superan el umbral para ejecutar los juegos en paralelo
+            SimulacionRequestDTO request = new SimulacionRequestDTO();
+            request.setVendedores(generarVendedores(random, escenario % 25 == 0 ? 4_000 : 60));
+            request.setMezclar(false);
+            if (random.nextBoolean()) {
+                request.setPoolSenete(generarPool(random));
+            } else {
+                request.setInicioSeneteGral(random.nextInt(5000));
+            }
+            if (random.nextInt(4) > 0) {
+                request.setPoolTelebingo(generarPool(random));
+            }
+
+            // Act
+            List<VendedorSimuladoDTO> obtenido = distribucionService.simularDistribucion(request).getVendedores();
+            // La referencia recibe el pool ya normalizado (ordenado y con los contiguos fusionados) y, en
+            // lugar de su margen fijo, la pila generada con el largo que calcula el planificador
+            if (request.getInicioSeneteGral() != null) {
+                request.setPoolSenete(pilaPlanificada(request.getVendedores(), request.getInicioSeneteGral()));
+            }
+            request.setPoolSenete(normalizado(request.getPoolSenete()));
+            request.setPoolTelebingo(normalizado(request.getPoolTelebingo()));
+            List<ReferenciaOriginal.VendedorSimuladoOriginal> esperado = ReferenciaOriginal.simularDistribucion(request);
+
+            // Assert
+            assertThat(objectMapper.writeValueAsString(obtenido))
+                    .as("escenario %d", escenario)
+                    .isEqualTo(objectMapper.writeValueAsString(esperado));
+        }
+    }
+
+    // --- GENERADORES ---
+
+    private static List<RangoCortadoDTO> generarPool(Random random) {
+        int bloques = 1 + random.nextInt(40);
+        List<RangoCortadoDTO> pool = new ArrayList<>(bloques);
+        int cursor = random.nextInt(2000);
+        for (int i = 0; i < bloques; i++) {
+            int inicio = cursor + random.nextInt(30);
+            // Mayormente bloques chicos (papel fragmentado), algunos grandes y algunos inválidos
+            int largo = switch (random.nextInt(10)) {
+                case 0 -> 100 + random.nextInt(400);
+                case 1 -> -random.nextInt(3);
+                default -> 1 + random.nextInt(25);
+            };
+            pool.add(new RangoCortadoDTO(inicio, inicio + largo - 1));
+            cursor = inicio + Math.max(largo, 0);
+        }
+        if (random.nextInt(5) == 0) {
+            Collections.shuffle(pool, random);
+        }
+        return pool;
+    }
+
+    private static List<VendedorInputDTO> generarVendedores(Random random, int maximo) {
+        int cantidad = random.nextInt(maximo);
+        List<VendedorInputDTO> vendedores = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            vendedores.add(VendedorInputDTO.builder()
+                    .id((long) i + 1)
+                    .nombre("Vendedor " + (i + 1))
+                    .cantidadSenete(generarCantidad(random))
+                    .terminacionSenete(generarTerminacion(random))
+                    .cantidadTelebingo(generarCantidad(random))
+                    .terminacionTelebingo(generarTerminacion(random))
+                    .build());
+        }
+        return vendedores;
+    }
+
+    private static Integer generarCantidad(Random random) {
+        return switch (random.nextInt(8)) {
+            case 0 -> null;
+            case 1 -> 0;
+            case 2 -> 100 + random.nextInt(150);
+            default -> 1 + random.nextInt(40);
+        };
+    }
+
+    private static Integer generarTerminacion(Random random) {
+        return switch (random.nextInt(6)) {
+            case 0 -> random.nextInt(100);
+            case 1 -> -1;
+            default -> null;
+        };
+    }
+
+    private static List<RangoCortadoDTO> pilaPlanificada(List<VendedorInputDTO> vendedores, int inicio) {
+        int[] cantidades = vendedores.stream()
+                .mapToInt(v -> v.getCantidadSenete() == null ? 0 : v.getCantidadSenete()).toArray();
+        int[] terminaciones = vendedores.stream()
+                .mapToInt(v -> v.getTerminacionSenete() == null || v.getTerminacionSenete() < 0
+                        ? MotorDistribucion.SIN_TERMINACION : v.getTerminacionSenete())
+                .toArray();
+        long cartones = PlanificadorPapel.cartonesMaximos(cantidades, terminaciones, null, inicio);
+        return List.of(new RangoCortadoDTO(inicio, (int) (inicio + cartones - 1)));
+    }
+
+    private static List<RangoCortadoDTO> normalizado(List<RangoCortadoDTO> rangos) {
+        if (rangos == null) return null;
+        NormalizadorPool.Resultado resultado = NormalizadorPool.normalizar(
+                rangos.stream().mapToInt(RangoCortadoDTO::getInicio).toArray(),
+                rangos.stream().mapToInt(RangoCortadoDTO::getFin).toArray());
+        List<RangoCortadoDTO> normalizados = new ArrayList<>();
+        for (int b = 0; b < resultado.cantidadBloques(); b++) {
+            normalizados.add(new RangoCortadoDTO(resultado.inicios()[b], resultado.fines()[b]));
+        }
+        return normalizados;
+    }
+
+    private static PoolCartones aPool(List<RangoCortadoDTO> rangos) {
+        int[] inicios = rangos.stream().mapToInt(RangoCortadoDTO::getInicio).toArray();
+        int[] fines = rangos.stream().mapToInt(RangoCortadoDTO::getFin).toArray();
+        return new PoolCartones(inicios, fines);
+    }
+
+    private static List<String> rangosComoTexto(AsignacionJuego asignacion, int posicion) {
+        List<String> rangos = new ArrayList<>();
+        for (int r = 0; r < asignacion.cantidadRangos(posicion); r++) {
+            rangos.add(asignacion.inicio(posicion, r) + "-" + asignacion.fin(posicion, r));
+        }
+        return rangos;
+    }
+
+    /**
+     * Reparto de referencia con la lógica original, donde el VIP para en la terminación aceptada más
+     * cercana. {@code aceptadas[i]} es {@code null} para los vendedores sin terminación.
+     */
+    private static Map<Integer, List<String>> repartirConConjuntos(List<RangoCortadoDTO> rangos, int[] cantidades,
+                                                                   int[][] aceptadas) {
+        LinkedList<RangoLogico> pool = rangos.stream()
+                .map(d -> new RangoLogico(d.getInicio(), d.getFin()))
+                .collect(Collectors.toCollection(LinkedList::new));
+        Map<Integer, List<String>> resultado = new HashMap<>();
+
+        for (int i = 0; i < cantidades.length; i++) {
+            int pendientes = cantidades[i];
+            while (pendientes > 0 && !pool.isEmpty()) {
+                RangoLogico rango = pool.getFirst();
+                if (rango.getCantidad() <= 0) {
+                    pool.removeFirst();
+                    continue;
+                }
+
+                int distancia = 0;
+                if (aceptadas[i] != null) {
+                    distancia = Integer.MAX_VALUE;
+                    for (int t : aceptadas[i]) {
+                        distancia = Math.min(distancia, ReferenciaOriginal.calcularDistancia(rango.getInicio(), t));
+                    }
+                }
+
+                if (distancia >= pendientes) {
+                    rango.setInicio(rango.getInicio() + Math.min(distancia, rango.getCantidad()));
+                } else {
+                    int aTomar = Math.min(pendientes, rango.getCantidad());
+                    resultado.computeIfAbsent(i, k -> new ArrayList<>())
+                            .add(rango.getInicio() + "-" + (rango.getInicio() + aTomar - 1));
+                    rango.setInicio(rango.getInicio() + aTomar);
+                    pendientes -= aTomar;
+                }
+                if (rango.getInicio() > rango.getFin()) pool.removeFirst();
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Copia fiel de la implementación original de {@code DistribucionService}, usada como oráculo.
+     */
+    private static final class ReferenciaOriginal {
+
+        private static final int MARGEN_SEGURIDAD = 100;
+
+        /**
+         * Forma original del DTO, con los rangos como texto.
+         */
+        record VendedorSimuladoOriginal(Long id, String nombre, List<String> rangosSenete, List<String> rangosTelebingo) {}
+
+        static List<VendedorSimuladoOriginal> simularDistribucion(SimulacionRequestDTO request) {
+            int demandaTotalSenete = request.getVendedores().stream()
+                    .mapToInt(v -> v.getCantidadSenete() == null ? 0 : v.getCantidadSenete()).sum();
+            int demandaTotalTelebingo = request.getVendedores().stream()
+                    .mapToInt(v -> v.getCantidadTelebingo() == null ? 0 : v.getCantidadTelebingo()).sum();
+
+            LinkedList<RangoLogico> poolSenete = convertirPool(
+                    request.getPoolSenete(), request.getInicioSeneteGral(), demandaTotalSenete);
+            LinkedList<RangoLogico> poolTelebingo = convertirPool(
+                    request.getPoolTelebingo(), request.getInicioTelebingoGral(), demandaTotalTelebingo);
+
+            List<VendedorInputDTO> vendedoresOrdenados = new ArrayList<>(request.getVendedores());
+
+            Map<Long, List<String>> resultadosSenete = new HashMap<>();
+            Map<Long, List<String>> resultadosTelebingo = new HashMap<>();
+
+            procesarFila(poolSenete, vendedoresOrdenados, true, resultadosSenete);
+            procesarFila(poolTelebingo, vendedoresOrdenados, false, resultadosTelebingo);
+
+            return request.getVendedores().stream()
+                    .map(v -> new VendedorSimuladoOriginal(
+                            v.getId(),
+                            v.getNombre(),
+                            resultadosSenete.getOrDefault(v.getId(), new ArrayList<>()),
+                            resultadosTelebingo.getOrDefault(v.getId(), new ArrayList<>())))
+                    .sorted(Comparator.comparingInt(ReferenciaOriginal::extraerInicioOrdenamiento))
+                    .collect(Collectors.toList());
+        }
+
+        static void procesarFila(LinkedList<RangoLogico> pool, List<VendedorInputDTO> vendedoresEnOrden,
+                                 boolean esSenete, Map<Long, List<String>> mapaResultados) {
+            for (VendedorInputDTO vendedorOriginal : vendedoresEnOrden) {
+                int cantidadNecesaria = esSenete
+                        ? (vendedorOriginal.getCantidadSenete() == null ? 0 : vendedorOriginal.getCantidadSenete())
+                        : (vendedorOriginal.getCantidadTelebingo() == null ? 0 : vendedorOriginal.getCantidadTelebingo());
+                if (cantidadNecesaria <= 0) continue;
+
+                Integer terminacion = esSenete ? vendedorOriginal.getTerminacionSenete() : vendedorOriginal.getTerminacionTelebingo();
+                boolean esVip = (terminacion != null && terminacion >= 0);
+
+                while (cantidadNecesaria > 0 && !pool.isEmpty()) {
+                    RangoLogico rangoActual = pool.getFirst();
+                    int inicioActual = rangoActual.getInicio();
+                    int disponibleBloque = rangoActual.getCantidad();
+
+                    boolean quemarPapel = false;
+                    int aQuemar = 0;
+                    int aTomar = 0;
+
+                    if (!esVip) {
+                        aTomar = Math.min(cantidadNecesaria, disponibleBloque);
+                    } else if (calcularDistancia(inicioActual, terminacion) < cantidadNecesaria) {
+                        aTomar = Math.min(cantidadNecesaria, disponibleBloque);
+                    } else {
+                        quemarPapel = true;
+                        aQuemar = Math.min(calcularDistancia(inicioActual, terminacion), disponibleBloque);
+                    }
+
+                    if (quemarPapel) {
+                        rangoActual.setInicio(rangoActual.getInicio() + aQuemar);
+                        consumirBloqueSiVacio(pool, rangoActual);
+                    } else if (aTomar > 0) {
+                        int finCorte = rangoActual.getInicio() + aTomar - 1;
+                        String rangoStr = rangoActual.getInicio() + "-" + finCorte;
+                        mapaResultados.computeIfAbsent(vendedorOriginal.getId(), k -> new ArrayList<>()).add(rangoStr);
+                        rangoActual.setInicio(finCorte + 1);
+                        consumirBloqueSiVacio(pool, rangoActual);
+                        cantidadNecesaria -= aTomar;
+                    } else {
+                        pool.removeFirst();
+                    }
+                }
+            }
+        }
+
+        private static void consumirBloqueSiVacio(LinkedList<RangoLogico> pool, RangoLogico rango) {
+            if (rango.getInicio() > rango.getFin()) {
+                pool.removeFirst();
+            }
+        }
+
+        private static int calcularDistancia(int numeroActual, int terminacionDeseada) {
+            int termActual = numeroActual % 100;
+            if (termActual == terminacionDeseada) return 0;
+            if (termActual < terminacionDeseada) {
+                return terminacionDeseada - termActual;
+            } else {
+                return (100 - termActual) + terminacionDeseada;
+            }
+        }
+
+        private static LinkedList<RangoLogico> convertirPool(List<RangoCortadoDTO> rangosCortados, Integer inicioGeneral, int demandaTotal) {
+            if (rangosCortados != null && !rangosCortados.isEmpty()) {
+                return rangosCortados.stream()
+                        .map(d -> new RangoLogico(d.getInicio(), d.getFin()))
+                        .collect(Collectors.toCollection(LinkedList::new));
+            }
+            if (inicioGeneral != null) {
+                LinkedList<RangoLogico> poolAjustado = new LinkedList<>();
+                poolAjustado.add(new RangoLogico(inicioGeneral, inicioGeneral + demandaTotal + MARGEN_SEGURIDAD));
+                return poolAjustado;
+            }
+            return new LinkedList<>();
+        }
+
+        private static int extraerInicioOrdenamiento(VendedorSimuladoOriginal dto) {
+            List<String> rangos = (dto.rangosSenete() != null && !dto.rangosSenete().isEmpty())
+                    ? dto.rangosSenete() : dto.rangosTelebingo();
+            if (rangos == null || rangos.isEmpty()) return Integer.MAX_VALUE;
+            String primerRango = rangos.get(0);
+            if (!Character.isDigit(primerRango.charAt(0))) return Integer.MAX_VALUE;
+            try {
+                return Integer.parseInt(primerRango.split("-")[0].trim());
+            } catch (NumberFormatException e) {
+                return Integer.MAX_VALUE;
+            }
+        }
+    }
+}
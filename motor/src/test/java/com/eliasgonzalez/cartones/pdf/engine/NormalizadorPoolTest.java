@@ -0,0 +1,109 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NormalizadorPoolTest {
+
+    @DisplayName("Test normalizar - Ordena, fusiona contiguos y descarta inválidos")
+    @Test
+    void testNormalizar_ordenaYFusiona() {
+        // Arrange: 300-310 y 311-320 son contiguos; 50-40 es inválido
+        int[] inicios = {311, 100, 50, 300, 121};
+        int[] fines = {320, 120, 40, 310, 130};
+
+        // Act
+        NormalizadorPool.Resultado resultado = NormalizadorPool.normalizar(inicios, fines);
+
+        // Assert
+        assertThat(resultado.inicios()).containsExactly(100, 300);
+        assertThat(resultado.fines()).containsExactly(130, 320);
+        assertThat(resultado.tieneSuperposiciones()).isFalse();
+    }
+
+    @DisplayName("Test normalizar - Informa los cartones exactos que se repiten")
+    @Test
+    void testNormalizar_informaSuperposiciones() {
+        // Arrange
+        int[] inicios = {100, 140, 500, 505};
+        int[] fines = {150, 200, 600, 510};
+
+        // Act
+        NormalizadorPool.Resultado resultado = NormalizadorPool.normalizar(inicios, fines);
+
+        // Assert
+        assertThat(resultado.superposiciones()).containsExactly(
+                new NormalizadorPool.Superposicion(100, 150, 140, 200),
+                new NormalizadorPool.Superposicion(500, 600, 505, 510));
+        assertThat(resultado.superposiciones().get(0).desde()).isEqualTo(140);
+        assertThat(resultado.superposiciones().get(0).hasta()).isEqualTo(150);
+        assertThat(resultado.superposiciones().get(1).hasta()).isEqualTo(510);
+        assertThat(resultado.inicios()).containsExactly(100, 500);
+        assertThat(resultado.fines()).containsExactly(200, 600);
+    }
+
+    @DisplayName("Test normalizar - Cubre exactamente los mismos cartones con bloques separados")
+    @Test
+    void testNormalizar_mismosCartonesQueLaEntrada() {
+        Random random = new Random(31L);
+
+        for (int escenario = 0; escenario < 200; escenario++) {
+            // Arrange
+            int cantidad = random.nextInt(300);
+            int[] inicios = new int[cantidad];
+            int[] fines = new int[cantidad];
+            BitSet esperado = new BitSet();
+            boolean haySuperposicion = false;
+            for (int i = 0; i < cantidad; i++) {
+                inicios[i] = random.nextInt(5_000);
+                fines[i] = inicios[i] + random.nextInt(30) - 2;
+                if (fines[i] >= inicios[i]) {
+                    haySuperposicion |= esperado.get(inicios[i], fines[i] + 1).cardinality() > 0;
+                    esperado.set(inicios[i], fines[i] + 1);
+                }
+            }
+
+            // Act
+            NormalizadorPool.Resultado resultado = NormalizadorPool.normalizar(inicios, fines);
+
+            // Assert
+            BitSet obtenido = new BitSet();
+            for (int b = 0; b < resultado.cantidadBloques(); b++) {
+                assertThat(resultado.fines()[b]).isGreaterThanOrEqualTo(resultado.inicios()[b]);
+                if (b > 0) {
+                    // Ordenados y separados por al menos un cartón
+                    assertThat(resultado.inicios()[b]).isGreaterThan(resultado.fines()[b - 1] + 1);
+                }
+                obtenido.set(resultado.inicios()[b], resultado.fines()[b] + 1);
+            }
+            assertThat(obtenido).as("escenario %d", escenario).isEqualTo(esperado);
+            assertThat(resultado.tieneSuperposiciones()).as("escenario %d", escenario).isEqualTo(haySuperposicion);
+        }
+    }
+
+    @DisplayName("Test normalizar - Pool de 200k rangos cortados contiguos queda en un bloque")
+    @Test
+    void testNormalizar_poolGrande() {
+        // Arrange: rangos de 5 cartones, desordenados
+        int cantidad = 200_000;
+        int[] inicios = new int[cantidad];
+        int[] fines = new int[cantidad];
+        int[] orden = Mezclador.permutacion(cantidad, 3L);
+        for (int i = 0; i < cantidad; i++) {
+            inicios[i] = orden[i] * 5;
+            fines[i] = orden[i] * 5 + 4;
+        }
+
+        // Act
+        NormalizadorPool.Resultado resultado = NormalizadorPool.normalizar(inicios, fines);
+
+        // Assert
+        assertThat(resultado.inicios()).containsExactly(0);
+        assertThat(resultado.fines()).containsExactly(cantidad * 5 - 1);
+    }
+}
@@ -0,0 +1,170 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OptimizadorVipTest {
+
+    private static final int SIN = MotorDistribucion.SIN_TERMINACION;
+    private static final long PRESUPUESTO = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @DisplayName("Test optimizar - Los vendedores sin terminación conservan el orden de carga")
+    @Test
+    void testOptimizar_respetaOrdenDeLosFijos() {
+        Random random = new Random(18L);
+
+        for (int escenario = 0; escenario < 30; escenario++) {
+            // Arrange
+            int n = 1 + random.nextInt(150);
+            List<Juego> juegos = List.of(juego(random, n, random.nextInt(5_000)), juego(random, n, random.nextInt(5_000)));
+            long deCarga = quemados(juegos, Mezclador.identidad(n));
+
+            // Act
+            OptimizadorVip.Resultado resultado = OptimizadorVip.optimizar(
+                    ForkJoinPool.commonPool(), juegos, n, 16, random.nextLong(), PRESUPUESTO);
+
+            // Assert
+            int[] orden = resultado.orden();
+            assertThat(Arrays.stream(orden).sorted().toArray()).isEqualTo(Mezclador.identidad(n));
+            int[] fijos = Arrays.stream(orden)
+                    .filter(i -> !MotorDistribucion.esVip(juegos.get(0), i) && !MotorDistribucion.esVip(juegos.get(1), i))
+                    .toArray();
+            assertThat(fijos).isSorted();
+            assertThat(resultado.cartonesQuemados()).isEqualTo(quemados(juegos, orden));
+            assertThat(resultado.cartonesQuemados()).as("escenario %d", escenario).isLessThanOrEqualTo(deCarga);
+            assertThat(resultado.brecha()).isGreaterThanOrEqualTo(0);
+        }
+    }
+
+    @DisplayName("Test optimizar - Encuentra la fila que no quema nada cuando existe")
+    @Test
+    void testOptimizar_ceroCuandoEsPosible() {
+        // Arrange: en orden de carga los dos VIP queman; si llegan justo al 37 y al 60 no queman nada
+        int[] cantidades = {1, 1, 37, 22, 10};
+        int[] terminaciones = {60, 37, SIN, SIN, SIN};
+        List<Juego> juegos = List.of(new Juego(new PoolCartones(new int[]{0}, new int[]{999}), cantidades, terminaciones));
+
+        // Act
+        OptimizadorVip.Resultado resultado = OptimizadorVip.optimizar(
+                ForkJoinPool.commonPool(), juegos, cantidades.length, 16, 18L, PRESUPUESTO);
+
+        // Assert
+        assertThat(quemados(juegos, Mezclador.identidad(cantidades.length))).isPositive();
+        assertThat(resultado.cartonesQuemados()).isZero();
+        assertThat(resultado.brecha()).isZero();
+        assertThat(resultado.orden()).containsExactly(2, 1, 3, 0, 4);
+    }
+
+    @DisplayName("Test optimizar - Sólo VIP: la cota suma lo mínimo que quema cada uno")
+    @Test
+    void testOptimizar_cotaSinFijos() {
+        // Arrange: el 50 se alcanza desde el principio y el 60 recién después del 50
+        int[] cantidades = {1, 1};
+        int[] terminaciones = {60, 50};
+        List<Juego> juegos = List.of(new Juego(new PoolCartones(new int[]{0}, new int[]{999}), cantidades, terminaciones));
+
+        // Act
+        OptimizadorVip.Resultado resultado = OptimizadorVip.optimizar(
+                ForkJoinPool.commonPool(), juegos, cantidades.length, 16, 18L, PRESUPUESTO);
+
+        // Assert: 50 para llegar al 50 y 9 más para llegar al 60, que es lo menos posible
+        assertThat(resultado.orden()).containsExactly(1, 0);
+        assertThat(resultado.cartonesQuemados()).isEqualTo(59);
+        assertThat(resultado.cotaInferior()).isEqualTo(59);
+        assertThat(resultado.brecha()).isZero();
+    }
+
+    @DisplayName("Test optimizar - Con fijos la cota no es trivial y nunca supera a la mejor fila")
+    @Test
+    void testOptimizar_cotaContraFuerzaBruta() {
+        Random random = new Random(18L);
+        boolean huboCotaPositiva = false;
+
+        for (int escenario = 0; escenario < 200; escenario++) {
+            // Arrange: pocos vendedores, para recorrer todas las filas que respetan a los fijos
+            int n = 2 + random.nextInt(6);
+            List<Juego> juegos = List.of(chico(random, n), chico(random, n));
+
+            // Act
+            OptimizadorVip.Resultado resultado = OptimizadorVip.optimizar(
+                    ForkJoinPool.commonPool(), juegos, n, 1, random.nextLong(), PRESUPUESTO);
+
+            // Assert
+            long optimo = mejorPorFuerzaBruta(juegos, n);
+            assertThat(resultado.cotaInferior()).as("escenario %d", escenario).isBetween(0L, optimo);
+            huboCotaPositiva |= resultado.cotaInferior() > 0 && resultado.orden().length > 0
+                    && Arrays.stream(resultado.orden()).anyMatch(i -> esFijo(juegos, i));
+        }
+        assertThat(huboCotaPositiva).isTrue();
+    }
+
+    private static long quemados(List<Juego> juegos, int[] orden) {
+        long total = 0;
+        for (Juego juego : juegos) total += MotorDistribucion.evaluar(juego, orden).cartonesQuemados();
+        return total;
+    }
+
+    private static Juego juego(Random random, int n, int inicio) {
+        int[] cantidades = new int[n];
+        int[] terminaciones = new int[n];
+        for (int i = 0; i < n; i++) {
+            cantidades[i] = random.nextInt(8) == 0 ? 0 : 1 + random.nextInt(30);
+            terminaciones[i] = random.nextInt(4) == 0 ? random.nextInt(100) : SIN;
+        }
+        return new Juego(new PoolCartones(new int[]{inicio}, new int[]{inicio + 50 * n}), cantidades, terminaciones);
+    }
+
+    private static Juego chico(Random random, int n) {
+        int[] cantidades = new int[n];
+        int[] terminaciones = new int[n];
+        for (int i = 0; i < n; i++) {
+            cantidades[i] = random.nextInt(6) == 0 ? 0 : 1 + random.nextInt(40);
+            terminaciones[i] = random.nextInt(2) == 0 ? random.nextInt(100) : SIN;
+        }
+        int inicio = random.nextInt(300);
+        int largo = random.nextInt(4) == 0 ? 1 + random.nextInt(200) : 100 * n;
+        return new Juego(new PoolCartones(new int[]{inicio}, new int[]{inicio + largo}), cantidades, terminaciones);
+    }
+
+    private static boolean esFijo(List<Juego> juegos, int vendedor) {
+        return juegos.stream().noneMatch(juego -> MotorDistribucion.esVip(juego, vendedor));
+    }
+
+    // Lo menos que quema alguna fila con los fijos en orden de carga
+    private static long mejorPorFuerzaBruta(List<Juego> juegos, int n) {
+        int[] orden = Mezclador.identidad(n);
+        long mejor = Long.MAX_VALUE;
+        do {
+            int anterior = -1;
+            boolean respeta = true;
+            for (int i : orden) {
+                if (!esFijo(juegos, i)) continue;
+                respeta &= i > anterior;
+                anterior = i;
+            }
+            if (respeta) mejor = Math.min(mejor, quemados(juegos, orden));
+        } while (siguientePermutacion(orden));
+        return mejor;
+    }
+
+    private static boolean siguientePermutacion(int[] a) {
+        int i = a.length - 2;
+        while (i >= 0 && a[i] >= a[i + 1]) i--;
+        if (i < 0) return false;
+        int j = a.length - 1;
+        while (a[j] <= a[i]) j--;
+        int t = a[i]; a[i] = a[j]; a[j] = t;
+        for (int l = i + 1, r = a.length - 1; l < r; l++, r--) {
+            t = a[l]; a[l] = a[r]; a[r] = t;
+        }
+        return true;
+    }
+}
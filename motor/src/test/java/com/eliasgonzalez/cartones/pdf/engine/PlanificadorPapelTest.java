@@ -0,0 +1,113 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PlanificadorPapelTest {
+
+    @DisplayName("Test planificar - El fin exacto es el último cartón del reparto y alcanza justo")
+    @Test
+    void testPlanificar_finExactoIgualAlReparto() {
+        Random random = new Random(17L);
+
+        for (int escenario = 0; escenario < 300; escenario++) {
+            // Arrange
+            Pedidos pedidos = pedidos(random);
+            int inicio = random.nextInt(4) == 0 ? -random.nextInt(500) : random.nextInt(10_000);
+            int[] orden = Mezclador.permutacion(pedidos.cantidades().length, random.nextLong());
+
+            // Act
+            PlanPapel plan = PlanificadorPapel.planificar(
+                    pedidos.cantidades(), pedidos.terminaciones(), pedidos.conjuntos(), inicio, orden);
+
+            // Assert: con la pila cortada en el fin exacto nadie queda incompleto
+            PoolCartones justa = new PoolCartones(new int[]{inicio}, new int[]{(int) plan.fin()});
+            EstadisticasJuego estadisticas = MotorDistribucion.evaluar(
+                    new Juego(justa, pedidos.cantidades(), pedidos.terminaciones(), pedidos.conjuntos()), orden);
+            assertThat(estadisticas.vendedoresIncompletos()).as("escenario %d", escenario).isZero();
+            assertThat(estadisticas.cartonesRestantes()).as("escenario %d", escenario).isZero();
+            assertThat(estadisticas.cartonesQuemados()).isEqualTo(plan.cartonesQuemados());
+            if (estadisticas.ultimoCarton() != null) {
+                assertThat((long) estadisticas.ultimoCarton()).isEqualTo(plan.fin());
+            }
+        }
+    }
+
+    @DisplayName("Test cartonesMaximos - Alcanza para cualquier mezcla de la fila")
+    @Test
+    void testCartonesMaximos_cotaParaCualquierOrden() {
+        Random random = new Random(1_017L);
+
+        for (int escenario = 0; escenario < 200; escenario++) {
+            // Arrange
+            Pedidos pedidos = pedidos(random);
+            int inicio = random.nextInt(4) == 0 ? -random.nextInt(500) : random.nextInt(10_000);
+            long maximos = PlanificadorPapel.cartonesMaximos(
+                    pedidos.cantidades(), pedidos.terminaciones(), pedidos.conjuntos(), inicio);
+            Juego juego = new Juego(PlanificadorPapel.pilaGenerada(inicio, maximos),
+                    pedidos.cantidades(), pedidos.terminaciones(), pedidos.conjuntos());
+
+            for (int mezcla = 0; mezcla < 20; mezcla++) {
+                // Act
+                int[] orden = Mezclador.permutacion(pedidos.cantidades().length, random.nextLong());
+                PlanPapel plan = PlanificadorPapel.planificar(
+                        pedidos.cantidades(), pedidos.terminaciones(), pedidos.conjuntos(), inicio, orden);
+
+                // Assert
+                assertThat(MotorDistribucion.evaluar(juego, orden).vendedoresIncompletos())
+                        .as("escenario %d, mezcla %d", escenario, mezcla).isZero();
+                assertThat(plan.fin()).isLessThanOrEqualTo(plan.finMaximo());
+                assertThat(plan.cartonesQuemados()).isLessThanOrEqualTo(plan.quemadosMaximos());
+            }
+        }
+    }
+
+    @DisplayName("Test cartonesMaximos - Sin VIP la cota es la demanda")
+    @Test
+    void testCartonesMaximos_sinVipEsLaDemanda() {
+        // Arrange
+        int[] cantidades = {10, 0, -3, 25};
+        int[] terminaciones = {MotorDistribucion.SIN_TERMINACION, 7, 7, MotorDistribucion.SIN_TERMINACION};
+
+        // Act
+        long maximos = PlanificadorPapel.cartonesMaximos(cantidades, terminaciones, null, 1_000);
+
+        // Assert
+        assertThat(maximos).isEqualTo(35);
+    }
+
+    @DisplayName("Test pilaGenerada - Rechaza pilas que pasan del último número posible")
+    @Test
+    void testPilaGenerada_desborde() {
+        // Act & Assert
+        assertThatThrownBy(() -> PlanificadorPapel.pilaGenerada(Integer.MAX_VALUE - 10, 12))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private record Pedidos(int[] cantidades, int[] terminaciones, Terminaciones[] conjuntos) {}
+
+    private static Pedidos pedidos(Random random) {
+        Terminaciones[] conjuntos = {Terminaciones.de(3, 50), Terminaciones.de(0, 25, 75, 99)};
+        int n = 1 + random.nextInt(80);
+        int[] cantidades = new int[n];
+        int[] terminaciones = new int[n];
+        for (int i = 0; i < n; i++) {
+            cantidades[i] = switch (random.nextInt(6)) {
+                case 0 -> 0;
+                case 1 -> 50 + random.nextInt(200);
+                default -> 1 + random.nextInt(30);
+            };
+            terminaciones[i] = switch (random.nextInt(5)) {
+                case 0 -> random.nextInt(100);
+                case 1 -> MotorDistribucion.codigoConjunto(random.nextInt(conjuntos.length));
+                default -> MotorDistribucion.SIN_TERMINACION;
+            };
+        }
+        return new Pedidos(cantidades, terminaciones, conjuntos);
+    }
+}
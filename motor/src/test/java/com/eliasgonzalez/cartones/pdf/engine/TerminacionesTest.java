@@ -0,0 +1,55 @@
+package com.eliasgonzalez.cartones.pdf.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TerminacionesTest {
+
+    @DisplayName("Test distanciaDesde - La tabla da la distancia a la aceptada más cercana")
+    @Test
+    void testDistanciaDesde_igualAlMinimoDeCadaTerminacion() {
+        Random random = new Random(14L);
+
+        for (int escenario = 0; escenario < 500; escenario++) {
+            // Arrange
+            int[] aceptadas = random.ints(1 + random.nextInt(10), 0, 100).toArray();
+            Terminaciones conjunto = Terminaciones.de(aceptadas);
+
+            for (int numero = -150; numero < 250; numero++) {
+                int esperada = Integer.MAX_VALUE;
+                for (int t : aceptadas) esperada = Math.min(esperada, MotorDistribucion.calcularDistancia(numero, t));
+
+                // Act
+                int distancia = conjunto.distanciaDesde(numero);
+
+                // Assert
+                assertThat(distancia).as("conjunto %s, número %d", conjunto, numero).isEqualTo(esperada);
+            }
+        }
+    }
+
+    @DisplayName("Test de - Ordena, descarta repetidos y reusa las terminaciones sueltas")
+    @Test
+    void testDe_normalizaMiembros() {
+        // Act
+        Terminaciones conjunto = Terminaciones.de(77, 7, 13, 7);
+
+        // Assert
+        assertThat(conjunto.miembros()).containsExactly(7, 13, 77);
+        assertThat(conjunto).isEqualTo(Terminaciones.de(13, 77, 7));
+        assertThat(Terminaciones.de(42, 42)).isSameAs(Terminaciones.una(42));
+    }
+
+    @DisplayName("Test de - Rechaza terminaciones fuera de 00..99 y conjuntos vacíos")
+    @Test
+    void testDe_terminacionInvalida() {
+        // Act & Assert
+        assertThatThrownBy(() -> Terminaciones.de(5, 100)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Terminaciones.de()).isInstanceOf(IllegalArgumentException.class);
+    }
+}
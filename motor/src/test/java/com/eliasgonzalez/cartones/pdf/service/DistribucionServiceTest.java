@@ -0,0 +1,541 @@
+package com.eliasgonzalez.cartones.pdf.service;
+
+import com.eliasgonzalez.cartones.pdf.dto.*;
+import com.eliasgonzalez.cartones.pdf.engine.AsignacionJuego;
+import com.eliasgonzalez.cartones.pdf.engine.Juego;
+import com.eliasgonzalez.cartones.pdf.engine.MotorDistribucion;
+import com.eliasgonzalez.cartones.pdf.engine.PlanPapel;
+import com.eliasgonzalez.cartones.pdf.engine.PoolCartones;
+import com.eliasgonzalez.cartones.shared.exception.ResourceNotFoundException;
+import com.eliasgonzalez.cartones.shared.exception.UnprocessableEntityException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class DistribucionServiceTest {
+
+    private DistribucionService distribucionService;
+    private List<VendedorInputDTO> vendedores;
+
+    @BeforeEach
+    void setUp() {
+        distribucionService = new DistribucionService(ForkJoinPool.commonPool());
+
+        vendedores = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            vendedores.add(VendedorInputDTO.builder()
+                    .id((long) i + 1)
+                    .nombre("Vendedor " + i)
+                    .cantidadSenete(10)
+                    .terminacionSenete(i % 5 == 0 ? i : null)
+                    .cantidadTelebingo(5)
+                    .build());
+        }
+    }
+
+    @DisplayName("Test simularDistribucion - La semilla devuelta reproduce exactamente la distribución")
+    @Test
+    void testSimularDistribucion_semillaReproducible() {
+        // Arrange
+        SimulacionRequestDTO request = new SimulacionRequestDTO();
+        request.setVendedores(vendedores);
+        request.setPoolSenete(List.of(new RangoCortadoDTO(1, 2_000)));
+        request.setInicioTelebingoGral(1);
+        SimulacionResultadoDTO original = distribucionService.simularDistribucion(request);
+
+        // Act
+        request.setSemilla(original.getSemilla());
+        SimulacionResultadoDTO repetido = distribucionService.simularDistribucion(request);
+
+        // Assert
+        assertThat(original.getSemilla()).isNotNull();
+        assertThat(repetido.getSemilla()).isEqualTo(original.getSemilla());
+        assertThat(repetido.getVendedores())
+                .extracting(VendedorSimuladoDTO::getId, VendedorSimuladoDTO::getRangosSenete, VendedorSimuladoDTO::getRangosTelebingo)
+                .containsExactlyElementsOf(original.getVendedores().stream()
+                        .map(v -> tuple(v.getId(), v.getRangosSenete(), v.getRangosTelebingo()))
+                        .toList());
+    }
+
+    @DisplayName("Test resimular - Igual a simular de cero con los cambios y la misma semilla")
+    @Test
+    void testResimular_igualASimularDeCero() {
+        // Arrange
+        for (int i = 40; i < 1_000; i++) {
+            vendedores.add(VendedorInputDTO.builder()
+                    .id((long) i + 1)
+                    .nombre("Vendedor " + i)
+                    .cantidadSenete(1 + i % 13)
+                    .terminacionSenete(i % 7 == 0 ? i % 100 : null)
+                    .cantidadTelebingo(1 + i % 5)
+                    .build());
+        }
+        SimulacionRequestDTO request = new SimulacionRequestDTO();
+        request.setVendedores(vendedores);
+        request.setPoolSenete(List.of(new RangoCortadoDTO(1, 30_000), new RangoCortadoDTO(40_000, 90_000)));
+        request.setInicioTelebingoGral(1);
+        request.setSemilla(123L);
+        SimulacionResultadoDTO anterior = distribucionService.simularDistribucion(request);
+
+        List<VendedorInputDTO> cambios = List.of(
+                VendedorInputDTO.builder().id(700L).cantidadSenete(25).terminacionSenete(33).build(),
+                VendedorInputDTO.builder().id(12L).cantidadTelebingo(9).build(),
+                VendedorInputDTO.builder().id(5L).terminacionSenete(-1).build());
+
+        // Act
+        SimulacionResultadoDTO incremental = distribucionService.resimular(anterior.getEstado(), cambios);
+        SimulacionDeltaResultadoDTO delta = distribucionService.compararConAnterior(anterior.getEstado(), incremental);
+
+        // Assert: mismo resultado que simular de cero con los pedidos ya cambiados
+        vendedores.set(699, vendedores.get(699).toBuilder().cantidadSenete(25).terminacionSenete(33).build());
+        vendedores.set(11, vendedores.get(11).toBuilder().cantidadTelebingo(9).build());
+        vendedores.set(4, vendedores.get(4).toBuilder().terminacionSenete(null).build());
+        SimulacionResultadoDTO completo = distribucionService.simularDistribucion(request);
+
+        assertThat(incremental.getVendedores()).isEqualTo(completo.getVendedores());
+        assertThat(incremental.getEstadisticasSenete()).isEqualTo(completo.getEstadisticasSenete());
+        assertThat(incremental.getEstadisticasTelebingo()).isEqualTo(completo.getEstadisticasTelebingo());
+
+        // Y el delta lista exactamente a los vendedores con rangos distintos
+        Map<Long, VendedorSimuladoDTO> antes = anterior.getVendedores().stream()
+                .collect(Collectors.toMap(VendedorSimuladoDTO::getId, v -> v));
+        List<Long> esperados = completo.getVendedores().stream()
+                .filter(v -> !v.equals(antes.get(v.getId())))
+                .map(VendedorSimuladoDTO::getId)
+                .toList();
+        assertThat(delta.getVendedores()).extracting(VendedorSimuladoDTO::getId).containsExactlyElementsOf(esperados);
+        assertThat(delta.getSemilla()).isEqualTo(123L);
+        assertThat(delta.getVendedoresRecalculados()).isLessThan(2 * vendedores.size());
+    }
+
+    @DisplayName("Test diferenciasCon - Sólo los vendedores distintos de la simulación completa anterior")
+    @Test
+    void testDiferenciasCon_soloVendedoresDistintos() {
+        // Arrange
+        SimulacionRequestDTO request = new SimulacionRequestDTO();
+        request.setMezclar(false);
+        request.setVendedores(new ArrayList<>(vendedores));
+        request.setPoolSenete(List.of(new RangoCortadoDTO(1, 2_000)));
+        request.setInicioTelebingoGral(1);
+        SimulacionResultadoDTO anterior = distribucionService.simularDistribucion(request);
+
+        // Otra pila de Seneté (corre a los de la segunda mitad), uno menos y un nombre distinto
+        request.setPoolSenete(List.of(new RangoCortadoDTO(1, 200), new RangoCortadoDTO(260, 2_000)));
+        request.getVendedores().remove(39);
+        request.getVendedores().set(2, vendedores.get(2).toBuilder().nombre("Otro nombre").build());
+
+        // Act
+        SimulacionResultadoDTO nuevo = distribucionService.simularDistribucion(request);
+        SimulacionDeltaResultadoDTO delta = distribucionService.diferenciasCon(anterior.getEstado(), nuevo);
+
+        // Assert
+        Map<Long, VendedorSimuladoDTO> antes = anterior.getVendedores().stream()
+                .collect(Collectors.toMap(VendedorSimuladoDTO::getId, v -> v));
+        List<Long> esperados = nuevo.getVendedores().stream()
+                .filter(v -> !v.equals(antes.get(v.getId())))
+                .map(VendedorSimuladoDTO::getId)
+                .toList();
+        assertThat(esperados).contains(3L).hasSizeLessThan(nuevo.getVendedores().size());
+        assertThat(delta.getVendedores()).extracting(VendedorSimuladoDTO::getId).containsExactlyElementsOf(esperados);
+        assertThat(delta.getVendedoresQuitados()).containsExactly(40L);
+    }
+
+    @DisplayName("Test diferenciasCon - Sin simulación anterior se informan todos")
+    @Test
+    void testDiferenciasCon_sinAnterior() {
+        // Arrange
+        SimulacionRequestDTO request = new SimulacionRequestDTO();
+        request.setVendedores(vendedores);
+        request.setInicioSeneteGral(1);
+
+        // Act
+        SimulacionResultadoDTO nuevo = distribucionService.simularDistribucion(request);
+        SimulacionDeltaResultadoDTO delta = distribucionService.diferenciasCon(null, nuevo);
+
+        // Assert
+        assertThat(delta.getVendedores()).isEqualTo(nuevo.getVendedores());
+        assertThat(delta.getVendedoresQuitados()).isEmpty();
+    }
+
+    @DisplayName("Test resimular - Vendedor que no está en la simulación")
+    @Test
+    void testResimular_vendedorInexistente() {
+        // Arrange
+        SimulacionRequestDTO request = new SimulacionRequestDTO();
+        request.setVendedores(vendedores);
+        request.setInicioSeneteGral(1);
+        SimulacionResultadoDTO anterior = distribucionService.simularDistribucion(request);
+
+        // Act & Assert
+        assertThatThrownBy(() -> distribucionService.resimular(anterior.getEstado(),
+                List.of(VendedorInputDTO.builder().id(999L).cantidadSenete(1).build())))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("999");
+    }
+
+    @DisplayName("Test simularDistribucion - Rechaza rangos superpuestos indicando los cartones repetidos")
+    @Test
+    void testSimularDistribucion_rangosSuperpuestos() {
+        // Arrange
+        SimulacionRequestDTO request = new SimulacionRequestDTO();
+        request.setVendedores(vendedores);
+        request.setPoolSenete(List.of(new RangoCortadoDTO(1, 500), new RangoCortadoDTO(450, 900)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> distribucionService.simularDistribucion(request))
+                .isInstanceOf(UnprocessableEntityException.class)
+                .hasMessageContaining("Seneté")
+                .extracting(e -> ((UnprocessableEntityException) e).getErrorDetails())
+                .isEqualTo(List.of("1-500 y 450-900 comparten 450-500"));
+    }
+
+    @DisplayName("Test simularVariantes - Una entrada por variante, en el orden de la solicitud")
+    @Test
+    void testSimularVariantes_resultadosEnOrden() {
+        // Arrange
+        VariantePoolDTO corta = VariantePoolDTO.builder()
+                .nombre("corta")
+                .poolSenete(List.of(new RangoCortadoDTO(1, 100)))
+                .inicioTelebingoGral(1)
+                .build();
+        VariantePoolDTO larga = VariantePoolDTO.builder()
+                .nombre("larga")
+                .poolSenete(List.of(new RangoCortadoDTO(1, 100_000)))
+                .inicioTelebingoGral(1)
+                .build();
+        SimulacionLoteRequestDTO request = new SimulacionLoteRequestDTO(vendedores, List.of(corta, larga), true, null);
+
+        // Act
+        SimulacionLoteResultadoDTO resultado = distribucionService.simularVariantes(request);
+
+        // Assert
+        assertThat(resultado.getSemilla()).isNotNull();
+        assertThat(resultado.getVariantes()).extracting(VarianteResultadoDTO::getNombre).containsExactly("corta", "larga");
+        assertThat(resultado.getVariantes()).extracting(VarianteResultadoDTO::getIndice).containsExactly(0, 1);
+
+        VarianteResultadoDTO resultadoCorta = resultado.getVariantes().get(0);
+        VarianteResultadoDTO resultadoLarga = resultado.getVariantes().get(1);
+        assertThat(resultadoCorta.getSenete().vendedoresIncompletos()).isPositive();
+        assertThat(resultadoLarga.getSenete().vendedoresIncompletos()).isZero();
+        assertThat(resultadoLarga.getSenete().cartonesEntregados()).isEqualTo(400);
+        assertThat(resultadoLarga.getTelebingo()).isEqualTo(resultadoCorta.getTelebingo());
+        assertThat(resultadoLarga.getCartonesQuemados())
+                .isEqualTo(resultadoLarga.getSenete().cartonesQuemados() + resultadoLarga.getTelebingo().cartonesQuemados());
+    }
+
+    @DisplayName("Test simularVariantes - Coincide con los totales de la simulación completa sin mezcla")
+    @Test
+    void testSimularVariantes_coincideConSimulacionCompleta() {
+        // Arrange
+        List<RangoCortadoDTO> pool = List.of(new RangoCortadoDTO(1, 150), new RangoCortadoDTO(300, 1_000));
+        SimulacionLoteRequestDTO lote = new SimulacionLoteRequestDTO(vendedores,
+                List.of(VariantePoolDTO.builder().poolSenete(pool).inicioTelebingoGral(50).build()), false, null);
+
+        SimulacionRequestDTO simple = new SimulacionRequestDTO();
+        simple.setVendedores(vendedores);
+        simple.setPoolSenete(pool);
+        simple.setInicioTelebingoGral(50);
+        simple.setMezclar(false);
+
+        // Act
+        SimulacionLoteResultadoDTO resultado = distribucionService.simularVariantes(lote);
+        SimulacionResultadoDTO completo = distribucionService.simularDistribucion(simple);
+
+        // Assert
+        assertThat(resultado.getSemilla()).isNull();
+        assertThat(resultado.getVariantes().get(0).getSenete()).isEqualTo(completo.getEstadisticasSenete());
+        assertThat(resultado.getVariantes().get(0).getTelebingo()).isEqualTo(completo.getEstadisticasTelebingo());
+    }
+
+    @DisplayName("Test simularVariantes - Variante sin ninguna pila configurada")
+    @Test
+    void testSimularVariantes_varianteSinConfiguracion() {
+        // Arrange
+        SimulacionLoteRequestDTO request = new SimulacionLoteRequestDTO(vendedores,
+                List.of(VariantePoolDTO.builder().inicioSeneteGral(1).build(), VariantePoolDTO.builder().build()), true, null);
+
+        // Act & Assert
+        assertThatThrownBy(() -> distribucionService.simularVariantes(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("variante 1");
+    }
+
+    @DisplayName("Test evaluarDistribucion - Mismos totales y semilla que la simulación completa")
+    @Test
+    void testEvaluarDistribucion_coincideConSimulacionCompleta() {
+        // Arrange
+        SimulacionRequestDTO request = new SimulacionRequestDTO();
+        request.setVendedores(vendedores);
+        request.setPoolSenete(List.of(new RangoCortadoDTO(1, 120), new RangoCortadoDTO(500, 700)));
+        request.setInicioTelebingoGral(1);
+        SimulacionEstadisticasDTO estadisticas = distribucionService.evaluarDistribucion(request);
+
+        // Act
+        request.setSemilla(estadisticas.getSemilla());
+        SimulacionResultadoDTO completo = distribucionService.simularDistribucion(request);
+
+        // Assert
+        assertThat(estadisticas.getSemilla()).isNotNull();
+        assertThat(estadisticas.getMezclasEvaluadas()).isNull();
+        assertThat(estadisticas.getEstadisticasSenete()).isEqualTo(completo.getEstadisticasSenete());
+        assertThat(estadisticas.getEstadisticasTelebingo()).isEqualTo(completo.getEstadisticasTelebingo());
+    }
+
+    @DisplayName("Test simularDistribucion - Con VIP optimizados no quema más que el orden de carga")
+    @Test
+    void testSimularDistribucion_optimizarVip() {
+        // Arrange
+        SimulacionRequestDTO request = new SimulacionRequestDTO();
+        request.setVendedores(vendedores);
+        request.setPoolSenete(List.of(new RangoCortadoDTO(1, 2_000)));
+        request.setInicioTelebingoGral(1);
+        request.setMezclar(false);
+        SimulacionResultadoDTO deCarga = distribucionService.simularDistribucion(request);
+
+        // Act
+        request.setOptimizarVip(true);
+        request.setPresupuestoMezclaMs(200L);
+        SimulacionResultadoDTO optimizado = distribucionService.simularDistribucion(request);
+
+        // Assert
+        assertThat(optimizado.getSemilla()).isNull();
+        assertThat(optimizado.getBrechaOptimalidad()).isNotNull().isGreaterThanOrEqualTo(0L);
+        assertThat(optimizado.getEstadisticasSenete().cartonesQuemados())
+                .isLessThanOrEqualTo(deCarga.getEstadisticasSenete().cartonesQuemados());
+        assertThat(optimizado.getEstadisticasSenete().cartonesEntregados())
+                .isEqualTo(deCarga.getEstadisticasSenete().cartonesEntregados());
+    }
+
+    @DisplayName("Test planificarPapel - El fin exacto es el último cartón de la simulación con la misma semilla")
+    @Test
+    void testPlanificarPapel_coincideConSimulacionCompleta() {
+        // Arrange
+        SimulacionRequestDTO request = new SimulacionRequestDTO();
+        request.setVendedores(vendedores);
+        request.setPoolSenete(List.of(new RangoCortadoDTO(1, 120), new RangoCortadoDTO(500, 700)));
+        request.setInicioTelebingoGral(1);
+        PlanPapelDTO plan = distribucionService.planificarPapel(request);
+
+        // Act
+        request.setSemilla(plan.getSemilla());
+        SimulacionResultadoDTO completo = distribucionService.simularDistribucion(request);
+
+        // Assert: Seneté usa rangos cortados y no se planifica
+        PlanPapel telebingo = plan.getJuegos().get("telebingo");
+        assertThat(plan.getJuegos()).containsOnlyKeys("telebingo");
+        assertThat(telebingo.fin()).isEqualTo((long) completo.getEstadisticasTelebingo().ultimoCarton());
+        assertThat(telebingo.cartonesQuemados()).isEqualTo(completo.getEstadisticasTelebingo().cartonesQuemados());
+        assertThat(telebingo.finMaximo()).isGreaterThanOrEqualTo(telebingo.fin());
+        assertThat(completo.getEstadisticasTelebingo().vendedoresIncompletos()).isZero();
+    }
+
+    @DisplayName("Test planificarPapel - Sin pilas generadas no hay nada que planificar")
+    @Test
+    void testPlanificarPapel_sinPilaGenerada() {
+        // Arrange
+        SimulacionRequestDTO request = new SimulacionRequestDTO();
+        request.setVendedores(vendedores);
+        request.setPoolSenete(List.of(new RangoCortadoDTO(1, 120)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> distribucionService.planificarPapel(request))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @DisplayName("Test simularDistribucion - Un juego adicional no cambia el reparto de Seneté y Telebingo")
+    @Test
+    void testSimularDistribucion_juegoAdicional() {
+        // Arrange
+        SimulacionRequestDTO request = new SimulacionRequestDTO();
+        request.setVendedores(vendedores);
+        request.setPoolSenete(List.of(new RangoCortadoDTO(1, 2_000)));
+        request.setInicioTelebingoGral(1);
+        request.setSemilla(77L);
+        SimulacionResultadoDTO dosJuegos = distribucionService.simularDistribucion(request);
+
+        List<VendedorInputDTO> conQuiniela = new ArrayList<>();
+        for (VendedorInputDTO v : vendedores) {
+            conQuiniela.add(v.toBuilder()
+                    .pedidos(Map.of("quiniela", PedidoJuegoDTO.builder().cantidad(3).terminacion(v.getId() == 2L ? 50 : null).build()))
+                    .build());
+        }
+        request.setVendedores(conQuiniela);
+        request.setJuegos(Map.of("quiniela", ConfiguracionJuegoDTO.builder().pool(List.of(new RangoCortadoDTO(1_000, 1_500))).build()));
+
+        // Act
+        SimulacionResultadoDTO tresJuegos = distribucionService.simularDistribucion(request);
+
+        // Assert
+        assertThat(tresJuegos.getVendedores())
+                .extracting(VendedorSimuladoDTO::getId, VendedorSimuladoDTO::getRangosSenete, VendedorSimuladoDTO::getRangosTelebingo)
+                .containsExactlyElementsOf(dosJuegos.getVendedores().stream()
+                        .map(v -> tuple(v.getId(), v.getRangosSenete(), v.getRangosTelebingo()))
+                        .toList());
+        assertThat(dosJuegos.getVendedores().get(0).getRangosJuegos()).isNull();
+        assertThat(dosJuegos.getEstadisticasJuegos()).isEmpty();
+
+        assertThat(tresJuegos.getEstadisticasJuegos()).containsOnlyKeys("quiniela");
+        assertThat(tresJuegos.getEstadisticasJuegos().get("quiniela").cartonesEntregados()).isEqualTo(3L * vendedores.size());
+        VendedorSimuladoDTO vip = tresJuegos.getVendedores().stream().filter(v -> v.getId() == 2L).findFirst().orElseThrow();
+        RangosCartones rangosVip = vip.getRangosJuegos().get("quiniela");
+        assertThat(rangosVip.inicio(0) % 100).isEqualTo(50);
+        assertThat(rangosVip.totalCartones()).isEqualTo(3);
+    }
+
+    @DisplayName("Test resimular - Recalcula el juego adicional cambiado")
+    @Test
+    void testResimular_juegoAdicional() {
+        // Arrange
+        List<VendedorInputDTO> conQuiniela = new ArrayList<>();
+        for (VendedorInputDTO v : vendedores) {
+            conQuiniela.add(v.toBuilder().pedidos(Map.of("quiniela", PedidoJuegoDTO.builder().cantidad(4).build())).build());
+        }
+        SimulacionRequestDTO request = new SimulacionRequestDTO();
+        request.setVendedores(conQuiniela);
+        request.setPoolSenete(List.of(new RangoCortadoDTO(1, 2_000)));
+        request.setJuegos(Map.of("quiniela", ConfiguracionJuegoDTO.builder().pool(List.of(new RangoCortadoDTO(1, 1_000))).build()));
+        request.setSemilla(9L);
+        SimulacionResultadoDTO anterior = distribucionService.simularDistribucion(request);
+
+        List<VendedorInputDTO> cambios = List.of(VendedorInputDTO.builder().id(3L)
+                .pedidos(Map.of("quiniela", PedidoJuegoDTO.builder().cantidad(10).build())).build());
+
+        // Act
+        SimulacionResultadoDTO incremental = distribucionService.resimular(anterior.getEstado(), cambios);
+
+        // Assert
+        conQuiniela.set(2, conQuiniela.get(2).toBuilder()
+                .pedidos(Map.of("quiniela", PedidoJuegoDTO.builder().cantidad(10).build())).build());
+        SimulacionResultadoDTO completo = distribucionService.simularDistribucion(request);
+        assertThat(incremental.getVendedores()).isEqualTo(completo.getVendedores());
+        assertThat(incremental.getEstadisticasJuegos()).isEqualTo(completo.getEstadisticasJuegos());
+        assertThat(incremental.getEstadisticasSenete()).isEqualTo(anterior.getEstadisticasSenete());
+    }
+
+    @DisplayName("Test simularDistribucion - VIP con varias terminaciones para en la más cercana")
+    @Test
+    void testSimularDistribucion_variasTerminaciones() {
+        // Arrange: desde el 15, la 77 está más cerca que la 7 y la 13
+        SimulacionRequestDTO request = new SimulacionRequestDTO();
+        request.setVendedores(List.of(VendedorInputDTO.builder().id(1L)
+                .cantidadSenete(3).terminacionSenete(7).terminacionesSenete(List.of(13, 77)).build()));
+        request.setPoolSenete(List.of(new RangoCortadoDTO(15, 300)));
+
+        // Act
+        SimulacionResultadoDTO resultado = distribucionService.simularDistribucion(request);
+
+        // Assert
+        RangosCartones rangos = resultado.getVendedores().get(0).getRangosSenete();
+        assertThat(rangos.inicio(0)).isEqualTo(77);
+        assertThat(rangos.totalCartones()).isEqualTo(3);
+        assertThat(resultado.getEstadisticasSenete().cartonesQuemados()).isEqualTo(62);
+    }
+
+    @DisplayName("Test resimular - Cambiar las terminaciones aceptadas da lo mismo que simular de cero")
+    @Test
+    void testResimular_variasTerminaciones() {
+        // Arrange
+        SimulacionRequestDTO request = new SimulacionRequestDTO();
+        request.setVendedores(new ArrayList<>(vendedores));
+        request.setPoolSenete(List.of(new RangoCortadoDTO(1, 2_000)));
+        request.setInicioTelebingoGral(1);
+        request.setSemilla(31L);
+        SimulacionResultadoDTO anterior = distribucionService.simularDistribucion(request);
+
+        VendedorInputDTO cambio = VendedorInputDTO.builder().id(2L).terminacionesSenete(List.of(7, 13, 77)).build();
+
+        // Act
+        SimulacionResultadoDTO incremental = distribucionService.resimular(anterior.getEstado(), List.of(cambio));
+
+        // Assert
+        request.getVendedores().set(1, vendedores.get(1).toBuilder()
+                .terminacionSenete(null).terminacionesSenete(List.of(7, 13, 77)).build());
+        SimulacionResultadoDTO completo = distribucionService.simularDistribucion(request);
+        assertThat(incremental.getVendedores()).isEqualTo(completo.getVendedores());
+        assertThat(incremental.getEstadisticasSenete()).isEqualTo(completo.getEstadisticasSenete());
+    }
+
+    @DisplayName("Test restaurar - El snapshot da la misma simulación y admite los mismos cambios")
+    @Test
+    void testRestaurar_igualAlOriginal() {
+        // Arrange: juego adicional, VIP con varias terminaciones, pila generada y un vendedor sin id
+        List<VendedorInputDTO> todos = new ArrayList<>();
+        for (VendedorInputDTO v : vendedores) {
+            todos.add(v.toBuilder()
+                    .terminacionesSenete(v.getId() % 9 == 0 ? List.of(7, 13, 77) : null)
+                    .pedidos(Map.of("quiniela", PedidoJuegoDTO.builder().cantidad(3).terminacion(v.getId() % 4 == 0 ? 5 : null).build()))
+                    .build());
+        }
+        todos.add(VendedorInputDTO.builder().nombre("Sin id ñandú").cantidadSenete(2).build());
+        SimulacionRequestDTO request = new SimulacionRequestDTO();
+        request.setVendedores(todos);
+        request.setPoolSenete(List.of(new RangoCortadoDTO(1, 900), new RangoCortadoDTO(5_000, 6_000)));
+        request.setInicioTelebingoGral(40);
+        request.setJuegos(Map.of("quiniela", ConfiguracionJuegoDTO.builder().pool(List.of(new RangoCortadoDTO(-50, 1_000))).build()));
+        SimulacionResultadoDTO original = distribucionService.simularDistribucion(request);
+
+        // Act
+        byte[] snapshot = original.getEstado().serializar();
+        SimulacionResultadoDTO restaurado = distribucionService.restaurar(snapshot);
+
+        // Assert
+        assertThat(restaurado.getVendedores()).isEqualTo(original.getVendedores());
+        assertThat(restaurado.getSemilla()).isEqualTo(original.getSemilla());
+        assertThat(restaurado.getMezclasEvaluadas()).isEqualTo(original.getMezclasEvaluadas());
+        assertThat(restaurado.getEstadisticasSenete()).isEqualTo(original.getEstadisticasSenete());
+        assertThat(restaurado.getEstadisticasTelebingo()).isEqualTo(original.getEstadisticasTelebingo());
+        assertThat(restaurado.getEstadisticasJuegos()).isEqualTo(original.getEstadisticasJuegos());
+
+        List<VendedorInputDTO> cambios = List.of(
+                VendedorInputDTO.builder().id(7L).nombre("Otro").cantidadSenete(30).terminacionSenete(21).build(),
+                VendedorInputDTO.builder().id(20L).cantidadTelebingo(50).build());
+        assertThat(distribucionService.resimular(restaurado.getEstado(), cambios).getVendedores())
+                .isEqualTo(distribucionService.resimular(original.getEstado(), cambios).getVendedores());
+    }
+
+    @DisplayName("Test restaurar - Si el reparto ya no da los rangos guardados no restaura")
+    @Test
+    void testRestaurar_otrosRangos() {
+        // Arrange: un snapshot cuyos rangos de Telebingo salieron de otro reparto (otra versión del motor)
+        SimulacionRequestDTO request = new SimulacionRequestDTO();
+        request.setVendedores(vendedores);
+        request.setInicioSeneteGral(1);
+        request.setInicioTelebingoGral(40);
+        EstadoSimulacion estado = distribucionService.simularDistribucion(request).getEstado();
+        AsignacionJuego[] asignaciones = estado.asignaciones.clone();
+        asignaciones[DistribucionService.JUEGO_TELEBINGO] = MotorDistribucion.asignar(new Juego(new PoolCartones(new int[]{41}, new int[]{100_000}),
+                estado.juegos.get(DistribucionService.JUEGO_TELEBINGO).cantidades(), estado.juegos.get(DistribucionService.JUEGO_TELEBINGO).terminaciones()), estado.orden);
+        byte[] snapshot = new EstadoSimulacion(estado.ids, estado.nombres, estado.orden, estado.claves, estado.juegos,
+                estado.iniciosGenerados, asignaciones, estado.semilla, estado.mezclasEvaluadas, null).serializar();
+
+        // Act & Assert
+        assertThatThrownBy(() -> distribucionService.restaurar(snapshot))
+                .isInstanceOf(UnprocessableEntityException.class)
+                .hasMessageContaining("Telebingo");
+    }
+
+    @DisplayName("Test simularDistribucion - Pedido de un juego que no está configurado")
+    @Test
+    void testSimularDistribucion_pedidoDeJuegoNoConfigurado() {
+        // Arrange
+        SimulacionRequestDTO request = new SimulacionRequestDTO();
+        request.setVendedores(List.of(VendedorInputDTO.builder().id(1L)
+                .pedidos(Map.of("quiniela", PedidoJuegoDTO.builder().cantidad(1).build())).build()));
+        request.setInicioSeneteGral(1);
+
+        // Act & Assert
+        assertThatThrownBy(() -> distribucionService.simularDistribucion(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'quiniela'");
+    }
+}
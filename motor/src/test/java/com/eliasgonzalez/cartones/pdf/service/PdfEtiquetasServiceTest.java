@@ -1,6 +1,7 @@
 package com.eliasgonzalez.cartones.pdf.service;
 
 import com.eliasgonzalez.cartones.pdf.dto.EtiquetaDTO;
+import com.eliasgonzalez.cartones.pdf.dto.RangosCartones;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,7 +11,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -37,10 +37,10 @@ class PdfEtiquetasServiceTest {
                 .nombre("Vendedor Uno")
                 .saldo("150.000")
                 .seneteCartones("10")
-                .seneteRangos(Arrays.asList("001-050", "051-100"))
+                .seneteRangos(RangosCartones.of(RangosCartones.empaquetar(1, 50), RangosCartones.empaquetar(51, 100)))
                 .resultadoSenete("5")
                 .telebingoCartones("20")
-                .telebingoRangos(Arrays.asList("101-150", "151-200"))
+                .telebingoRangos(RangosCartones.of(RangosCartones.empaquetar(101, 150), RangosCartones.empaquetar(151, 200)))
                 .resultadoTelebingo("8")
                 .build());
         etiquetas.add(EtiquetaDTO.builder()
@@ -48,10 +48,10 @@ class PdfEtiquetasServiceTest {
                 .nombre("Vendedor Dos")
                 .saldo("250.000")
                 .seneteCartones("5")
-                .seneteRangos(Collections.singletonList("201-250"))
+                .seneteRangos(RangosCartones.of(RangosCartones.empaquetar(201, 250)))
                 .resultadoSenete("2")
                 .telebingoCartones("10")
-                .telebingoRangos(Collections.singletonList("251-300"))
+                .telebingoRangos(RangosCartones.of(RangosCartones.empaquetar(251, 300)))
                 .resultadoTelebingo("4")
                 .build());
         etiquetas.add(EtiquetaDTO.builder()
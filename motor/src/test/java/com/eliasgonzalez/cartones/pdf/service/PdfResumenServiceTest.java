@@ -1,5 +1,6 @@
 package com.eliasgonzalez.cartones.pdf.service;
 
+import com.eliasgonzalez.cartones.pdf.dto.RangosCartones;
 import com.eliasgonzalez.cartones.pdf.dto.ResumenDTO;
 import com.eliasgonzalez.cartones.shared.exception.PdfCreationException;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,9 +13,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -35,12 +34,10 @@ class PdfResumenServiceTest {
         fechaTelebingo = LocalDate.of(2026, 1, 2);
 
         vendedores = new ArrayList<>();
-        Map<String, String> rangosSenete1 = new HashMap<>();
-        rangosSenete1.put("001", "050");
-        rangosSenete1.put("051", "100");
+        RangosCartones rangosSenete1 = RangosCartones.of(
+                RangosCartones.empaquetar(1, 50), RangosCartones.empaquetar(51, 100));
 
-        Map<String, String> rangosTelebingo1 = new HashMap<>();
-        rangosTelebingo1.put("101", "150");
+        RangosCartones rangosTelebingo1 = RangosCartones.of(RangosCartones.empaquetar(101, 150));
 
         vendedores.add(ResumenDTO.builder()
                 .numeroVendedor(1)
@@ -55,7 +52,7 @@ class PdfResumenServiceTest {
                 .numeroVendedor(2)
                 .nombre("Vendedor Dos")
                 .cantidadSenete(2)
-                .seneteDelAl(new HashMap<>()) // Empty ranges
+                .seneteDelAl(RangosCartones.vacio()) // Empty ranges
                 .cantidadTelebingo(3)
                 .telebingoDelAl(null) // Null ranges
                 .build());
@@ -66,9 +63,9 @@ class PdfResumenServiceTest {
                     .numeroVendedor(i)
                     .nombre("Vendedor " + i)
                     .cantidadSenete(i)
-                    .seneteDelAl(Collections.singletonMap(""+(i*10), ""+(i*10+5)))
+                    .seneteDelAl(RangosCartones.of(RangosCartones.empaquetar(i*10, i*10+5)))
                     .cantidadTelebingo(i+1)
-                    .telebingoDelAl(Collections.singletonMap(""+(i*20), ""+(i*20+10)))
+                    .telebingoDelAl(RangosCartones.of(RangosCartones.empaquetar(i*20, i*20+10)))
                     .build());
         }
     }
@@ -1,20 +0,0 @@
-package com.eliasgonzalez.cartones.pdf.dto;
-
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-
-import java.util.List;
-
-@Data
-@Builder
-@AllArgsConstructor
-public class VendedorSimuladoDTO {
-    private Long id;
-    private String nombre;
-
-    // Listas de Strings listas para mostrar: ["100-150", "200-210"]
-    private List<String> rangosSenete;
-    private List<String> rangosTelebingo;
-
-}
\ No newline at end of file